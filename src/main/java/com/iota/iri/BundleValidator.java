@@ -8,6 +8,14 @@ import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Converter;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.google.common.annotations.VisibleForTesting;
 
 /**
@@ -84,6 +92,45 @@ public class BundleValidator {
      */
     public static final int MODE_SKIP_TAIL_TX_EXISTENCE = 1 << 6;
 
+    /**
+     * Maximum amount of validated bundles that are kept in memory.
+     */
+    private static final int VALIDATED_BUNDLES_CACHE_SIZE = 1000;
+
+    /**
+     * Bundles with fewer signature fragments than this are verified on the calling thread, as handing off a single
+     * digest to the signature verification pool costs more than it saves.
+     */
+    private static final int PARALLEL_SIGNATURE_FRAGMENTS_THRESHOLD = 2;
+
+    /**
+     * Maximum amount of signature fragments waiting for a free thread of the signature verification pool.
+     */
+    private static final int SIGNATURE_VERIFICATION_QUEUE_SIZE = 1024;
+
+    /**
+     * Shared, bounded pool computing the digests of signature fragments of the bundles that are being validated.
+     */
+    private static final ExecutorService signatureVerificationPool = createSignatureVerificationPool();
+
+    /**
+     * Kerl instances of the threads computing signature digests, so we don't allocate a new sponge for every fragment.
+     */
+    private static final ThreadLocal<Sponge> kerlInstances = ThreadLocal.withInitial(
+            () -> SpongeFactory.create(SpongeFactory.Mode.KERL));
+
+    /**
+     * Least recently used bundles that passed the validation, mapped by the hash of their tail transaction. Only the
+     * hashes and value changes are kept, as the metadata of the transactions keeps changing after the validation.
+     */
+    private final Map<Hash, ValidatedBundle> validatedBundles = Collections.synchronizedMap(
+            new LinkedHashMap<Hash, ValidatedBundle>(VALIDATED_BUNDLES_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Hash, ValidatedBundle> eldest) {
+                    return size() > VALIDATED_BUNDLES_CACHE_SIZE;
+                }
+            });
+
     /**
      * Fetches a bundle of transactions identified by the {@code tailHash} and validates the transactions. Bundle is a
      * group of transactions with the same bundle hash chained by their trunks.
@@ -148,12 +195,25 @@ public class BundleValidator {
      * @see #validate(Tangle, boolean, Snapshot, Hash)
      */
     private List<TransactionViewModel> validate(Tangle tangle, Snapshot initialSnapshot, Hash tailHash, int mode) throws Exception {
+        if (!hasMode(mode, MODE_SKIP_CACHED_VALIDITY)) {
+            ValidatedBundle validatedBundle = validatedBundles.get(tailHash);
+            if (validatedBundle != null && hasMode(validatedBundle.validationMode, mode)) {
+                List<TransactionViewModel> bundleTxs = loadTransactions(tangle, validatedBundle);
+                if (bundleTxs != null) {
+                    return bundleTxs;
+                }
+                // a transaction of the bundle is gone, so validate what is left of it
+                validatedBundles.remove(tailHash);
+            }
+        }
+
         List<TransactionViewModel> bundleTxs = new LinkedList<>();
         switch (validate(tangle, tailHash, mode, bundleTxs)) {
             case VALID:
                 if (bundleTxs.get(0).getValidity() != 1) {
                     bundleTxs.get(0).setValidity(tangle, initialSnapshot, 1);
                 }
+                validatedBundles.put(tailHash, new ValidatedBundle(tailHash, bundleTxs, mode));
                 return bundleTxs;
             case INVALID:
                 if (!bundleTxs.isEmpty() && bundleTxs.get(0).getValidity() != -1) {
@@ -165,6 +225,47 @@ public class BundleValidator {
         }
     }
 
+    /**
+     * Loads the current view models of the transactions of a cached bundle, so their metadata is up to date.
+     *
+     * @param tangle          used to fetch the bundle's transactions from the persistence layer
+     * @param validatedBundle the cached bundle
+     * @return the transactions of the bundle or {@code null} if one of them is missing
+     * @throws Exception if a persistence error occurred
+     */
+    private static List<TransactionViewModel> loadTransactions(Tangle tangle, ValidatedBundle validatedBundle)
+            throws Exception {
+        List<TransactionViewModel> bundleTxs = new LinkedList<>();
+        for (Hash hash : validatedBundle.getTransactionHashes()) {
+            TransactionViewModel tvm = TransactionViewModel.fromHash(tangle, hash);
+            if (tvm.getType() == TransactionViewModel.PREFILLED_SLOT) {
+                return null;
+            }
+            bundleTxs.add(tvm);
+        }
+        return bundleTxs;
+    }
+
+    /**
+     * Returns the cached result of a previous successful validation of the bundle with the given tail.
+     *
+     * @param tailHash the hash of the tail transaction of the bundle
+     * @return the validated bundle or {@code null} if the bundle is not cached
+     */
+    public ValidatedBundle getValidatedBundle(Hash tailHash) {
+        return validatedBundles.get(tailHash);
+    }
+
+    /**
+     * Removes the cached validation result of the bundle with the given tail. This has to be called when the
+     * transactions of the bundle are removed from the database.
+     *
+     * @param tailHash the hash of the tail transaction of the bundle
+     */
+    public void invalidate(Hash tailHash) {
+        validatedBundles.remove(tailHash);
+    }
+
     private static int getMode(boolean enforceExtraRules) {
         if (enforceExtraRules) {
             return MODE_VALIDATE_ALL;
@@ -387,15 +488,92 @@ public class BundleValidator {
 
     /**
      * Validates the signatures of the given bundle transactions. The transactions must be ordered by index.
+     * <p>
+     * The digests of the signature fragments are independent of each other, so bundles with more than one fragment to
+     * verify get their digests computed on the shared signature verification pool. The addresses are then derived from
+     * the digests in bundle order on the calling thread.
+     * </p>
      *
      * @param bundleTxs        a list of ordered (by index) bundle transactions
      * @param normalizedBundle the normalized bundle hash
-     * @return whether all signatures were valid given the bundle hash and addresses
+     * @return whether all signatures were valid given the bundle hash and addresses, {@link Validity#UNKNOWN} if the
+     *         calling thread got interrupted while waiting for the digests
      */
     public static Validity validateSignatures(List<TransactionViewModel> bundleTxs, byte[] normalizedBundle) {
+        List<SignatureInput> inputs = collectSignatureInputs(bundleTxs, normalizedBundle);
+        int fragmentCount = 0;
+        for (SignatureInput input : inputs) {
+            fragmentCount += input.fragments.size();
+        }
+        if (fragmentCount < PARALLEL_SIGNATURE_FRAGMENTS_THRESHOLD) {
+            return validateSignaturesSequentially(inputs);
+        }
+
+        List<Future<?>> pendingDigests = new ArrayList<>(fragmentCount);
+        try {
+            for (SignatureInput input : inputs) {
+                for (SignatureFragment fragment : input.fragments) {
+                    fragment.pendingDigest = signatureVerificationPool.submit(fragment::computeDigest);
+                    pendingDigests.add(fragment.pendingDigest);
+                }
+            }
+
+            final Sponge addressInstance = SpongeFactory.create(SpongeFactory.Mode.KERL);
+            for (SignatureInput input : inputs) {
+                for (SignatureFragment fragment : input.fragments) {
+                    fragment.pendingDigest.get();
+                }
+                if (!input.matchesAddress(addressInstance)) {
+                    return Validity.INVALID;
+                }
+            }
+            return Validity.VALID;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Validity.UNKNOWN;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("failed to compute the digest of a signature fragment", e.getCause());
+        } finally {
+            // no-op for digests that are already done, stops the remaining work if we returned early
+            pendingDigests.forEach(pendingDigest -> pendingDigest.cancel(false));
+        }
+    }
+
+    /**
+     * Verifies the signatures of the given inputs on the calling thread.
+     *
+     * @param inputs the inputs of the bundle
+     * @return whether all signatures were valid
+     */
+    private static Validity validateSignaturesSequentially(List<SignatureInput> inputs) {
         final Sponge addressInstance = SpongeFactory.create(SpongeFactory.Mode.KERL);
-        final byte[] addressTrits = new byte[TransactionViewModel.ADDRESS_TRINARY_SIZE];
-        final byte[] digestTrits = new byte[Curl.HASH_LENGTH];
+        for (SignatureInput input : inputs) {
+            for (SignatureFragment fragment : input.fragments) {
+                fragment.computeDigest();
+            }
+            if (!input.matchesAddress(addressInstance)) {
+                return Validity.INVALID;
+            }
+        }
+        return Validity.VALID;
+    }
+
+    /**
+     * Groups the signature fragments of the given bundle transactions by their input. An input starts with a
+     * transaction spending value and continues with the following zero value transactions of the same address, which
+     * carry the signature fragments of the higher security levels.
+     *
+     * @param bundleTxs        a list of ordered (by index) bundle transactions
+     * @param normalizedBundle the normalized bundle hash
+     * @return the inputs of the bundle in bundle order
+     */
+    private static List<SignatureInput> collectSignatureInputs(List<TransactionViewModel> bundleTxs,
+            byte[] normalizedBundle) {
+        final int normalizedBundleLength = Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE;
+        List<SignatureInput> inputs = new ArrayList<>();
         TransactionViewModel tvm;
         for (int j = 0; j < bundleTxs.size(); ) {
 
@@ -406,33 +584,98 @@ public class BundleValidator {
                 continue;
             }
 
-            // verify the signature of the input address by computing the address
-            addressInstance.reset();
-            int offset = 0, offsetNext = 0;
+            SignatureInput input = new SignatureInput(tvm.getAddressHash());
+            int offset = 0;
+            //loop to traverse signature fragments divided between transactions
             do {
-                offsetNext = (offset + ISS.NUMBER_OF_FRAGMENT_CHUNKS - 1) % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE) + 1;
-                ISSInPlace.digest(SpongeFactory.Mode.KERL,
-                        normalizedBundle,
-                        offset % (Curl.HASH_LENGTH / Converter.NUMBER_OF_TRITS_IN_A_TRYTE),
-                        bundleTxs.get(j).trits(),
-                        TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
-                        digestTrits);
-                addressInstance.absorb(digestTrits, 0, Curl.HASH_LENGTH);
-                offset = offsetNext;
-            } //loop to traverse signature fragments divided between transactions
-            while (++j < bundleTxs.size()
-                    && bundleTxs.get(j).getAddressHash().equals(tvm.getAddressHash())
+                input.fragments.add(new SignatureFragment(normalizedBundle, offset % normalizedBundleLength,
+                        bundleTxs.get(j).trits()));
+                offset = (offset + ISS.NUMBER_OF_FRAGMENT_CHUNKS - 1) % normalizedBundleLength + 1;
+            } while (++j < bundleTxs.size()
+                    && bundleTxs.get(j).getAddressHash().equals(input.address)
                     && bundleTxs.get(j).value() == 0);
+            inputs.add(input);
+        }
+        return inputs;
+    }
 
-            addressInstance.squeeze(addressTrits, 0, addressTrits.length);
+    /**
+     * Creates the daemon pool that computes the digests of signature fragments. Its queue is bounded, and when it is
+     * full the submitting thread computes the digest itself, which throttles validators of very large bundles instead
+     * of queueing up unbounded work.
+     *
+     * @return the signature verification pool
+     */
+    private static ExecutorService createSignatureVerificationPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SIGNATURE_VERIFICATION_QUEUE_SIZE), r -> {
+                    Thread thread = new Thread(r, "Signature Verifier " + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
-            // verify the signature: compare the address against the computed address
-            // derived from the signature/bundle hash
-            if (!Arrays.equals(tvm.getAddressHash().trits(), addressTrits)) {
-                return Validity.INVALID;
+    /**
+     * An input of a bundle together with the signature fragments that need to be verified against its address.
+     */
+    private static class SignatureInput {
+
+        private final Hash address;
+
+        private final List<SignatureFragment> fragments = new ArrayList<>(3);
+
+        private SignatureInput(Hash address) {
+            this.address = address;
+        }
+
+        /**
+         * Derives the address from the already computed digests of the fragments and compares it against the address
+         * of the input.
+         *
+         * @param addressInstance sponge used to compute the address
+         * @return {@code true} if the signature is valid for this input's address
+         */
+        private boolean matchesAddress(Sponge addressInstance) {
+            final byte[] addressTrits = new byte[TransactionViewModel.ADDRESS_TRINARY_SIZE];
+            addressInstance.reset();
+            for (SignatureFragment fragment : fragments) {
+                addressInstance.absorb(fragment.digest, 0, Curl.HASH_LENGTH);
             }
+            addressInstance.squeeze(addressTrits, 0, addressTrits.length);
+            return Arrays.equals(address.trits(), addressTrits);
+        }
+    }
+
+    /**
+     * A single signature fragment of an input and the slot its digest gets written into.
+     */
+    private static class SignatureFragment {
+
+        private final byte[] normalizedBundle;
+
+        private final int normalizedBundleOffset;
+
+        private final byte[] transactionTrits;
+
+        private final byte[] digest = new byte[Curl.HASH_LENGTH];
+
+        private Future<?> pendingDigest;
+
+        private SignatureFragment(byte[] normalizedBundle, int normalizedBundleOffset, byte[] transactionTrits) {
+            this.normalizedBundle = normalizedBundle;
+            this.normalizedBundleOffset = normalizedBundleOffset;
+            this.transactionTrits = transactionTrits;
+        }
+
+        /**
+         * Computes the digest of this fragment with the Kerl instance of the executing thread.
+         */
+        private void computeDigest() {
+            ISSInPlace.digest(kerlInstances.get(), normalizedBundle, normalizedBundleOffset, transactionTrits,
+                    TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET, digest);
         }
-        return Validity.VALID;
     }
 
     /**
@@ -510,4 +753,56 @@ public class BundleValidator {
         }
         return bundleTransactions;
     }
+
+    /**
+     * The result of a successful bundle validation: the hashes of the transactions of the bundle in trunk order and
+     * the balance changes that the bundle applies to the ledger.
+     */
+    public static class ValidatedBundle {
+
+        private final Hash tailHash;
+
+        private final List<Hash> transactionHashes;
+
+        private final Map<Hash, Long> balanceDiff;
+
+        private final int validationMode;
+
+        private ValidatedBundle(Hash tailHash, List<TransactionViewModel> bundleTxs, int validationMode) {
+            this.tailHash = tailHash;
+            this.validationMode = validationMode;
+
+            List<Hash> hashes = new ArrayList<>(bundleTxs.size());
+            Map<Hash, Long> diff = new HashMap<>();
+            for (TransactionViewModel tvm : bundleTxs) {
+                hashes.add(tvm.getHash());
+                if (tvm.value() != 0) {
+                    diff.merge(tvm.getAddressHash(), tvm.value(), Math::addExact);
+                }
+            }
+            this.transactionHashes = Collections.unmodifiableList(hashes);
+            this.balanceDiff = Collections.unmodifiableMap(diff);
+        }
+
+        /**
+         * @return the hash of the tail transaction of the bundle
+         */
+        public Hash getTailHash() {
+            return tailHash;
+        }
+
+        /**
+         * @return the hashes of the transactions of the bundle ordered by their index
+         */
+        public List<Hash> getTransactionHashes() {
+            return transactionHashes;
+        }
+
+        /**
+         * @return the value changes of the addresses used in the bundle
+         */
+        public Map<Hash, Long> getBalanceDiff() {
+            return balanceDiff;
+        }
+    }
 }
@@ -2,6 +2,8 @@ package com.iota.iri;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.iota.iri.ixi.IxiCallMetrics;
+import com.iota.iri.ixi.JavaIxiModule;
 import com.iota.iri.service.CallableRequest;
 import com.iota.iri.service.dto.AbstractResponse;
 import com.iota.iri.service.dto.ErrorResponse;
@@ -20,10 +22,12 @@ import java.io.Reader;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,6 +44,7 @@ public class IXI {
     private final ScriptEngine scriptEngine = (new ScriptEngineManager()).getEngineByName("JavaScript");
     private final Map<String, Map<String, CallableRequest<AbstractResponse>>> ixiAPI = new HashMap<>();
     private final Map<String, Map<String, Runnable>> ixiLifetime = new HashMap<>();
+    private final Map<String, JavaIxiModule> javaModules = new ConcurrentHashMap<>();
     private final Map<WatchKey, Path> watchKeys = new HashMap<>();
     private final Map<Path, Long> loadedLastTime = new HashMap<>();
 
@@ -137,7 +142,7 @@ public class IXI {
             case MODIFY_MODULE:
                 Long lastModification = loadedLastTime.get(getRealPath(changedPath));
                 if (lastModification == null || Instant.now().toEpochMilli() - lastModification > 50L) {
-                    if (ixiLifetime.containsKey(getModuleName(changedPath, true))) {
+                    if (isLoaded(getModuleName(changedPath, true))) {
                         unloadModule(changedPath);
                     }
                     loadedLastTime.put(getRealPath(changedPath), Instant.now().toEpochMilli());
@@ -147,7 +152,7 @@ public class IXI {
             case DELETE_MODULE:
                 Path realPath = getRealPath(changedPath);
                 unwatch(realPath);
-                if (ixiLifetime.containsKey(getModuleName(realPath, false))) {
+                if (isLoaded(getModuleName(realPath, false))) {
                     unloadModule(changedPath);
                 }
                 break;
@@ -195,6 +200,11 @@ public class IXI {
         Matcher matcher = pattern.matcher(command);
 
         if (matcher.find()) {
+            JavaIxiModule javaModule = javaModules.get(matcher.group(1));
+            if (javaModule != null && javaModule.hasCall(matcher.group(2))) {
+                return javaModule.call(matcher.group(2), request);
+            }
+
             Map<String, CallableRequest<AbstractResponse>> ixiMap = ixiAPI.get(matcher.group(1));
             if (ixiMap != null && ixiMap.containsKey(matcher.group(2))) {
                 return ixiMap.get(matcher.group(2)).call(request);
@@ -203,6 +213,15 @@ public class IXI {
         return ErrorResponse.create("Command [" + command + "] is unknown");
     }
 
+    /**
+     * @param moduleName the name of a module that is packaged as a JAR
+     * @return the metrics of the calls of the module by their name or an empty map if the module is not loaded
+     */
+    public Map<String, IxiCallMetrics> getCallMetrics(String moduleName) {
+        JavaIxiModule javaModule = javaModules.get(moduleName);
+        return javaModule == null ? Collections.emptyMap() : javaModule.getMetrics();
+    }
+
     private void loadModule(Path modulePath) {
         log.info("Searching: {}", modulePath);
         Path packageJsonPath = getPackagePath(modulePath);
@@ -222,7 +241,13 @@ public class IXI {
         if(packageJson != null && packageJson.get("main") != null) {
             log.info("Loading module: {}", getModuleName(modulePath, true));
             Path pathToMain = Paths.get(modulePath.toString(), (String) packageJson.get("main"));
-            attach(pathToMain, getModuleName(modulePath, true));
+            if (pathToMain.toString().endsWith(".jar")) {
+                Object threads = packageJson.get("threads");
+                attachJar(pathToMain, getModuleName(modulePath, true), threads instanceof Number
+                        ? ((Number) threads).intValue() : Runtime.getRuntime().availableProcessors());
+            } else {
+                attach(pathToMain, getModuleName(modulePath, true));
+            }
         } else {
             log.info("No start script found");
         }
@@ -236,6 +261,26 @@ public class IXI {
         ixiAPI.remove(moduleName);
     }
 
+    private boolean isLoaded(String moduleName) {
+        return ixiLifetime.containsKey(moduleName) || javaModules.containsKey(moduleName);
+    }
+
+    /**
+     * Loads a module that is packaged as a JAR implementing the {@link com.iota.iri.ixi.IxiModule} interface.
+     *
+     * @param pathToJar the JAR of the module
+     * @param moduleName the name of the module
+     * @param threads the amount of threads that run the calls of the module
+     */
+    private void attachJar(Path pathToJar, String moduleName, int threads) {
+        log.info("Starting java module: {}", pathToJar);
+        try {
+            javaModules.put(moduleName, JavaIxiModule.load(moduleName, pathToJar, iota, threads));
+        } catch (IOException e) {
+            log.error("Could not load {}", pathToJar, e);
+        }
+    }
+
     private void attach(Path pathToMain, String moduleName) {
         try (Reader ixiModuleReader = new FileReader(pathToMain.toFile())) {
             log.info("Starting script: {}", pathToMain);
@@ -260,6 +305,11 @@ public class IXI {
     }
 
     private void detach(String moduleName) {
+        JavaIxiModule javaModule = javaModules.remove(moduleName);
+        if (javaModule != null) {
+            javaModule.shutdown();
+        }
+
         Map<String, Runnable> ixiMap = ixiLifetime.get(moduleName);
         if(ixiMap != null) {
             Runnable stop = ixiMap.get("shutdown");
@@ -279,6 +329,7 @@ public class IXI {
             shutdown = true;
             dirWatchThread.join();
             ixiAPI.keySet().forEach(this::detach);
+            javaModules.keySet().forEach(this::detach);
             ixiAPI.clear();
             ixiLifetime.clear();
         }
@@ -189,9 +189,13 @@ public class Iota {
         if (configuration.isRevalidate()) {
             tangle.clearColumn(com.iota.iri.model.persistables.Milestone.class);
             tangle.clearColumn(com.iota.iri.model.StateDiff.class);
+            tangle.clearColumn(com.iota.iri.model.StateDiffCheckpoint.class);
             tangle.clearMetadata(com.iota.iri.model.persistables.Transaction.class);
         }
 
+        log.info("Loaded {} tips from the database", tipsViewModel.loadTips(tangle,
+                snapshotProvider.getInitialSnapshot()));
+
         txPipeline.start();
         neighborRouter.start();
         tipsRequester.start();
@@ -221,6 +225,7 @@ public class Iota {
         tangle.clearColumn(com.iota.iri.model.persistables.Tag.class);
         tangle.clearColumn(com.iota.iri.model.persistables.Milestone.class);
         tangle.clearColumn(com.iota.iri.model.StateDiff.class);
+        tangle.clearColumn(com.iota.iri.model.StateDiffCheckpoint.class);
         tangle.clearMetadata(com.iota.iri.model.persistables.Transaction.class);
 
         // rescan all tx & refill the columns
@@ -258,6 +263,7 @@ public class Iota {
         tipsRequester.shutdown();
         txPipeline.shutdown();
         neighborRouter.shutdown();
+        spentAddressesProvider.shutdown();
         localSnapshotsDb.shutdown();
         tangle.shutdown();
 
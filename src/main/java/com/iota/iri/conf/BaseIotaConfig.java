@@ -51,6 +51,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected boolean autoTetheringEnabled = Defaults.AUTO_TETHERING_ENABLED;
     protected double pDropCacheEntry = Defaults.P_DROP_CACHE_ENTRY;
     protected int sendLimit = Defaults.SEND_LIMIT;
+    protected int receiveLimit = Defaults.RECEIVE_LIMIT;
     protected int maxNeighbors = Defaults.MAX_NEIGHBORS;
     protected boolean dnsRefresherEnabled = Defaults.DNS_REFRESHER_ENABLED;
     protected boolean dnsResolutionEnabled = Defaults.DNS_RESOLUTION_ENABLED;
@@ -77,6 +78,8 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected int zmqPort = Defaults.ZMQ_PORT;
     protected int zmqThreads = Defaults.ZMQ_THREADS;
     protected String zmqIpc = Defaults.ZMQ_IPC;
+    protected boolean zmqBinaryFrames = Defaults.ZMQ_BINARY_FRAMES;
+    protected int zmqQueueSize = Defaults.ZMQ_QUEUE_SIZE;
     protected int qSizeNode = Defaults.QUEUE_SIZE;
     protected int cacheSizeBytes = Defaults.CACHE_SIZE_BYTES;
     /**
@@ -105,6 +108,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
     protected int localSnapshotsDepth = Defaults.LOCAL_SNAPSHOTS_DEPTH;
     protected String localSnapshotsDbPath = Defaults.LOCAL_SNAPSHOTS_DB_PATH;
     protected String localSnapshotsDbLogPath = Defaults.LOCAL_SNAPSHOTS_DB_LOG_PATH;
+    protected boolean spentAddressesFilterEnabled = Defaults.SPENT_ADDRESSES_FILTER_ENABLED;
 
     //Solidification
     protected boolean printSyncProgressEnabled = Defaults.PRINT_SYNC_PROGRESS_ENABLED;
@@ -329,6 +333,17 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.sendLimit = sendLimit;
     }
 
+    @Override
+    public int getReceiveLimit() {
+        return receiveLimit;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--receive-limit"}, description = NetworkConfig.Descriptions.RECEIVE_LIMIT)
+    protected void setReceiveLimit(int receiveLimit) {
+        this.receiveLimit = receiveLimit;
+    }
+
     @Override
     public int getMaxNeighbors() {
         return maxNeighbors;
@@ -606,6 +621,18 @@ public abstract class BaseIotaConfig implements IotaConfig {
         return Defaults.PREVIOUS_EPOCHS_SPENT_ADDRESSES_FILE;
     }
 
+    @Override
+    public boolean getSpentAddressesFilterEnabled() {
+        return spentAddressesFilterEnabled;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--spent-addresses-filter-enabled"}, description =
+            SnapshotConfig.Descriptions.SPENT_ADDRESSES_FILTER_ENABLED, arity = 1)
+    protected void setSpentAddressesFilterEnabled(boolean spentAddressesFilterEnabled) {
+        this.spentAddressesFilterEnabled = spentAddressesFilterEnabled;
+    }
+
     @Override
     public int getMilestoneStartIndex() {
         return Defaults.MILESTONE_START_INDEX;
@@ -722,6 +749,28 @@ public abstract class BaseIotaConfig implements IotaConfig {
         this.zmqEnableIpc = true;
     }
 
+    @Override
+    public boolean isZmqBinaryFrames() {
+        return zmqBinaryFrames;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--zmq-binary-frames", description = ZMQConfig.Descriptions.ZMQ_BINARY_FRAMES, arity = 1)
+    protected void setZmqBinaryFrames(boolean zmqBinaryFrames) {
+        this.zmqBinaryFrames = zmqBinaryFrames;
+    }
+
+    @Override
+    public int getZmqQueueSize() {
+        return zmqQueueSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--zmq-queue-size", description = ZMQConfig.Descriptions.ZMQ_QUEUE_SIZE)
+    protected void setZmqQueueSize(int zmqQueueSize) {
+        this.zmqQueueSize = zmqQueueSize;
+    }
+
     @Override
     public int getqSizeNode() {
         return qSizeNode;
@@ -864,6 +913,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
         int RECONNECT_ATTEMPT_INTERVAL_SECONDS = 60;
         boolean AUTO_TETHERING_ENABLED = false;
         int SEND_LIMIT = -1;
+        int RECEIVE_LIMIT = 500;
         int MAX_NEIGHBORS = 5;
         boolean DNS_REFRESHER_ENABLED = true;
         boolean DNS_RESOLUTION_ENABLED = true;
@@ -895,6 +945,8 @@ public abstract class BaseIotaConfig implements IotaConfig {
         String ZMQ_IPC = "ipc://iri";
         boolean ZMQ_ENABLE_TCP = false;
         int ZMQ_PORT = 5556;
+        boolean ZMQ_BINARY_FRAMES = false;
+        int ZMQ_QUEUE_SIZE = 10_000;
 
         //TipSel
         int MAX_DEPTH = 15;
@@ -931,6 +983,7 @@ public abstract class BaseIotaConfig implements IotaConfig {
         String PREVIOUS_EPOCHS_SPENT_ADDRESSES_FILE =
                 "/previousEpochsSpentAddresses1.txt /previousEpochsSpentAddresses2.txt " +
                         "/previousEpochsSpentAddresses3.txt";
+        boolean SPENT_ADDRESSES_FILTER_ENABLED = true;
         long SNAPSHOT_TIME = 1554904800;
         int MILESTONE_START_INDEX = 1050000;
         int BELOW_MAX_DEPTH_TRANSACTION_LIMIT = 20_000;
@@ -43,6 +43,13 @@ public interface NetworkConfig extends Config {
      */
     int getSendLimit();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#RECEIVE_LIMIT}
+     *
+     * @return {@value NetworkConfig.Descriptions#RECEIVE_LIMIT}
+     */
+    int getReceiveLimit();
+
     /**
      * Default Value: {@value BaseIotaConfig.Defaults#MAX_NEIGHBORS}
      *
@@ -96,6 +103,8 @@ public interface NetworkConfig extends Config {
         String AUTO_TETHERING_ENABLED = "Whether to accept new connections from unknown neighbors. "
                 + "Unknown meaning neighbors which are not defined in the config and were not added via addNeighbors.";
         String SEND_LIMIT = "The maximum number of packets that may be sent by this node in a 1 second interval. If this number is below 0 then there is no limit.";
+        String RECEIVE_LIMIT = "The maximum number of transactions per second which are processed from a single neighbor. "
+                + "Further transactions are dropped. If this number is 0 or below then there is no limit.";
         String MAX_NEIGHBORS = "The maximum number of neighbors allowed to be connected.";
         String DNS_REFRESHER_ENABLED = "Reconnect to neighbors that have dynamic IPs.";
         String DNS_RESOLUTION_ENABLED = "Enable using DNS for neighbor peering.";
@@ -89,6 +89,13 @@ public interface SnapshotConfig extends Config {
      */
     String getPreviousEpochSpentAddressesFiles();
 
+    /**
+     * Default Value: {@value BaseIotaConfig.Defaults#SPENT_ADDRESSES_FILTER_ENABLED}
+     *
+     * @return {@value SnapshotConfig.Descriptions#SPENT_ADDRESSES_FILTER_ENABLED}
+     */
+    boolean getSpentAddressesFilterEnabled();
+
     /**
      * Default Value: {@value BaseIotaConfig.Defaults#LOCAL_SNAPSHOTS_DB_PATH}
      *
@@ -120,6 +127,8 @@ public interface SnapshotConfig extends Config {
                 "transaction by the coordinator.";
         String PREVIOUS_EPOCH_SPENT_ADDRESSES_FILE = "The file that contains the list of all used addresses " +
                 "from previous epochs";
+        String SPENT_ADDRESSES_FILTER_ENABLED = "Flag that determines if a cuckoo filter of the spent addresses is " +
+                "kept in memory, so addresses which were never spent from can be ruled out without a database lookup.";
         String LOCAL_SNAPSHOTS_DB_PATH = "The folder where the local snapshots DB saves its data.";
         String LOCAL_SNAPSHOTS_DB_LOG_PATH = "The folder where the local snapshots DB saves its logs.";
     }
@@ -32,6 +32,16 @@ public interface ZMQConfig extends Config {
      */
     String getZmqIpc();
 
+    /**
+     * @return Descriptions#ZMQ_BINARY_FRAMES
+     */
+    boolean isZmqBinaryFrames();
+
+    /**
+     * @return Descriptions#ZMQ_QUEUE_SIZE
+     */
+    int getZmqQueueSize();
+
     interface Descriptions {
         String ZMQ_PORT = "The port used to connect to the ZMQ feed";
         String ZMQ_IPC = "The path that is used to communicate with ZMQ in IPC";
@@ -39,5 +49,7 @@ public interface ZMQConfig extends Config {
         String ZMQ_ENABLE_TCP = "Enable zmq channels on tcp port 5556. Use --zmq-port=[PORT] to override.";
         String ZMQ_ENABLE_IPC = "Enable zmq channels on ipc://iri. Use --zmq-ipc=[SOCKET] to override.";
         String ZMQ_THREADS = "The threads used by ZMQ publisher";
+        String ZMQ_BINARY_FRAMES = "Additionally publish new transactions as raw bytes on the btx topic.";
+        String ZMQ_QUEUE_SIZE = "The maximum amount of events waiting to be published. Further events are dropped.";
     }
 }
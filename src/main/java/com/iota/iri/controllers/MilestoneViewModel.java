@@ -3,11 +3,13 @@ package com.iota.iri.controllers;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.IntegerIndex;
 import com.iota.iri.model.persistables.Milestone;
+import com.iota.iri.model.persistables.MilestoneBucket;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.Persistable;
 import com.iota.iri.storage.Tangle;
 import com.iota.iri.utils.Pair;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -218,6 +220,21 @@ public class MilestoneViewModel {
         return tangle.save(milestone, milestone.index);
     }
 
+    /**
+     * Marks the {@link MilestoneBucket} of the milestone with the given index as complete.
+     *
+     * It must only be called after all transactions confirmed by the milestone were added to its bucket, so that
+     * pruning can rely on the bucket instead of traversing the past cone of the milestone.
+     *
+     * @param tangle The tangle reference for the database
+     * @param index The integer index of the milestone
+     * @throws Exception Thrown if there is an error while saving the marker
+     */
+    public static void markBucketComplete(Tangle tangle, int index) throws Exception {
+        tangle.saveBatch(Collections.singletonList(new Pair<>(new IntegerIndex(index),
+                new MilestoneBucket(MilestoneBucket.COMPLETE_MARKER))));
+    }
+
     /**@return  The {@link Hash} identifier of the {@link Milestone} object*/
     public Hash getHash() {
         return milestone.hash;
@@ -0,0 +1,85 @@
+package com.iota.iri.controllers;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.StateDiffCheckpoint;
+import com.iota.iri.storage.Tangle;
+
+import java.util.Map;
+
+/**
+ * Acts as a controller interface for a {@link StateDiffCheckpoint}. This controller is used to manipulate the
+ * accumulated balance changes of a block of {@value StateDiffCheckpoint#INTERVAL} milestones in the database.
+ */
+public class StateDiffCheckpointViewModel {
+    private final StateDiffCheckpoint checkpoint;
+    private final int blockStart;
+
+    /**
+     * Loads the {@link StateDiffCheckpoint} of the block that starts with the given milestone index.
+     *
+     * @param tangle The tangle reference for the database
+     * @param blockStart The index of the first milestone of the block
+     * @return The new {@link StateDiffCheckpointViewModel}, which is empty if no checkpoint was stored yet
+     * @throws Exception Thrown if there is an error loading the {@link StateDiffCheckpoint} from the database
+     */
+    public static StateDiffCheckpointViewModel load(Tangle tangle, int blockStart) throws Exception {
+        return new StateDiffCheckpointViewModel((StateDiffCheckpoint) tangle.load(StateDiffCheckpoint.class,
+                new IntegerIndex(blockStart)), blockStart);
+    }
+
+    /**
+     * Removes the {@link StateDiffCheckpoint} of the block containing the given milestone, so it gets rebuilt from
+     * the single {@link com.iota.iri.model.StateDiff}s the next time it is needed.
+     *
+     * @param tangle The tangle reference for the database
+     * @param milestoneIndex The index of a milestone whose {@link com.iota.iri.model.StateDiff} changed
+     * @throws Exception Thrown if there is an error while removing the {@link StateDiffCheckpoint}
+     */
+    public static void invalidate(Tangle tangle, int milestoneIndex) throws Exception {
+        tangle.delete(StateDiffCheckpoint.class, new IntegerIndex(StateDiffCheckpoint.blockStart(milestoneIndex)));
+    }
+
+    /**
+     * Constructor for a {@link StateDiffCheckpoint} controller holding the given accumulated balance changes.
+     *
+     * @param state The accumulated balance changes of the block
+     * @param blockStart The index of the first milestone of the block
+     */
+    public StateDiffCheckpointViewModel(final Map<Hash, Long> state, final int blockStart) {
+        this.blockStart = blockStart;
+        this.checkpoint = new StateDiffCheckpoint();
+        this.checkpoint.state = state;
+    }
+
+    private StateDiffCheckpointViewModel(final StateDiffCheckpoint checkpoint, final int blockStart) {
+        this.blockStart = blockStart;
+        this.checkpoint = checkpoint == null ? new StateDiffCheckpoint() : checkpoint;
+    }
+
+    /**@return True if no balance changes were stored for the block*/
+    public boolean isEmpty() {
+        return checkpoint.state == null || checkpoint.state.isEmpty();
+    }
+
+    /**@return The index of the first milestone of the block*/
+    public int getBlockStart() {
+        return blockStart;
+    }
+
+    /**@return The accumulated balance changes of the block*/
+    public Map<Hash, Long> getDiff() {
+        return checkpoint.state;
+    }
+
+    /**
+     * Saves the {@link StateDiffCheckpoint} to the database.
+     *
+     * @param tangle The tangle reference for the database
+     * @return True if the {@link StateDiffCheckpoint} was saved correctly, False if not
+     * @throws Exception Thrown if there is an error while saving the {@link StateDiffCheckpoint}
+     */
+    public boolean store(Tangle tangle) throws Exception {
+        return tangle.save(checkpoint, new IntegerIndex(blockStart));
+    }
+}
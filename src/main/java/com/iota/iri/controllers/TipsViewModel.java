@@ -1,49 +1,133 @@
 package com.iota.iri.controllers;
 
-import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.service.snapshot.Snapshot;
+import com.iota.iri.storage.Indexable;
+import com.iota.iri.storage.Tangle;
 
 /**
  * Acts as a controller interface for a <tt>Tips</tt> set. A tips set is a a First In First Out cache for
  * {@link com.iota.iri.model.persistables.Transaction} objects that have no children. <tt>Tips</tt> are stored in the
  * {@link TipsViewModel} until they are deemed solid or are removed from the cache.
+ *
+ * <p>
+ *     The tips are spread over a fixed number of stripes by their hash. Modifications only lock the stripe of the tip
+ *     and publish an immutable array copy of the changed cache. Readers ({@link #getRandomSolidTipHash()},
+ *     {@link #getTips()} and the sizes) only use these arrays, so they never wait for a lock and a random tip is
+ *     picked in constant time. Every tip gets a sequence number when it is added, so the globally oldest tips can be
+ *     evicted once the caches are full.
+ * </p>
  */
 public class TipsViewModel {
 
     /** The maximum size of the <tt>Tips</tt> set*/
     public static final int MAX_TIPS = 5000;
 
-    private final FifoHashCache<Hash> tips = new FifoHashCache<>(TipsViewModel.MAX_TIPS);
-    private final FifoHashCache<Hash> solidTips = new FifoHashCache<>(TipsViewModel.MAX_TIPS);
+    /** The number of stripes the tips are spread over, has to be a power of two */
+    private static final int STRIPES = 8;
 
-    private final SecureRandom seed = new SecureRandom();
-    private final Object sync = new Object();
+    private static final Hash[] NO_TIPS = new Hash[0];
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger tipCount = new AtomicInteger();
+    private final AtomicInteger solidTipCount = new AtomicInteger();
+
+    /**
+     * Creates empty tip caches.
+     */
+    public TipsViewModel() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Fills the tip caches with the transactions of the database that have no approvers, so the node does not start
+     * with an empty tip set after a restart.
+     *
+     * <p>
+     *     Only the metadata of the tips is read and only the {@link #MAX_TIPS} most recent ones are kept while
+     *     scanning, so a database with many orphaned transactions doesn't fill the heap. Tips that arrived before the
+     *     milestone of the initial snapshot are skipped, as they lie below the solid entry points. The kept tips are
+     *     added in the order of their arrival.
+     * </p>
+     *
+     * @param tangle The tangle reference for the database
+     * @param initialSnapshot snapshot that acts as genesis
+     * @return The amount of tips that were added to the caches
+     * @throws Exception Thrown if the database fails to return the tips
+     */
+    public int loadTips(Tangle tangle, Snapshot initialSnapshot) throws Exception {
+        long minArrivalTime = TimeUnit.SECONDS.toMillis(initialSnapshot.getTimestamp());
+        // the oldest kept tip is on top, so it is the one replaced by a more recent tip
+        PriorityQueue<LoadedTip> newestTips = new PriorityQueue<>(MAX_TIPS,
+                Comparator.comparingLong(tip -> tip.arrivalTime));
+        for (Indexable tip : TransactionViewModel.getTipTransactions(tangle)) {
+            Transaction metadata = (Transaction) tangle.loadMetadata(Transaction.class, tip);
+            if (metadata.type.get() == TransactionViewModel.PREFILLED_SLOT || metadata.arrivalTime < minArrivalTime) {
+                continue;
+            }
+            if (newestTips.size() < MAX_TIPS) {
+                newestTips.add(new LoadedTip((Hash) tip, metadata.arrivalTime, metadata.solid.get()));
+            } else if (newestTips.peek().arrivalTime < metadata.arrivalTime) {
+                newestTips.poll();
+                newestTips.add(new LoadedTip((Hash) tip, metadata.arrivalTime, metadata.solid.get()));
+            }
+        }
+
+        int loadedTips = newestTips.size();
+        LoadedTip tip;
+        while ((tip = newestTips.poll()) != null) {
+            addTipHash(tip.hash);
+            if (tip.solid) {
+                setSolid(tip.hash);
+            }
+        }
+        return loadedTips;
+    }
 
     /**
-     * Adds a {@link Hash} object to the tip cache in a synchronous fashion.
+     * Adds a {@link Hash} object to the tip cache.
      *
      * @param hash The {@link Hash} identifier of the object to be added
      */
     public void addTipHash(Hash hash) {
-        synchronized (sync) {
-            tips.add(hash);
+        Stripe stripe = stripeOf(hash);
+        synchronized (stripe) {
+            if (stripe.tips.add(hash, sequence.incrementAndGet())) {
+                tipCount.incrementAndGet();
+            }
         }
+        evictOldest(false);
     }
 
     /**
-     * Removes a {@link Hash} object from the tip cache in a synchronous fashion.
+     * Removes a {@link Hash} object from the tip cache.
      *
      * @param hash The {@link Hash} identifier of the object to be removed
      */
     public void removeTipHash(Hash hash) {
-        synchronized (sync) {
-            if (!tips.remove(hash)) {
-                solidTips.remove(hash);
+        Stripe stripe = stripeOf(hash);
+        synchronized (stripe) {
+            if (stripe.tips.remove(hash)) {
+                tipCount.decrementAndGet();
+            } else if (stripe.solidTips.remove(hash)) {
+                solidTipCount.decrementAndGet();
             }
         }
     }
@@ -59,154 +143,191 @@ public class TipsViewModel {
      * @param tip The {@link Hash} identifier for the object that will be set to solid
      */
     public void setSolid(Hash tip) {
-        synchronized (sync) {
-            if (tips.remove(tip)) {
-                solidTips.add(tip);
+        Stripe stripe = stripeOf(tip);
+        boolean movedTip = false;
+        synchronized (stripe) {
+            if (stripe.tips.remove(tip)) {
+                tipCount.decrementAndGet();
+                movedTip = stripe.solidTips.add(tip, sequence.incrementAndGet());
+                if (movedTip) {
+                    solidTipCount.incrementAndGet();
+                }
             }
         }
+        if (movedTip) {
+            evictOldest(true);
+        }
     }
 
     /**
-     * Iterates through all solid and non-solid tips and compiles them into one {@link Hash} set to be returned. This
-     * does so in a synchronised fashion.
+     * Compiles all solid and non-solid tips into one {@link Hash} set to be returned. The stripes are read one after
+     * another without locking, so the result is not an atomic snapshot of all tips.
      *
      * @return The {@link Hash} set containing all solid and non-solid tips
      */
     public Set<Hash> getTips() {
         Set<Hash> hashes = new HashSet<>();
-        synchronized (sync) {
-            Iterator<Hash> hashIterator;
-            hashIterator = tips.iterator();
-            while (hashIterator.hasNext()) {
-                hashes.add(hashIterator.next());
-            }
-
-            hashIterator = solidTips.iterator();
-            while (hashIterator.hasNext()) {
-                hashes.add(hashIterator.next());
-            }
+        for (Stripe stripe : stripes) {
+            Collections.addAll(hashes, stripe.tips.snapshot);
+            Collections.addAll(hashes, stripe.solidTips.snapshot);
         }
         return hashes;
     }
 
     /**
-     * Returns a random tip by generating a random integer within the range of the <tt>SolidTips</tt> set, and iterates
-     * through the set until a hash is returned. If there are no <tt>Solid</tt> tips available, then
+     * Returns a random tip of the <tt>SolidTips</tt> set. If there are no <tt>Solid</tt> tips available, then
      * <tt>getRandomNonSolidTipHash</tt> is called and returned instead.
      *
      * @return A random <tt>Solid</tt> tip if available, a random <tt>NonSolid</tt> tip if not
      */
     public Hash getRandomSolidTipHash() {
-        synchronized (sync) {
-            int size = solidTips.size();
-            if (size == 0) {
-                return getRandomNonSolidTipHash();
-            }
-            int index = seed.nextInt(size);
-            Iterator<Hash> hashIterator;
-            hashIterator = solidTips.iterator();
-            Hash hash = null;
-            while (index-- >= 0 && hashIterator.hasNext()) {
-                hash = hashIterator.next();
-            }
-            return hash;
-            //return solidTips.size() != 0 ? solidTips.get(seed.nextInt(solidTips.size())) : getRandomNonSolidTipHash();
+        Hash[][] snapshots = new Hash[STRIPES][];
+        for (int i = 0; i < STRIPES; i++) {
+            snapshots[i] = stripes[i].solidTips.snapshot;
         }
+        Hash hash = getRandomHash(snapshots);
+        return hash != null ? hash : getRandomNonSolidTipHash();
     }
 
     /**
-     * Returns a random tip by generating integer within the range of the <tt>Tips</tt> set, and iterates through the
-     * set until a hash is returned. If there are no tips available, then null is returned instead.
+     * Returns a random tip of the <tt>Tips</tt> set. If there are no tips available, then null is returned instead.
      *
      * @return A random tip if available, null if not
      */
     public Hash getRandomNonSolidTipHash() {
-        synchronized (sync) {
-            int size = tips.size();
-            if (size == 0) {
-                return null;
-            }
-            int index = seed.nextInt(size);
-            Iterator<Hash> hashIterator;
-            hashIterator = tips.iterator();
-            Hash hash = null;
-            while (index-- >= 0 && hashIterator.hasNext()) {
-                hash = hashIterator.next();
-            }
-            return hash;
-            //return tips.size() != 0 ? tips.get(seed.nextInt(tips.size())) : null;
+        Hash[][] snapshots = new Hash[STRIPES][];
+        for (int i = 0; i < STRIPES; i++) {
+            snapshots[i] = stripes[i].tips.snapshot;
         }
+        return getRandomHash(snapshots);
     }
 
     /**
-     * Fetches the size of the <tt>Tips</tt> set in a synchronised fashion
+     * Fetches the size of the <tt>Tips</tt> set
      * @return The size of the set
      */
     public int nonSolidSize() {
-        synchronized (sync) {
-            return tips.size();
-        }
+        return tipCount.get();
     }
 
     /**
-     * Fetches the size of the <tt>SolidTips</tt> set in a synchronised fashion
+     * Fetches the size of the <tt>SolidTips</tt> set
      * @return The size of the set
      */
     public int solidSize() {
-        synchronized (sync) {
-            return solidTips.size();
-        }
+        return solidTipCount.get();
     }
 
     /**
-     * Fetches the size of the <tt>Tips</tt> set and <tt>SolidTips</tt>set combined. This does so in a synchronised
-     * fashion.
+     * Fetches the size of the <tt>Tips</tt> set and <tt>SolidTips</tt>set combined.
      * @return The size of both sets combined
      */
     public int size() {
-        synchronized (sync) {
-            return tips.size() + solidTips.size();
-        }
+        return nonSolidSize() + solidSize();
     }
 
     /**
-     * A First In First Out hash set for storing <tt>Tip</tt> transactions.
+     * Removes the oldest tips of all stripes until the cache is within its capacity again. The stripes are locked one
+     * at a time, so this has to be called after the lock of the modified stripe was released.
      *
-     * @param <K> The class of object that will be stored in the hash set
+     * @param solid True to trim the <tt>SolidTips</tt>, False to trim the <tt>Tips</tt>
      */
-    private class FifoHashCache<K> {
+    private void evictOldest(boolean solid) {
+        AtomicInteger count = solid ? solidTipCount : tipCount;
+        int size;
+        while ((size = count.get()) > MAX_TIPS) {
+            if (!count.compareAndSet(size, size - 1)) {
+                continue;
+            }
 
-        private final int capacity;
-        private final LinkedHashSet<K> set;
+            Stripe oldestStripe = null;
+            long oldestSequence = Long.MAX_VALUE;
+            for (Stripe stripe : stripes) {
+                long stripeSequence = (solid ? stripe.solidTips : stripe.tips).oldestSequence;
+                if (stripeSequence < oldestSequence) {
+                    oldestStripe = stripe;
+                    oldestSequence = stripeSequence;
+                }
+            }
 
-        /**
-         * Constructor for a <tt>Fifo LinkedHashSet Hash</tt> set of a given size.
-         *
-         * @param capacity The maximum size allocated for the set
-         */
-        public FifoHashCache(int capacity) {
-            this.capacity = capacity;
-            this.set = new LinkedHashSet<>();
+            boolean evicted = false;
+            if (oldestStripe != null) {
+                synchronized (oldestStripe) {
+                    evicted = (solid ? oldestStripe.solidTips : oldestStripe.tips).removeOldest();
+                }
+            }
+            if (!evicted) {
+                count.incrementAndGet();
+            }
+        }
+    }
+
+    private Stripe stripeOf(Hash hash) {
+        int hashCode = hash.hashCode();
+        return stripes[(hashCode ^ (hashCode >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Picks a uniformly distributed random hash of the given arrays.
+     *
+     * @param snapshots The published tip arrays of all stripes
+     * @return A random hash or null if all arrays are empty
+     */
+    private static Hash getRandomHash(Hash[][] snapshots) {
+        int size = 0;
+        for (Hash[] snapshot : snapshots) {
+            size += snapshot.length;
+        }
+        if (size == 0) {
+            return null;
         }
 
+        int index = ThreadLocalRandom.current().nextInt(size);
+        for (Hash[] snapshot : snapshots) {
+            if (index < snapshot.length) {
+                return snapshot[index];
+            }
+            index -= snapshot.length;
+        }
+        return null;
+    }
+
+    /**
+     * The solid and non-solid tips of one stripe, which are only modified while holding the lock of the stripe.
+     */
+    private static class Stripe {
+
+        private final TipQueue tips = new TipQueue();
+        private final TipQueue solidTips = new TipQueue();
+    }
+
+    /**
+     * A First In First Out hash set for storing <tt>Tip</tt> transactions together with the sequence number they were
+     * added with. Every modification publishes the new content for the readers.
+     */
+    private static class TipQueue {
+
+        private final LinkedHashMap<Hash, Long> set = new LinkedHashMap<>();
+
+        /** The stored tips, oldest first */
+        private volatile Hash[] snapshot = NO_TIPS;
+
+        /** The sequence number of the oldest stored tip */
+        private volatile long oldestSequence = Long.MAX_VALUE;
+
         /**
-         * Determines if there is vacant space available in the set, and adds the provided object to the set if so. If
-         * there is no space available, the set removes the next available object iteratively until there is room
-         * available.
+         * Adds the provided object to the set.
          *
          * @param key The {@link Hash} identifier for the object that will be added to the set
+         * @param sequence The sequence number that orders the object among all tips
          * @return True if the new objects have been added, False if not
          */
-        public boolean add(K key) {
-            int vacancy = this.capacity - this.set.size();
-            if (vacancy <= 0) {
-                Iterator<K> it = this.set.iterator();
-                for (int i = vacancy; i <= 0; i++) {
-                    it.next();
-                    it.remove();
-                }
+        private boolean add(Hash key, long sequence) {
+            if (set.putIfAbsent(key, sequence) != null) {
+                return false;
             }
-            return this.set.add(key);
+            publish();
+            return true;
         }
 
         /**
@@ -215,21 +336,55 @@ public class TipsViewModel {
          * @param key The {@link Hash} identifier for the object that will be removed from the set
          * @return True if the object is removed, False if not
          */
-        public boolean remove(K key) {
-            return this.set.remove(key);
+        private boolean remove(Hash key) {
+            if (set.remove(key) == null) {
+                return false;
+            }
+            publish();
+            return true;
         }
 
-        /**@return The integer size of the stored {@link Hash} set*/
-        public int size() {
-            return this.set.size();
+        /**
+         * Removes the object that was added first.
+         *
+         * @return True if an object was removed, False if the set is empty
+         */
+        private boolean removeOldest() {
+            Iterator<Hash> iterator = set.keySet().iterator();
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            iterator.next();
+            iterator.remove();
+            publish();
+            return true;
         }
 
-        /**
-         * Creates a new iterator for the object set based on the {@link Hash} class of the set.
-         * @return The class matched iterator for the stored set*/
-        public Iterator<K> iterator() {
-            return this.set.iterator();
+        private void publish() {
+            if (set.isEmpty()) {
+                snapshot = NO_TIPS;
+                oldestSequence = Long.MAX_VALUE;
+            } else {
+                snapshot = set.keySet().toArray(new Hash[0]);
+                oldestSequence = set.values().iterator().next();
+            }
         }
     }
 
+
+    /**
+     * A tip found in the database while filling the caches.
+     */
+    private static class LoadedTip {
+
+        private final Hash hash;
+        private final long arrivalTime;
+        private final boolean solid;
+
+        private LoadedTip(Hash hash, long arrivalTime, boolean solid) {
+            this.hash = hash;
+            this.arrivalTime = arrivalTime;
+            this.solid = solid;
+        }
+    }
 }
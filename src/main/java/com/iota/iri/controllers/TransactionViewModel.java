@@ -233,6 +233,19 @@ public class TransactionViewModel {
         return tangle.keysWithMissingReferences(Approvee.class, Transaction.class);
     }
 
+    /**
+     * Fetches the {@link Hash} identifiers of all stored transactions which are not approved by any other stored
+     * transaction. Since every approver is merged into the {@link Approvee} entry of its trunk and branch when it is
+     * stored, these are the transactions without such an entry.
+     *
+     * @param tangle the tangle reference for the database
+     * @return the identifiers of the tips in the database
+     * @throws Exception if the database can not be read
+     */
+    public static Set<Indexable> getTipTransactions(Tangle tangle) throws Exception {
+        return tangle.keysWithMissingReferences(Transaction.class, Approvee.class);
+    }
+
     /**
      * Fetches the first persistable {@link Transaction} object from the database and generates a new
      * {@link TransactionViewModel} from it. If no objects exist in the database, it will return null.
@@ -276,6 +289,16 @@ public class TransactionViewModel {
         tangle.update(transaction, hash, item);
     }
 
+    /**
+     * Notifies the message queue providers about a newly stored transaction. The arrival time and the sender have to
+     * be set before the transaction is stored, so they are persisted with it and need no update of the metadata.
+     *
+     * @param tangle The tangle reference for the database
+     */
+    public void publishStored(Tangle tangle) {
+        tangle.publishTransaction(transaction, hash, "arrivalTime|sender");
+    }
+
     /**
      * Retrieves the {@link TransactionViewModel} for the branch {@link Transaction} object referenced by this
      * {@link TransactionViewModel}. If the controller doesn't already exist, a new one is created from the branch
@@ -385,7 +408,9 @@ public class TransactionViewModel {
      * This method fetches the saved batch of metadata and orders them into a list of {@link Hash} objects and
      * {@link Hash} identifier pairs. If the {@link Hash} identifier of the {@link Transaction} is null, or the database
      * already contains the {@link Transaction}, then the method returns False. Otherwise, the method tries to store the
-     * {@link Transaction} batch into the database.
+     * {@link Transaction} batch into the database. If the height of the trunk is known already, the height of the
+     * {@link Transaction} is stored right away, so {@link #updateHeights(Tangle, Snapshot)} doesn't need to walk its
+     * trunk later.
      *
      * @param tangle          The tangle reference for the database.
      * @param initialSnapshot snapshot that acts as genesis
@@ -397,6 +422,10 @@ public class TransactionViewModel {
             return false;
         }
 
+        // duplicates returned above, so only new transactions pay for loading their trunk
+        if (getHeight() == 0) {
+            deriveHeightFromTrunk(tangle, initialSnapshot);
+        }
         List<Pair<Indexable, Persistable>> batch = getSaveBatch();
         if (exists(tangle, hash)) {
             return false;
@@ -436,6 +465,20 @@ public class TransactionViewModel {
         return approovers;
     }
 
+    /**
+     * Checks if any stored transaction approves this transaction, without loading the approvers.
+     *
+     * @param tangle The tangle reference for the database
+     * @return true if the transaction has at least one approver
+     * @throws Exception Thrown if the database can not be read
+     */
+    public boolean hasApprovers(Tangle tangle) throws Exception {
+        if (approovers != null) {
+            return approovers.size() != 0;
+        }
+        return tangle.exists(Approvee.class, hash);
+    }
+
     /**
      * Gets the {@link Transaction#type}. The type can be one of 3:
      * <ul>
@@ -516,7 +559,7 @@ public class TransactionViewModel {
      * @return The {@link AddressHash} identifier.
      */
     public Hash getAddressHash() {
-        if (transaction.address == null) {
+        if (transaction.address() == null) {
             transaction.address = HashFactory.ADDRESS.create(trits(), ADDRESS_TRINARY_OFFSET);
         }
         return transaction.address;
@@ -528,7 +571,7 @@ public class TransactionViewModel {
      * @return The {@link ObsoleteTagHash} identifier.
      */
     public Hash getObsoleteTagValue() {
-        if (transaction.obsoleteTag == null) {
+        if (transaction.obsoleteTag() == null) {
             byte[] tagBytes = Converter.allocateBytesForTrits(OBSOLETE_TAG_TRINARY_SIZE);
             Converter.bytes(trits(), OBSOLETE_TAG_TRINARY_OFFSET, tagBytes, 0, OBSOLETE_TAG_TRINARY_SIZE);
 
@@ -543,7 +586,7 @@ public class TransactionViewModel {
      * @return The {@link BundleHash} identifier.
      */
     public Hash getBundleHash() {
-        if (transaction.bundle == null) {
+        if (transaction.bundle() == null) {
             transaction.bundle = HashFactory.BUNDLE.create(trits(), BUNDLE_TRINARY_OFFSET);
         }
         return transaction.bundle;
@@ -555,7 +598,7 @@ public class TransactionViewModel {
      * @return The trunk {@link TransactionHash} identifier.
      */
     public Hash getTrunkTransactionHash() {
-        if (transaction.trunk == null) {
+        if (transaction.trunk() == null) {
             transaction.trunk = HashFactory.TRANSACTION.create(trits(), TRUNK_TRANSACTION_TRINARY_OFFSET);
         }
         return transaction.trunk;
@@ -567,7 +610,7 @@ public class TransactionViewModel {
      * @return The branch {@link TransactionHash} identifier.
      */
     public Hash getBranchTransactionHash() {
-        if (transaction.branch == null) {
+        if (transaction.branch() == null) {
             transaction.branch = HashFactory.TRANSACTION.create(trits(), BRANCH_TRANSACTION_TRINARY_OFFSET);
         }
         return transaction.branch;
@@ -579,7 +622,7 @@ public class TransactionViewModel {
      * @return The {@link TagHash} identifier.
      */
     public Hash getTagValue() {
-        if (transaction.tag == null) {
+        if (transaction.tag() == null) {
             byte[] tagBytes = Converter.allocateBytesForTrits(TAG_TRINARY_SIZE);
             Converter.bytes(trits(), TAG_TRINARY_OFFSET, tagBytes, 0, TAG_TRINARY_SIZE);
             transaction.tag = HashFactory.TAG.create(tagBytes, 0, TAG_SIZE_IN_BYTES);
@@ -746,7 +789,8 @@ public class TransactionViewModel {
     /**
      * Sets the current {@link Transaction#snapshot} index.
      *
-     * This is used to set a milestone transactions index.
+     * This is used to set a milestone transactions index. Confirmed transactions are also added to the
+     * {@link MilestoneBucket} of their milestone, so pruning can find them without traversing the tangle.
      *
      * @param tangle          The tangle reference for the database.
      * @param initialSnapshot snapshot that acts as genesis
@@ -757,6 +801,10 @@ public class TransactionViewModel {
         if (index != transaction.snapshot.get()) {
             transaction.snapshot.set(index);
             update(tangle, initialSnapshot, "snapshot");
+            if (index != 0) {
+                tangle.saveBatch(Collections.singletonList(new Pair<>(new IntegerIndex(index),
+                        new MilestoneBucket(hash))));
+            }
         }
     }
 
@@ -808,6 +856,23 @@ public class TransactionViewModel {
         transaction.height.set(height);
     }
 
+    /**
+     * Sets the height of a {@link Transaction} that is about to be stored, if the height of its trunk is known already.
+     * This follows the same rules as {@link #updateHeights(Tangle, Snapshot)}, but does not walk further down the trunk.
+     *
+     * @param tangle The tangle reference for the database
+     * @param initialSnapshot snapshot that acts as genesis
+     * @throws Exception Thrown if the trunk can not be loaded
+     */
+    private void deriveHeightFromTrunk(Tangle tangle, Snapshot initialSnapshot) throws Exception {
+        TransactionViewModel trunk = getTrunkTransaction(tangle);
+        if (trunk.getHeight() != 0) {
+            updateHeight(1L + trunk.getHeight());
+        } else if (initialSnapshot.hasSolidEntryPoint(trunk.getHash())) {
+            updateHeight(1L);
+        }
+    }
+
     public void updateHeights(Tangle tangle, Snapshot initialSnapshot) throws Exception {
         TransactionViewModel transactionVM = this, trunk = this.getTrunkTransaction(tangle);
         Stack<Hash> transactionViewModels = new Stack<>();
@@ -115,6 +115,23 @@ public class ISSInPlace {
 
     public static void digest(SpongeFactory.Mode mode, final byte[] normalizedBundleFragment, int nbOff,
             final byte[] signatureFragment, int sfOff, byte[] digest) {
+        digest(SpongeFactory.create(mode), normalizedBundleFragment, nbOff, signatureFragment, sfOff, digest);
+    }
+
+    /**
+     * Same as {@link #digest(SpongeFactory.Mode, byte[], int, byte[], int, byte[])} but uses the given sponge instead
+     * of creating a new one, so that callers computing many digests can reuse their instances. The sponge gets reset
+     * before it is used.
+     *
+     * @param hash                     sponge used to compute the digest
+     * @param normalizedBundleFragment normalized bundle hash
+     * @param nbOff                    offset of the fragment in the normalized bundle hash
+     * @param signatureFragment        trits containing the signature fragment
+     * @param sfOff                    offset of the signature fragment in the given trits
+     * @param digest                   array the digest is written into
+     */
+    public static void digest(Sponge hash, final byte[] normalizedBundleFragment, int nbOff,
+            final byte[] signatureFragment, int sfOff, byte[] digest) {
 
         if (normalizedBundleFragment.length - nbOff < (Curl.HASH_LENGTH / TRYTE_WIDTH / NUMBER_OF_SECURITY_LEVELS)) {
             throw new RuntimeException(
@@ -129,7 +146,6 @@ public class ISSInPlace {
         }
 
         final byte[] buffer = Arrays.copyOfRange(signatureFragment, sfOff, sfOff + FRAGMENT_LENGTH);
-        final Sponge hash = SpongeFactory.create(mode);
 
         for (int j = 0; j < NUMBER_OF_FRAGMENT_CHUNKS; j++) {
 
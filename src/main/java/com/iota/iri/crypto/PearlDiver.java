@@ -1,7 +1,14 @@
 package com.iota.iri.crypto;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Proof of Work calculator.
@@ -29,8 +36,58 @@ public class PearlDiver {
     private static final long HIGH_BITS = 0b11111111_11111111_11111111_11111111_11111111_11111111_11111111_11111111L;
     private static final long LOW_BITS = 0b00000000_00000000_00000000_00000000_00000000_00000000_00000000_00000000L;
 
-    private volatile State state;
-    private final Object syncObj = new Object();
+    /**
+     * Amount of nonces that get tested by a single curl transformation of the bit sliced state.
+     */
+    private static final int NONCES_PER_TRANSFORMATION = Long.SIZE;
+
+    /**
+     * Amount of curl transformations a worker does for a search before it yields to the other queued searches.
+     */
+    private static final int TRANSFORMATIONS_PER_TURN = 256;
+
+    /**
+     * Time after which idle workers are released.
+     */
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor workers;
+
+    private final Set<Search> activeSearches = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hashCount = new AtomicLong();
+
+    private final AtomicLong searchNanos = new AtomicLong();
+
+    private final AtomicLong completedSearches = new AtomicLong();
+
+    private final AtomicLong cancelledSearches = new AtomicLong();
+
+    /**
+     * Creates a PoW engine with a default amount of workers that depends on the number of cores of the machine.
+     */
+    public PearlDiver() {
+        this(0);
+    }
+
+    /**
+     * Creates a PoW engine whose searches share a fixed pool of workers. Searches are split into slices which take
+     * turns on the workers, so several searches can run at the same time and none of them is starved by the others.
+     * Idle workers are released after a while and get recreated on demand.
+     *
+     * @param numberOfWorkers number of worker threads, {@code 0} or less picks a default based on the number of cores
+     */
+    public PearlDiver(int numberOfWorkers) {
+        numberOfWorkers = numberOfWorkers > 0 ? numberOfWorkers : defaultNumberOfThreads();
+        AtomicInteger workerCounter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(numberOfWorkers, numberOfWorkers, WORKER_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread worker = new Thread(runnable, this + ":worker-" + workerCounter.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                });
+        workers.allowCoreThreadTimeOut(true);
+    }
 
     /**
      * Searches for a nonce such that the hash ends with {@code minWeightMagnitude} zeros.<br>
@@ -40,56 +97,104 @@ public class PearlDiver {
      *
      * @param transactionTrits trits of transaction
      * @param minWeightMagnitude target weight for trailing zeros
-     * @param numberOfThreads number of worker threads to search for a nonce
+     * @param numberOfThreads number of slices the search is split into
      * @return <tt>true</tt> if search completed successfully.
      * the nonce will be written to the end of {@code transactionTrits}
      */
-    public synchronized boolean search(final byte[] transactionTrits, final int minWeightMagnitude,
-                                       int numberOfThreads) {
+    public boolean search(final byte[] transactionTrits, final int minWeightMagnitude, int numberOfThreads) {
+        return submit(transactionTrits, minWeightMagnitude, numberOfThreads).await();
+    }
 
+    /**
+     * Queues a search for a nonce such that the hash ends with {@code minWeightMagnitude} zeros and returns without
+     * waiting for the result.
+     *
+     * @param transactionTrits trits of transaction, the nonce will be written to the end of it once it is found
+     * @param minWeightMagnitude target weight for trailing zeros
+     * @param numberOfThreads number of slices the search is split into, {@code 0} or less picks a default based on
+     *                        the number of cores
+     * @return the queued search
+     */
+    public Search submit(final byte[] transactionTrits, final int minWeightMagnitude, int numberOfThreads) {
         validateParameters(transactionTrits, minWeightMagnitude);
-        synchronized (syncObj) {
-            state = State.RUNNING;
-        }
 
         final long[] midStateLow = new long[CURL_STATE_LENGTH];
         final long[] midStateHigh = new long[CURL_STATE_LENGTH];
         initializeMidCurlStates(transactionTrits, midStateLow, midStateHigh);
 
         if (numberOfThreads <= 0) {
-            int available = Runtime.getRuntime().availableProcessors();
-            numberOfThreads = Math.max(1, Math.floorDiv(available * 8, 10));
+            numberOfThreads = defaultNumberOfThreads();
         }
-        List<Thread> workers = new ArrayList<>(numberOfThreads);
+        Search search = new Search(transactionTrits, minWeightMagnitude, numberOfThreads);
+        activeSearches.add(search);
         while (numberOfThreads-- > 0) {
-            long[] midStateCopyLow = midStateLow.clone();
-            long[] midStateCopyHigh = midStateHigh.clone();
-            Runnable runnable = getRunnable(numberOfThreads, transactionTrits, minWeightMagnitude, midStateCopyLow, midStateCopyHigh);
-            Thread worker = new Thread(runnable);
-            workers.add(worker);
-            worker.setName(this + ":worker-" + numberOfThreads);
-            worker.setDaemon(true);
-            worker.start();
-        }
-        for (Thread worker : workers) {
             try {
-                worker.join();
-            } catch (InterruptedException e) {
-                synchronized (syncObj) {
-                    state = State.CANCELLED;
-                }
+                workers.execute(search.new Slice(numberOfThreads, midStateLow.clone(), midStateHigh.clone()));
+            } catch (RejectedExecutionException e) {
+                // the engine was shut down
+                search.cancel();
+                search.sliceFinished();
             }
         }
-        return state == State.COMPLETED;
+        return search;
     }
 
     /**
-     * Cancels the running search task.
+     * Cancels all running and queued searches.
      */
     public void cancel() {
-        synchronized (syncObj) {
-            state = State.CANCELLED;
-        }
+        activeSearches.forEach(Search::cancel);
+    }
+
+    /**
+     * Cancels all searches and stops the workers.
+     */
+    public void shutdown() {
+        cancel();
+        workers.shutdown();
+    }
+
+    /**
+     * @return the number of searches that are running or waiting for a free worker
+     */
+    public int getActiveSearches() {
+        return activeSearches.size();
+    }
+
+    /**
+     * @return the number of searches that found a nonce
+     */
+    public long getCompletedSearches() {
+        return completedSearches.get();
+    }
+
+    /**
+     * @return the number of searches that got cancelled before they found a nonce
+     */
+    public long getCancelledSearches() {
+        return cancelledSearches.get();
+    }
+
+    /**
+     * @return the total number of nonces that were tested by this engine
+     */
+    public long getHashCount() {
+        return hashCount.get();
+    }
+
+    /**
+     * Calculates the average throughput of the searches that have finished so far.
+     *
+     * @return the number of tested nonces per second of search time
+     */
+    public double getHashesPerSecond() {
+        long nanos = searchNanos.get();
+        return nanos == 0 ? 0 : hashCount.get() * 1_000_000_000D / nanos;
+    }
+
+    private static int defaultNumberOfThreads() {
+        int available = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.floorDiv(available * 8, 10));
     }
 
     private static void validateParameters(byte[] transactionTrits, int minWeightMagnitude) {
@@ -102,52 +207,173 @@ public class PearlDiver {
         }
     }
 
-    private Runnable getRunnable(final int threadIndex, final byte[] transactionTrits, final int minWeightMagnitude,
-                                 final long[] midStateCopyLow, final long[] midStateCopyHigh) {
-        return () -> {
-            for (int i = 0; i < threadIndex; i++) {
-                increment(midStateCopyLow, midStateCopyHigh, 162 + CURL_HASH_LENGTH / 9,
-                    162 + (CURL_HASH_LENGTH / 9) * 2);
+    /**
+     * A single nonce search. It is done once a nonce was found or it got cancelled, and all of its slices returned
+     * their workers.
+     */
+    public class Search {
+
+        private final byte[] transactionTrits;
+
+        private final int minWeightMagnitude;
+
+        private final AtomicInteger remainingSlices;
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private final AtomicLong searchHashCount = new AtomicLong();
+
+        private final long startTime = System.nanoTime();
+
+        private volatile long duration;
+
+        private volatile State state = State.RUNNING;
+
+        private Search(byte[] transactionTrits, int minWeightMagnitude, int numberOfSlices) {
+            this.transactionTrits = transactionTrits;
+            this.minWeightMagnitude = minWeightMagnitude;
+            this.remainingSlices = new AtomicInteger(numberOfSlices);
+        }
+
+        /**
+         * Cancels this search, it does not affect other searches of the engine.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (state == State.RUNNING) {
+                    state = State.CANCELLED;
+                }
+            }
+        }
+
+        /**
+         * Waits until the search is done. If the waiting thread gets interrupted the search is cancelled.
+         *
+         * @return <tt>true</tt> if a nonce was found and written to the end of the transaction trits
+         */
+        public boolean await() {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+            }
+            return state == State.COMPLETED;
+        }
+
+        /**
+         * @return <tt>true</tt> if the search found a nonce or got cancelled, and none of its slices is running anymore
+         */
+        public boolean isDone() {
+            return finished.getCount() == 0;
+        }
+
+        /**
+         * @return the number of nonces that were tested for this search
+         */
+        public long getHashCount() {
+            return searchHashCount.get();
+        }
+
+        /**
+         * @return the number of tested nonces per second since the search was queued
+         */
+        public double getHashesPerSecond() {
+            long nanos = isDone() ? duration : System.nanoTime() - startTime;
+            return nanos == 0 ? 0 : searchHashCount.get() * 1_000_000_000D / nanos;
+        }
+
+        private void countHashes(long hashes) {
+            searchHashCount.addAndGet(hashes);
+            hashCount.addAndGet(hashes);
+        }
+
+        private void complete(long mask, long[] midStateCopyLow, long[] midStateCopyHigh) {
+            synchronized (this) {
+                if (state == State.RUNNING) {
+                    state = State.COMPLETED;
+                    long outMask = 1;
+                    while ((outMask & mask) == 0) {
+                        outMask <<= 1;
+                    }
+                    for (int i = 0; i < CURL_HASH_LENGTH; i++) {
+                        transactionTrits[TRANSACTION_LENGTH - CURL_HASH_LENGTH + i] =
+                            (midStateCopyLow[i] & outMask) == 0 ? 1
+                                : (midStateCopyHigh[i] & outMask) == 0 ? (byte) -1 : (byte) 0;
+                    }
+                }
             }
+        }
 
-            final long[] stateLow = new long[CURL_STATE_LENGTH];
-            final long[] stateHigh = new long[CURL_STATE_LENGTH];
+        private void sliceFinished() {
+            if (remainingSlices.decrementAndGet() == 0) {
+                duration = System.nanoTime() - startTime;
+                searchNanos.addAndGet(duration);
+                (state == State.COMPLETED ? completedSearches : cancelledSearches).incrementAndGet();
+                activeSearches.remove(this);
+                finished.countDown();
+            }
+        }
 
-            final long[] scratchpadLow = new long[CURL_STATE_LENGTH];
-            final long[] scratchpadHigh = new long[CURL_STATE_LENGTH];
+        /**
+         * A part of the nonce space of a search. After {@link #TRANSFORMATIONS_PER_TURN} transformations without
+         * result it queues itself up again behind the slices of the other searches.
+         */
+        private class Slice implements Runnable {
 
-            final int maskStartIndex = CURL_HASH_LENGTH - minWeightMagnitude;
-            long mask = 0;
-            while (state == State.RUNNING && mask == 0) {
+            private final long[] midStateCopyLow;
+            private final long[] midStateCopyHigh;
 
-                increment(midStateCopyLow, midStateCopyHigh, 162 + (CURL_HASH_LENGTH / 9) * 2,
-                    CURL_HASH_LENGTH);
+            private final long[] stateLow = new long[CURL_STATE_LENGTH];
+            private final long[] stateHigh = new long[CURL_STATE_LENGTH];
 
-                copy(midStateCopyLow, midStateCopyHigh, stateLow, stateHigh);
-                transform(stateLow, stateHigh, scratchpadLow, scratchpadHigh);
+            private final long[] scratchpadLow = new long[CURL_STATE_LENGTH];
+            private final long[] scratchpadHigh = new long[CURL_STATE_LENGTH];
 
-                mask = HIGH_BITS;
-                for (int i = maskStartIndex; i < CURL_HASH_LENGTH && mask != 0; i++) {
-                    mask &= ~(stateLow[i] ^ stateHigh[i]);
+            private Slice(int sliceIndex, long[] midStateCopyLow, long[] midStateCopyHigh) {
+                this.midStateCopyLow = midStateCopyLow;
+                this.midStateCopyHigh = midStateCopyHigh;
+                for (int i = 0; i < sliceIndex; i++) {
+                    increment(midStateCopyLow, midStateCopyHigh, 162 + CURL_HASH_LENGTH / 9,
+                        162 + (CURL_HASH_LENGTH / 9) * 2);
                 }
             }
-            if (mask != 0) {
-                synchronized (syncObj) {
-                    if (state == State.RUNNING) {
-                        state = State.COMPLETED;
-                        long outMask = 1;
-                        while ((outMask & mask) == 0) {
-                            outMask <<= 1;
-                        }
-                        for (int i = 0; i < CURL_HASH_LENGTH; i++) {
-                            transactionTrits[TRANSACTION_LENGTH - CURL_HASH_LENGTH + i] =
-                                (midStateCopyLow[i] & outMask) == 0 ? 1
-                                    : (midStateCopyHigh[i] & outMask) == 0 ? (byte) -1 : (byte) 0;
-                        }
+
+            @Override
+            public void run() {
+                final int maskStartIndex = CURL_HASH_LENGTH - minWeightMagnitude;
+                long mask = 0;
+                int transformations = 0;
+                while (state == State.RUNNING && mask == 0 && transformations < TRANSFORMATIONS_PER_TURN) {
+
+                    increment(midStateCopyLow, midStateCopyHigh, 162 + (CURL_HASH_LENGTH / 9) * 2,
+                        CURL_HASH_LENGTH);
+
+                    copy(midStateCopyLow, midStateCopyHigh, stateLow, stateHigh);
+                    transform(stateLow, stateHigh, scratchpadLow, scratchpadHigh);
+                    transformations++;
+
+                    mask = HIGH_BITS;
+                    for (int i = maskStartIndex; i < CURL_HASH_LENGTH && mask != 0; i++) {
+                        mask &= ~(stateLow[i] ^ stateHigh[i]);
+                    }
+                }
+                countHashes((long) transformations * NONCES_PER_TRANSFORMATION);
+
+                if (mask != 0) {
+                    complete(mask, midStateCopyLow, midStateCopyHigh);
+                } else if (state == State.RUNNING) {
+                    try {
+                        workers.execute(this);
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        // the engine was shut down
+                        cancel();
                     }
                 }
+                sliceFinished();
             }
-        };
+        }
     }
 
     private static void copy(long[] srcLow, long[] srcHigh, long[] destLow, long[] destHigh) {
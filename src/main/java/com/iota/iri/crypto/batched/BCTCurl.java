@@ -2,15 +2,28 @@ package com.iota.iri.crypto.batched;
 
 /**
  * A Curl implementation which absorbs binary-encoded-ternary inputs.
+ * <p>
+ * Every trit of the state is made up of {@code lanes} longs, which allows to hash {@code 64 * lanes} inputs at once.
+ * The longs of a trit are stored next to each other, so a state trit at {@code index} occupies the positions
+ * {@code index * lanes} to {@code index * lanes + lanes - 1} of the low and high arrays.
+ * </p>
  */
 public class BCTCurl {
 
     private static final long HIGH_LONG_BITS = 0xFFFF_FFFF_FFFF_FFFFL;
 
+    /**
+     * Number of longs per trit which get transformed with a dedicated, unrolled loop.
+     */
+    public static final int UNROLLED_LANES = 4;
+
     private int hashLength;
     private int numberOfRounds;
     private int stateLength;
+    private int lanes;
     private BCTrinary state;
+    private long[] scratchPadLow;
+    private long[] scratchPadHigh;
 
     /**
      * Creates a new {@link BCTCurl} with the given hash length and number of rounds.
@@ -18,10 +31,23 @@ public class BCTCurl {
      * @param numberOfRounds the number of hashing rounds to apply
      */
     public BCTCurl(int hashLength, int numberOfRounds) {
+        this(hashLength, numberOfRounds, 1);
+    }
+
+    /**
+     * Creates a new {@link BCTCurl} with the given hash length, number of rounds and number of longs per trit.
+     * @param hashLength the desired hash length
+     * @param numberOfRounds the number of hashing rounds to apply
+     * @param lanes the number of longs per trit, every long holds the trits of 64 inputs
+     */
+    public BCTCurl(int hashLength, int numberOfRounds, int lanes) {
         this.hashLength = hashLength;
         this.numberOfRounds = numberOfRounds;
         this.stateLength = 3 * hashLength;
-        this.state = new BCTrinary(new long[3 * hashLength], new long[3 * hashLength]);
+        this.lanes = lanes;
+        this.state = new BCTrinary(new long[stateLength * lanes], new long[stateLength * lanes]);
+        this.scratchPadLow = new long[stateLength * lanes];
+        this.scratchPadHigh = new long[stateLength * lanes];
         reset();
     }
 
@@ -29,19 +55,36 @@ public class BCTCurl {
      * Resets the state of the hashing function.
      */
     public void reset() {
-        for (int i = 0; i < stateLength; i++) {
+        for (int i = 0; i < stateLength * lanes; i++) {
             state.low[i] = HIGH_LONG_BITS;
             state.high[i] = HIGH_LONG_BITS;
         }
     }
 
+    /**
+     * @return the number of longs per trit
+     */
+    public int getLanes() {
+        return lanes;
+    }
 
     /**
      * Transforms the state of the hashing function.
      */
     public void transform() {
-        long[] scratchPadLow = new long[stateLength];
-        long[] scratchPadHigh = new long[stateLength];
+        switch (lanes) {
+            case 1:
+                transformSingleLane();
+                break;
+            case UNROLLED_LANES:
+                transformUnrolledLanes();
+                break;
+            default:
+                transformLanes();
+        }
+    }
+
+    private void transformSingleLane() {
         int scratchPadIndex = 0;
 
         for (int round = numberOfRounds; round > 0; round--) {
@@ -64,9 +107,77 @@ public class BCTCurl {
         }
     }
 
+    private void transformUnrolledLanes() {
+        final long[] low = state.low;
+        final long[] high = state.high;
+        int scratchPadIndex = 0;
+
+        for (int round = numberOfRounds; round > 0; round--) {
+            System.arraycopy(low, 0, scratchPadLow, 0, low.length);
+            System.arraycopy(high, 0, scratchPadHigh, 0, high.length);
+            for (int stateIndex = 0; stateIndex < stateLength * UNROLLED_LANES; stateIndex += UNROLLED_LANES) {
+                int from = scratchPadIndex * UNROLLED_LANES;
+                long alpha0 = scratchPadLow[from];
+                long alpha1 = scratchPadLow[from + 1];
+                long alpha2 = scratchPadLow[from + 2];
+                long alpha3 = scratchPadLow[from + 3];
+                long beta0 = scratchPadHigh[from];
+                long beta1 = scratchPadHigh[from + 1];
+                long beta2 = scratchPadHigh[from + 2];
+                long beta3 = scratchPadHigh[from + 3];
+
+                if (scratchPadIndex < 365) {
+                    scratchPadIndex += 364;
+                } else {
+                    scratchPadIndex -= 365;
+                }
+
+                int to = scratchPadIndex * UNROLLED_LANES;
+                long delta0 = beta0 ^ scratchPadLow[to];
+                long delta1 = beta1 ^ scratchPadLow[to + 1];
+                long delta2 = beta2 ^ scratchPadLow[to + 2];
+                long delta3 = beta3 ^ scratchPadLow[to + 3];
+                low[stateIndex] = ~(delta0 & alpha0);
+                low[stateIndex + 1] = ~(delta1 & alpha1);
+                low[stateIndex + 2] = ~(delta2 & alpha2);
+                low[stateIndex + 3] = ~(delta3 & alpha3);
+                high[stateIndex] = (alpha0 ^ scratchPadHigh[to]) | delta0;
+                high[stateIndex + 1] = (alpha1 ^ scratchPadHigh[to + 1]) | delta1;
+                high[stateIndex + 2] = (alpha2 ^ scratchPadHigh[to + 2]) | delta2;
+                high[stateIndex + 3] = (alpha3 ^ scratchPadHigh[to + 3]) | delta3;
+            }
+        }
+    }
+
+    private void transformLanes() {
+        int scratchPadIndex = 0;
+
+        for (int round = numberOfRounds; round > 0; round--) {
+            System.arraycopy(state.low, 0, scratchPadLow, 0, state.low.length);
+            System.arraycopy(state.high, 0, scratchPadHigh, 0, state.high.length);
+            for (int stateIndex = 0; stateIndex < stateLength; stateIndex++) {
+                int from = scratchPadIndex * lanes;
+
+                if (scratchPadIndex < 365) {
+                    scratchPadIndex += 364;
+                } else {
+                    scratchPadIndex -= 365;
+                }
+
+                int to = scratchPadIndex * lanes;
+                for (int lane = 0; lane < lanes; lane++) {
+                    long alpha = scratchPadLow[from + lane];
+                    long delta = scratchPadHigh[from + lane] ^ scratchPadLow[to + lane];
+                    state.low[stateIndex * lanes + lane] = ~(delta & alpha);
+                    state.high[stateIndex * lanes + lane] = (alpha ^ scratchPadHigh[to + lane]) | delta;
+                }
+            }
+        }
+    }
+
     /**
      * Absorbs the given binary-encoded-ternary trits data.
-     * @param bcTrits the binary-encoded-ternary trits to absorb
+     * @param bcTrits the binary-encoded-ternary trits to absorb, with the same number of longs per trit as this curl
      */
     public void absorb(BCTrinary bcTrits) {
         int length = bcTrits.low.length;
@@ -74,10 +185,10 @@ public class BCTCurl {
 
         for (; ; ) {
             int lengthToCopy;
-            if (length < hashLength) {
+            if (length < hashLength * lanes) {
                 lengthToCopy = length;
             } else {
-                lengthToCopy = hashLength;
+                lengthToCopy = hashLength * lanes;
             }
 
             System.arraycopy(bcTrits.low, offset, state.low, 0, lengthToCopy);
@@ -98,20 +209,20 @@ public class BCTCurl {
      * @return the binary-encoded-trinary data
      */
     public BCTrinary squeeze(int tritCount) {
-        BCTrinary result = new BCTrinary(new long[tritCount], new long[tritCount]);
+        BCTrinary result = new BCTrinary(new long[tritCount * lanes], new long[tritCount * lanes]);
 
         int hashCount = tritCount / hashLength;
 
         for (int i = 0; i < hashCount; i++) {
-            System.arraycopy(state.low, 0, result.low, i * hashLength, hashLength);
-            System.arraycopy(state.high, 0, result.high, i * hashLength, hashLength);
+            System.arraycopy(state.low, 0, result.low, i * hashLength * lanes, hashLength * lanes);
+            System.arraycopy(state.high, 0, result.high, i * hashLength * lanes, hashLength * lanes);
             transform();
         }
 
         int last = tritCount - hashCount * hashLength;
 
-        System.arraycopy(state.low, 0, result.low, tritCount - last, last);
-        System.arraycopy(state.high, 0, result.high, tritCount - last, last);
+        System.arraycopy(state.low, 0, result.low, (tritCount - last) * lanes, last * lanes);
+        System.arraycopy(state.high, 0, result.high, (tritCount - last) * lanes, last * lanes);
         if (tritCount % hashLength != 0) {
             transform();
         }
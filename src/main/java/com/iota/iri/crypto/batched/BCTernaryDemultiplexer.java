@@ -6,6 +6,7 @@ package com.iota.iri.crypto.batched;
 public class BCTernaryDemultiplexer {
 
     private BCTrinary bcTrinary;
+    private int lanes;
 
     /**
      * Creates a new {@link BCTernaryDemultiplexer} with the given
@@ -13,7 +14,18 @@ public class BCTernaryDemultiplexer {
      * @param bcTrinary the binary-encoded-trinary objet to demultiplex
      */
     public BCTernaryDemultiplexer(BCTrinary bcTrinary) {
+        this(bcTrinary, 1);
+    }
+
+    /**
+     * Creates a new {@link BCTernaryDemultiplexer} with the given binary-encoded-ternary data
+     * which holds the given number of longs per trit.
+     * @param bcTrinary the binary-encoded-trinary objet to demultiplex
+     * @param lanes the number of longs per trit
+     */
+    public BCTernaryDemultiplexer(BCTrinary bcTrinary, int lanes) {
         this.bcTrinary = bcTrinary;
+        this.lanes = lanes;
     }
 
     /**
@@ -22,12 +34,14 @@ public class BCTernaryDemultiplexer {
      * @return the byte array at the given column index
      */
     public byte[] get(int index) {
-        int length = bcTrinary.low.length;
+        int length = bcTrinary.low.length / lanes;
+        int lane = index / Long.SIZE;
+        int bit = index % Long.SIZE;
         byte[] result = new byte[length];
 
         for (int i = 0; i < length; i++) {
-            long low = (bcTrinary.low[i] >> index) & 1;
-            long high = (bcTrinary.high[i] >> index) & 1;
+            long low = (bcTrinary.low[i * lanes + lane] >> bit) & 1;
+            long high = (bcTrinary.high[i * lanes + lane] >> bit) & 1;
 
             if (low == 1 && high == 0) {
                 result[i] = -1;
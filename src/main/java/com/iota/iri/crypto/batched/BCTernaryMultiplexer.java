@@ -8,6 +8,7 @@ import java.util.List;
 public class BCTernaryMultiplexer {
 
     private List<byte[]> inputs;
+    private int lanes;
 
     /**
      * Creates a new {@link BCTernaryMultiplexer} which multiplexes
@@ -15,7 +16,19 @@ public class BCTernaryMultiplexer {
      * @param inputs the input trits data to multiplex
      */
     public BCTernaryMultiplexer(List<byte[]> inputs) {
+        this(inputs, 1);
+    }
+
+    /**
+     * Creates a new {@link BCTernaryMultiplexer} which multiplexes the given trits data
+     * into the given number of longs per trit. Input {@code j} ends up in bit {@code j % 64}
+     * of the long {@code j / 64}.
+     * @param inputs the input trits data to multiplex, at most {@code 64 * lanes}
+     * @param lanes the number of longs per trit
+     */
+    public BCTernaryMultiplexer(List<byte[]> inputs, int lanes) {
         this.inputs = inputs;
+        this.lanes = lanes;
     }
 
     /**
@@ -27,29 +40,34 @@ public class BCTernaryMultiplexer {
         final int trinariesCount = inputs.size();
         final int tritsCount = inputs.get(0).length;
 
-        BCTrinary result = new BCTrinary(new long[tritsCount], new long[tritsCount]);
+        BCTrinary result = new BCTrinary(new long[tritsCount * lanes], new long[tritsCount * lanes]);
         for (int i = 0; i < tritsCount; i++) {
-            BCTrit bcTrit = new BCTrit();
-
-            for (int j = 0; j < trinariesCount; j++) {
-                switch (inputs.get(j)[i]) {
-                    case -1:
-                        bcTrit.low |= 1L << j;
-                        break;
-                    case 1:
-                        bcTrit.high |= 1L << j;
-                        break;
-                    case 0:
-                        bcTrit.low |= 1L << j;
-                        bcTrit.high |= 1L << j;
-                        break;
-                    default:
-                        // do nothing
+            for (int lane = 0; lane < lanes; lane++) {
+                BCTrit bcTrit = new BCTrit();
+                int first = lane * Long.SIZE;
+                int last = Math.min(first + Long.SIZE, trinariesCount);
+
+                for (int j = first; j < last; j++) {
+                    int bit = j - first;
+                    switch (inputs.get(j)[i]) {
+                        case -1:
+                            bcTrit.low |= 1L << bit;
+                            break;
+                        case 1:
+                            bcTrit.high |= 1L << bit;
+                            break;
+                        case 0:
+                            bcTrit.low |= 1L << bit;
+                            bcTrit.high |= 1L << bit;
+                            break;
+                        default:
+                            // do nothing
+                    }
                 }
-            }
 
-            result.low[i] = bcTrit.low;
-            result.high[i] = bcTrit.high;
+                result.low[i * lanes + lane] = bcTrit.low;
+                result.high[i * lanes + lane] = bcTrit.high;
+            }
         }
 
         return result;
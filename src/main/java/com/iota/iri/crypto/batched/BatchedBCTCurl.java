@@ -7,23 +7,52 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * BatchedBCTCurl takes care of batching up hashing requests and starts processing them through a BCTCurl once either
- * all available slots are filled or no request is submitted within a given timeout.
+ * all available slots are filled or no further request is expected within the batch timeout.
+ * <p>
+ * The time a worker lingers for further requests adapts to the observed arrival rate: if requests arrive slower than
+ * the batch timeout, a batch is hashed as soon as the queue is drained, so requests don't wait for a batch which will
+ * never fill up. Requests are spread over the given number of workers, each with its own queue and {@link BCTCurl}.
+ * A new worker only receives requests once the queue of the current one already holds a full batch.
+ * </p>
+ * <p>
+ * The batch fill ratio and the queueing latency are reported for intervals of 10 seconds, so they reflect the current
+ * load instead of the whole uptime.
+ * </p>
  */
 public class BatchedBCTCurl implements BatchedHasher {
 
     private static final Logger log = LoggerFactory.getLogger(BatchedBCTCurl.class);
 
-    // we have max 64 bits/slots available for requests to fill up
-    private final static int MAX_BATCH_SIZE = 64;
+    // we have max 64 bits/slots per lane available for requests to fill up
+    private final static int SLOTS_PER_LANE = 64;
+
+    // weight of the newest inter-arrival time in the moving average
+    private final static double ARRIVAL_SMOOTHING_FACTOR = 0.1;
+
+    // length of the intervals the batching statistics are reported for
+    private final static long STATISTICS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
 
-    private ArrayBlockingQueue<HashRequest> reqQueue;
     private int hashLength;
     private int numberOfRounds;
     private int batchTimeoutMilliSec;
+    private int lanes;
+    private int maxBatchSize;
+    private Worker[] workers;
+    private volatile int currentWorker;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong processedRequests = new AtomicLong();
+
+    // statistics of the current interval, guarded by this
+    private long intervalStart = System.nanoTime();
+    private long intervalBatches;
+    private long intervalRequests;
+    private long intervalLatencySum;
+    private BatchStatistics lastInterval;
 
     /**
      * Creates a new {@link BatchedBCTCurl} with the given hash length, number of rounds and default batch timeout.
@@ -32,10 +61,7 @@ public class BatchedBCTCurl implements BatchedHasher {
      * @param numberOfRounds the number of hashing rounds to apply
      */
     public BatchedBCTCurl(int hashLength, int numberOfRounds) {
-        this.hashLength = hashLength;
-        this.numberOfRounds = numberOfRounds;
-        this.batchTimeoutMilliSec = BatchedHasher.DEFAULT_BATCH_TIMEOUT_MILLISECONDS;
-        this.reqQueue = new ArrayBlockingQueue<>(MAX_BATCH_SIZE * 2);
+        this(hashLength, numberOfRounds, BatchedHasher.DEFAULT_BATCH_TIMEOUT_MILLISECONDS);
     }
 
     /**
@@ -46,98 +72,325 @@ public class BatchedBCTCurl implements BatchedHasher {
      * @param timeoutMilliseconds the timeout to wait for new incoming hashing requests before starting the process
      */
     public BatchedBCTCurl(int hashLength, int numberOfRounds, int timeoutMilliseconds) {
+        this(hashLength, numberOfRounds, timeoutMilliseconds, 1);
+    }
+
+    /**
+     * Creates a new {@link BatchedBCTCurl} with the given hash length, number of rounds, batch timeout and number of
+     * lanes. Every lane adds 64 slots to a batch, so the requests of one batch are hashed by a single {@link BCTCurl}
+     * operating on {@code lanes} longs per trit.
+     *
+     * @param hashLength          the desired hash length
+     * @param numberOfRounds      the number of hashing rounds to apply
+     * @param timeoutMilliseconds the timeout to wait for new incoming hashing requests before starting the process
+     * @param lanes               the number of longs per trit
+     */
+    public BatchedBCTCurl(int hashLength, int numberOfRounds, int timeoutMilliseconds, int lanes) {
+        this(hashLength, numberOfRounds, timeoutMilliseconds, lanes, 1);
+    }
+
+    /**
+     * Creates a new {@link BatchedBCTCurl} with the given hash length, number of rounds, batch timeout, number of
+     * lanes and number of hashing workers. The first worker runs in the thread executing {@link #run()}, the others
+     * are started by it.
+     *
+     * @param hashLength          the desired hash length
+     * @param numberOfRounds      the number of hashing rounds to apply
+     * @param timeoutMilliseconds the max timeout to wait for new incoming hashing requests before starting the process
+     * @param lanes               the number of longs per trit
+     * @param numberOfWorkers     the number of threads hashing batches in parallel
+     */
+    public BatchedBCTCurl(int hashLength, int numberOfRounds, int timeoutMilliseconds, int lanes,
+            int numberOfWorkers) {
         this.hashLength = hashLength;
         this.numberOfRounds = numberOfRounds;
         this.batchTimeoutMilliSec = timeoutMilliseconds;
-        this.reqQueue = new ArrayBlockingQueue<>(MAX_BATCH_SIZE * 2);
+        this.lanes = lanes;
+        this.maxBatchSize = SLOTS_PER_LANE * lanes;
+        this.workers = new Worker[Math.max(1, numberOfWorkers)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+        }
     }
 
     @Override
     public void submitHashingRequest(HashRequest req) {
         try {
-            reqQueue.put(req);
+            nextWorker().reqQueue.put(new QueuedRequest(req, System.nanoTime()));
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Returns the worker which should receive the next request. Requests stick to the current worker until its queue
+     * holds a full batch, so that batches fill up at low load and the load is spread over all workers at high load.
+     *
+     * @return the worker to submit the next request to
+     */
+    private Worker nextWorker() {
+        int index = currentWorker;
+        if (workers.length > 1 && workers[index].reqQueue.size() >= maxBatchSize) {
+            index = (index + 1) % workers.length;
+            currentWorker = index;
+        }
+        return workers[index];
+    }
+
     @Override
     public void run() {
-        List<HashRequest> reqs = new ArrayList<>();
-        long last = System.currentTimeMillis();
-        long processed = 0, cycles = 0, cyclesTimeSum = 0;
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                long start = System.currentTimeMillis();
-                // await the first request
-                reqs.add(reqQueue.take());
-
-                // batch up requests until we hit the timeout once
-                while (true) {
-                    HashRequest newReq = reqQueue.poll(batchTimeoutMilliSec, TimeUnit.MILLISECONDS);
-
-                    // didn't get any request within the timeout, lets thereby
-                    // start processing batched up requests.
-                    if (newReq == null) {
-                        break;
-                    }
-                    reqs.add(newReq);
-                    if (reqs.size() == MAX_BATCH_SIZE) {
-                        break;
-                    }
-                }
-                processed += reqs.size();
-                process(reqs);
-                reqs.clear();
-
-                // remember some stats
-                long now = System.currentTimeMillis();
-                cycles++;
-                cyclesTimeSum += now - start;
-
-                // print some stats every now and then
-                if (now - last >= 20000L) {
-                    long maxReqsPossibleToBeProcessed = cycles * MAX_BATCH_SIZE;
-                    double ratio = Math.floor(((double) processed / (double) maxReqsPossibleToBeProcessed) * 100);
-                    double avgCycleTime = cyclesTimeSum / cycles;
-                    log.info(
-                            "batching saturation ratio {}% (processed {} / max possible {}), cycles {}, avg. cycle time {}ms",
-                            ratio, processed, maxReqsPossibleToBeProcessed, cycles, avgCycleTime);
-                    last = now;
-                    processed = 0;
-                    cycles = 0;
-                    cyclesTimeSum = 0;
-                }
-            } catch (InterruptedException e) {
-                log.info("shutdown signal received");
-                Thread.currentThread().interrupt();
-            }
+        List<Thread> helpers = new ArrayList<>(workers.length - 1);
+        for (int i = 1; i < workers.length; i++) {
+            Thread helper = new Thread(workers[i], "BatchedBCTCurl Worker " + i);
+            helper.setDaemon(true);
+            helper.start();
+            helpers.add(helper);
+        }
+
+        try {
+            workers[0].run();
+        } finally {
+            helpers.forEach(Thread::interrupt);
         }
         log.info("BatchedBCTCurl shutdown");
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Until the first interval is complete, the batches hashed so far are reported.
+     */
+    @Override
+    public double getBatchFillRatio() {
+        return getStatistics().fillRatio;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Until the first interval is complete, the batches hashed so far are reported.
+     */
+    @Override
+    public long getAverageQueueingLatencyMicros() {
+        return getStatistics().averageQueueingLatencyMicros;
+    }
+
+    /**
+     * @return the number of batches hashed since the start
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return the number of requests hashed since the start
+     */
+    public long getProcessedRequests() {
+        return processedRequests.get();
+    }
+
+    private synchronized BatchStatistics getStatistics() {
+        rollInterval(System.nanoTime());
+        return lastInterval != null ? lastInterval : currentInterval();
+    }
+
+    /**
+     * Counts a hashed batch towards the statistics of the current interval.
+     *
+     * @param requests   the number of requests in the batch
+     * @param latencySum the sum of the times the requests waited in the queue in nanoseconds
+     * @param now        the time the batch was taken for hashing
+     */
+    private synchronized void recordBatch(int requests, long latencySum, long now) {
+        rollInterval(now);
+        intervalBatches++;
+        intervalRequests += requests;
+        intervalLatencySum += latencySum;
+    }
+
+    /**
+     * Completes the current interval if it is over, so its statistics get reported until the next one is complete.
+     */
+    private void rollInterval(long now) {
+        if (now - intervalStart < STATISTICS_INTERVAL_NANOS) {
+            return;
+        }
+        lastInterval = currentInterval();
+        intervalStart = now;
+        intervalBatches = 0;
+        intervalRequests = 0;
+        intervalLatencySum = 0;
+    }
+
+    private BatchStatistics currentInterval() {
+        return new BatchStatistics(
+                intervalBatches == 0 ? 0 : (double) intervalRequests / (intervalBatches * maxBatchSize),
+                intervalRequests == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(intervalLatencySum / intervalRequests));
+    }
+
     /**
      * Processes the list of the given requests and executes the callbacks provided with each request after completion.
      *
      * @param reqs The requests to process.
      */
-    private void process(List<HashRequest> reqs) {
+    private void process(List<QueuedRequest> reqs) {
+        // only use as many lanes as the batch fills up
+        int usedLanes = (reqs.size() + SLOTS_PER_LANE - 1) / SLOTS_PER_LANE;
+
         // multiplex input data
-        ArrayList<byte[]> inputs = reqs.stream().map(HashRequest::getInput)
-                .collect(Collectors.toCollection(ArrayList::new));
-        BCTernaryMultiplexer multiplexer = new BCTernaryMultiplexer(inputs);
+        long now = System.nanoTime();
+        long latencySum = 0;
+        ArrayList<byte[]> inputs = new ArrayList<>(reqs.size());
+        for (QueuedRequest req : reqs) {
+            inputs.add(req.request.getInput());
+            latencySum += now - req.enqueuedAt;
+        }
+        batches.incrementAndGet();
+        processedRequests.addAndGet(reqs.size());
+        recordBatch(reqs.size(), latencySum, now);
+
+        BCTernaryMultiplexer multiplexer = new BCTernaryMultiplexer(inputs, usedLanes);
         BCTrinary multiplexedData = multiplexer.extract();
 
         // hash
-        BCTCurl bctCurl = new BCTCurl(hashLength, numberOfRounds);
+        BCTCurl bctCurl = new BCTCurl(hashLength, numberOfRounds, usedLanes);
         bctCurl.reset();
         bctCurl.absorb(multiplexedData);
 
         // demultiplex and fire callbacks
         BCTrinary result = bctCurl.squeeze(hashLength);
-        BCTernaryDemultiplexer demultiplexer = new BCTernaryDemultiplexer(result);
+        BCTernaryDemultiplexer demultiplexer = new BCTernaryDemultiplexer(result, usedLanes);
         for (int i = 0; i < reqs.size(); i++) {
-            reqs.get(i).getCallback().process(demultiplexer.get(i));
+            reqs.get(i).request.getCallback().process(demultiplexer.get(i));
+        }
+    }
+
+    /**
+     * The batching statistics of an interval.
+     */
+    private static class BatchStatistics {
+
+        private final double fillRatio;
+        private final long averageQueueingLatencyMicros;
+
+        private BatchStatistics(double fillRatio, long averageQueueingLatencyMicros) {
+            this.fillRatio = fillRatio;
+            this.averageQueueingLatencyMicros = averageQueueingLatencyMicros;
+        }
+    }
+
+    /**
+     * A {@link HashRequest} together with the time it was submitted at.
+     */
+    private static class QueuedRequest {
+
+        private final HashRequest request;
+        private final long enqueuedAt;
+
+        private QueuedRequest(HashRequest request, long enqueuedAt) {
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Batches up the requests of its own queue and hashes them.
+     */
+    private class Worker implements Runnable {
+
+        private final ArrayBlockingQueue<QueuedRequest> reqQueue = new ArrayBlockingQueue<>(maxBatchSize * 2);
+
+        // moving average of the time between two requests arriving in this worker's queue
+        private double avgInterArrivalNanos = TimeUnit.MILLISECONDS.toNanos(batchTimeoutMilliSec);
+        private long lastArrival = -1;
+
+        @Override
+        public void run() {
+            List<QueuedRequest> reqs = new ArrayList<>(maxBatchSize);
+            long last = System.currentTimeMillis();
+            long processed = 0, cycles = 0, cyclesTimeSum = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    long start = System.currentTimeMillis();
+                    // await the first request and take everything else which is already queued
+                    reqs.add(reqQueue.take());
+                    reqQueue.drainTo(reqs, maxBatchSize - reqs.size());
+
+                    // batch up further requests for as long as we expect them to arrive within the timeout
+                    recordArrivals(reqs, 0);
+                    while (reqs.size() < maxBatchSize) {
+                        long lingerNanos = lingerTimeNanos();
+                        if (lingerNanos <= 0) {
+                            break;
+                        }
+                        QueuedRequest newReq = reqQueue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                        if (newReq == null) {
+                            break;
+                        }
+                        int accounted = reqs.size();
+                        reqs.add(newReq);
+                        reqQueue.drainTo(reqs, maxBatchSize - reqs.size());
+                        recordArrivals(reqs, accounted);
+                    }
+                    processed += reqs.size();
+                    process(reqs);
+                    reqs.clear();
+
+                    // remember some stats
+                    long now = System.currentTimeMillis();
+                    cycles++;
+                    cyclesTimeSum += now - start;
+
+                    // print some stats every now and then
+                    if (now - last >= 20000L) {
+                        long maxReqsPossibleToBeProcessed = cycles * maxBatchSize;
+                        double ratio = Math.floor(((double) processed / (double) maxReqsPossibleToBeProcessed) * 100);
+                        double avgCycleTime = cyclesTimeSum / cycles;
+                        log.info(
+                                "batching saturation ratio {}% (processed {} / max possible {}), cycles {}, "
+                                        + "avg. cycle time {}ms, avg. queueing latency {}us",
+                                ratio, processed, maxReqsPossibleToBeProcessed, cycles, avgCycleTime,
+                                getAverageQueueingLatencyMicros());
+                        last = now;
+                        processed = 0;
+                        cycles = 0;
+                        cyclesTimeSum = 0;
+                    }
+                } catch (InterruptedException e) {
+                    log.info("shutdown signal received");
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Updates the moving average of the inter-arrival time with the given requests.
+         *
+         * @param reqs the requests of the current batch
+         * @param from the index of the first request which has not been accounted for yet
+         */
+        private void recordArrivals(List<QueuedRequest> reqs, int from) {
+            for (int i = from; i < reqs.size(); i++) {
+                long arrival = reqs.get(i).enqueuedAt;
+                if (lastArrival >= 0) {
+                    avgInterArrivalNanos += ARRIVAL_SMOOTHING_FACTOR * ((arrival - lastArrival) - avgInterArrivalNanos);
+                }
+                lastArrival = arrival;
+            }
+        }
+
+        /**
+         * Derives how long to wait for the next request from the observed arrival rate.
+         *
+         * @return the time to wait for a further request in nanoseconds, 0 to hash the batch right away
+         */
+        private long lingerTimeNanos() {
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(batchTimeoutMilliSec);
+            // the next request most likely won't make it in time, so don't let the current ones wait for it
+            if (avgInterArrivalNanos >= timeoutNanos) {
+                return 0;
+            }
+            return Math.min(timeoutNanos, (long) (2 * avgInterArrivalNanos));
         }
     }
-}
\ No newline at end of file
+}
@@ -20,4 +20,22 @@ public interface BatchedHasher extends Runnable {
      * @param req The hashing request.
      */
     void submitHashingRequest(HashRequest req);
+
+    /**
+     * Gets the ratio of used to available slots of the batches hashed during the last statistics interval.
+     *
+     * @return the batch fill ratio between 0 and 1, 0 if the hasher doesn't batch up requests
+     */
+    default double getBatchFillRatio() {
+        return 0;
+    }
+
+    /**
+     * Gets the average time the requests hashed during the last statistics interval waited in the queue.
+     *
+     * @return the average queueing latency in microseconds
+     */
+    default long getAverageQueueingLatencyMicros() {
+        return 0;
+    }
 }
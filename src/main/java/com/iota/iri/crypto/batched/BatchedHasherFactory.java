@@ -14,6 +14,8 @@ public class BatchedHasherFactory {
     public enum Type {
         BCTCURL81,
         BCTCURL27,
+        BCTCURL81_X4,
+        BCTCURL27_X4,
         FakeBatchedCURL81,
         FakeBatchedCURL27,
     }
@@ -30,17 +32,35 @@ public class BatchedHasherFactory {
     }
 
     /**
-     * Creates a new {@link BatchedHasher} instance.
+     * Creates a new {@link BatchedHasher} instance with a single hashing worker.
      *
      * @param type the specific implementation of the {@link BatchedHasher}
      * @return the BatchedHasher instance
      */
     public static BatchedHasher create(Type type, int batchTimeoutMilliSecs) {
+        return create(type, batchTimeoutMilliSecs, 1);
+    }
+
+    /**
+     * Creates a new {@link BatchedHasher} instance.
+     *
+     * @param type                  the specific implementation of the {@link BatchedHasher}
+     * @param batchTimeoutMilliSecs the max time to wait for further requests before hashing a batch
+     * @param numberOfWorkers       the number of threads hashing batches in parallel, ignored by fake hashers
+     * @return the BatchedHasher instance
+     */
+    public static BatchedHasher create(Type type, int batchTimeoutMilliSecs, int numberOfWorkers) {
         switch (type) {
             case BCTCURL81:
-                return new BatchedBCTCurl(Curl.HASH_LENGTH, 81, batchTimeoutMilliSecs);
+                return new BatchedBCTCurl(Curl.HASH_LENGTH, 81, batchTimeoutMilliSecs, 1, numberOfWorkers);
             case BCTCURL27:
-                return new BatchedBCTCurl(Curl.HASH_LENGTH, 27, batchTimeoutMilliSecs);
+                return new BatchedBCTCurl(Curl.HASH_LENGTH, 27, batchTimeoutMilliSecs, 1, numberOfWorkers);
+            case BCTCURL81_X4:
+                return new BatchedBCTCurl(Curl.HASH_LENGTH, 81, batchTimeoutMilliSecs, BCTCurl.UNROLLED_LANES,
+                        numberOfWorkers);
+            case BCTCURL27_X4:
+                return new BatchedBCTCurl(Curl.HASH_LENGTH, 27, batchTimeoutMilliSecs, BCTCurl.UNROLLED_LANES,
+                        numberOfWorkers);
             case FakeBatchedCURL81:
                 return new FakeBatchedCurl(Curl.HASH_LENGTH, SpongeFactory.Mode.CURLP81);
             case FakeBatchedCURL27:
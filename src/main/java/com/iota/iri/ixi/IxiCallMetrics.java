@@ -0,0 +1,68 @@
+package com.iota.iri.ixi;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the invocations of an API call of a Java IXI module and the time they took.
+ */
+public class IxiCallMetrics {
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a finished invocation.
+     *
+     * @param nanos the time the invocation took including the time it waited for a thread
+     * @param failed true if the invocation threw an exception
+     */
+    void record(long nanos, boolean failed) {
+        calls.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * @return the amount of finished invocations
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * @return the amount of invocations that threw an exception
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return the average time of an invocation in microseconds
+     */
+    public long getAverageMicros() {
+        long callCount = calls.get();
+        return callCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.get() / callCount);
+    }
+
+    /**
+     * @return the longest time of an invocation in microseconds
+     */
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "calls=" + getCalls() + ", failures=" + getFailures() + ", avg=" + getAverageMicros() + "us, max="
+                + getMaxMicros() + "us";
+    }
+}
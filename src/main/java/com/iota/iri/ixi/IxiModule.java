@@ -0,0 +1,35 @@
+package com.iota.iri.ixi;
+
+import com.iota.iri.Iota;
+import com.iota.iri.service.CallableRequest;
+import com.iota.iri.service.dto.AbstractResponse;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * Service provider interface of IXI modules that are written in Java.
+ * </p>
+ * <p>
+ * A module is packaged as a JAR which lists its implementation in
+ * {@code META-INF/services/com.iota.iri.ixi.IxiModule}. The JAR is placed in a sub folder of the IXI directory
+ * together with a {@code package.json} whose {@code main} entry points to the JAR. The module is loaded with its own
+ * class loader and reloaded whenever the JAR changes.
+ * </p>
+ */
+public interface IxiModule {
+
+    /**
+     * Starts the module and returns the calls it adds to the API. A call {@code name} of the module in the folder
+     * {@code module} is invoked by the API command {@code module.name}.
+     *
+     * @param iota the node the module is running in
+     * @return the calls of the module by their name
+     */
+    Map<String, CallableRequest<AbstractResponse>> start(Iota iota);
+
+    /**
+     * Stops the module before it is unloaded. No calls are issued anymore once this method is called.
+     */
+    void shutdown();
+}
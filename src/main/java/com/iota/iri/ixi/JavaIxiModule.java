@@ -0,0 +1,213 @@
+package com.iota.iri.ixi;
+
+import com.iota.iri.Iota;
+import com.iota.iri.service.CallableRequest;
+import com.iota.iri.service.dto.AbstractResponse;
+import com.iota.iri.service.dto.ErrorResponse;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A loaded {@link IxiModule} together with the class loader of its JAR and the threads that run its calls.
+ * </p>
+ * <p>
+ * The JAR is copied before it is loaded, so it can be replaced while the module is running and the class loader does
+ * not serve stale classes after a reload. Every module runs its calls on its own thread pool, so a slow module only
+ * delays its own calls, and keeps {@link IxiCallMetrics} for each of them.
+ * </p>
+ */
+public class JavaIxiModule {
+
+    private static final Logger log = LoggerFactory.getLogger(JavaIxiModule.class);
+
+    /**
+     * The time we wait for running calls to finish when the module is unloaded.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final String name;
+
+    private final IxiModule module;
+
+    private final URLClassLoader classLoader;
+
+    private final Path loadedJar;
+
+    private final Map<String, CallableRequest<AbstractResponse>> calls;
+
+    private final Map<String, IxiCallMetrics> metrics;
+
+    private final ExecutorService executor;
+
+    private JavaIxiModule(String name, IxiModule module, URLClassLoader classLoader, Path loadedJar,
+            Map<String, CallableRequest<AbstractResponse>> calls, int threads) {
+
+        this.name = name;
+        this.module = module;
+        this.classLoader = classLoader;
+        this.loadedJar = loadedJar;
+        this.calls = Collections.unmodifiableMap(new HashMap<>(calls));
+
+        Map<String, IxiCallMetrics> callMetrics = new HashMap<>();
+        calls.keySet().forEach(call -> callMetrics.put(call, new IxiCallMetrics()));
+        this.metrics = Collections.unmodifiableMap(callMetrics);
+
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "IXI " + name + " " + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Loads the module of the given JAR and starts it.
+     *
+     * @param name the name of the module
+     * @param jar the JAR containing the module
+     * @param iota the node the module is running in
+     * @param threads the amount of threads that run the calls of the module
+     * @return the started module
+     * @throws IOException if the JAR can not be read or does not contain an {@link IxiModule}
+     */
+    public static JavaIxiModule load(String name, Path jar, Iota iota, int threads) throws IOException {
+        Path loadedJar = Files.createTempFile("ixi-", ".jar");
+        URLClassLoader classLoader = null;
+        try {
+            Files.copy(jar, loadedJar, StandardCopyOption.REPLACE_EXISTING);
+            classLoader = new URLClassLoader(new URL[]{loadedJar.toUri().toURL()}, IxiModule.class.getClassLoader());
+
+            Iterator<IxiModule> modules = ServiceLoader.load(IxiModule.class, classLoader).iterator();
+            if (!modules.hasNext()) {
+                throw new IOException("no " + IxiModule.class.getName() + " service found in " + jar);
+            }
+            IxiModule module = modules.next();
+
+            Map<String, CallableRequest<AbstractResponse>> calls;
+            ClassLoader previousClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(classLoader);
+            try {
+                calls = module.start(iota);
+            } finally {
+                Thread.currentThread().setContextClassLoader(previousClassLoader);
+            }
+
+            return new JavaIxiModule(name, module, classLoader, loadedJar,
+                    calls == null ? Collections.emptyMap() : calls, Math.max(1, threads));
+        } catch (IOException | RuntimeException | ServiceConfigurationError e) {
+            close(classLoader, loadedJar);
+            throw e instanceof IOException ? (IOException) e : new IOException("could not start module " + name, e);
+        }
+    }
+
+    /**
+     * @param call the name of the call
+     * @return true if the module offers the call
+     */
+    public boolean hasCall(String call) {
+        return calls.containsKey(call);
+    }
+
+    /**
+     * Runs a call of the module on its threads and waits for the response.
+     *
+     * @param call the name of the call
+     * @param request the parameters of the API request
+     * @return the response of the module or an {@link ErrorResponse} if the call failed
+     */
+    public AbstractResponse call(String call, Map<String, Object> request) {
+        CallableRequest<AbstractResponse> callableRequest = calls.get(call);
+        if (callableRequest == null) {
+            return ErrorResponse.create("Command [" + name + "." + call + "] is unknown");
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Future<AbstractResponse> response = executor.submit(() -> callableRequest.call(request));
+            AbstractResponse result = response.get();
+            failed = false;
+            return result;
+        } catch (ExecutionException e) {
+            log.error("IXI call {}.{} failed", name, call, e.getCause());
+            return ErrorResponse.create("IXI call [" + name + "." + call + "] failed: " + e.getCause());
+        } catch (RejectedExecutionException e) {
+            return ErrorResponse.create("IXI module [" + name + "] is unloading");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ErrorResponse.create("IXI call [" + name + "." + call + "] was interrupted");
+        } finally {
+            metrics.get(call).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * @return the metrics of the calls of the module by their name
+     */
+    public Map<String, IxiCallMetrics> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting calls, waits for the running ones and shuts the module down.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            module.shutdown();
+        } catch (RuntimeException e) {
+            log.error("IXI module {} failed to shut down", name, e);
+        }
+        metrics.forEach((call, callMetrics) -> log.info("IXI call {}.{}: {}", name, call, callMetrics));
+
+        close(classLoader, loadedJar);
+    }
+
+    private static void close(URLClassLoader classLoader, Path loadedJar) {
+        try {
+            if (classLoader != null) {
+                classLoader.close();
+            }
+            Files.deleteIfExists(loadedJar);
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", loadedJar, e);
+        }
+    }
+}
@@ -2,23 +2,37 @@ package com.iota.iri.model;
 
 import com.iota.iri.crypto.Curl;
 import com.iota.iri.model.persistables.Transaction;
-import com.iota.iri.model.safe.ByteSafe;
-import com.iota.iri.model.safe.TritSafe;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.utils.Converter;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Objects;
 
 /**
  * Base implementation of a hash object
+ *
+ * <p>
+ *     The {@value #SIZE_IN_BYTES} bytes of the hash are packed into seven longs and the hash code is computed once, so
+ *     a hash only occupies a few dozen bytes of heap and comparing two hashes does not touch any arrays. The bytes and
+ *     trits are derived on demand and every call returns a new copy.
+ * </p>
  */
 public abstract class AbstractHash implements Hash, Serializable {
-    private final Object lock = new Object();
 
-    private ByteSafe byteSafe;
-    private TritSafe tritSafe;
+    /** The number of longs the bytes of the hash are packed into */
+    private static final int PACKED_LENGTH = (SIZE_IN_BYTES + Long.BYTES - 1) / Long.BYTES;
+
+    private long packed0;
+    private long packed1;
+    private long packed2;
+    private long packed3;
+    private long packed4;
+    private long packed5;
+    private long packed6;
+
+    private int hashCode;
+
+    private boolean initialized;
 
     /**
      * Empty Constructor for a placeholder hash identifier object. Creates a hash identifier object with no properties.
@@ -27,93 +41,72 @@ public abstract class AbstractHash implements Hash, Serializable {
     }
 
     /**
-     * Constructor for a hash object using a trit or byte source array. A null safe byte array of the
-     * same size as the source will be created, storing a copy of the input values in the object.
+     * Constructor for a hash object using a trit or byte source array. The source values are converted to bytes and
+     * packed into the object.
      *
      * @param source A byte array containing the source transaction information in either trit or byte format
      * @param sourceOffset The offset defining the start point for the hash object in the source
      * @param sourceSize The size of the hash object that will be created
      */
     public AbstractHash(byte[] source, int sourceOffset, int sourceSize) {
+        byte[] dest = new byte[SIZE_IN_BYTES];
         if(sourceSize < SIZE_IN_TRITS) {
-            byte[] dest = new byte[SIZE_IN_BYTES];
             System.arraycopy(source, sourceOffset, dest, 0, Math.min(dest.length, Math.min(source.length, sourceSize)));
-            this.byteSafe = new ByteSafe(dest);
         } else {
-            byte[] dest = new byte[SIZE_IN_TRITS];
-            System.arraycopy(source, sourceOffset, dest, 0, dest.length);
-            this.tritSafe = new TritSafe(dest);
+            Converter.bytes(source, sourceOffset, dest, 0, SIZE_IN_TRITS);
         }
+        pack(dest);
     }
 
     /**
      * Assigns the input byte data to the hash object. Each hash object can only be initialized with data
-     * once.If the byte or trit arrays are not null, an <tt>IllegalStateException</tt> is thrown.
+     * once. If the hash was already initialized, an <tt>IllegalStateException</tt> is thrown.
      *
      * @param bytes A byte array containing the source bytes
      */
     @Override
     public void read(byte[] bytes) {
         if (bytes != null) {
-            synchronized (lock) {
-                if (byteSafe != null || tritSafe != null) {
-                    throw new IllegalStateException("I cannot be initialized with data twice.");
-                }
-                byte[] dest = new byte[SIZE_IN_BYTES];
-                System.arraycopy(bytes, 0, dest, 0, Math.min(dest.length, bytes.length));
-                byteSafe = new ByteSafe(dest);
+            if (initialized) {
+                throw new IllegalStateException("I cannot be initialized with data twice.");
             }
+            byte[] dest = new byte[SIZE_IN_BYTES];
+            System.arraycopy(bytes, 0, dest, 0, Math.min(dest.length, bytes.length));
+            pack(dest);
         }
     }
 
     /**
-     * Checks if the hash object is storing a byte array. If the object's byte array is <tt>null</tt>,
-     * then a byte array conversion of the object's trit array will be created and stored. If there
-     * is no trit array present, a <tt>NullPointerException</tt> will be thrown.
+     * Unpacks the bytes of the hash object into a new array. If the hash was never initialized, a
+     * <tt>NullPointerException</tt> is thrown.
      *
-     * @return The stored byte array containing the hash values
+     * @return A byte array containing the hash values
      */
     @Override
     public byte[] bytes() {
-        ByteSafe safe = byteSafe;
-        if (safe == null) {
-            synchronized (lock) {
-                if (byteSafe == null) {
-                    Objects.requireNonNull(tritSafe, "I need my trits to be initialized in order to construct bytes.");
-                    byte[] src = trits();
-                    byte[] dest = new byte[SIZE_IN_BYTES];
-                    Converter.bytes(src, 0, dest, 0, src.length);
-                    byteSafe = new ByteSafe(dest);
-                }
-                safe = byteSafe;
+        checkInitialized();
+        byte[] bytes = new byte[SIZE_IN_BYTES];
+        for (int i = 0; i < PACKED_LENGTH; i++) {
+            long value = packed(i);
+            for (int j = i * Long.BYTES, end = Math.min(j + Long.BYTES, SIZE_IN_BYTES); j < end; j++) {
+                bytes[j] = (byte) (value >>> 56);
+                value <<= 8;
             }
         }
-        return safe.getData();
+        return bytes;
     }
 
     /**
-     * Checks if the hash object is storing a trit array. If the object's trit array is <tt>null</tt>,
-     * then a trit array conversion of the object's byte array will be created. If there is no byte
-     * array present, a <tt>NullPointerException</tt> will be thrown.
+     * Converts the bytes of the hash object into a new trit array. If the hash was never initialized, a
+     * <tt>NullPointerException</tt> is thrown.
      *
-     * @return The stored trit array containing the hash values
+     * @return A trit array containing the hash values
      */
     @Override
     public byte[] trits() {
-        TritSafe safe = tritSafe;
-        if (safe == null) {
-            synchronized (lock) {
-                if (tritSafe == null) {
-                    Objects.requireNonNull(byteSafe, "I need my bytes to be initialized in order to construct trits.");
-                    byte[] src = bytes();
-                    byte[] dest = new byte[Curl.HASH_LENGTH];
-                    Converter.getTrits(src, dest);
-                    tritSafe = new TritSafe(dest);
-                }
-                safe = tritSafe;
-            }
-        }
-        return safe.getData();
+        byte[] trits = new byte[Curl.HASH_LENGTH];
+        Converter.getTrits(bytes(), trits);
+        return trits;
     }
 
     /**
@@ -121,11 +114,25 @@ public abstract class AbstractHash implements Hash, Serializable {
      */
     @Override
     public int trailingZeros() {
-        byte[] trits = trits();
-        int index = SIZE_IN_TRITS;
+        checkInitialized();
         int zeros = 0;
-        while (index-- > 0 && trits[index] == 0) {
-            zeros++;
+        for (int i = SIZE_IN_BYTES - 1; i >= 0; i--) {
+            int value = (byte) (packed(i / Long.BYTES) >>> (56 - (i % Long.BYTES) * 8));
+            int tritsInByte = Math.min(Converter.NUMBER_OF_TRITS_IN_A_BYTE,
+                    SIZE_IN_TRITS - i * Converter.NUMBER_OF_TRITS_IN_A_BYTE);
+            if (value == 0) {
+                zeros += tritsInByte;
+                continue;
+            }
+
+            // the byte holds the trits in balanced ternary, the last digit we take off is the highest non-zero trit
+            int highestTrit = -1;
+            while (value != 0) {
+                int trit = Math.floorMod(value, Converter.RADIX);
+                value = (value - (trit == 2 ? -1 : trit)) / Converter.RADIX;
+                highestTrit++;
+            }
+            return zeros + tritsInByte - 1 - highestTrit;
         }
         return zeros;
     }
@@ -142,8 +149,8 @@ public abstract class AbstractHash implements Hash, Serializable {
 
     @Override
     public int hashCode() {
-        bytes();
-        return byteSafe.getHashcode();
+        checkInitialized();
+        return hashCode;
     }
 
     @Override
@@ -159,8 +166,13 @@ public abstract class AbstractHash implements Hash, Serializable {
         if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
-        Hash hash = (Hash) obj;
-        return Arrays.equals(bytes(), hash.bytes());
+        AbstractHash hash = (AbstractHash) obj;
+        checkInitialized();
+        hash.checkInitialized();
+        return hashCode == hash.hashCode
+                && packed0 == hash.packed0 && packed1 == hash.packed1 && packed2 == hash.packed2
+                && packed3 == hash.packed3 && packed4 == hash.packed4 && packed5 == hash.packed5
+                && packed6 == hash.packed6;
     }
 
     @Override
@@ -175,4 +187,49 @@ public abstract class AbstractHash implements Hash, Serializable {
         }
         return (int) diff;
     }
+
+    /**
+     * Packs the bytes into the longs of this object, big endian, and computes the hash code.
+     *
+     * @param bytes The {@value #SIZE_IN_BYTES} bytes of the hash
+     */
+    private void pack(byte[] bytes) {
+        packed0 = pack(bytes, 0);
+        packed1 = pack(bytes, 1);
+        packed2 = pack(bytes, 2);
+        packed3 = pack(bytes, 3);
+        packed4 = pack(bytes, 4);
+        packed5 = pack(bytes, 5);
+        packed6 = pack(bytes, 6);
+        // keep the hash code of the byte array, so iteration orders and stored hash codes do not change
+        hashCode = Arrays.hashCode(bytes);
+        initialized = true;
+    }
+
+    private static long pack(byte[] bytes, int index) {
+        long value = 0;
+        for (int i = index * Long.BYTES; i < (index + 1) * Long.BYTES; i++) {
+            value = (value << 8) | (i < SIZE_IN_BYTES ? bytes[i] & 0xFF : 0);
+        }
+        return value;
+    }
+
+    private long packed(int index) {
+        switch (index) {
+            case 0: return packed0;
+            case 1: return packed1;
+            case 2: return packed2;
+            case 3: return packed3;
+            case 4: return packed4;
+            case 5: return packed5;
+            case 6: return packed6;
+            default: throw new IndexOutOfBoundsException("index " + index);
+        }
+    }
+
+    private void checkInitialized() {
+        if (!initialized) {
+            throw new NullPointerException("I need my bytes to be initialized.");
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package com.iota.iri.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pool of canonical {@link Hash} instances for hashes that are kept for a long time in many places.
+ *
+ * <p>
+ *     Structures that hold on to the same hashes (e.g. addresses of the ledger state or solid entry points) can
+ *     {@link #intern(Hash)} them, so they share one instance instead of keeping equal copies alive. The pool is bounded
+ *     and never evicts, so it should only be used for hashes that stay relevant for the lifetime of the pool.
+ * </p>
+ */
+public class HashInterner {
+
+    private final int capacity;
+
+    private final ConcurrentMap<Hash, Hash> pool;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param capacity The maximum amount of hashes the pool keeps, further hashes are returned as they are
+     */
+    public HashInterner(int capacity) {
+        this.capacity = capacity;
+        this.pool = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+    }
+
+    /**
+     * Returns the canonical instance of the given hash. The first interned instance becomes the canonical one as long
+     * as the pool has capacity left.
+     *
+     * @param hash The hash to intern
+     * @param <T> The type of the hash, equal hashes are always of the same type
+     * @return The canonical instance or the given hash if it is not pooled
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Hash> T intern(T hash) {
+        Hash canonical = pool.get(hash);
+        if (canonical == null) {
+            if (pool.size() >= capacity) {
+                return hash;
+            }
+            canonical = pool.putIfAbsent(hash, hash);
+            if (canonical == null) {
+                return hash;
+            }
+        }
+        return (T) canonical;
+    }
+
+    /**
+     * Removes all hashes from the pool.
+     */
+    public void clear() {
+        pool.clear();
+    }
+
+    /**
+     * @return The amount of pooled hashes
+     */
+    public int size() {
+        return pool.size();
+    }
+}
@@ -2,16 +2,46 @@ package com.iota.iri.model;
 
 import com.iota.iri.storage.Persistable;
 
+import com.google.common.primitives.UnsignedBytes;
+
 import javax.naming.OperationNotSupportedException;
 import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 /**
  * Contains the data of a local snapshot in its entirety.
+ *
+ * <p>
+ *     The snapshot is stored in a versioned binary format: a {@link #FORMAT_MARKER} and {@link #FORMAT_VERSION}
+ *     byte, the milestone details, the solid entry points, the seen milestones and the ledger state, each sorted by
+ *     hash as fixed-width records, followed by a CRC32 checksum of everything before it. Snapshots which were stored
+ *     before the format was versioned are still read.
+ * </p>
  */
 public class LocalSnapshot implements Persistable {
 
+    /**
+     * Leading byte of the versioned format. Encoded hashes only contain bytes between -121 and 121, so it can not be
+     * the first byte of the unversioned format, which starts with the milestone hash.
+     */
+    public static final byte FORMAT_MARKER = Byte.MAX_VALUE;
+
+    /** Version of the binary format written by {@link #bytes()} */
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 2;
+
+    private static final int CHECKSUM_SIZE = Long.BYTES;
+
+    private static final int INDEXED_HASH_SIZE = Hash.SIZE_IN_BYTES + Integer.BYTES;
+
+    private static final int BALANCE_SIZE = Hash.SIZE_IN_BYTES + Long.BYTES;
+
     // meta
     public Hash milestoneHash;
     public int milestoneIndex;
@@ -27,11 +57,17 @@ public class LocalSnapshot implements Persistable {
     @Override
     public byte[] bytes() {
         ByteBuffer buf = ByteBuffer.allocate(
-                49 + // milestone hash bytes encoded
+                HEADER_SIZE +
+                Hash.SIZE_IN_BYTES + // milestone hash bytes encoded
                 20 + // index (4), timestamp (8), num solid entry points (4) / seen milestones (4) = 20
-                        (solidEntryPoints.size() * (Hash.SIZE_IN_BYTES + 4)) + // solid entry points
-                        (seenMilestones.size() * (Hash.SIZE_IN_BYTES + 4)) + // seen milestones
-                        (ledgerState.size() * (Hash.SIZE_IN_BYTES + 8))); // ledger state
+                        (solidEntryPoints.size() * INDEXED_HASH_SIZE) + // solid entry points
+                        (seenMilestones.size() * INDEXED_HASH_SIZE) + // seen milestones
+                        Integer.BYTES + (ledgerState.size() * BALANCE_SIZE) + // ledger state
+                        CHECKSUM_SIZE);
+
+        // format
+        buf.put(FORMAT_MARKER);
+        buf.put(FORMAT_VERSION);
 
         // milestone hash
         buf.put(milestoneHash.bytes());
@@ -39,28 +75,107 @@ public class LocalSnapshot implements Persistable {
         // nums
         buf.putInt(milestoneIndex);
         buf.putLong(milestoneTimestamp);
-        buf.putInt(numSolidEntryPoints);
-        buf.putInt(numSeenMilestones);
+        buf.putInt(solidEntryPoints.size());
+        buf.putInt(seenMilestones.size());
 
-        // maps
-        for (Map.Entry<Hash, Integer> entry : solidEntryPoints.entrySet()) {
-            buf.put(entry.getKey().bytes());
+        // maps sorted by hash, so equal states always serialize to the same bytes
+        for (Map.Entry<byte[], Integer> entry : sortedByHash(solidEntryPoints)) {
+            buf.put(entry.getKey());
             buf.putInt(entry.getValue());
         }
-        for (Map.Entry<Hash, Integer> entry : seenMilestones.entrySet()) {
-            buf.put(entry.getKey().bytes());
+        for (Map.Entry<byte[], Integer> entry : sortedByHash(seenMilestones)) {
+            buf.put(entry.getKey());
             buf.putInt(entry.getValue());
         }
-        for (Map.Entry<Hash, Long> entry : ledgerState.entrySet()) {
-            buf.put(entry.getKey().bytes());
+
+        buf.putInt(ledgerState.size());
+        for (Map.Entry<byte[], Long> entry : sortedByHash(ledgerState)) {
+            buf.put(entry.getKey());
             buf.putLong(entry.getValue());
         }
 
+        buf.putLong(checksum(buf.array(), buf.position()));
+
         return buf.array();
     }
 
     @Override
     public void read(byte[] bytes) {
+        if (bytes.length > 0 && bytes[0] == FORMAT_MARKER) {
+            readVersioned(bytes);
+        } else {
+            readUnversioned(bytes);
+        }
+    }
+
+    /**
+     * Reads a snapshot stored in the versioned format and verifies its checksum.
+     *
+     * The hashes are created straight from the given array, so no intermediate buffers are needed and the maps are
+     * allocated with their final size.
+     *
+     * @param bytes the serialized snapshot
+     * @throws IllegalArgumentException if the snapshot has an unknown version or is corrupted
+     */
+    private void readVersioned(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE + CHECKSUM_SIZE) {
+            throw new IllegalArgumentException("the local snapshot is truncated");
+        }
+        if (bytes[1] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported local snapshot format version " + bytes[1]);
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int checksumOffset = bytes.length - CHECKSUM_SIZE;
+        if (buf.getLong(checksumOffset) != checksum(bytes, checksumOffset)) {
+            throw new IllegalArgumentException("the checksum of the local snapshot does not match");
+        }
+        buf.position(HEADER_SIZE);
+
+        // milestone hash
+        milestoneHash = HashFactory.TRANSACTION.create(bytes, buf.position(), Hash.SIZE_IN_BYTES);
+        buf.position(buf.position() + Hash.SIZE_IN_BYTES);
+
+        // nums
+        milestoneIndex = buf.getInt();
+        milestoneTimestamp = buf.getLong();
+        numSolidEntryPoints = buf.getInt();
+        numSeenMilestones = buf.getInt();
+
+        solidEntryPoints = readIndexedHashes(bytes, buf, numSolidEntryPoints);
+        seenMilestones = readIndexedHashes(bytes, buf, numSeenMilestones);
+
+        // actual ledger state
+        int ledgerStateEntriesCount = buf.getInt();
+        if (buf.position() + ledgerStateEntriesCount * BALANCE_SIZE != checksumOffset) {
+            throw new IllegalArgumentException("the ledger state of the local snapshot has an invalid size");
+        }
+        ledgerState = new HashMap<>(mapCapacity(ledgerStateEntriesCount));
+        for (int i = 0; i < ledgerStateEntriesCount; i++) {
+            int offset = buf.position();
+            ledgerState.put(HashFactory.ADDRESS.create(bytes, offset, Hash.SIZE_IN_BYTES),
+                    buf.getLong(offset + Hash.SIZE_IN_BYTES));
+            buf.position(offset + BALANCE_SIZE);
+        }
+    }
+
+    private static Map<Hash, Integer> readIndexedHashes(byte[] bytes, ByteBuffer buf, int count) {
+        Map<Hash, Integer> hashes = new HashMap<>(mapCapacity(count));
+        for (int i = 0; i < count; i++) {
+            int offset = buf.position();
+            hashes.put(HashFactory.TRANSACTION.create(bytes, offset, Hash.SIZE_IN_BYTES),
+                    buf.getInt(offset + Hash.SIZE_IN_BYTES));
+            buf.position(offset + INDEXED_HASH_SIZE);
+        }
+        return hashes;
+    }
+
+    /**
+     * Reads a snapshot stored before the format was versioned.
+     *
+     * @param bytes the serialized snapshot
+     */
+    private void readUnversioned(byte[] bytes) {
         byte[] hashBuf = new byte[Hash.SIZE_IN_BYTES];
         ByteBuffer buf = ByteBuffer.wrap(bytes);
 
@@ -89,7 +204,7 @@ public class LocalSnapshot implements Persistable {
         }
 
         // actual ledger state
-        int ledgerStateEntriesCount = buf.remaining() / (Hash.SIZE_IN_BYTES + 8);
+        int ledgerStateEntriesCount = buf.remaining() / BALANCE_SIZE;
         ledgerState = new HashMap<>();
         for (int i = 0; i < ledgerStateEntriesCount; i++) {
             buf.get(hashBuf);
@@ -97,6 +212,34 @@ public class LocalSnapshot implements Persistable {
         }
     }
 
+    /**
+     * Orders the entries of the given map by the unsigned lexicographic order of their encoded hashes.
+     *
+     * The hashes are encoded once up front, so the comparisons only compare byte arrays.
+     *
+     * @param map the map to order
+     * @param <V> the type of the values
+     * @return the encoded hashes and their values in a stable order
+     */
+    private static <V> List<Map.Entry<byte[], V>> sortedByHash(Map<Hash, V> map) {
+        List<Map.Entry<byte[], V>> entries = new ArrayList<>(map.size());
+        for (Map.Entry<Hash, V> entry : map.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey().bytes(), entry.getValue()));
+        }
+        entries.sort(Map.Entry.comparingByKey(UnsignedBytes.lexicographicalComparator()));
+        return entries;
+    }
+
+    private static long checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+
+    private static int mapCapacity(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+
     @Override
     public byte[] metadata() {
         return new byte[0];
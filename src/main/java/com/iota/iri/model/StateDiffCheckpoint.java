@@ -0,0 +1,27 @@
+package com.iota.iri.model;
+
+/**
+ * Creates a persistable cumulative State object, which holds the summed up balance changes of
+ * {@value #INTERVAL} consecutive milestones.
+ *
+ * <p>
+ *     A <tt>StateDiffCheckpoint</tt> is indexed by the {@link IntegerIndex} of the first milestone of its block. Block
+ *     boundaries are aligned to multiples of {@value #INTERVAL}, so replaying the ledger state only has to load the
+ *     single {@link StateDiff}s of the milestones that are not covered by a complete block.
+ * </p>
+ */
+public class StateDiffCheckpoint extends StateDiff {
+
+    /** The number of milestones that are combined in a single checkpoint */
+    public static final int INTERVAL = 100;
+
+    /**
+     * Returns the index of the first milestone of the block that contains the given milestone.
+     *
+     * @param milestoneIndex index of a milestone
+     * @return the index that the checkpoint of the block is stored under
+     */
+    public static int blockStart(int milestoneIndex) {
+        return milestoneIndex - Math.floorMod(milestoneIndex, INTERVAL);
+    }
+}
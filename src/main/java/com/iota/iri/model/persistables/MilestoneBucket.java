@@ -0,0 +1,45 @@
+package com.iota.iri.model.persistables;
+
+import com.iota.iri.model.Hash;
+
+/**
+ * This is a collection of {@link com.iota.iri.model.TransactionHash} identifiers indexed by the
+ * {@link com.iota.iri.model.IntegerIndex} of the milestone that confirmed them.
+ *
+ * <p>
+ *     A <tt>MilestoneBucket</tt> is filled when the transactions get confirmed, which allows the pruning of a
+ *     milestone to look up its transactions directly instead of traversing its past cone. Since the buckets are
+ *     ordered by milestone index, pruned buckets can be removed with a single range deletion.
+ * </p>
+ * <p>
+ *     Only a bucket which contains the {@link #COMPLETE_MARKER} lists all transactions of its milestone. Milestones
+ *     that were confirmed before the buckets existed, or whose confirmation got interrupted, have no marker.
+ * </p>
+ */
+public class MilestoneBucket extends Hashes {
+
+    /**
+     * Added to the bucket after all transactions of the milestone were recorded in it.
+     */
+    public static final Hash COMPLETE_MARKER = Hash.NULL_HASH;
+
+    /**
+     * Adds a confirmed transaction identifier to the collection.
+     * @param hash The hash identifier that will be added to the collection
+     */
+    public MilestoneBucket(Hash hash) {
+        set.add(hash);
+    }
+
+    /**Instantiates an empty <tt>MilestoneBucket</tt> hash identifier collection.*/
+    public MilestoneBucket() {
+
+    }
+
+    /**
+     * @return true if the bucket lists all transactions confirmed by its milestone
+     */
+    public boolean isComplete() {
+        return set.contains(COMPLETE_MARKER);
+    }
+}
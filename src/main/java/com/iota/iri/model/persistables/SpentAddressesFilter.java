@@ -0,0 +1,54 @@
+package com.iota.iri.model.persistables;
+
+import com.iota.iri.storage.Persistable;
+
+import javax.naming.OperationNotSupportedException;
+
+/**
+ * Holds the serialized cuckoo filter of all spent addresses, so it does not have to be rebuilt from the stored
+ * addresses on every start.
+ *
+ * <p>
+ *     The filter is only stored while the node is shut down. It gets removed again when it is loaded, so a node which
+ *     does not shut down cleanly rebuilds the filter from the stored addresses.
+ * </p>
+ */
+public class SpentAddressesFilter implements Persistable {
+
+    /** The filter as written by {@link com.iota.iri.utils.datastructure.CuckooFilter#write} */
+    public byte[] filter;
+
+    @Override
+    public byte[] bytes() {
+        return filter;
+    }
+
+    @Override
+    public void read(byte[] bytes) {
+        filter = bytes;
+    }
+
+    @Override
+    public byte[] metadata() {
+        return new byte[0];
+    }
+
+    @Override
+    public void readMetadata(byte[] bytes) {
+    }
+
+    @Override
+    public boolean canMerge() {
+        return false;
+    }
+
+    @Override
+    public Persistable mergeInto(Persistable source) throws OperationNotSupportedException {
+        throw new OperationNotSupportedException("This object is not mergeable");
+    }
+
+    @Override
+    public boolean exists() {
+        return filter != null && filter.length > 0;
+    }
+}
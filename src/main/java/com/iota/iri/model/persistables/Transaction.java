@@ -41,8 +41,43 @@ public class Transaction implements Persistable {
      */
     public static final int IS_MILESTONE_BITMASK = 0b10;
 
+    /**
+     * The size of a mutable state record: the field identifier followed by the value as a long.
+     */
+    public static final int STATE_RECORD_SIZE = 1 + Long.BYTES;
+
+    /**
+     * The delimiter the merge operator of the database puts between appended state records.
+     */
+    public static final byte STATE_RECORD_DELIMITER = ',';
+
+    private static final byte SOLID_FIELD = 1;
+    private static final byte MILESTONE_FIELD = 2;
+    private static final byte SNAPSHOT_FIELD = 3;
+    private static final byte HEIGHT_FIELD = 4;
+    private static final byte VALIDITY_FIELD = 5;
+    private static final byte ARRIVAL_TIME_FIELD = 6;
+
+    private static final int ADDRESS_OFFSET = 0;
+    private static final int BUNDLE_OFFSET = ADDRESS_OFFSET + Hash.SIZE_IN_BYTES;
+    private static final int TRUNK_OFFSET = BUNDLE_OFFSET + Hash.SIZE_IN_BYTES;
+    private static final int BRANCH_OFFSET = TRUNK_OFFSET + Hash.SIZE_IN_BYTES;
+    private static final int OBSOLETE_TAG_OFFSET = BRANCH_OFFSET + Hash.SIZE_IN_BYTES;
+    private static final int VALUE_OFFSET = OBSOLETE_TAG_OFFSET + Hash.SIZE_IN_BYTES;
+    private static final int TAG_OFFSET = VALUE_OFFSET + Long.BYTES * 4;
+    private static final int ATTACHMENT_TIMESTAMP_OFFSET = TAG_OFFSET + Hash.SIZE_IN_BYTES;
+
+    private static final byte[] ALL_STATE_FIELDS = {SOLID_FIELD, MILESTONE_FIELD, SNAPSHOT_FIELD, HEIGHT_FIELD,
+            VALIDITY_FIELD, ARRIVAL_TIME_FIELD};
+
     public byte[] bytes;
 
+    /**
+     * The metadata this transaction was read from. The hashes are only created from it when they are accessed, see
+     * {@link #address()}.
+     */
+    private byte[] metadataBytes;
+
     public Hash address;
     public Hash bundle;
     public Hash trunk;
@@ -88,6 +123,71 @@ public class Transaction implements Persistable {
     public AtomicReference<String> sender = new AtomicReference<>("");
     public AtomicInteger snapshot = new AtomicInteger();
 
+    /**
+     * @return the address of the transaction, created from the stored metadata on the first access
+     */
+    public Hash address() {
+        if (address == null) {
+            address = hashFromMetadata(HashFactory.ADDRESS, ADDRESS_OFFSET);
+        }
+        return address;
+    }
+
+    /**
+     * @return the bundle hash of the transaction, created from the stored metadata on the first access
+     */
+    public Hash bundle() {
+        if (bundle == null) {
+            bundle = hashFromMetadata(HashFactory.BUNDLE, BUNDLE_OFFSET);
+        }
+        return bundle;
+    }
+
+    /**
+     * @return the trunk transaction hash, created from the stored metadata on the first access
+     */
+    public Hash trunk() {
+        if (trunk == null) {
+            trunk = hashFromMetadata(HashFactory.TRANSACTION, TRUNK_OFFSET);
+        }
+        return trunk;
+    }
+
+    /**
+     * @return the branch transaction hash, created from the stored metadata on the first access
+     */
+    public Hash branch() {
+        if (branch == null) {
+            branch = hashFromMetadata(HashFactory.TRANSACTION, BRANCH_OFFSET);
+        }
+        return branch;
+    }
+
+    /**
+     * @return the obsolete tag of the transaction, created from the stored metadata on the first access
+     */
+    public Hash obsoleteTag() {
+        if (obsoleteTag == null) {
+            obsoleteTag = hashFromMetadata(HashFactory.OBSOLETETAG, OBSOLETE_TAG_OFFSET);
+        }
+        return obsoleteTag;
+    }
+
+    /**
+     * @return the tag of the transaction, created from the stored metadata on the first access
+     */
+    public Hash tag() {
+        if (tag == null) {
+            tag = hashFromMetadata(HashFactory.TAG, TAG_OFFSET);
+        }
+        return tag;
+    }
+
+    private Hash hashFromMetadata(HashFactory factory, int offset) {
+        byte[] metadata = metadataBytes;
+        return metadata == null ? null : factory.create(metadata, offset, Hash.SIZE_IN_BYTES);
+    }
+
     /**
      * Returns a truncated representation of the bytes of the transaction.
      */
@@ -110,7 +210,8 @@ public class Transaction implements Persistable {
     }
 
     /**
-     * Returns a byte array containing all the relevant metadata for the transaction.
+     * Returns a byte array containing all the relevant metadata for the transaction. The mutable fields contain the
+     * values at the time of the last full write, later updates are stored as {@link #state(String)} records.
      */
     @Override
     public byte[] metadata() {
@@ -121,17 +222,17 @@ public class Transaction implements Persistable {
                         1 + //solid
                         sender.get().getBytes().length; //sender
         ByteBuffer buffer = ByteBuffer.allocate(allocateSize);
-        buffer.put(address.bytes());
-        buffer.put(bundle.bytes());
-        buffer.put(trunk.bytes());
-        buffer.put(branch.bytes());
-        buffer.put(obsoleteTag.bytes());
+        putHash(buffer, address, ADDRESS_OFFSET);
+        putHash(buffer, bundle, BUNDLE_OFFSET);
+        putHash(buffer, trunk, TRUNK_OFFSET);
+        putHash(buffer, branch, BRANCH_OFFSET);
+        putHash(buffer, obsoleteTag, OBSOLETE_TAG_OFFSET);
         buffer.put(Serializer.serialize(value));
         buffer.put(Serializer.serialize(currentIndex));
         buffer.put(Serializer.serialize(lastIndex));
         buffer.put(Serializer.serialize(timestamp));
 
-        buffer.put(tag.bytes());
+        putHash(buffer, tag, TAG_OFFSET);
         buffer.put(Serializer.serialize(attachmentTimestamp));
         buffer.put(Serializer.serialize(attachmentTimestampLowerBound));
         buffer.put(Serializer.serialize(attachmentTimestampUpperBound));
@@ -153,10 +254,28 @@ public class Transaction implements Persistable {
         return buffer.array();
     }
 
+    /**
+     * Writes a hash of the metadata. Hashes that were never accessed are copied from the metadata they were read
+     * from, so they don't have to be created for a rewrite.
+     */
+    private void putHash(ByteBuffer buffer, Hash hash, int offset) {
+        if (hash != null) {
+            buffer.put(hash.bytes());
+        } else {
+            buffer.put(metadataBytes, offset, Hash.SIZE_IN_BYTES);
+        }
+    }
+
     /**
      * Reads the contents of a given array of bytes, assigning the array contents to the
      * appropriate classes.
      *
+     * <p>
+     *     Only the numbers and the mutable state are decoded right away. The hashes are kept as bytes and only
+     *     created when they are accessed through {@link #address()}, {@link #trunk()} and the like, so loading a
+     *     transaction to read its flags or indexes does not allocate them.
+     * </p>
+     *
      * @param bytes The byte array containing the transaction information
      */
     @Override
@@ -164,17 +283,15 @@ public class Transaction implements Persistable {
         if(bytes == null) {
             return;
         }
-        int i = 0;
-        address = HashFactory.ADDRESS.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
-        bundle = HashFactory.BUNDLE.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
-        trunk = HashFactory.TRANSACTION.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
-        branch = HashFactory.TRANSACTION.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
-        obsoleteTag = HashFactory.OBSOLETETAG.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
+        metadataBytes = bytes;
+        address = null;
+        bundle = null;
+        trunk = null;
+        branch = null;
+        obsoleteTag = null;
+        tag = null;
+
+        int i = VALUE_OFFSET;
         value = Serializer.getLong(bytes, i);
         i += Long.BYTES;
         currentIndex = Serializer.getLong(bytes, i);
@@ -182,10 +299,8 @@ public class Transaction implements Persistable {
         lastIndex = Serializer.getLong(bytes, i);
         i += Long.BYTES;
         timestamp = Serializer.getLong(bytes, i);
-        i += Long.BYTES;
 
-        tag = HashFactory.TAG.create(bytes, i, Hash.SIZE_IN_BYTES);
-        i += Hash.SIZE_IN_BYTES;
+        i = ATTACHMENT_TIMESTAMP_OFFSET;
         attachmentTimestamp = Serializer.getLong(bytes, i);
         i += Long.BYTES;
         attachmentTimestampLowerBound = Serializer.getLong(bytes, i);
@@ -222,6 +337,118 @@ public class Transaction implements Persistable {
     }
 
 
+    /**
+     * Returns the records of the updated fields. The solid and milestone flags, the snapshot index, the height, the
+     * validity and the arrival time can be updated on their own, any other item requires a rewrite of the metadata.
+     *
+     * @param item the updated items separated by {@code |} or {@code null} for all fields
+     * @return the records of the fields or {@code null} if an item is not part of the mutable state
+     */
+    @Override
+    public byte[] state(String item) {
+        byte[] fields = item == null ? ALL_STATE_FIELDS : stateFields(item);
+        if (fields == null) {
+            return null;
+        }
+
+        // the records are separated like the merge operator separates them, so all records have the same stride
+        ByteBuffer buffer = ByteBuffer.allocate(fields.length * (STATE_RECORD_SIZE + 1) - 1);
+        for (byte field : fields) {
+            if (buffer.position() != 0) {
+                buffer.put(STATE_RECORD_DELIMITER);
+            }
+            buffer.put(field);
+            buffer.put(Serializer.serialize(stateValue(field)));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Applies the state records in the order they were written, so later updates of a field win.
+     *
+     * @param bytes the records created by {@link #state(String)}, separated by {@link #STATE_RECORD_DELIMITER}
+     */
+    @Override
+    public void readState(byte[] bytes) {
+        if (bytes == null) {
+            return;
+        }
+        for (int i = 0; i + STATE_RECORD_SIZE <= bytes.length; i += STATE_RECORD_SIZE + 1) {
+            long value = Serializer.getLong(bytes, i + 1);
+            switch (bytes[i]) {
+                case SOLID_FIELD:
+                    solid.set(value != 0);
+                    break;
+                case MILESTONE_FIELD:
+                    milestone.set(value != 0);
+                    break;
+                case SNAPSHOT_FIELD:
+                    snapshot.set((int) value);
+                    break;
+                case HEIGHT_FIELD:
+                    height.set(value);
+                    break;
+                case VALIDITY_FIELD:
+                    validity = (int) value;
+                    break;
+                case ARRIVAL_TIME_FIELD:
+                    arrivalTime = value;
+                    break;
+                default:
+                    // records of unknown fields are skipped
+                    break;
+            }
+        }
+    }
+
+    private static byte[] stateFields(String item) {
+        String[] items = item.split("\\|");
+        byte[] fields = new byte[items.length];
+        for (int i = 0; i < items.length; i++) {
+            switch (items[i]) {
+                case "solid":
+                    fields[i] = SOLID_FIELD;
+                    break;
+                case "milestone":
+                    fields[i] = MILESTONE_FIELD;
+                    break;
+                case "snapshot":
+                    fields[i] = SNAPSHOT_FIELD;
+                    break;
+                case "height":
+                    fields[i] = HEIGHT_FIELD;
+                    break;
+                case "validity":
+                    fields[i] = VALIDITY_FIELD;
+                    break;
+                case "arrivalTime":
+                    fields[i] = ARRIVAL_TIME_FIELD;
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return fields;
+    }
+
+    private long stateValue(byte field) {
+        switch (field) {
+            case SOLID_FIELD:
+                return solid.get() ? 1 : 0;
+            case MILESTONE_FIELD:
+                return milestone.get() ? 1 : 0;
+            case SNAPSHOT_FIELD:
+                return snapshot.get();
+            case HEIGHT_FIELD:
+                return height.get();
+            case VALIDITY_FIELD:
+                return validity;
+            case ARRIVAL_TIME_FIELD:
+                return arrivalTime;
+            default:
+                throw new IllegalArgumentException("unknown state field " + field);
+        }
+    }
 
     @Override
     public boolean canMerge() {
@@ -0,0 +1,68 @@
+package com.iota.iri.network;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.utils.TransactionTruncator;
+
+/**
+ * A transaction in the form it is sent to neighbors: the truncated bytes of the gossip payload together with the
+ * digest of the full bytes, which is used to recognize the transaction when it comes back.
+ */
+public class EncodedTransaction {
+
+    private final Hash hash;
+    private final byte[] truncatedBytes;
+    private final long digest;
+
+    /**
+     * Creates a new {@link EncodedTransaction}.
+     *
+     * @param hash           the hash of the transaction
+     * @param truncatedBytes the truncated bytes of the transaction
+     * @param digest         the digest of the full bytes of the transaction
+     */
+    public EncodedTransaction(Hash hash, byte[] truncatedBytes, long digest) {
+        this.hash = hash;
+        this.truncatedBytes = truncatedBytes;
+        this.digest = digest;
+    }
+
+    /**
+     * Truncates the bytes of the given transaction and computes their digest.
+     *
+     * @param tvm the transaction to encode
+     * @return the encoded transaction
+     */
+    public static EncodedTransaction of(TransactionViewModel tvm) {
+        byte[] bytes = tvm.getBytes();
+        return new EncodedTransaction(tvm.getHash(), TransactionTruncator.truncateTransaction(bytes),
+                TransactionCacheDigester.getDigest(bytes));
+    }
+
+    /**
+     * Gets the hash of the transaction.
+     *
+     * @return the hash of the transaction
+     */
+    public Hash getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the truncated bytes of the transaction. The array is shared and must not be modified.
+     *
+     * @return the truncated bytes of the transaction
+     */
+    public byte[] getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    /**
+     * Gets the digest of the full bytes of the transaction as computed by {@link TransactionCacheDigester}.
+     *
+     * @return the digest of the transaction
+     */
+    public long getDigest() {
+        return digest;
+    }
+}
@@ -96,6 +96,25 @@ public interface NeighborRouter {
     void gossipTransactionTo(Neighbor neighbor, TransactionViewModel tvm, boolean useHashOfTVM)
             throws Exception;
 
+    /**
+     * Gossips the given already encoded transaction to the given neighbor.
+     *
+     * @param neighbor          The {@link Neighbor} to gossip the transaction to
+     * @param encodedTransaction The encoded transaction to gossip
+     * @throws Exception thrown when loading a hash of transaction to request fails
+     */
+    void gossipEncodedTransactionTo(Neighbor neighbor, EncodedTransaction encodedTransaction) throws Exception;
+
+    /**
+     * Makes a new transaction known to the given neighbor. Neighbors speaking protocol version 2 or higher only get
+     * its hash announced and request the transaction if they don't know it yet, all others get the transaction.
+     *
+     * @param neighbor           The {@link Neighbor} to announce the transaction to
+     * @param encodedTransaction The encoded transaction to announce
+     * @throws Exception thrown when loading a hash of transaction to request fails
+     */
+    void announceTransactionTo(Neighbor neighbor, EncodedTransaction encodedTransaction) throws Exception;
+
     /**
      * Shut downs the {@link NeighborRouter} and all currently open connections.
      */
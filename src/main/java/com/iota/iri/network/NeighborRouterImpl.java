@@ -8,6 +8,7 @@ import com.iota.iri.model.Hash;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.NeighborState;
 import com.iota.iri.network.neighbor.impl.NeighborImpl;
+import com.iota.iri.network.pipeline.MilestonePacketFilter;
 import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
 import com.iota.iri.network.pipeline.TransactionProcessingPipelineImpl;
 import com.iota.iri.network.protocol.Handshake;
@@ -40,6 +41,11 @@ public class NeighborRouterImpl implements NeighborRouter {
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
     private static final SecureRandom rnd = new SecureRandom();
+
+    /**
+     * The maximum time announced and requested hashes wait for their batch to fill up.
+     */
+    private static final long BATCH_FLUSH_INTERVAL_MILLISECONDS = 100;
     private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "Neighbor Router"));
 
     // external
@@ -98,6 +104,11 @@ public class NeighborRouterImpl implements NeighborRouter {
      */
     private byte[] byteEncodedCooAddress;
 
+    /**
+     * used to announce milestones right away instead of waiting for the announcement batch to fill up
+     */
+    private MilestonePacketFilter milestonePacketFilter;
+
     /**
      * Creates a {@link NeighborRouterImpl}.
      *
@@ -122,7 +133,7 @@ public class NeighborRouterImpl implements NeighborRouter {
         Converter.trits(protocolConfig.getCoordinator().toString(), tritsEncodedCooAddress, 0);
         byteEncodedCooAddress = new byte[Handshake.BYTE_ENCODED_COO_ADDRESS_BYTES_LENGTH];
         Converter.bytes(tritsEncodedCooAddress, byteEncodedCooAddress);
-
+        milestonePacketFilter = new MilestonePacketFilter(protocolConfig.getCoordinator());
     }
 
     private void initNeighbors() {
@@ -167,14 +178,21 @@ public class NeighborRouterImpl implements NeighborRouter {
             long reconnectAttemptTimeout = TimeUnit.SECONDS
                     .toMillis(networkConfig.getReconnectAttemptIntervalSeconds());
 
+            long lastBatchFlush = System.currentTimeMillis();
+
             while (!shutdown.get()) {
-                selector.select(reconnectAttemptTimeout);
+                selector.select(Math.min(reconnectAttemptTimeout, BATCH_FLUSH_INTERVAL_MILLISECONDS));
                 if (shutdown.get()) {
                     break;
                 }
 
-                // reinitialize connections to wanted neighbors
                 long now = System.currentTimeMillis();
+                if (now - lastBatchFlush >= BATCH_FLUSH_INTERVAL_MILLISECONDS) {
+                    lastBatchFlush = now;
+                    connectedNeighbors.values().forEach(Neighbor::flushBatches);
+                }
+
+                // reinitialize connections to wanted neighbors
                 if (forceReconnectAttempt.get() || now - lastReconnectAttempts > reconnectAttemptTimeout) {
                     lastReconnectAttempts = now;
                     forceReconnectAttempt.set(false);
@@ -903,7 +921,38 @@ public class NeighborRouterImpl implements NeighborRouter {
             requestedHash = tvm.getHash().bytes();
         }
 
-        ByteBuffer packet = Protocol.createTransactionGossipPacket(tvm, requestedHash);
+        sendTransactionGossipPacket(neighbor, Protocol.createTransactionGossipPacket(tvm, requestedHash));
+    }
+
+    @Override
+    public void gossipEncodedTransactionTo(Neighbor neighbor, EncodedTransaction encodedTransaction)
+            throws Exception {
+        Hash hash = txRequester.transactionToRequest();
+        byte[] requestedHash = (hash != null ? hash : encodedTransaction.getHash()).bytes();
+        sendTransactionGossipPacket(neighbor,
+                Protocol.createTransactionGossipPacket(encodedTransaction.getTruncatedBytes(), requestedHash));
+    }
+
+    @Override
+    public void announceTransactionTo(Neighbor neighbor, EncodedTransaction encodedTransaction) throws Exception {
+        if (neighbor.getProtocolVersion() < Protocol.HASH_BATCHES_PROTOCOL_VERSION) {
+            gossipEncodedTransactionTo(neighbor, encodedTransaction);
+            return;
+        }
+
+        neighbor.announce(encodedTransaction.getHash());
+        // every hop waiting for the batch would delay the milestone
+        if (milestonePacketFilter.isLikelyMilestone(encodedTransaction.getTruncatedBytes())) {
+            neighbor.flushBatches();
+        }
+        // keep requesting missing transactions at the same rate as the transaction gossip packets used to do
+        Hash hash = txRequester.transactionToRequest();
+        if (hash != null) {
+            neighbor.request(hash);
+        }
+    }
+
+    private void sendTransactionGossipPacket(Neighbor neighbor, ByteBuffer packet) {
         neighbor.send(packet);
         // tx might actually not be sent, we are merely putting it into the send queue
         // TODO: find a way to increment once we actually sent the txs into the channel
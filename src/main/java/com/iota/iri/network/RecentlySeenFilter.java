@@ -0,0 +1,88 @@
+package com.iota.iri.network;
+
+import com.iota.iri.model.Hash;
+
+/**
+ * <p>
+ * The {@link RecentlySeenFilter} remembers the most recent hashes a neighbor is known to have, in a fixed amount of
+ * memory.
+ * </p>
+ * <p>
+ * Every hash is stored as a 32 bit fingerprint in a slot determined by the fingerprint itself, a newer hash simply
+ * overwrites an older one in the same slot. Forgetting a hash only means that the transaction is sent again, while
+ * claiming to know a hash that was never added requires two hashes with the same fingerprint at the same time.
+ * Concurrent updates are not synchronized, a lost update is just a forgotten hash.
+ * </p>
+ */
+public class RecentlySeenFilter {
+
+    /**
+     * The fingerprint of empty slots, a hash with this fingerprint is stored as {@link #EMPTY_FINGERPRINT_REPLACEMENT}.
+     */
+    private static final int EMPTY_FINGERPRINT = 0;
+
+    private static final int EMPTY_FINGERPRINT_REPLACEMENT = 1;
+
+    /**
+     * Multiplier of the fibonacci hashing, so the slot depends on all bits of the fingerprint.
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final int[] fingerprints;
+
+    private final int slotShift;
+
+    /**
+     * Creates a new {@link RecentlySeenFilter}.
+     *
+     * @param capacity the amount of hashes to remember, rounded up to the next power of two
+     */
+    public RecentlySeenFilter(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.fingerprints = new int[slots];
+        this.slotShift = Integer.SIZE - Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * Remembers the given hash.
+     *
+     * @param hash the hash to remember, ignored if it is null
+     */
+    public void add(Hash hash) {
+        if (hash == null) {
+            return;
+        }
+        int fingerprint = fingerprint(hash);
+        fingerprints[slot(fingerprint)] = fingerprint;
+    }
+
+    /**
+     * Checks if the given hash was added recently.
+     *
+     * @param hash the hash to look up
+     * @return true if the hash is remembered, false if it was never added, was overwritten by a newer hash or is null
+     */
+    public boolean contains(Hash hash) {
+        if (hash == null) {
+            return false;
+        }
+        int fingerprint = fingerprint(hash);
+        return fingerprints[slot(fingerprint)] == fingerprint;
+    }
+
+    /**
+     * @return the amount of hashes the filter can remember at most
+     */
+    public int getCapacity() {
+        return fingerprints.length;
+    }
+
+    private int slot(int fingerprint) {
+        return (fingerprint * GOLDEN_RATIO) >>> slotShift;
+    }
+
+    private static int fingerprint(Hash hash) {
+        int fingerprint = hash.hashCode();
+        return fingerprint == EMPTY_FINGERPRINT ? EMPTY_FINGERPRINT_REPLACEMENT : fingerprint;
+    }
+}
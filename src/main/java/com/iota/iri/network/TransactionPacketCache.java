@@ -0,0 +1,70 @@
+package com.iota.iri.network;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+
+/**
+ * <p>
+ * Keeps the {@link EncodedTransaction} of recently stored and requested transactions, so replies and broadcasts
+ * neither have to load the transaction from the database nor truncate and digest it again.
+ * </p>
+ * <p>
+ * The bytes of a transaction never change, so entries are only removed when the capacity is reached.
+ * </p>
+ */
+public class TransactionPacketCache {
+
+    private final FIFOCache<Hash, EncodedTransaction> cache;
+
+    /**
+     * Creates a new {@link TransactionPacketCache}.
+     *
+     * @param capacity the maximum amount of cached transactions
+     */
+    public TransactionPacketCache(int capacity) {
+        this.cache = new FIFOCache<>(capacity);
+    }
+
+    /**
+     * Gets the cached transaction with the given hash.
+     *
+     * @param hash the hash of the transaction
+     * @return the cached transaction or {@code null} if it is not cached
+     */
+    public EncodedTransaction get(Hash hash) {
+        return cache.get(hash);
+    }
+
+    /**
+     * Gets the cached form of the given transaction and encodes and caches it if it is not cached yet.
+     *
+     * @param tvm the transaction to cache
+     * @return the cached transaction
+     */
+    public EncodedTransaction add(TransactionViewModel tvm) {
+        EncodedTransaction encodedTransaction = cache.get(tvm.getHash());
+        if (encodedTransaction == null) {
+            encodedTransaction = EncodedTransaction.of(tvm);
+            cache.put(tvm.getHash(), encodedTransaction);
+        }
+        return encodedTransaction;
+    }
+
+    /**
+     * Gets the amount of lookups which found a cached transaction.
+     *
+     * @return the amount of cache hits
+     */
+    public long getCacheHits() {
+        return cache.getCacheHits();
+    }
+
+    /**
+     * Gets the amount of lookups which did not find a cached transaction.
+     *
+     * @return the amount of cache misses
+     */
+    public long getCacheMisses() {
+        return cache.getCacheMisses();
+    }
+}
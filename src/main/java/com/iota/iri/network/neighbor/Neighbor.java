@@ -1,5 +1,6 @@
 package com.iota.iri.network.neighbor;
 
+import com.iota.iri.model.Hash;
 import com.iota.iri.network.protocol.Handshake;
 import com.iota.iri.network.protocol.Heartbeat;
 
@@ -131,6 +132,27 @@ public interface Neighbor {
      */
     int getProtocolVersion();
 
+    /**
+     * Announces a new transaction to the {@link Neighbor}. The hashes are batched, a packet is sent when the batch is
+     * full or on {@link #flushBatches()}.
+     *
+     * @param hash the hash of the transaction
+     */
+    void announce(Hash hash);
+
+    /**
+     * Requests a transaction from the {@link Neighbor}. The hashes are batched, a packet is sent when the batch is
+     * full or on {@link #flushBatches()}.
+     *
+     * @param hash the hash of the transaction
+     */
+    void request(Hash hash);
+
+    /**
+     * Sends the batched announcements and requests.
+     */
+    void flushBatches();
+
     /**
      * Checks if we have data (transactions) to send to the neighbor
      *
@@ -138,4 +160,28 @@ public interface Neighbor {
      */
     boolean hasDataToSendTo();
 
+    /**
+     * Remembers that the {@link Neighbor} knows the transaction, because it sent or announced it to us or because we
+     * already sent it to the {@link Neighbor}.
+     *
+     * @param hash the hash of the transaction
+     */
+    void markSeen(Hash hash);
+
+    /**
+     * Checks if the {@link Neighbor} recently sent or announced the transaction to us or got it from us. The check
+     * might miss transactions, but it does not claim to know transactions which were never marked as seen.
+     *
+     * @param hash the hash of the transaction
+     * @return {@code true} if the {@link Neighbor} is known to have the transaction
+     */
+    boolean hasSeen(Hash hash);
+
+    /**
+     * The fill level of the queue holding the packets which still need to be sent to the {@link Neighbor}.
+     *
+     * @return the amount of queued packets relative to the capacity of the queue, between 0 and 1
+     */
+    double getSendQueueFillLevel();
+
 }
@@ -102,4 +102,58 @@ public interface NeighborMetrics {
      * @return the number of packets dropped from the neighbor's send queue
      */
     long incrDroppedSendPacketsCount();
+
+    /**
+     * Gets the number of transactions which were not broadcast to the neighbor, because it already had them.
+     *
+     * @return the number of transactions which were not broadcast to the neighbor
+     */
+    long getSuppressedTransactionsCount();
+
+    /**
+     * Increments the number of transactions which were not broadcast to the neighbor.
+     *
+     * @return the number of transactions which were not broadcast to the neighbor
+     */
+    long incrSuppressedTransactionsCount();
+
+    /**
+     * Gets the number of transactions which were not broadcast to the neighbor, because its send queue was almost
+     * full.
+     *
+     * @return the number of transactions which were not broadcast to the congested neighbor
+     */
+    long getCongestionSkippedTransactionsCount();
+
+    /**
+     * Increments the number of transactions which were not broadcast to the neighbor, because its send queue was
+     * almost full.
+     *
+     * @return the number of transactions which were not broadcast to the congested neighbor
+     */
+    long incrCongestionSkippedTransactionsCount();
+
+    /**
+     * Gets the number of transactions from the neighbor which were dropped before processing them, because the
+     * neighbor exceeded its rate limit or too many of its transactions were waiting to be processed.
+     *
+     * @return the number of dropped transactions received from the neighbor
+     */
+    long getDroppedReceivedTransactionsCount();
+
+    /**
+     * Increments the number of transactions from the neighbor which were dropped before processing them.
+     *
+     * @return the number of dropped transactions received from the neighbor
+     */
+    long incrDroppedReceivedTransactionsCount();
+
+    /**
+     * Gets the priority of the transactions received from the neighbor compared to the transactions of other
+     * neighbors. Neighbors which mostly send invalid transactions or transactions we already know get a lower
+     * priority.
+     *
+     * @return the priority between 0 (lowest) and 1 (highest)
+     */
+    double getReceivePriority();
 }
@@ -1,5 +1,7 @@
 package com.iota.iri.network.neighbor.impl;
 
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.RecentlySeenFilter;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.NeighborMetrics;
 import com.iota.iri.network.neighbor.NeighborState;
@@ -33,11 +35,22 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
         PARSE_HEADER, HANDLE_MESSAGE
     }
 
+    /**
+     * The amount of packets which can be queued for sending.
+     */
+    private static final int SEND_QUEUE_CAPACITY = 100;
+
+    /**
+     * The amount of transaction hashes which are remembered as seen by the neighbor, enough to cover the transactions
+     * of several seconds at high load.
+     */
+    private static final int RECENTLY_SEEN_CAPACITY = 4096;
+
     // next stage in the processing of incoming data
     private TransactionProcessingPipeline txPipeline;
 
     // data to be written out to the neighbor
-    private BlockingQueue<ByteBuffer> sendQueue = new ArrayBlockingQueue<>(100);
+    private BlockingQueue<ByteBuffer> sendQueue = new ArrayBlockingQueue<>(SEND_QUEUE_CAPACITY);
     private ByteBuffer currentToWrite;
 
     private NeighborState state = NeighborState.HANDSHAKING;
@@ -59,6 +72,13 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
     private Handshake handshake = new Handshake();
     private Heartbeat heartbeat = new Heartbeat();
 
+    // hashes which are sent in batches with protocol version 2
+    private HashBatch announcements = new HashBatch(ProtocolMessage.TRANSACTION_ANNOUNCEMENT);
+    private HashBatch requests = new HashBatch(ProtocolMessage.TRANSACTION_REQUEST);
+
+    // transactions which the neighbor already has and which therefore don't need to be broadcast to it
+    private RecentlySeenFilter recentlySeen = new RecentlySeenFilter(RECENTLY_SEEN_CAPACITY);
+
     /**
      * Creates a new {@link NeighborImpl} using the given channel.
      * 
@@ -166,6 +186,12 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
             case HEARTBEAT:
                 heartbeat = Heartbeat.fromByteBuffer(msg);
                 break;
+            case TRANSACTION_ANNOUNCEMENT:
+                txPipeline.processAnnouncement(this, Protocol.parseHashBatch(msg));
+                break;
+            case TRANSACTION_REQUEST:
+                txPipeline.processRequest(this, Protocol.parseHashBatch(msg));
+                break;
             default:
                 // do nothing
         }
@@ -215,6 +241,28 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
         }
     }
 
+    @Override
+    public void announce(Hash hash) {
+        sendIfPresent(announcements.add(hash));
+    }
+
+    @Override
+    public void request(Hash hash) {
+        sendIfPresent(requests.add(hash));
+    }
+
+    @Override
+    public void flushBatches() {
+        sendIfPresent(announcements.flush());
+        sendIfPresent(requests.flush());
+    }
+
+    private void sendIfPresent(ByteBuffer packet) {
+        if (packet != null) {
+            send(packet);
+        }
+    }
+
     @Override
     public String getHostAddressAndPort() {
         if (remoteServerSocketPort == Neighbor.UNKNOWN_REMOTE_SERVER_SOCKET_PORT) {
@@ -281,4 +329,19 @@ public class NeighborImpl<T extends SelectableChannel & ByteChannel> implements
         return currentToWrite != null || !sendQueue.isEmpty();
     }
 
+    @Override
+    public void markSeen(Hash hash) {
+        recentlySeen.add(hash);
+    }
+
+    @Override
+    public boolean hasSeen(Hash hash) {
+        return recentlySeen.contains(hash);
+    }
+
+    @Override
+    public double getSendQueueFillLevel() {
+        return (double) sendQueue.size() / SEND_QUEUE_CAPACITY;
+    }
+
 }
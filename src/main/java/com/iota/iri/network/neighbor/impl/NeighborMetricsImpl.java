@@ -9,6 +9,12 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class NeighborMetricsImpl implements NeighborMetrics {
 
+    /**
+     * The amount of received transactions from which on the {@link #getReceivePriority()} is based on them. Before,
+     * the neighbor gets the highest priority.
+     */
+    private static final long MIN_TRANSACTIONS_FOR_PRIORITY = 1_000;
+
     private AtomicLong allTxsCount = new AtomicLong();
     private AtomicLong invalidTxsCount = new AtomicLong();
     private AtomicLong staleTxsCount = new AtomicLong();
@@ -16,6 +22,9 @@ public class NeighborMetricsImpl implements NeighborMetrics {
     private AtomicLong sentTxsCount = new AtomicLong();
     private AtomicLong newTxsCount = new AtomicLong();
     private AtomicLong droppedSendPacketsCount = new AtomicLong();
+    private AtomicLong suppressedTxsCount = new AtomicLong();
+    private AtomicLong congestionSkippedTxsCount = new AtomicLong();
+    private AtomicLong droppedReceivedTxsCount = new AtomicLong();
 
     @Override
     public long getAllTransactionsCount() {
@@ -86,4 +95,52 @@ public class NeighborMetricsImpl implements NeighborMetrics {
     public long incrDroppedSendPacketsCount() {
         return droppedSendPacketsCount.incrementAndGet();
     }
+
+    @Override
+    public long getSuppressedTransactionsCount() {
+        return suppressedTxsCount.get();
+    }
+
+    @Override
+    public long incrSuppressedTransactionsCount() {
+        return suppressedTxsCount.incrementAndGet();
+    }
+
+    @Override
+    public long getCongestionSkippedTransactionsCount() {
+        return congestionSkippedTxsCount.get();
+    }
+
+    @Override
+    public long incrCongestionSkippedTransactionsCount() {
+        return congestionSkippedTxsCount.incrementAndGet();
+    }
+
+    @Override
+    public long getDroppedReceivedTransactionsCount() {
+        return droppedReceivedTxsCount.get();
+    }
+
+    @Override
+    public long incrDroppedReceivedTransactionsCount() {
+        return droppedReceivedTxsCount.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The priority is the share of new transactions among all transactions the neighbor sent, where every invalid
+     * transaction cancels a new one, as it had to be hashed and validated for nothing.
+     * </p>
+     */
+    @Override
+    public double getReceivePriority() {
+        long allTxs = allTxsCount.get();
+        if (allTxs < MIN_TRANSACTIONS_FOR_PRIORITY) {
+            return 1;
+        }
+        double usefulTxs = newTxsCount.get() - invalidTxsCount.get();
+        return Math.max(0, Math.min(1, usefulTxs / allTxs));
+    }
 }
@@ -0,0 +1,48 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.neighbor.Neighbor;
+
+import java.util.List;
+
+/**
+ * Defines a payload which gets submitted to the {@link AnnouncementStage}.
+ */
+public class AnnouncementPayload extends Payload {
+    private Neighbor originNeighbor;
+    private List<Hash> hashes;
+
+    /**
+     * Creates a new {@link AnnouncementPayload}.
+     *
+     * @param originNeighbor the neighbor which announced the transactions
+     * @param hashes         the hashes of the announced transactions
+     */
+    public AnnouncementPayload(Neighbor originNeighbor, List<Hash> hashes) {
+        this.originNeighbor = originNeighbor;
+        this.hashes = hashes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Neighbor getOriginNeighbor() {
+        return originNeighbor;
+    }
+
+    /**
+     * Gets the hashes of the announced transactions.
+     *
+     * @return the hashes of the announced transactions
+     */
+    public List<Hash> getHashes() {
+        return hashes;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnouncementPayload{" + "originNeighbor=" + originNeighbor.getHostAddressAndPort() + ", hashes="
+                + hashes.size() + '}';
+    }
+}
@@ -0,0 +1,90 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.TransactionPacketCache;
+import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.storage.Tangle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link AnnouncementStage} requests the announced transactions which we neither have stored nor already
+ * requested from another neighbor, so known transactions are not sent to us again. Requests which are not answered in
+ * time are sent to the next neighbor which announced the transaction.
+ */
+public class AnnouncementStage implements Stage {
+
+    private static final Logger log = LoggerFactory.getLogger(AnnouncementStage.class);
+
+    private Tangle tangle;
+    private TransactionPacketCache packetCache;
+    private RequestedAnnouncements requestedAnnouncements;
+
+    /**
+     * Creates a new {@link AnnouncementStage}.
+     *
+     * @param tangle                 the {@link Tangle} database to look up the announced transactions in
+     * @param packetCache            the {@link TransactionPacketCache} holding the recently stored transactions
+     * @param requestedAnnouncements the {@link RequestedAnnouncements} of the announced transactions we requested
+     */
+    public AnnouncementStage(Tangle tangle, TransactionPacketCache packetCache,
+            RequestedAnnouncements requestedAnnouncements) {
+        this.tangle = tangle;
+        this.packetCache = packetCache;
+        this.requestedAnnouncements = requestedAnnouncements;
+    }
+
+    /**
+     * Requests the unknown transactions of the announcement from the neighbor that announced them, and the
+     * transactions whose request timed out from their next announcer.
+     *
+     * @param ctx the announcement stage {@link ProcessingContext}
+     * @return the same ctx as passed in
+     */
+    @Override
+    public ProcessingContext process(ProcessingContext ctx) {
+        AnnouncementPayload payload = (AnnouncementPayload) ctx.getPayload();
+        Neighbor neighbor = payload.getOriginNeighbor();
+        long now = System.currentTimeMillis();
+        Set<Neighbor> requestedFrom = new HashSet<>();
+
+        for (Map.Entry<Hash, Neighbor> retry : requestedAnnouncements.retryTimedOut(now)) {
+            if (!isKnown(retry.getKey())) {
+                retry.getValue().request(retry.getKey());
+                requestedFrom.add(retry.getValue());
+            }
+        }
+
+        for (Hash hash : payload.getHashes()) {
+            // the neighbor has the transaction, so we don't need to broadcast it there
+            neighbor.markSeen(hash);
+            if (isKnown(hash) || !requestedAnnouncements.announced(hash, neighbor, now)) {
+                continue;
+            }
+            neighbor.request(hash);
+            requestedFrom.add(neighbor);
+        }
+
+        // don't wait for the batch to fill up, the announced transactions are new
+        requestedFrom.forEach(Neighbor::flushBatches);
+
+        ctx.setNextStage(TransactionProcessingPipeline.Stage.FINISH);
+        return ctx;
+    }
+
+    private boolean isKnown(Hash hash) {
+        try {
+            return packetCache.get(hash) != null || TransactionViewModel.exists(tangle, hash);
+        } catch (Exception e) {
+            log.error("error while looking up announced tx", e);
+            // don't request transactions which can't be looked up
+            return true;
+        }
+    }
+}
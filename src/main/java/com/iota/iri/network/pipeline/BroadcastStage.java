@@ -1,7 +1,10 @@
 package com.iota.iri.network.pipeline;
 
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.EncodedTransaction;
 import com.iota.iri.network.NeighborRouter;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.service.milestone.InSyncService;
 import com.iota.iri.service.validation.TransactionSolidifier;
@@ -13,16 +16,26 @@ import java.util.Map;
 
 /**
  * The {@link BroadcastStage} takes care of broadcasting newly received transactions to all neighbors except the
- * neighbor from which the transaction originated from.
+ * neighbor from which the transaction originated from. Neighbors which are known to already have the transaction and
+ * congested neighbors are skipped, the latter only for transactions which are not likely milestones.
  */
 public class BroadcastStage implements Stage {
 
     private static final Logger log = LoggerFactory.getLogger(BroadcastStage.class);
 
+    /**
+     * The fill level of the send queue from which on a neighbor is considered congested.
+     */
+    private static final double CONGESTED_SEND_QUEUE_FILL_LEVEL = 0.8;
+
     private NeighborRouter neighborRouter;
 
     private TransactionSolidifier transactionSolidifier;
 
+    private TransactionPacketCache packetCache;
+
+    private MilestonePacketFilter milestonePacketFilter;
+
     /**
      * Service used to determine if we send back tx to the original neighbour
      */
@@ -32,16 +45,24 @@ public class BroadcastStage implements Stage {
      * Creates a new {@link BroadcastStage}.
      * 
      * @param neighborRouter The {@link NeighborRouter} instance to use to broadcast
+     * @param packetCache    The {@link TransactionPacketCache} holding the encoded transactions
+     * @param milestonePacketFilter The {@link MilestonePacketFilter} to spot milestones which are sent to congested
+     *                              neighbors as well
      */
-    public BroadcastStage(NeighborRouter neighborRouter, TransactionSolidifier transactionSolidifier, InSyncService inSyncService) {
+    public BroadcastStage(NeighborRouter neighborRouter, TransactionSolidifier transactionSolidifier,
+            InSyncService inSyncService, TransactionPacketCache packetCache,
+            MilestonePacketFilter milestonePacketFilter) {
         this.neighborRouter = neighborRouter;
         this.transactionSolidifier = transactionSolidifier;
         this.inSyncService = inSyncService;
+        this.packetCache = packetCache;
+        this.milestonePacketFilter = milestonePacketFilter;
     }
 
     /**
      * Extracts the transaction and then broadcasts it to all neighbors. If the transaction originated from a neighbor,
-     * it is not sent to that given neighbor.
+     * it is not sent to that given neighbor. The transaction is encoded once for all neighbors, neighbors which
+     * support it only get its hash announced.
      * 
      * @param ctx the broadcast stage {@link ProcessingContext}
      * @return the same ctx as passed in
@@ -50,19 +71,25 @@ public class BroadcastStage implements Stage {
     public ProcessingContext process(ProcessingContext ctx) {
         BroadcastPayload payload = (BroadcastPayload) ctx.getPayload();
         Neighbor originNeighbor = payload.getOriginNeighbor();
-        TransactionViewModel tvm = payload.getTransactionViewModel();
+        EncodedTransaction encodedTransaction = packetCache.add(payload.getTransactionViewModel());
 
         // racy
         Map<String, Neighbor> currentlyConnectedNeighbors = neighborRouter.getConnectedNeighbors();
+        boolean inSync = inSyncService.isInSync();
+        boolean likelyMilestone = milestonePacketFilter.isLikelyMilestone(encodedTransaction.getTruncatedBytes());
         for (Neighbor neighbor : currentlyConnectedNeighbors.values()) {
             
             // don't send back to origin neighbor, unless we are not in sync yet
             // Required after PR: #1745 which removes ping pong behaviour  
-            if (neighbor.equals(originNeighbor) && inSyncService.isInSync()) {
+            if (neighbor.equals(originNeighbor) && inSync) {
+                continue;
+            }
+            if (skipNeighbor(neighbor, encodedTransaction.getHash(), inSync, likelyMilestone)) {
                 continue;
             }
             try {
-                neighborRouter.gossipTransactionTo(neighbor, tvm);
+                neighborRouter.announceTransactionTo(neighbor, encodedTransaction);
+                neighbor.markSeen(encodedTransaction.getHash());
             } catch (Exception e) {
                 log.error(e.getMessage());
             }
@@ -80,4 +107,29 @@ public class BroadcastStage implements Stage {
         ctx.setNextStage(TransactionProcessingPipeline.Stage.FINISH);
         return ctx;
     }
+
+    /**
+     * Checks whether a transaction can be left out when broadcasting to the given neighbor. This is the case if the
+     * neighbor already sent or announced the transaction to us or already got it from us, unless we are not in sync
+     * (like for the origin neighbor). Neighbors with an almost full send queue are skipped as well, they would drop
+     * the packet anyway and are likely to get the transaction from their other neighbors. Likely milestones are still
+     * sent to congested neighbors, as their nodes could not make progress without them.
+     *
+     * @param neighbor        the neighbor to broadcast to
+     * @param hash            the hash of the transaction
+     * @param inSync          whether the node is in sync
+     * @param likelyMilestone whether the transaction is likely a milestone
+     * @return true if the transaction should not be sent to the neighbor
+     */
+    private boolean skipNeighbor(Neighbor neighbor, Hash hash, boolean inSync, boolean likelyMilestone) {
+        if (inSync && neighbor.hasSeen(hash)) {
+            neighbor.getMetrics().incrSuppressedTransactionsCount();
+            return true;
+        }
+        if (!likelyMilestone && neighbor.getSendQueueFillLevel() >= CONGESTED_SEND_QUEUE_FILL_LEVEL) {
+            neighbor.getMetrics().incrCongestionSkippedTransactionsCount();
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,211 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.network.neighbor.NeighborMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * The {@link FairReceiveQueue} holds the transactions received from neighbors until the {@link PreProcessStage}
+ * takes them.
+ * </p>
+ * <p>
+ * Every neighbor has its own bounded queue and a token bucket which limits the amount of transactions accepted from it
+ * per second, further transactions are dropped. The queues are served by deficit round robin: every time a neighbor's
+ * turn comes, its {@link NeighborMetrics#getReceivePriority()} is added to its credit
+ * and it is served as long as it has at least one transaction worth of credit. A fast neighbor therefore can't starve
+ * the others, and neighbors which send mostly invalid or known transactions get a smaller share.
+ * </p>
+ */
+public class FairReceiveQueue {
+
+    /**
+     * The smallest share a neighbor gets, so it is still served eventually.
+     */
+    private static final double MIN_PRIORITY = 0.05;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * The lanes by their neighbor, removed once a disconnected neighbor is not referenced anymore.
+     */
+    private final Map<Neighbor, Lane> lanes = new WeakHashMap<>();
+
+    /**
+     * The lanes which have transactions waiting, in the order they are served.
+     */
+    private final ArrayDeque<Lane> activeLanes = new ArrayDeque<>();
+
+    private final int rateLimit;
+    private final int capacityPerNeighbor;
+
+    /**
+     * Creates a new {@link FairReceiveQueue}.
+     *
+     * @param rateLimit           the amount of transactions accepted per neighbor and second, no limit if 0 or below
+     * @param capacityPerNeighbor the maximum amount of waiting transactions per neighbor
+     */
+    public FairReceiveQueue(int rateLimit, int capacityPerNeighbor) {
+        this.rateLimit = rateLimit;
+        this.capacityPerNeighbor = capacityPerNeighbor;
+    }
+
+    /**
+     * Adds a transaction received from the given neighbor, unless the neighbor exceeded its rate limit or its queue is
+     * full.
+     *
+     * @param neighbor the neighbor which sent the transaction
+     * @param ctx      the {@link ProcessingContext} of the transaction
+     * @return true if the transaction was added, false if it was dropped
+     */
+    public boolean offer(Neighbor neighbor, ProcessingContext ctx) {
+        return offer(neighbor, ctx, true);
+    }
+
+    /**
+     * Adds a transaction received from the given neighbor which was already charged to its rate limit by
+     * {@link #tryAcquire(Neighbor)}, unless the neighbor's queue is full.
+     *
+     * @param neighbor the neighbor which sent the transaction
+     * @param ctx      the {@link ProcessingContext} of the transaction
+     * @return true if the transaction was added, false if it was dropped
+     */
+    public boolean offerAcquired(Neighbor neighbor, ProcessingContext ctx) {
+        return offer(neighbor, ctx, false);
+    }
+
+    /**
+     * Charges a transaction to the rate limit of the given neighbor, for transactions which are processed without
+     * this queue.
+     *
+     * @param neighbor the neighbor which sent the transaction
+     * @return true if the neighbor is within its rate limit, false if the transaction has to be dropped
+     */
+    public boolean tryAcquire(Neighbor neighbor) {
+        lock.lock();
+        try {
+            return lanes.computeIfAbsent(neighbor, key -> new Lane(key.getMetrics())).tryAcquire(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean offer(Neighbor neighbor, ProcessingContext ctx, boolean acquire) {
+        lock.lock();
+        try {
+            Lane lane = lanes.computeIfAbsent(neighbor, key -> new Lane(key.getMetrics()));
+            if (lane.contexts.size() >= capacityPerNeighbor || (acquire && !lane.tryAcquire(System.nanoTime()))) {
+                return false;
+            }
+            lane.contexts.add(ctx);
+            if (!lane.active) {
+                lane.active = true;
+                activeLanes.addLast(lane);
+                notEmpty.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next transaction to process, waiting until one is available.
+     *
+     * @return the {@link ProcessingContext} of the transaction
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public ProcessingContext take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (activeLanes.isEmpty()) {
+                notEmpty.await();
+            }
+            while (true) {
+                Lane lane = activeLanes.peekFirst();
+                if (lane.credit < 1) {
+                    lane.credit += Math.max(MIN_PRIORITY, lane.metrics.getReceivePriority());
+                }
+                if (lane.credit < 1) {
+                    // not enough credit for this round, give the next lane its turn
+                    activeLanes.addLast(activeLanes.pollFirst());
+                    continue;
+                }
+
+                lane.credit--;
+                ProcessingContext ctx = lane.contexts.poll();
+                if (lane.contexts.isEmpty()) {
+                    // an idle lane doesn't save up credit
+                    activeLanes.pollFirst();
+                    lane.active = false;
+                    lane.credit = 0;
+                } else if (lane.credit < 1) {
+                    activeLanes.addLast(activeLanes.pollFirst());
+                }
+                return ctx;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the amount of transactions waiting to be processed
+     */
+    public int size() {
+        lock.lock();
+        try {
+            int size = 0;
+            for (Lane lane : activeLanes) {
+                size += lane.contexts.size();
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The waiting transactions and the rate limit of a single neighbor. It must not reference the neighbor itself, as
+     * the neighbor is the weak key of the lane.
+     */
+    private class Lane {
+
+        private final NeighborMetrics metrics;
+        private final Queue<ProcessingContext> contexts = new ArrayDeque<>();
+
+        private boolean active;
+        private double credit;
+
+        // the token bucket holds up to one second worth of transactions and starts full
+        private double tokens = rateLimit;
+        private long lastRefill = System.nanoTime();
+
+        private Lane(NeighborMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        private boolean tryAcquire(long now) {
+            if (rateLimit <= 0) {
+                return true;
+            }
+            double refill = (now - lastRefill) * (double) rateLimit / TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(rateLimit, tokens + refill);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
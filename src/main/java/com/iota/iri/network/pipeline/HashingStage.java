@@ -33,4 +33,24 @@ public class HashingStage implements Stage {
         batchedHasher.submitHashingRequest(payload.getHashRequest());
         return ctx;
     }
+
+    /**
+     * Gets the ratio of used to available slots of the batches the {@link BatchedHasher} hashed during the last
+     * statistics interval.
+     *
+     * @return the batch fill ratio between 0 and 1
+     */
+    public double getBatchFillRatio() {
+        return batchedHasher.getBatchFillRatio();
+    }
+
+    /**
+     * Gets the average time the transactions hashed during the last statistics interval waited for the
+     * {@link BatchedHasher}.
+     *
+     * @return the average queueing latency in microseconds
+     */
+    public long getAverageQueueingLatencyMicros() {
+        return batchedHasher.getAverageQueueingLatencyMicros();
+    }
 }
@@ -0,0 +1,83 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.protocol.Protocol;
+import com.iota.iri.utils.Converter;
+import com.iota.iri.utils.TransactionTruncator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * The {@link MilestonePacketFilter} spots transaction gossip packets which likely contain a milestone transaction,
+ * before they are expanded, hashed or validated, so they can skip the queues of the other transactions.
+ * </p>
+ * <p>
+ * The address is located at the start of the non signature part, which is never truncated. As its trits are not
+ * aligned to bytes, the first and the last byte of the address also hold trits of the neighboring fields, only the
+ * bytes in between which hold nothing but address trits are compared with the coordinator address. Whether the
+ * transaction really is a milestone is decided later on by the {@link ReceivedStage} and the {@link MilestoneStage}.
+ * </p>
+ */
+public class MilestonePacketFilter {
+
+    /**
+     * The amount of trits of the address which share the first byte with the signature message fragment.
+     */
+    private static final int LEADING_ADDRESS_TRITS = Converter.NUMBER_OF_TRITS_IN_A_BYTE
+            - TransactionViewModel.ADDRESS_TRINARY_OFFSET % Converter.NUMBER_OF_TRITS_IN_A_BYTE;
+
+    /**
+     * The amount of bytes which only consist of address trits.
+     */
+    private static final int COMPARED_BYTES = (TransactionViewModel.ADDRESS_TRINARY_SIZE - LEADING_ADDRESS_TRITS)
+            / Converter.NUMBER_OF_TRITS_IN_A_BYTE;
+
+    private final byte[] coordinatorAddressBytes = new byte[COMPARED_BYTES];
+
+    /**
+     * Creates a new {@link MilestonePacketFilter}.
+     *
+     * @param coordinator the address of the coordinator
+     */
+    public MilestonePacketFilter(Hash coordinator) {
+        Converter.bytes(coordinator.trits(), LEADING_ADDRESS_TRITS, coordinatorAddressBytes, 0,
+                COMPARED_BYTES * Converter.NUMBER_OF_TRITS_IN_A_BYTE);
+    }
+
+    /**
+     * Checks whether the transaction of the given gossip packet is sent from the coordinator address.
+     *
+     * @param packet the truncated transaction followed by the requested hash, as received from a neighbor
+     * @return true if the transaction likely is a milestone
+     */
+    public boolean isLikelyMilestone(ByteBuffer packet) {
+        return matchesCoordinator(packet, packet.limit() - Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+    }
+
+    /**
+     * Checks whether the given truncated transaction is sent from the coordinator address.
+     *
+     * @param truncatedTx the truncated transaction bytes
+     * @return true if the transaction likely is a milestone
+     */
+    public boolean isLikelyMilestone(byte[] truncatedTx) {
+        return matchesCoordinator(ByteBuffer.wrap(truncatedTx), truncatedTx.length);
+    }
+
+    private boolean matchesCoordinator(ByteBuffer data, int txEnd) {
+        int addressStart = txEnd - TransactionTruncator.NON_SIG_TX_PART_BYTES_LENGTH;
+        if (addressStart < 0) {
+            return false;
+        }
+
+        // skip the byte which is shared with the signature message fragment
+        for (int i = 0; i < COMPARED_BYTES; i++) {
+            if (data.get(addressStart + 1 + i) != coordinatorAddressBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
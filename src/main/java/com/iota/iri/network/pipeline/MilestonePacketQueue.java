@@ -0,0 +1,86 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.neighbor.Neighbor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The {@link MilestonePacketQueue} holds the likely milestone transactions until they are processed. Anyone can send
+ * transactions to the coordinator address, so every neighbor may only hold a few of the slots. A neighbor flooding
+ * such transactions therefore can't push the real milestones of the other neighbors out of the queue.
+ */
+public class MilestonePacketQueue {
+
+    private final BlockingQueue<Entry> queue;
+    private final int slotsPerNeighbor;
+
+    /**
+     * The amount of slots held by each neighbor, neighbors without waiting transactions are removed.
+     */
+    private final Map<Neighbor, Integer> usedSlots = new HashMap<>();
+
+    /**
+     * Creates a new {@link MilestonePacketQueue}.
+     *
+     * @param capacity         the maximum amount of waiting transactions
+     * @param slotsPerNeighbor the maximum amount of waiting transactions per neighbor
+     */
+    public MilestonePacketQueue(int capacity, int slotsPerNeighbor) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.slotsPerNeighbor = slotsPerNeighbor;
+    }
+
+    /**
+     * Adds a transaction received from the given neighbor, unless the queue is full or the neighbor already holds all
+     * of its slots.
+     *
+     * @param neighbor the neighbor which sent the transaction
+     * @param ctx      the {@link ProcessingContext} of the transaction
+     * @return true if the transaction was added
+     */
+    public boolean offer(Neighbor neighbor, ProcessingContext ctx) {
+        synchronized (usedSlots) {
+            int used = usedSlots.getOrDefault(neighbor, 0);
+            if (used >= slotsPerNeighbor || !queue.offer(new Entry(neighbor, ctx))) {
+                return false;
+            }
+            usedSlots.put(neighbor, used + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Takes the next transaction to process, waiting until one is available.
+     *
+     * @return the {@link ProcessingContext} of the transaction
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public ProcessingContext take() throws InterruptedException {
+        Entry entry = queue.take();
+        synchronized (usedSlots) {
+            usedSlots.computeIfPresent(entry.neighbor, (neighbor, used) -> used > 1 ? used - 1 : null);
+        }
+        return entry.ctx;
+    }
+
+    /**
+     * @return the amount of waiting transactions
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private static class Entry {
+
+        private final Neighbor neighbor;
+        private final ProcessingContext ctx;
+
+        private Entry(Neighbor neighbor, ProcessingContext ctx) {
+            this.neighbor = neighbor;
+            this.ctx = ctx;
+        }
+    }
+}
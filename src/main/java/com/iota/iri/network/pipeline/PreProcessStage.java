@@ -74,6 +74,9 @@ public class PreProcessStage implements Stage {
 
         // received tx is known, therefore we can submit to the reply stage directly.
         if (receivedTxHash != null) {
+            // the neighbor sent us a transaction we already have, so it doesn't need it from us anymore
+            payload.getOriginNeighbor().markSeen(receivedTxHash);
+
             // reply with a random tip by setting the request hash to the null hash
             requestedHash = requestedHash.equals(receivedTxHash) ? Hash.NULL_HASH : requestedHash;
             ctx.setNextStage(TransactionProcessingPipeline.Stage.REPLY);
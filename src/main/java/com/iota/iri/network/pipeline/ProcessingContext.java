@@ -2,12 +2,15 @@ package com.iota.iri.network.pipeline;
 
 /**
  * A {@link ProcessingContext} defines a context within the {@link TransactionProcessingPipelineImpl} of processing a
- * transaction. It holds the information to which stage to be submitted next and the associated payload.
+ * transaction. It holds the information to which stage to be submitted next and the associated payload, as well as
+ * the times at which it was created and last submitted to a stage, which the {@link StageLatencyTracker} uses.
  */
 public class ProcessingContext {
 
     private TransactionProcessingPipelineImpl.Stage nextStage;
     private Payload payload;
+    private long createdAt = System.nanoTime();
+    private long enqueuedAt = createdAt;
 
     /**
      * Creates a new {@link ProcessingContext}.
@@ -64,4 +67,40 @@ public class ProcessingContext {
     public void setNextStage(TransactionProcessingPipelineImpl.Stage nextStage) {
         this.nextStage = nextStage;
     }
+
+    /**
+     * Gets the time at which the processing started.
+     *
+     * @return the {@link System#nanoTime()} at which this context, or the context it was split from, was created
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the time at which the processing started.
+     *
+     * @param createdAt the {@link System#nanoTime()} to set
+     */
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets the time at which this context was submitted to its next stage.
+     *
+     * @return the {@link System#nanoTime()} at which this context was submitted
+     */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    /**
+     * Sets the time at which this context was submitted to its next stage.
+     *
+     * @param enqueuedAt the {@link System#nanoTime()} to set
+     */
+    public void setEnqueuedAt(long enqueuedAt) {
+        this.enqueuedAt = enqueuedAt;
+    }
 }
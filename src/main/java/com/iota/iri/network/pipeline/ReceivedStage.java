@@ -5,6 +5,7 @@ import com.iota.iri.service.milestone.MilestoneService;
 import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.service.snapshot.SnapshotProvider;
@@ -26,6 +27,8 @@ public class ReceivedStage implements Stage {
     private SnapshotProvider snapshotProvider;
     private MilestoneService milestoneService;
     private Hash cooAddress;
+    private TransactionPacketCache packetCache;
+    private RequestedAnnouncements requestedAnnouncements;
 
     /**
      * Creates a new {@link ReceivedStage}.
@@ -33,16 +36,21 @@ public class ReceivedStage implements Stage {
      * @param tangle           The {@link Tangle} database used to store/update the transaction
      * @param txSolidifier      The {@link TransactionSolidifier} used to store/update the transaction
      * @param snapshotProvider The {@link SnapshotProvider} used to store/update the transaction
+     * @param packetCache      The {@link TransactionPacketCache} the stored transaction is encoded into
+     * @param requestedAnnouncements The {@link RequestedAnnouncements} which stop waiting for the transaction
      */
     public ReceivedStage(Tangle tangle, TransactionSolidifier txSolidifier, SnapshotProvider snapshotProvider,
                          TransactionRequester transactionRequester, MilestoneService milestoneService,
-                         Hash cooAddress) {
+                         Hash cooAddress, TransactionPacketCache packetCache,
+                         RequestedAnnouncements requestedAnnouncements) {
         this.txSolidifier = txSolidifier;
         this.tangle = tangle;
         this.snapshotProvider = snapshotProvider;
         this.transactionRequester = transactionRequester;
         this.milestoneService = milestoneService;
         this.cooAddress = cooAddress;
+        this.packetCache = packetCache;
+        this.requestedAnnouncements = requestedAnnouncements;
     }
 
     /**
@@ -60,6 +68,12 @@ public class ReceivedStage implements Stage {
 
         boolean stored;
         try {
+            // the arrival data is written together with the transaction, so it does not have to be updated afterwards
+            tvm.setArrivalTime(System.currentTimeMillis());
+            // neighbor might be null because tx came from a broadcastTransaction command
+            if (originNeighbor != null) {
+                tvm.updateSender(originNeighbor.getHostAddressAndPort());
+            }
             stored = tvm.store(tangle, snapshotProvider.getInitialSnapshot());
         } catch (Exception e) {
             log.error("error persisting newly received tx", e);
@@ -70,8 +84,10 @@ public class ReceivedStage implements Stage {
             return ctx;
         }
 
+        // the transaction arrived, so it doesn't need to be requested from another announcer
+        requestedAnnouncements.received(tvm.getHash());
+
         if (stored) {
-            tvm.setArrivalTime(System.currentTimeMillis());
             try {
                 txSolidifier.updateStatus(tvm);
 
@@ -83,11 +99,9 @@ public class ReceivedStage implements Stage {
                     transactionRequester.requestTrunkAndBranch(tvm);
                 }
 
-                // neighbor might be null because tx came from a broadcastTransaction command
-                if (originNeighbor != null) {
-                    tvm.updateSender(originNeighbor.getHostAddressAndPort());
-                }
-                tvm.update(tangle, snapshotProvider.getInitialSnapshot(), "arrivalTime|sender");
+                tvm.publishStored(tangle);
+                // new transactions are broadcast and requested the most, so they are encoded right away
+                packetCache.add(tvm);
             } catch (Exception e) {
                 log.error("error updating newly received tx", e);
             }
@@ -5,9 +5,10 @@ import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
+import com.iota.iri.network.EncodedTransaction;
 import com.iota.iri.network.FIFOCache;
 import com.iota.iri.network.NeighborRouter;
-import com.iota.iri.network.TransactionCacheDigester;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.protocol.Protocol;
 import com.iota.iri.service.milestone.MilestoneSolidifier;
@@ -24,6 +25,10 @@ import org.slf4j.LoggerFactory;
  * {@link Hash#NULL_HASH} is supplied, then a random tip is replied back to the neighbor. A neighbor indicates to
  * receive a random tip, when the requested transaction hash is the same as the transaction hash of the transaction in
  * the gossip payload.
+ * <p>
+ * Transactions which were recently stored or replied are taken from the {@link TransactionPacketCache}, so the
+ * database is only hit for the first request of a transaction.
+ * </p>
  */
 public class ReplyStage implements Stage {
 
@@ -36,6 +41,7 @@ public class ReplyStage implements Stage {
     private MilestoneSolidifier milestoneSolidifier;
     private SnapshotProvider snapshotProvider;
     private FIFOCache<Long, Hash> recentlySeenBytesCache;
+    private TransactionPacketCache packetCache;
     private SecureRandom rnd = new SecureRandom();
 
     /**
@@ -48,12 +54,13 @@ public class ReplyStage implements Stage {
      * @param milestoneSolidifier the {@link MilestoneSolidifier} to load the latest milestone from
      * @param snapshotProvider       the {@link SnapshotProvider} to check the latest solid milestone from
      * @param recentlySeenBytesCache the {@link FIFOCache} to use to cache the replied transaction
+     * @param packetCache            the {@link TransactionPacketCache} to take the requested transaction from
      * @param rnd                    the {@link SecureRandom} used to get random values to randomize chances for not
      *                               replying at all or not requesting a not stored requested transaction from neighbors
      */
     public ReplyStage(NeighborRouter neighborRouter, NodeConfig config, Tangle tangle, TipsViewModel tipsViewModel,
             MilestoneSolidifier milestoneSolidifier, SnapshotProvider snapshotProvider,
-            FIFOCache<Long, Hash> recentlySeenBytesCache, SecureRandom rnd) {
+            FIFOCache<Long, Hash> recentlySeenBytesCache, TransactionPacketCache packetCache, SecureRandom rnd) {
         this.neighborRouter = neighborRouter;
         this.config = config;
         this.tangle = tangle;
@@ -61,6 +68,7 @@ public class ReplyStage implements Stage {
         this.milestoneSolidifier = milestoneSolidifier;
         this.snapshotProvider = snapshotProvider;
         this.recentlySeenBytesCache = recentlySeenBytesCache;
+        this.packetCache = packetCache;
         this.rnd = rnd;
     }
 
@@ -74,10 +82,11 @@ public class ReplyStage implements Stage {
      * @param milestoneSolidifier the {@link MilestoneSolidifier} to load the latest milestone from
      * @param snapshotProvider       the {@link SnapshotProvider} to check the latest solid milestone from
      * @param recentlySeenBytesCache the {@link FIFOCache} to use to cache the replied transaction
+     * @param packetCache            the {@link TransactionPacketCache} to take the requested transaction from
      */
     public ReplyStage(NeighborRouter neighborRouter, NodeConfig config, Tangle tangle, TipsViewModel tipsViewModel,
             MilestoneSolidifier milestoneSolidifier, SnapshotProvider snapshotProvider,
-            FIFOCache<Long, Hash> recentlySeenBytesCache) {
+            FIFOCache<Long, Hash> recentlySeenBytesCache, TransactionPacketCache packetCache) {
         this.neighborRouter = neighborRouter;
         this.config = config;
         this.tangle = tangle;
@@ -85,11 +94,12 @@ public class ReplyStage implements Stage {
         this.milestoneSolidifier = milestoneSolidifier;
         this.snapshotProvider = snapshotProvider;
         this.recentlySeenBytesCache = recentlySeenBytesCache;
+        this.packetCache = packetCache;
     }
 
     /**
-     * Loads the requested transaction from the database and replies it back to the neighbor who requested it. If the
-     * {@link Hash#NULL_HASH} is supplied, then a random tip is replied with.
+     * Loads the requested transaction from the cache or the database and replies it back to the neighbor who requested
+     * it. If the {@link Hash#NULL_HASH} is supplied, then a random tip is replied with.
      * 
      * @param ctx the reply stage {@link ProcessingContext}
      * @return the same {@link ProcessingContext} as passed in
@@ -100,8 +110,7 @@ public class ReplyStage implements Stage {
         Neighbor neighbor = payload.getOriginNeighbor();
         Hash hashOfRequestedTx = payload.getHashOfRequestedTx();
 
-        TransactionViewModel tvm = null;
-
+        Hash transactionPointer;
         if (hashOfRequestedTx.equals(Hash.NULL_HASH)) {
             try {
                 // don't reply to random tip requests if we are synchronized with a max delta of one
@@ -113,18 +122,24 @@ public class ReplyStage implements Stage {
                 }
                 // retrieve random tx
                 neighbor.getMetrics().incrRandomTransactionRequestsCount();
-                Hash transactionPointer = getRandomTipPointer();
-                tvm = TransactionViewModel.fromHash(tangle, transactionPointer);
+                transactionPointer = getRandomTipPointer();
             } catch (Exception e) {
                 log.error("error loading random tip for reply", e);
                 ctx.setNextStage(TransactionProcessingPipeline.Stage.ABORT);
                 return ctx;
             }
         } else {
+            transactionPointer = HashFactory.TRANSACTION.create(hashOfRequestedTx.bytes(), 0,
+                    Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        }
+
+        EncodedTransaction encodedTransaction = packetCache.get(transactionPointer);
+        if (encodedTransaction == null) {
             try {
-                // retrieve requested tx
-                tvm = TransactionViewModel.fromHash(tangle, HashFactory.TRANSACTION.create(hashOfRequestedTx.bytes(), 0,
-                        Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH));
+                TransactionViewModel tvm = TransactionViewModel.fromHash(tangle, transactionPointer);
+                if (tvm.getType() == TransactionViewModel.FILLED_SLOT) {
+                    encodedTransaction = packetCache.add(tvm);
+                }
             } catch (Exception e) {
                 log.error("error while searching for explicitly asked for tx", e);
                 ctx.setNextStage(TransactionProcessingPipeline.Stage.ABORT);
@@ -132,13 +147,12 @@ public class ReplyStage implements Stage {
             }
         }
 
-        if (tvm != null && tvm.getType() == TransactionViewModel.FILLED_SLOT) {
+        if (encodedTransaction != null) {
             try {
                 // send the requested tx data to the requester
-                neighborRouter.gossipTransactionTo(neighbor, tvm);
+                neighborRouter.gossipEncodedTransactionTo(neighbor, encodedTransaction);
                 // cache the replied with tx
-                long txDigest = TransactionCacheDigester.getDigest(tvm.getBytes());
-                recentlySeenBytesCache.put(txDigest, tvm.getHash());
+                recentlySeenBytesCache.put(encodedTransaction.getDigest(), encodedTransaction.getHash());
             } catch (Exception e) {
                 log.error("error adding reply tx to neighbor's send queue", e);
             }
@@ -0,0 +1,137 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.neighbor.Neighbor;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@link RequestedAnnouncements} keep track of the announced transactions we requested and not yet received, so
+ * a transaction is only requested from one neighbor at a time.
+ * </p>
+ * <p>
+ * Every request remembers when it was sent and the other neighbors which announced the transaction in the meantime.
+ * If the transaction doesn't arrive within the timeout, it is requested from the next of them, so a neighbor which
+ * announces transactions without delivering them can't keep them from us. A request without further announcers is
+ * forgotten after the timeout, so the next announcement requests it again.
+ * </p>
+ */
+public class RequestedAnnouncements {
+
+    /**
+     * The amount of other announcers remembered per request.
+     */
+    private static final int MAX_ANNOUNCERS = 8;
+
+    /**
+     * The requests ordered by the time they were sent, the oldest first.
+     */
+    private final Map<Hash, Request> requests = new LinkedHashMap<>();
+
+    private final int capacity;
+    private final long timeoutMillis;
+
+    /**
+     * Creates a new {@link RequestedAnnouncements}.
+     *
+     * @param capacity      the maximum amount of pending requests, the oldest are forgotten first
+     * @param timeoutMillis the time after which a transaction is requested from the next announcer
+     */
+    public RequestedAnnouncements(int capacity, long timeoutMillis) {
+        this.capacity = capacity;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Records the announcement of the given transaction by the given neighbor.
+     *
+     * @param hash     the hash of the announced transaction
+     * @param neighbor the neighbor which announced the transaction
+     * @param now      the current time in milliseconds
+     * @return true if the transaction should be requested from the neighbor, false if it is already requested
+     */
+    public synchronized boolean announced(Hash hash, Neighbor neighbor, long now) {
+        Request request = requests.get(hash);
+        if (request == null) {
+            if (requests.size() >= capacity) {
+                Iterator<Request> it = requests.values().iterator();
+                it.next();
+                it.remove();
+            }
+            requests.put(hash, new Request(neighbor, now));
+            return true;
+        }
+        if (request.neighbor != neighbor && !request.announcers.contains(neighbor)
+                && request.announcers.size() < MAX_ANNOUNCERS) {
+            request.announcers.add(neighbor);
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the request of the given transaction, as it arrived.
+     *
+     * @param hash the hash of the arrived transaction
+     */
+    public synchronized void received(Hash hash) {
+        requests.remove(hash);
+    }
+
+    /**
+     * Moves the requests which timed out to their next announcer.
+     *
+     * @param now the current time in milliseconds
+     * @return the transactions to request again, each with the neighbor to request it from
+     */
+    public synchronized List<Map.Entry<Hash, Neighbor>> retryTimedOut(long now) {
+        List<Map.Entry<Hash, Neighbor>> retries = new ArrayList<>();
+        Map<Hash, Request> retried = new LinkedHashMap<>();
+        Iterator<Map.Entry<Hash, Request>> it = requests.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Hash, Request> entry = it.next();
+            Request request = entry.getValue();
+            // the requests are ordered by time, so the first one which didn't time out ends the search
+            if (now - request.requestedAt < timeoutMillis) {
+                break;
+            }
+            it.remove();
+            Neighbor next = request.announcers.poll();
+            if (next != null) {
+                request.neighbor = next;
+                request.requestedAt = now;
+                retried.put(entry.getKey(), request);
+                retries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), next));
+            }
+        }
+        // requests sent again go to the end, as they are the newest now
+        requests.putAll(retried);
+        return retries;
+    }
+
+    /**
+     * @return the amount of pending requests
+     */
+    public synchronized int size() {
+        return requests.size();
+    }
+
+    private static class Request {
+
+        private Neighbor neighbor;
+        private long requestedAt;
+        private final Deque<Neighbor> announcers = new ArrayDeque<>();
+
+        private Request(Neighbor neighbor, long requestedAt) {
+            this.neighbor = neighbor;
+            this.requestedAt = requestedAt;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.iota.iri.network.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The {@link StageLatencyHistogram} counts latencies in microseconds without locking, so it can be updated by all
+ * threads of the {@link TransactionProcessingPipeline} at all times.
+ * </p>
+ * <p>
+ * Like a HDR histogram, the buckets grow with the value: every power of two is split into {@link #SUB_BUCKETS} equally
+ * sized buckets, so a value is reported with an error of at most 1/16th, no matter if it is a few microseconds or
+ * minutes. Values above {@link #MAX_VALUE} are counted in the last bucket.
+ * </p>
+ */
+public class StageLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The amount of buckets a power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The largest value which is distinguished, a bit more than an hour.
+     */
+    public static final long MAX_VALUE = (1L << 32) - 1;
+
+    private static final int NUMBER_OF_BUCKETS = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Counts the given latency.
+     *
+     * @param micros the latency in microseconds, negative values are counted as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(Math.min(value, MAX_VALUE)));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * @return the amount of counted latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the average latency in microseconds, 0 if none was counted
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * @return the largest counted latency in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the latency which the given percentage of the counted latencies doesn't exceed. As the histogram is
+     * updated concurrently, the result is an estimate of the latencies counted while it is computed.
+     *
+     * @param percentile the percentage of latencies, between 0 and 100
+     * @return the largest latency in microseconds of the bucket the percentile falls into, 0 if none was counted
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[NUMBER_OF_BUCKETS];
+        long n = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Values below {@link #SUB_BUCKETS} get a bucket each, above that the value is shifted so that only its
+     * {@link #SUB_BUCKET_BITS} bits below the highest set bit remain, and the shift selects the power of two.
+     */
+    private static int bucketIndex(long value) {
+        int shift = Math.max(0, Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long bucketUpperBound(int index) {
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    private static long bucketLowerBound(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+}
@@ -0,0 +1,126 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.pipeline.TransactionProcessingPipeline.Stage;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The {@link StageLatencyTracker} measures where the {@link ProcessingContext} instances spend their time within the
+ * {@link TransactionProcessingPipeline}. For every stage it keeps a {@link StageLatencyHistogram} of
+ * </p>
+ * <ul>
+ * <li>the queue wait: the time from being submitted to the stage until the stage starts processing,</li>
+ * <li>the processing time: the time the stage needs to process a context,</li>
+ * <li>the age: the time from receiving the transaction until the stage is done with it.</li>
+ * </ul>
+ * <p>
+ * The hashing stage hashes in batches, its processing time therefore includes the time waiting for a batch.
+ * Tracking only takes a few reads of {@link System#nanoTime()} and atomic increments per stage, so it is always on.
+ * </p>
+ */
+public class StageLatencyTracker {
+
+    private final Map<Stage, StageLatencyHistogram> queueWaits = new EnumMap<>(Stage.class);
+    private final Map<Stage, StageLatencyHistogram> processingTimes = new EnumMap<>(Stage.class);
+    private final Map<Stage, StageLatencyHistogram> ages = new EnumMap<>(Stage.class);
+
+    /**
+     * Creates a new {@link StageLatencyTracker} for all stages which process contexts.
+     */
+    public StageLatencyTracker() {
+        // the maps are filled up front and only read afterwards, so they can be shared between the stage threads
+        for (Stage stage : Stage.values()) {
+            if (stage == Stage.MULTIPLE || stage == Stage.ABORT || stage == Stage.FINISH) {
+                continue;
+            }
+            queueWaits.put(stage, new StageLatencyHistogram());
+            processingTimes.put(stage, new StageLatencyHistogram());
+            ages.put(stage, new StageLatencyHistogram());
+        }
+    }
+
+    /**
+     * Marks the given context as submitted to its next stage.
+     *
+     * @param ctx the submitted {@link ProcessingContext}
+     */
+    public void enqueued(ProcessingContext ctx) {
+        ctx.setEnqueuedAt(System.nanoTime());
+    }
+
+    /**
+     * Marks the given context as split from another one, so its age is counted from the start of the original one.
+     *
+     * @param parent the original {@link ProcessingContext}
+     * @param child  the {@link ProcessingContext} split from the original one
+     */
+    public void split(ProcessingContext parent, ProcessingContext child) {
+        child.setCreatedAt(parent.getCreatedAt());
+    }
+
+    /**
+     * Counts the queue wait of the given context, as the given stage starts processing it.
+     *
+     * @param stage the stage which takes the context
+     * @param ctx   the {@link ProcessingContext} to process
+     * @return the {@link System#nanoTime()} at which the processing started
+     */
+    public long startProcessing(Stage stage, ProcessingContext ctx) {
+        long now = System.nanoTime();
+        queueWaits.get(stage).record(toMicros(now - ctx.getEnqueuedAt()));
+        return now;
+    }
+
+    /**
+     * Counts the processing time and the age of the given context, as the given stage is done with it.
+     *
+     * @param stage     the stage which processed the context
+     * @param ctx       the processed {@link ProcessingContext}
+     * @param startedAt the {@link System#nanoTime()} at which the processing started
+     */
+    public void finishProcessing(Stage stage, ProcessingContext ctx, long startedAt) {
+        long now = System.nanoTime();
+        processingTimes.get(stage).record(toMicros(now - startedAt));
+        ages.get(stage).record(toMicros(now - ctx.getCreatedAt()));
+    }
+
+    /**
+     * @return the stages for which latencies are tracked
+     */
+    public Set<Stage> getTrackedStages() {
+        return Collections.unmodifiableSet(queueWaits.keySet());
+    }
+
+    /**
+     * @param stage the stage
+     * @return the times contexts waited for the given stage, or null if the stage isn't tracked
+     */
+    public StageLatencyHistogram getQueueWait(Stage stage) {
+        return queueWaits.get(stage);
+    }
+
+    /**
+     * @param stage the stage
+     * @return the times the given stage needed to process contexts, or null if the stage isn't tracked
+     */
+    public StageLatencyHistogram getProcessingTime(Stage stage) {
+        return processingTimes.get(stage);
+    }
+
+    /**
+     * @param stage the stage
+     * @return the ages of the contexts when the given stage was done with them, or null if the stage isn't tracked
+     */
+    public StageLatencyHistogram getAge(Stage stage) {
+        return ages.get(stage);
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -1,8 +1,10 @@
 package com.iota.iri.network.pipeline;
 
+import com.iota.iri.model.Hash;
 import com.iota.iri.network.neighbor.Neighbor;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -14,7 +16,8 @@ public interface TransactionProcessingPipeline {
      * Defines the different stages of the {@link TransactionProcessingPipelineImpl}.
      */
     enum Stage {
-        PRE_PROCESS, HASHING, VALIDATION, REPLY, RECEIVED, BROADCAST, MULTIPLE, ABORT, FINISH, SOLIDIFY, MILESTONE
+        PRE_PROCESS, HASHING, VALIDATION, REPLY, RECEIVED, BROADCAST, MULTIPLE, ABORT, FINISH, SOLIDIFY, MILESTONE,
+        ANNOUNCEMENT
     }
 
     /**
@@ -51,13 +54,44 @@ public interface TransactionProcessingPipeline {
     BlockingQueue<ProcessingContext> getValidationStageQueue();
 
     /**
-     * Submits the given data from the given neighbor into the pre processing stage of the pipeline.
+     * Gets the tracker of the time spent within the stages.
+     *
+     * @return the {@link StageLatencyTracker} of the pipeline
+     */
+    StageLatencyTracker getLatencyTracker();
+
+    /**
+     * Gets the hashing stage, which reports how well the transactions are batched up for hashing.
+     *
+     * @return the {@link HashingStage} of the pipeline
+     */
+    HashingStage getHashingStage();
+
+    /**
+     * Submits the given data from the given neighbor into the pre processing stage of the pipeline. The data is
+     * dropped if the neighbor exceeds its rate limit.
      *
      * @param neighbor the {@link Neighbor} from which the data originated from
      * @param data     the data to process
      */
     void process(Neighbor neighbor, ByteBuffer data);
 
+    /**
+     * Submits the transaction hashes announced by the given neighbor into the announcement stage of the pipeline.
+     *
+     * @param neighbor the {@link Neighbor} which announced the transactions
+     * @param hashes   the hashes of the announced transactions
+     */
+    void processAnnouncement(Neighbor neighbor, List<Hash> hashes);
+
+    /**
+     * Submits the transaction hashes requested by the given neighbor into the reply stage of the pipeline.
+     *
+     * @param neighbor the {@link Neighbor} which requested the transactions
+     * @param hashes   the hashes of the requested transactions
+     */
+    void processRequest(Neighbor neighbor, List<Hash> hashes);
+
     /**
      * Submits the given transactions trits into the hashing stage of the pipeline.
      *
@@ -125,4 +159,11 @@ public interface TransactionProcessingPipeline {
      * @param milestoneStage the {@link MilestoneStage} to use
      */
     void setMilestoneStage(MilestoneStage milestoneStage);
-}
\ No newline at end of file
+
+    /**
+     * Sets the announcement stage. This method should only be used for injecting mocked objects.
+     *
+     * @param announcementStage the {@link AnnouncementStage} to use
+     */
+    void setAnnouncementStage(AnnouncementStage announcementStage);
+}
@@ -2,6 +2,9 @@ package com.iota.iri.network.pipeline;
 
 import com.iota.iri.conf.NodeConfig;
 import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.crypto.Curl;
+import com.iota.iri.crypto.Sponge;
+import com.iota.iri.crypto.SpongeFactory;
 import com.iota.iri.crypto.batched.BatchedHasher;
 import com.iota.iri.crypto.batched.BatchedHasherFactory;
 import com.iota.iri.crypto.batched.HashRequest;
@@ -10,6 +13,7 @@ import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.network.FIFOCache;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.TransactionCacheDigester;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.service.milestone.InSyncService;
@@ -39,7 +43,12 @@ import java.util.concurrent.LinkedBlockingQueue;
  * <ul>
  * <li><strong>PreProcess</strong>: expands transaction payloads, computes the digest of transactions received by
  * {@link Neighbor} instances and converts the transaction payload to its trits representation.<br/>
- * Submits to the hashing stage if the transaction payload is not known or to the reply stage if already known.</li>
+ * Submits to the hashing stage if the transaction payload is not known or to the reply stage if already known.<br/>
+ * Received transactions wait in a {@link FairReceiveQueue}, which limits the rate of every neighbor and shares the
+ * stage fairly between them. Transactions from the coordinator address are spotted by a
+ * {@link MilestonePacketFilter} and skip the queues up to the milestone stage on a dedicated thread. They
+ * are charged to the rate limit of their neighbor, and every neighbor may only hold a few slots of that thread's
+ * queue.</li>
  * <li><strong>Hashing</strong>: hashes transaction trits using a {@link BatchedHasher} and then submits it further to
  * the validation stage.</li>
  * <li><strong>Validation</strong>: validates the newly received transaction payload and adds it to the known bytes
@@ -52,6 +61,9 @@ import java.util.concurrent.LinkedBlockingQueue;
  * <li><strong>Broadcast</strong>: broadcasts the given transaction to all connected {@link Neighbor} instances except
  * the neighbor from which the transaction originated from.</li>
  * </ul>
+ * <p>
+ * The time contexts wait for and spend within each stage is tracked by a {@link StageLatencyTracker}.
+ * </p>
  */
 public class TransactionProcessingPipelineImpl implements TransactionProcessingPipeline {
 
@@ -62,7 +74,38 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
      * List of stages that will be ignored when determining thread count
      */
     private static final List IGNORED_STAGES = IotaUtils.createImmutableList(Stage.MULTIPLE, Stage.ABORT, Stage.FINISH);
-    private static final int NUMBER_OF_THREADS = Stage.values().length - IGNORED_STAGES.size();
+    // the milestone packets are processed on an additional thread
+    private static final int NUMBER_OF_THREADS = Stage.values().length - IGNORED_STAGES.size() + 1;
+
+    /**
+     * Number of threads hashing incoming transactions in parallel
+     */
+    private static final int NUMBER_OF_HASHING_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+    /**
+     * Number of encoded transactions kept for replies and broadcasts (a truncated transaction takes up to 1604 bytes)
+     */
+    private static final int PACKET_CACHE_SIZE = 10_000;
+
+    /**
+     * Number of received transactions per neighbor which may wait for the pre-process stage
+     */
+    private static final int RECEIVE_QUEUE_SIZE_PER_NEIGHBOR = 1_000;
+
+    /**
+     * Time after which an announced transaction is requested from the next neighbor which announced it
+     */
+    private static final long ANNOUNCEMENT_REQUEST_TIMEOUT_MILLISECONDS = 2_000;
+
+    /**
+     * Number of likely milestone transactions which may wait for the milestone packet thread
+     */
+    private static final int MILESTONE_PACKET_QUEUE_SIZE = 100;
+
+    /**
+     * Number of likely milestone transactions a single neighbor may have waiting for the milestone packet thread
+     */
+    private static final int MILESTONE_PACKET_SLOTS_PER_NEIGHBOR = 10;
 
     // stages of the protocol protocol
     private PreProcessStage preProcessStage;
@@ -74,14 +117,21 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
     private HashingStage hashingStage;
     private SolidifyStage solidifyStage;
     private MilestoneStage milestoneStage;
+    private AnnouncementStage announcementStage;
 
     private BlockingQueue<ProcessingContext> milestoneStageQueue = new LinkedBlockingQueue<>();
-    private BlockingQueue<ProcessingContext> preProcessStageQueue = new LinkedBlockingQueue<>();
+    private FairReceiveQueue preProcessStageQueue;
+    private MilestonePacketQueue milestonePacketQueue = new MilestonePacketQueue(MILESTONE_PACKET_QUEUE_SIZE,
+            MILESTONE_PACKET_SLOTS_PER_NEIGHBOR);
+    private MilestonePacketFilter milestonePacketFilter;
     private BlockingQueue<ProcessingContext> validationStageQueue = new LinkedBlockingQueue<>();
     private BlockingQueue<ProcessingContext> receivedStageQueue = new LinkedBlockingQueue<>();
     private BlockingQueue<ProcessingContext> replyStageQueue = new LinkedBlockingQueue<>();
     private BlockingQueue<ProcessingContext> broadcastStageQueue = new LinkedBlockingQueue<>();
     private BlockingQueue<ProcessingContext> solidifyStageQueue = new LinkedBlockingQueue<>();
+    private BlockingQueue<ProcessingContext> announcementStageQueue = new LinkedBlockingQueue<>();
+
+    private StageLatencyTracker latencyTracker = new StageLatencyTracker();
 
     /**
      * Creates a {@link TransactionProcessingPipeline}.
@@ -99,77 +149,69 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
             TipsViewModel tipsViewModel, MilestoneSolidifier milestoneSolidifier,
             TransactionRequester transactionRequester, TransactionSolidifier txSolidifier,
             MilestoneService milestoneService, InSyncService inSyncService) {
+        this.preProcessStageQueue = new FairReceiveQueue(config.getReceiveLimit(), RECEIVE_QUEUE_SIZE_PER_NEIGHBOR);
+        this.milestonePacketFilter = new MilestonePacketFilter(config.getCoordinator());
         FIFOCache<Long, Hash> recentlySeenBytesCache = new FIFOCache<>(config.getCacheSizeBytes());
+        TransactionPacketCache packetCache = new TransactionPacketCache(PACKET_CACHE_SIZE);
         this.preProcessStage = new PreProcessStage(recentlySeenBytesCache);
         this.replyStage = new ReplyStage(neighborRouter, config, tangle, tipsViewModel, milestoneSolidifier,
-                snapshotProvider, recentlySeenBytesCache);
-        this.broadcastStage = new BroadcastStage(neighborRouter, txSolidifier, inSyncService);
+                snapshotProvider, recentlySeenBytesCache, packetCache);
+        this.broadcastStage = new BroadcastStage(neighborRouter, txSolidifier, inSyncService, packetCache,
+                milestonePacketFilter);
         this.validationStage = new ValidationStage(txValidator, recentlySeenBytesCache);
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(config.getCacheSizeBytes(),
+                ANNOUNCEMENT_REQUEST_TIMEOUT_MILLISECONDS);
         this.receivedStage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
-                milestoneService, config.getCoordinator());
-        this.batchedHasher = BatchedHasherFactory.create(BatchedHasherFactory.Type.BCTCURL81, 20);
+                milestoneService, config.getCoordinator(), packetCache, requestedAnnouncements);
+        this.batchedHasher = BatchedHasherFactory.create(BatchedHasherFactory.Type.BCTCURL81_X4, 20,
+                NUMBER_OF_HASHING_WORKERS);
         this.hashingStage = new HashingStage(batchedHasher);
         this.solidifyStage = new SolidifyStage(txSolidifier, tipsViewModel, tangle);
         this.milestoneStage = new MilestoneStage(milestoneSolidifier, snapshotProvider, txSolidifier);
+        this.announcementStage = new AnnouncementStage(tangle, packetCache, requestedAnnouncements);
     }
 
     @Override
     public void start() {
         stagesThreadPool.submit(batchedHasher);
-        addStage("pre-process", preProcessStageQueue, preProcessStage);
-        addStage("validation", validationStageQueue, validationStage);
-        addStage("reply", replyStageQueue, replyStage);
-        addStage("received", receivedStageQueue, receivedStage);
-        addStage("broadcast", broadcastStageQueue, broadcastStage);
-        addStage("solidify", solidifyStageQueue, solidifyStage);
-        addStage("milestone", milestoneStageQueue, milestoneStage);
+        addStage("pre-process", preProcessStageQueue::take, Stage.PRE_PROCESS, preProcessStage);
+        addStage("validation", validationStageQueue, Stage.VALIDATION, validationStage);
+        addStage("reply", replyStageQueue, Stage.REPLY, replyStage);
+        addStage("received", receivedStageQueue, Stage.RECEIVED, receivedStage);
+        addStage("broadcast", broadcastStageQueue, Stage.BROADCAST, broadcastStage);
+        addStage("solidify", solidifyStageQueue, Stage.SOLIDIFY, solidifyStage);
+        addStage("milestone", milestoneStageQueue, Stage.MILESTONE, milestoneStage);
+        addStage("announcement", announcementStageQueue, Stage.ANNOUNCEMENT, announcementStage);
+        stagesThreadPool.submit(new Thread(this::processMilestonePackets, "milestone-packet-stage"));
     }
 
     /**
      * Adds the given stage to the processing pipeline.
      * 
-     * @param name  the name of the stage
-     * @param queue the queue from which contexts are taken to process within the stage
-     * @param stage the stage with the processing logic
+     * @param name      the name of the stage
+     * @param queue     the queue from which contexts are taken to process within the stage
+     * @param stageType the type of the stage under which its latencies are tracked
+     * @param stage     the stage with the processing logic
+     */
+    private void addStage(String name, BlockingQueue<ProcessingContext> queue, Stage stageType,
+            com.iota.iri.network.pipeline.Stage stage) {
+        addStage(name, queue::take, stageType, stage);
+    }
+
+    /**
+     * Adds the given stage to the processing pipeline.
+     *
+     * @param name      the name of the stage
+     * @param source    the source from which contexts are taken to process within the stage
+     * @param stageType the type of the stage under which its latencies are tracked
+     * @param stage     the stage with the processing logic
      */
-    private void addStage(String name, BlockingQueue<ProcessingContext> queue,
+    private void addStage(String name, ContextSource source, Stage stageType,
             com.iota.iri.network.pipeline.Stage stage) {
         stagesThreadPool.submit(new Thread(() -> {
             try {
                 while (!Thread.currentThread().isInterrupted()) {
-                    ProcessingContext ctx = stage.process(queue.take());
-
-                    switch (ctx.getNextStage()) {
-                        case REPLY:
-                            replyStageQueue.put(ctx);
-                            break;
-                        case HASHING:
-                            hashAndValidate(ctx);
-                            break;
-                        case RECEIVED:
-                            receivedStageQueue.put(ctx);
-                            break;
-                        case MULTIPLE:
-                            MultiStagePayload payload = (MultiStagePayload) ctx.getPayload();
-                            replyStageQueue.put(payload.getLeft());
-                            receivedStageQueue.put(payload.getRight());
-                            break;
-                        case BROADCAST:
-                            broadcastStageQueue.put(ctx);
-                            break;
-                        case SOLIDIFY:
-                            solidifyStageQueue.put(ctx);
-                            break;
-                        case MILESTONE:
-                            milestoneStageQueue.put(ctx);
-                            break;
-                        case ABORT:
-                            break;
-                        case FINISH:
-                            break;
-                        default:
-                            // do nothing
-                    }
+                    route(process(stageType, stage, source.take()));
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -179,6 +221,102 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
         }, String.format("%s-stage", name)));
     }
 
+    /**
+     * Processes the given {@link ProcessingContext} within the given stage and tracks the latencies of the stage.
+     *
+     * @param stageType the type of the stage under which its latencies are tracked
+     * @param stage     the stage with the processing logic
+     * @param ctx       the {@link ProcessingContext} to process
+     * @return the processed {@link ProcessingContext}
+     */
+    private ProcessingContext process(Stage stageType, com.iota.iri.network.pipeline.Stage stage,
+            ProcessingContext ctx) {
+        long startedAt = latencyTracker.startProcessing(stageType, ctx);
+        ProcessingContext processedCtx = stage.process(ctx);
+        latencyTracker.finishProcessing(stageType, processedCtx, startedAt);
+        return processedCtx;
+    }
+
+    /**
+     * Submits the given {@link ProcessingContext} to the queue of its next stage.
+     *
+     * @param ctx the processed {@link ProcessingContext}
+     * @throws InterruptedException if the thread is interrupted while waiting for space in the queue
+     */
+    private void route(ProcessingContext ctx) throws InterruptedException {
+        switch (ctx.getNextStage()) {
+            case REPLY:
+                enqueue(replyStageQueue, ctx);
+                break;
+            case HASHING:
+                hashAndValidate(ctx);
+                break;
+            case RECEIVED:
+                enqueue(receivedStageQueue, ctx);
+                break;
+            case MULTIPLE:
+                MultiStagePayload payload = (MultiStagePayload) ctx.getPayload();
+                latencyTracker.split(ctx, payload.getLeft());
+                latencyTracker.split(ctx, payload.getRight());
+                enqueue(replyStageQueue, payload.getLeft());
+                enqueue(receivedStageQueue, payload.getRight());
+                break;
+            case BROADCAST:
+                enqueue(broadcastStageQueue, ctx);
+                break;
+            case SOLIDIFY:
+                enqueue(solidifyStageQueue, ctx);
+                break;
+            case MILESTONE:
+                enqueue(milestoneStageQueue, ctx);
+                break;
+            case ABORT:
+                break;
+            case FINISH:
+                break;
+            default:
+                // do nothing
+        }
+    }
+
+    private void enqueue(BlockingQueue<ProcessingContext> queue, ProcessingContext ctx) throws InterruptedException {
+        latencyTracker.enqueued(ctx);
+        queue.put(ctx);
+    }
+
+    /**
+     * Runs the likely milestone transactions through the pre-process, hashing, validation and received stage on a
+     * dedicated thread, so they neither wait behind other transactions nor for a hashing batch to fill up. Afterwards
+     * they continue in the regular queues, where only milestones go to the milestone stage.
+     */
+    private void processMilestonePackets() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ProcessingContext ctx = process(Stage.PRE_PROCESS, preProcessStage, milestonePacketQueue.take());
+                if (ctx.getNextStage() == Stage.HASHING) {
+                    hashDirectly(ctx);
+                    ctx = process(Stage.VALIDATION, validationStage, ctx);
+                }
+                if (ctx.getNextStage() == Stage.MULTIPLE) {
+                    MultiStagePayload payload = (MultiStagePayload) ctx.getPayload();
+                    latencyTracker.split(ctx, payload.getLeft());
+                    latencyTracker.split(ctx, payload.getRight());
+                    enqueue(replyStageQueue, payload.getLeft());
+                    ctx = payload.getRight();
+                    latencyTracker.enqueued(ctx);
+                }
+                if (ctx.getNextStage() == Stage.RECEIVED) {
+                    ctx = process(Stage.RECEIVED, receivedStage, ctx);
+                }
+                route(ctx);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            log.info("milestone-packet-stage shutdown");
+        }
+    }
+
     @Override
     public BlockingQueue<ProcessingContext> getReceivedStageQueue() {
         return receivedStageQueue;
@@ -199,12 +337,49 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
         return validationStageQueue;
     }
 
+    @Override
+    public StageLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    @Override
+    public HashingStage getHashingStage() {
+        return hashingStage;
+    }
+
     @Override
     public void process(Neighbor neighbor, ByteBuffer data) {
+        ProcessingContext ctx = new ProcessingContext(new PreProcessPayload(neighbor, data));
+        boolean accepted;
+        if (milestonePacketFilter.isLikelyMilestone(data)) {
+            // likely milestones count against the rate limit as well, anyone can send to the coordinator address
+            accepted = preProcessStageQueue.tryAcquire(neighbor) && (milestonePacketQueue.offer(neighbor, ctx)
+                    || preProcessStageQueue.offerAcquired(neighbor, ctx));
+        } else {
+            accepted = preProcessStageQueue.offer(neighbor, ctx);
+        }
+        if (!accepted) {
+            neighbor.getMetrics().incrDroppedReceivedTransactionsCount();
+        }
+    }
+
+    @Override
+    public void processAnnouncement(Neighbor neighbor, List<Hash> hashes) {
         try {
-            preProcessStageQueue.put(new ProcessingContext(new PreProcessPayload(neighbor, data)));
+            announcementStageQueue.put(new ProcessingContext(new AnnouncementPayload(neighbor, hashes)));
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void processRequest(Neighbor neighbor, List<Hash> hashes) {
+        try {
+            for (Hash hash : hashes) {
+                replyStageQueue.put(new ProcessingContext(new ReplyPayload(neighbor, hash)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -217,6 +392,27 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
         hashAndValidate(new ProcessingContext(payload));
     }
 
+    /**
+     * Hashes the transaction of the given hashing stage {@link ProcessingContext} on the current thread and sets the
+     * validation stage as its next stage.
+     *
+     * @param ctx the hashing stage {@link ProcessingContext}
+     */
+    private void hashDirectly(ProcessingContext ctx) {
+        latencyTracker.enqueued(ctx);
+        long startedAt = latencyTracker.startProcessing(Stage.HASHING, ctx);
+        HashingPayload hashingStagePayload = (HashingPayload) ctx.getPayload();
+        byte[] txTrits = hashingStagePayload.getTxTrits();
+        byte[] hashTrits = new byte[Curl.HASH_LENGTH];
+        Sponge curl = SpongeFactory.create(SpongeFactory.Mode.CURLP81);
+        curl.absorb(txTrits, 0, txTrits.length);
+        curl.squeeze(hashTrits, 0, hashTrits.length);
+        hashingStagePayload.setHashTrits(hashTrits);
+        ctx.setNextStage(TransactionProcessingPipeline.Stage.VALIDATION);
+        latencyTracker.finishProcessing(Stage.HASHING, ctx, startedAt);
+        latencyTracker.enqueued(ctx);
+    }
+
     /**
      * Sets up the given hashing stage {@link ProcessingContext} so that up on success, it will submit further to the
      * validation stage.
@@ -227,12 +423,16 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
         // the hashing already runs in its own thread,
         // the callback will submit the data to the validation stage
         HashingPayload hashingStagePayload = (HashingPayload) ctx.getPayload();
+        // the time waiting for the batch to fill up counts as processing time, there is no queue wait
+        latencyTracker.enqueued(ctx);
+        long startedAt = latencyTracker.startProcessing(Stage.HASHING, ctx);
         hashingStagePayload.setHashRequest(new HashRequest(hashingStagePayload.getTxTrits(), hashTrits -> {
             try {
+                latencyTracker.finishProcessing(Stage.HASHING, ctx, startedAt);
                 hashingStagePayload.setHashTrits(hashTrits);
                 // the validation stage takes care of submitting a payload to the reply stage.
                 ctx.setNextStage(TransactionProcessingPipeline.Stage.VALIDATION);
-                validationStageQueue.put(ctx);
+                enqueue(validationStageQueue, ctx);
             } catch (InterruptedException e) {
                 log.error("unable to put processing context into hashing stage. reason: {}", e.getMessage());
             }
@@ -284,4 +484,22 @@ public class TransactionProcessingPipelineImpl implements TransactionProcessingP
     public void setMilestoneStage(MilestoneStage milestoneStage){
         this.milestoneStage = milestoneStage;
     }
+
+    @Override
+    public void setAnnouncementStage(AnnouncementStage announcementStage) {
+        this.announcementStage = announcementStage;
+    }
+
+    /**
+     * Blocks until the next {@link ProcessingContext} for a stage is available and returns it.
+     */
+    @FunctionalInterface
+    private interface ContextSource {
+
+        /**
+         * @return the next {@link ProcessingContext} to process
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        ProcessingContext take() throws InterruptedException;
+    }
 }
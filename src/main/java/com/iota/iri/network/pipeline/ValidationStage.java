@@ -73,6 +73,11 @@ public class ValidationStage implements Stage {
             recentlySeenBytesCache.put(txBytesDigest, txHash);
         }
 
+        // the transaction doesn't need to be broadcast back to the neighbor it came from
+        if (originNeighbor != null) {
+            originNeighbor.markSeen(txHash);
+        }
+
         ReceivedPayload receivedStagePayload = new ReceivedPayload(originNeighbor, tvm);
 
         // go directly to receive stage if the transaction didn't originate from a neighbor
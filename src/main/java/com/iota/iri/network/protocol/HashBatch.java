@@ -0,0 +1,52 @@
+package com.iota.iri.network.protocol;
+
+import com.iota.iri.model.Hash;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects transaction hashes which are sent to a neighbor, so up to {@link Protocol#MAX_HASHES_PER_BATCH} of them
+ * share one packet.
+ */
+public class HashBatch {
+
+    private final ProtocolMessage type;
+    private final List<Hash> hashes = new ArrayList<>(Protocol.MAX_HASHES_PER_BATCH);
+
+    /**
+     * Creates a new {@link HashBatch}.
+     *
+     * @param type the type of the packets created from the batch
+     */
+    public HashBatch(ProtocolMessage type) {
+        this.type = type;
+    }
+
+    /**
+     * Adds a hash to the batch.
+     *
+     * @param hash the hash to add
+     * @return the packet containing the batch if it is full now, else {@code null}
+     */
+    public synchronized ByteBuffer add(Hash hash) {
+        hashes.add(hash);
+        return hashes.size() >= Protocol.MAX_HASHES_PER_BATCH ? createPacket() : null;
+    }
+
+    /**
+     * Empties the batch.
+     *
+     * @return the packet containing the batched hashes or {@code null} if the batch is empty
+     */
+    public synchronized ByteBuffer flush() {
+        return hashes.isEmpty() ? null : createPacket();
+    }
+
+    private ByteBuffer createPacket() {
+        ByteBuffer packet = Protocol.createHashBatchPacket(type, hashes);
+        hashes.clear();
+        return packet;
+    }
+}
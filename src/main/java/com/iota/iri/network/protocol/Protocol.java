@@ -1,9 +1,13 @@
 package com.iota.iri.network.protocol;
 
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
 import com.iota.iri.utils.TransactionTruncator;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The IRI protocol uses a 4 bytes header denoting the version, type and length of a packet.
@@ -13,7 +17,12 @@ public class Protocol {
     /**
      * The protocol version used by this node.
      */
-    public final static byte PROTOCOL_VERSION = 1;
+    public final static byte PROTOCOL_VERSION = 2;
+    /**
+     * The first protocol version which announces new transactions by their hashes and requests transactions in
+     * batches.
+     */
+    public final static int HASH_BATCHES_PROTOCOL_VERSION = 2;
     /**
      * <p>
      * The supported protocol versions by this node. Bitmasks are used to denote what protocol version this node
@@ -33,8 +42,8 @@ public class Protocol {
      * </ul>
      */
     public final static byte[] SUPPORTED_PROTOCOL_VERSIONS = {
-            /* supports protocol version(s): 1 */
-            (byte) 0b00000001,
+            /* supports protocol version(s): 1, 2 */
+            (byte) 0b00000011,
     };
     /**
      * The amount of bytes dedicated for the message type in the packet header.
@@ -55,6 +64,11 @@ public class Protocol {
      */
     public final static int GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH = 49;
 
+    /**
+     * The maximum amount of hashes in a transaction announcement or request packet.
+     */
+    public final static int MAX_HASHES_PER_BATCH = 32;
+
     /**
      * The amount of bytes to store first and last solid milestone index
      */
@@ -97,7 +111,17 @@ public class Protocol {
      * @return a {@link ByteBuffer} containing the transaction gossip packet.
      */
     public static ByteBuffer createTransactionGossipPacket(TransactionViewModel tvm, byte[] requestedHash) {
-        byte[] truncatedTx = TransactionTruncator.truncateTransaction(tvm.getBytes());
+        return createTransactionGossipPacket(TransactionTruncator.truncateTransaction(tvm.getBytes()), requestedHash);
+    }
+
+    /**
+     * Creates a new transaction gossip packet from already truncated transaction bytes.
+     *
+     * @param truncatedTx   The truncated bytes of the transaction to add into the packet
+     * @param requestedHash The hash of the requested transaction
+     * @return a {@link ByteBuffer} containing the transaction gossip packet.
+     */
+    public static ByteBuffer createTransactionGossipPacket(byte[] truncatedTx, byte[] requestedHash) {
         final short payloadLengthBytes = (short) (truncatedTx.length + GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
         ByteBuffer buf = ByteBuffer.allocate(ProtocolMessage.HEADER.getMaxLength() + payloadLengthBytes);
         addProtocolHeader(buf, ProtocolMessage.TRANSACTION_GOSSIP, payloadLengthBytes);
@@ -123,6 +147,43 @@ public class Protocol {
         return buf;
     }
 
+    /**
+     * Creates a new packet containing the given transaction hashes.
+     *
+     * @param type   The type of the packet, either {@link ProtocolMessage#TRANSACTION_ANNOUNCEMENT} or
+     *               {@link ProtocolMessage#TRANSACTION_REQUEST}
+     * @param hashes The hashes to add into the packet, at most {@link #MAX_HASHES_PER_BATCH}
+     * @return a {@link ByteBuffer} containing the hash batch packet.
+     */
+    public static ByteBuffer createHashBatchPacket(ProtocolMessage type, List<Hash> hashes) {
+        final short payloadLengthBytes = (short) (hashes.size() * GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        ByteBuffer buf = ByteBuffer.allocate(ProtocolMessage.HEADER.getMaxLength() + payloadLengthBytes);
+        addProtocolHeader(buf, type, payloadLengthBytes);
+        for (Hash hash : hashes) {
+            buf.put(hash.bytes(), 0, GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Parses the transaction hashes of a {@link ProtocolMessage#TRANSACTION_ANNOUNCEMENT} or
+     * {@link ProtocolMessage#TRANSACTION_REQUEST} message. Trailing bytes which don't make up a whole hash are
+     * ignored.
+     *
+     * @param msg The message without its header
+     * @return the hashes contained in the message
+     */
+    public static List<Hash> parseHashBatch(ByteBuffer msg) {
+        List<Hash> hashes = new ArrayList<>(msg.remaining() / GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        byte[] hashBytes = new byte[GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH];
+        while (msg.remaining() >= GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH) {
+            msg.get(hashBytes);
+            hashes.add(HashFactory.TRANSACTION.create(hashBytes, 0, GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH));
+        }
+        return hashes;
+    }
+
     /**
      * Adds the protocol header to the given {@link ByteBuffer}.
      * 
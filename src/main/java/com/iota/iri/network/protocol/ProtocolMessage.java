@@ -28,7 +28,19 @@ public enum ProtocolMessage {
     TRANSACTION_GOSSIP((byte) 2, (short) (Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH + TransactionTruncator.NON_SIG_TX_PART_BYTES_LENGTH
             + TransactionTruncator.SIG_DATA_MAX_BYTES_LENGTH), true),
 
-    HEARTBEAT((byte) 3, Protocol.PROTOCOL_HEARTBEAT_BYTES_LENGTH, true);
+    HEARTBEAT((byte) 3, Protocol.PROTOCOL_HEARTBEAT_BYTES_LENGTH, true),
+    /**
+     * Announces the hashes of new transactions without their payload, so the neighbor only requests the ones it
+     * doesn't know yet. Only sent with protocol version 2 or higher.
+     */
+    TRANSACTION_ANNOUNCEMENT((byte) 4,
+            (short) (Protocol.MAX_HASHES_PER_BATCH * Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH), true),
+    /**
+     * Requests the transactions of the contained hashes, each of them is answered with a transaction gossip packet.
+     * Only sent with protocol version 2 or higher.
+     */
+    TRANSACTION_REQUEST((byte) 5,
+            (short) (Protocol.MAX_HASHES_PER_BATCH * Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH), true);
 
     private static final ProtocolMessage[] lookup = new ProtocolMessage[256];
 
@@ -47,6 +59,8 @@ public enum ProtocolMessage {
         lookup[1] = HANDSHAKE;
         lookup[2] = TRANSACTION_GOSSIP;
         lookup[3] = HEARTBEAT;
+        lookup[4] = TRANSACTION_ANNOUNCEMENT;
+        lookup[5] = TRANSACTION_REQUEST;
     }
 
     /**
@@ -35,6 +35,7 @@ import com.iota.iri.service.dto.GetInclusionStatesResponse;
 import com.iota.iri.service.dto.GetNeighborsResponse;
 import com.iota.iri.service.dto.GetNodeAPIConfigurationResponse;
 import com.iota.iri.service.dto.GetNodeInfoResponse;
+import com.iota.iri.service.dto.GetPipelineLatenciesResponse;
 import com.iota.iri.service.dto.GetTipsResponse;
 import com.iota.iri.service.dto.GetTransactionsToApproveResponse;
 import com.iota.iri.service.dto.GetTrytesResponse;
@@ -163,7 +164,7 @@ public class API {
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     private final Gson gson = new GsonBuilder().create();
-    private volatile PearlDiver pearlDiver = new PearlDiver();
+    private final PearlDiver pearlDiver;
 
     private final AtomicInteger counter = new AtomicInteger(0);
 
@@ -220,6 +221,8 @@ public class API {
         this.transactionSolidifier = transactionSolidifier;
         this.milestoneSolidifier = milestoneSolidifier;
         
+        pearlDiver = new PearlDiver(configuration.getPowThreads());
+
         maxFindTxs = configuration.getMaxFindTransactions();
         maxRequestList = configuration.getMaxRequestsList();
         maxGetTrytes = configuration.getMaxGetTrytes();
@@ -242,6 +245,7 @@ public class API {
         commandRoute.put(ApiCommand.REMOVE_NEIGHBORS, removeNeighbors());
         commandRoute.put(ApiCommand.STORE_TRANSACTIONS, storeTransactions());
         commandRoute.put(ApiCommand.GET_MISSING_TRANSACTIONS, getMissingTransactions());
+        commandRoute.put(ApiCommand.GET_PIPELINE_LATENCIES, getPipelineLatencies());
         commandRoute.put(ApiCommand.CHECK_CONSISTENCY, checkConsistency());
         commandRoute.put(ApiCommand.WERE_ADDRESSES_SPENT_FROM, wereAddressesSpentFrom());
     }
@@ -491,6 +495,18 @@ public class API {
         return GetNeighborsResponse.create(neighborRouter.getNeighbors());
     }
 
+    /**
+     * Returns the time transactions wait for and spend within each stage of the transaction processing pipeline,
+     * as well as their age when leaving the stage. All latencies are in microseconds.
+     * <b>Note:</b> The latencies are reset after restarting IRI.
+     *
+     * @return {@link com.iota.iri.service.dto.GetPipelineLatenciesResponse}
+     **/
+    @Document(name="getPipelineLatencies")
+    private AbstractResponse getPipelineLatenciesStatement() {
+        return GetPipelineLatenciesResponse.create(txPipeline.getLatencyTracker(), txPipeline.getHashingStage());
+    }
+
     /**
      * Temporarily add a list of neighbors to your node.
      * The added neighbors will not be available after restart.
@@ -722,18 +738,18 @@ public class API {
         final List<TransactionViewModel> elements = convertTrytes(trytes);
         for (final TransactionViewModel transactionViewModel : elements) {
             //store transactions
+            transactionViewModel.setArrivalTime(System.currentTimeMillis());
+            transactionViewModel.updateSender("local");
             if(transactionViewModel.store(tangle, snapshotProvider.getInitialSnapshot())) {
-                transactionViewModel.setArrivalTime(System.currentTimeMillis());
                 transactionSolidifier.updateStatus(transactionViewModel);
-                transactionViewModel.updateSender("local");
-                transactionViewModel.update(tangle, snapshotProvider.getInitialSnapshot(), "sender");
+                transactionViewModel.publishStored(tangle);
             }
         }
         return AbstractResponse.createEmptyResponse();
     }
 
     /**
-      * Interrupts and completely aborts the <tt>attachToTangle</tt> process.
+      * Interrupts and completely aborts all running <tt>attachToTangle</tt> processes.
       *
       * @return {@link com.iota.iri.service.dto.AbstractResponse.Emptyness}
       **/
@@ -1194,13 +1210,12 @@ public class API {
       * @return The list of transactions in trytes, ready to be broadcast to the network.
       **/
     @Document(name="attachToTangle", returnParam="trytes")
-    public synchronized List<String> attachToTangleStatement(Hash trunkTransaction, Hash branchTransaction,
+    public List<String> attachToTangleStatement(Hash trunkTransaction, Hash branchTransaction,
                                                              int minWeightMagnitude, List<String> trytes) {
 
         final List<TransactionViewModel> transactionViewModels = new LinkedList<>();
 
         Hash prevTransaction = null;
-        pearlDiver = new PearlDiver();
 
         byte[] transactionTrits = Converter.allocateTritsForTrytes(TRYTES_SIZE);
         trytes.sort(new TryteIndexComparator().reversed());
@@ -1250,15 +1265,20 @@ public class API {
                 transactionViewModels.add(transactionViewModel);
                 prevTransaction = transactionViewModel.getHash();
             } finally {
-                API.incEllapsedTimePoW(System.nanoTime() - startTime);
-                API.incCounterPoW();
-                if ((API.getCounterPoW() % 100) == 0) {
-                    String sb = "Last 100 PoW consumed "
-                            + API.getEllapsedTimePoW() / 1000000000L
-                            + " seconds processing time.";
-                    log.info(sb);
-                    counter_PoW = 0;
-                    ellapsedTime_PoW = 0L;
+                // several clients can attach at the same time now that the searches share the pearl diver's workers
+                synchronized (API.class) {
+                    API.incEllapsedTimePoW(System.nanoTime() - startTime);
+                    API.incCounterPoW();
+                    if ((API.getCounterPoW() % 100) == 0) {
+                        String sb = "Last 100 PoW consumed "
+                                + API.getEllapsedTimePoW() / 1000000000L
+                                + " seconds processing time at "
+                                + (long) pearlDiver.getHashesPerSecond()
+                                + " hashes per second.";
+                        log.info(sb);
+                        counter_PoW = 0;
+                        ellapsedTime_PoW = 0L;
+                    }
                 }
             }
         }
@@ -1391,6 +1411,7 @@ public class API {
      */
     public void shutDown() {
         tipSelExecService.shutdownNow();
+        pearlDiver.shutdown();
         if (connector != null) {
             connector.stop();
         }
@@ -1550,6 +1571,10 @@ public class API {
         return request -> getNeighborsStatement();
     }
 
+    private Function<Map<String, Object>, AbstractResponse> getPipelineLatencies() {
+        return request -> getPipelineLatenciesStatement();
+    }
+
     private Function<Map<String, Object>, AbstractResponse> getNodeInfo() {
         return request -> {
             try {
@@ -62,6 +62,11 @@ public enum ApiCommand {
      */
     GET_MISSING_TRANSACTIONS("getMissingTransactions"),
     
+    /**
+     * Get the time transactions spend within the stages of the transaction processing pipeline
+     */
+    GET_PIPELINE_LATENCIES("getPipelineLatencies"),
+    
     /**
      * Get 2 transactions to approve for proof of work
      */
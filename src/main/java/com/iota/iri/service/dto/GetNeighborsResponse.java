@@ -98,6 +98,27 @@ public class GetNeighborsResponse extends AbstractResponse {
          */
         private long numberOfDroppedSentPackets;
 
+        /**
+         * Amount of transactions not broadcast to your neighbor, as it already had them.
+         */
+        private long numberOfSuppressedTransactions;
+
+        /**
+         * Amount of transactions not broadcast to your neighbor, as its send queue was almost full.
+         */
+        private long numberOfCongestionSkippedTransactions;
+
+        /**
+         * Transactions your neighbor has sent you which were dropped, as it exceeded its rate limit or too many of its
+         * transactions were waiting to be processed.
+         */
+        private long numberOfDroppedReceivedTransactions;
+
+        /**
+         * The priority of the transactions of your neighbor, lower if it sends invalid or already known transactions.
+         */
+        private double receivePriority;
+
         /**
          * The transport protocol used to the neighbor.
          */
@@ -127,6 +148,10 @@ public class GetNeighborsResponse extends AbstractResponse {
             ne.numberOfNewTransactions = metrics.getNewTransactionsCount();
             ne.numberOfSentTransactions = metrics.getSentTransactionsCount();
             ne.numberOfDroppedSentPackets = metrics.getDroppedSendPacketsCount();
+            ne.numberOfSuppressedTransactions = metrics.getSuppressedTransactionsCount();
+            ne.numberOfCongestionSkippedTransactions = metrics.getCongestionSkippedTransactionsCount();
+            ne.numberOfDroppedReceivedTransactions = metrics.getDroppedReceivedTransactionsCount();
+            ne.receivePriority = metrics.getReceivePriority();
             ne.numberOfRandomTransactionRequests = metrics.getRandomTransactionRequestsCount();
             ne.connectionType = "tcp";
             ne.connected = neighbor.getState() == NeighborState.READY_FOR_MESSAGES;
@@ -203,6 +228,34 @@ public class GetNeighborsResponse extends AbstractResponse {
             return numberOfDroppedSentPackets;
         }
 
+        /**
+         * {@link #numberOfSuppressedTransactions}
+         */
+        public long getNumberOfSuppressedTransactions() {
+            return numberOfSuppressedTransactions;
+        }
+
+        /**
+         * {@link #numberOfCongestionSkippedTransactions}
+         */
+        public long getNumberOfCongestionSkippedTransactions() {
+            return numberOfCongestionSkippedTransactions;
+        }
+
+        /**
+         * {@link #numberOfDroppedReceivedTransactions}
+         */
+        public long getNumberOfDroppedReceivedTransactions() {
+            return numberOfDroppedReceivedTransactions;
+        }
+
+        /**
+         * {@link #receivePriority}
+         */
+        public double getReceivePriority() {
+            return receivePriority;
+        }
+
         /**
          * {@link #connected}
          */
@@ -0,0 +1,275 @@
+package com.iota.iri.service.dto;
+
+import com.iota.iri.network.pipeline.HashingStage;
+import com.iota.iri.network.pipeline.StageLatencyHistogram;
+import com.iota.iri.network.pipeline.StageLatencyTracker;
+import com.iota.iri.network.pipeline.TransactionProcessingPipeline;
+
+/**
+ * Contains information about the result of a successful {@code getPipelineLatencies} API call.
+ * See {@link GetPipelineLatenciesResponse#create(StageLatencyTracker, HashingStage)} for how this response is created.
+ *
+ */
+public class GetPipelineLatenciesResponse extends AbstractResponse {
+
+    /**
+     * The stages of the transaction processing pipeline, as well as their latencies.
+     *
+     * @see Stage
+     */
+    private Stage[] stages;
+
+    /**
+     * How well the transactions were batched up for hashing during the last statistics interval.
+     *
+     * @see Hashing
+     */
+    private Hashing hashing;
+
+    /**
+     * @return {@link #stages}
+     * @see Stage
+     */
+    public Stage[] getStages() {
+        return stages;
+    }
+
+    /**
+     * @return {@link #hashing}
+     * @see Hashing
+     */
+    public Hashing getHashing() {
+        return hashing;
+    }
+
+    /**
+     * Creates a new {@link GetPipelineLatenciesResponse}
+     *
+     * @param tracker the {@link StageLatencyTracker} of the transaction processing pipeline
+     * @param hashingStage the {@link HashingStage} of the transaction processing pipeline
+     * @return an {@link GetPipelineLatenciesResponse} filled with the latencies of all tracked stages
+     */
+    public static AbstractResponse create(StageLatencyTracker tracker, HashingStage hashingStage) {
+        GetPipelineLatenciesResponse res = new GetPipelineLatenciesResponse();
+
+        res.stages = new Stage[tracker.getTrackedStages().size()];
+        int i = 0;
+        for (TransactionProcessingPipeline.Stage stage : tracker.getTrackedStages()) {
+            res.stages[i++] = Stage.createFrom(stage, tracker);
+        }
+        res.hashing = Hashing.createFrom(hashingStage);
+
+        return res;
+    }
+
+    /**
+     * A plain DTO of the latencies of a pipeline stage.
+     */
+    @SuppressWarnings("unused")
+    public static class Stage {
+
+        /**
+         * The name of the stage.
+         */
+        private String name;
+
+        /**
+         * The time transactions waited for the stage.
+         */
+        private Latency queueWait;
+
+        /**
+         * The time the stage needed to process a transaction.
+         */
+        private Latency processingTime;
+
+        /**
+         * The time since a transaction was received when the stage was done with it.
+         */
+        private Latency age;
+
+        /**
+         * Creates a new {@link Stage} DTO.
+         *
+         * @param stage   the stage
+         * @param tracker the {@link StageLatencyTracker} holding the latencies of the stage
+         * @return a new {@link Stage} DTO
+         */
+        public static Stage createFrom(TransactionProcessingPipeline.Stage stage, StageLatencyTracker tracker) {
+            Stage s = new Stage();
+            s.name = stage.name();
+            s.queueWait = Latency.createFrom(tracker.getQueueWait(stage));
+            s.processingTime = Latency.createFrom(tracker.getProcessingTime(stage));
+            s.age = Latency.createFrom(tracker.getAge(stage));
+            return s;
+        }
+
+        /**
+         * @return {@link #name}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return {@link #queueWait}
+         */
+        public Latency getQueueWait() {
+            return queueWait;
+        }
+
+        /**
+         * @return {@link #processingTime}
+         */
+        public Latency getProcessingTime() {
+            return processingTime;
+        }
+
+        /**
+         * @return {@link #age}
+         */
+        public Latency getAge() {
+            return age;
+        }
+    }
+
+    /**
+     * A plain DTO of the batching statistics of the hashing stage.
+     */
+    @SuppressWarnings("unused")
+    public static class Hashing {
+
+        /**
+         * The ratio of used to available slots of the hashed batches, between 0 and 1.
+         */
+        private double batchFillRatio;
+
+        /**
+         * The average time in microseconds transactions waited to be hashed.
+         */
+        private long averageQueueingLatency;
+
+        /**
+         * Creates a new {@link Hashing} DTO.
+         *
+         * @param hashingStage the {@link HashingStage} to report
+         * @return a new {@link Hashing} DTO
+         */
+        public static Hashing createFrom(HashingStage hashingStage) {
+            Hashing h = new Hashing();
+            h.batchFillRatio = hashingStage.getBatchFillRatio();
+            h.averageQueueingLatency = hashingStage.getAverageQueueingLatencyMicros();
+            return h;
+        }
+
+        /**
+         * @return {@link #batchFillRatio}
+         */
+        public double getBatchFillRatio() {
+            return batchFillRatio;
+        }
+
+        /**
+         * @return {@link #averageQueueingLatency}
+         */
+        public long getAverageQueueingLatency() {
+            return averageQueueingLatency;
+        }
+    }
+
+    /**
+     * A plain DTO of a latency distribution, all values are in microseconds.
+     */
+    @SuppressWarnings("unused")
+    public static class Latency {
+
+        /**
+         * The amount of measured latencies.
+         */
+        private long count;
+
+        /**
+         * The average latency.
+         */
+        private double mean;
+
+        /**
+         * The median latency.
+         */
+        private long p50;
+
+        /**
+         * The latency 90% of the measurements don't exceed.
+         */
+        private long p90;
+
+        /**
+         * The latency 99% of the measurements don't exceed.
+         */
+        private long p99;
+
+        /**
+         * The largest latency.
+         */
+        private long max;
+
+        /**
+         * Creates a new {@link Latency} DTO.
+         *
+         * @param histogram the {@link StageLatencyHistogram} holding the latencies
+         * @return a new {@link Latency} DTO
+         */
+        public static Latency createFrom(StageLatencyHistogram histogram) {
+            Latency l = new Latency();
+            l.count = histogram.getCount();
+            l.mean = histogram.getMean();
+            l.p50 = histogram.getValueAtPercentile(50);
+            l.p90 = histogram.getValueAtPercentile(90);
+            l.p99 = histogram.getValueAtPercentile(99);
+            l.max = histogram.getMax();
+            return l;
+        }
+
+        /**
+         * @return {@link #count}
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return {@link #mean}
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * @return {@link #p50}
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * @return {@link #p90}
+         */
+        public long getP90() {
+            return p90;
+        }
+
+        /**
+         * @return {@link #p99}
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * @return {@link #max}
+         */
+        public long getMax() {
+            return max;
+        }
+    }
+}
@@ -194,13 +194,20 @@ public class LedgerServiceImpl implements LedgerService {
                             return null;
                         }
 
-                        for (final TransactionViewModel bundleTransactionViewModel : bundleTransactions) {
-                            if (bundleTransactionViewModel.value() != 0) {
-
-                                final Hash address = bundleTransactionViewModel.getAddressHash();
-                                final Long value = state.get(address);
-                                state.put(address, value == null ? bundleTransactionViewModel.value()
-                                        : Math.addExact(value, bundleTransactionViewModel.value()));
+                        BundleValidator.ValidatedBundle validatedBundle = bundleValidator.getValidatedBundle(
+                                transactionViewModel.getHash());
+                        if (validatedBundle != null) {
+                            validatedBundle.getBalanceDiff().forEach((address, value) ->
+                                    state.merge(address, value, Math::addExact));
+                        } else {
+                            for (final TransactionViewModel bundleTransactionViewModel : bundleTransactions) {
+                                if (bundleTransactionViewModel.value() != 0) {
+
+                                    final Hash address = bundleTransactionViewModel.getAddressHash();
+                                    final Long value = state.get(address);
+                                    state.put(address, value == null ? bundleTransactionViewModel.value()
+                                            : Math.addExact(value, bundleTransactionViewModel.value()));
+                                }
                             }
                         }
                         nonAnalyzedTransactions.addAll(DAGHelper.get(tangle).findTails(transactionViewModel));
@@ -3,6 +3,7 @@ package com.iota.iri.service.milestone.impl;
 import com.iota.iri.BundleValidator;
 import com.iota.iri.conf.MilestoneConfig;
 import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.StateDiffCheckpointViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.crypto.Curl;
 import com.iota.iri.crypto.ISS;
@@ -28,6 +29,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.iota.iri.controllers.TransactionViewModel.OBSOLETE_TAG_TRINARY_OFFSET;
 import static com.iota.iri.service.milestone.MilestoneValidity.*;
@@ -362,6 +364,7 @@ public class MilestoneServiceImpl implements MilestoneService {
 
         Set<Integer> inconsistentMilestones = new HashSet<>();
         Set<TransactionViewModel> transactionsToUpdate = new HashSet<>();
+        AtomicInteger milestoneTransactions = new AtomicInteger(1);
 
         try {
             prepareMilestoneIndexUpdate(TransactionViewModel.fromHash(tangle, milestoneHash), correctIndex, newIndex,
@@ -380,8 +383,11 @@ public class MilestoneServiceImpl implements MilestoneService {
 
                     return true;
                 },
-                currentTransaction -> prepareMilestoneIndexUpdate(currentTransaction, correctIndex, newIndex,
-                        inconsistentMilestones, transactionsToUpdate),
+                currentTransaction -> {
+                    milestoneTransactions.incrementAndGet();
+                    prepareMilestoneIndexUpdate(currentTransaction, correctIndex, newIndex, inconsistentMilestones,
+                            transactionsToUpdate);
+                },
                 processedTransactions
             );
         } catch (Exception e) {
@@ -395,6 +401,16 @@ public class MilestoneServiceImpl implements MilestoneService {
         for (TransactionViewModel transactionToUpdate : transactionsToUpdate) {
             updateMilestoneIndexOfSingleTransaction(transactionToUpdate, newIndex);
         }
+
+        // only transactions that get their index set are added to the bucket, so it is complete if none had it already
+        if (newIndex != 0 && transactionsToUpdate.size() == milestoneTransactions.get()) {
+            try {
+                MilestoneViewModel.markBucketComplete(tangle, newIndex);
+            } catch (Exception e) {
+                throw new MilestoneException("error while marking the bucket of milestone #" + newIndex
+                        + " as complete", e);
+            }
+        }
     }
 
     /**
@@ -423,8 +439,11 @@ public class MilestoneServiceImpl implements MilestoneService {
         tangle.publish("sn %d %s %s %s %s %s", index, transaction.getHash(), transaction.getAddressHash(),
                 transaction.getTrunkTransactionHash(), transaction.getBranchTransactionHash(),
                 transaction.getBundleHash());
-        tangle.publish("sn_trytes %s %s %d", Converter.trytes(transaction.trits()), transaction.getHash(),
-                transaction.getTransaction().snapshot.get());
+        // converting the trytes is expensive, so it is only done if somebody receives them
+        if (tangle.hasSubscriber("sn_trytes")) {
+            tangle.publish("sn_trytes %s %s %d", Converter.trytes(transaction.trits()), transaction.getHash(),
+                    transaction.getTransaction().snapshot.get());
+        }
     }
 
     /**
@@ -543,6 +562,7 @@ public class MilestoneServiceImpl implements MilestoneService {
                  updateMilestoneIndexOfMilestoneTransactions(milestoneToRepair.getHash(), milestoneToRepair.index(), 0,
                         processedTransactions);
                 tangle.delete(StateDiff.class, milestoneToRepair.getHash());
+                StateDiffCheckpointViewModel.invalidate(tangle, milestoneToRepair.index());
             }
         } catch (Exception e) {
             throw new MilestoneException("failed to repair corrupted milestone with index #" + index, e);
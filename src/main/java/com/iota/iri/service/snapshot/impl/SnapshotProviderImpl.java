@@ -369,12 +369,16 @@ public class SnapshotProviderImpl implements SnapshotProvider {
 
         String line;
         while ((line = reader.readLine()) != null) {
-            String[] parts = line.split(";", 2);
-            if (parts.length == 2) {
-                state.put(HashFactory.ADDRESS.create(parts[0]), Long.valueOf(parts[1]));
-            } else {
+            int separator = line.indexOf(';');
+            if (separator < 0) {
                 throw new SnapshotException("malformed snapshot state file");
             }
+            try {
+                state.put(HashFactory.ADDRESS.create(line.substring(0, separator)),
+                        Long.parseLong(line.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                throw new SnapshotException("malformed snapshot state file", e);
+            }
         }
 
         return new SnapshotStateImpl(state);
@@ -4,9 +4,11 @@ import com.iota.iri.conf.IotaConfig;
 import com.iota.iri.conf.SnapshotConfig;
 import com.iota.iri.controllers.ApproveeViewModel;
 import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.StateDiffCheckpointViewModel;
 import com.iota.iri.controllers.StateDiffViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
+import com.iota.iri.model.StateDiffCheckpoint;
 import com.iota.iri.service.milestone.MilestoneSolidifier;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotException;
@@ -26,7 +28,16 @@ import com.iota.iri.utils.log.interval.IntervalProgressLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -64,6 +75,23 @@ public class SnapshotServiceImpl implements SnapshotService {
      */
     private static final int MIN_LS_DEPTH_MAINNET = 50;
 
+    /**
+     * Maximum number of snapshot indexes cached while generating the solid entry points, the least recently used
+     * ones are evicted first.
+     */
+    private static final int SNAPSHOT_INDEX_CACHE_SIZE = 100_000;
+
+    /**
+     * Number of threads reading {@link com.iota.iri.model.StateDiff}s in parallel while replaying milestones.
+     */
+    private static final int STATE_DIFF_LOADER_THREADS = Math.max(1, Math.min(4,
+            Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Thread pool for reading {@link com.iota.iri.model.StateDiff}s, created on first use.
+     */
+    private ExecutorService stateDiffLoader;
+
     /**
      * Implements the snapshot service. See interface for more information.
      * @param tangle acts as a database interface.
@@ -85,28 +113,38 @@ public class SnapshotServiceImpl implements SnapshotService {
      * modify its values without having to create a "copy" of the initial state to possibly roll back the changes if
      * anything unexpected happens (creating a backup of the state requires a lot of memory).
      * </p>
+     * <p>
+     * Complete blocks of {@value StateDiffCheckpoint#INTERVAL} milestones are applied through their
+     * {@link StateDiffCheckpoint}, which gets created the first time a block is replayed. The single
+     * {@link com.iota.iri.model.StateDiff}s of the remaining milestones are loaded in parallel.
+     * </p>
      */
     @Override
     public void replayMilestones(Snapshot snapshot, int targetMilestoneIndex) throws SnapshotException {
         Map<Hash, Long> balanceChanges = new HashMap<>();
-        MilestoneViewModel lastAppliedMilestone = null;
 
         try {
-            for (int currentMilestoneIndex = snapshot.getIndex() + 1; currentMilestoneIndex <= targetMilestoneIndex;
-                 currentMilestoneIndex++) {
-
-                MilestoneViewModel currentMilestone = MilestoneViewModel.get(tangle, currentMilestoneIndex);
-                if (currentMilestone != null) {
-                    StateDiffViewModel stateDiffViewModel = StateDiffViewModel.load(tangle, currentMilestone.getHash());
-                    if(!stateDiffViewModel.isEmpty()) {
-                        stateDiffViewModel.getDiff().forEach((address, change) -> {
-                            balanceChanges.compute(address, (k, balance) -> (balance == null ? 0 : balance) + change);
-                        });
-                    }
+            int currentMilestoneIndex = snapshot.getIndex() + 1;
+            while (currentMilestoneIndex <= targetMilestoneIndex) {
+                int blockEnd = StateDiffCheckpoint.blockStart(currentMilestoneIndex) + StateDiffCheckpoint.INTERVAL - 1;
+                if (currentMilestoneIndex == StateDiffCheckpoint.blockStart(currentMilestoneIndex)
+                        && blockEnd <= targetMilestoneIndex) {
 
-                    lastAppliedMilestone = currentMilestone;
+                    addBalanceChanges(balanceChanges, loadStateDiffCheckpoint(currentMilestoneIndex));
                 } else {
-                    throw new SnapshotException("milestone # " + currentMilestoneIndex  + " is missing");
+                    for (Map<Hash, Long> stateDiff : loadStateDiffs(currentMilestoneIndex,
+                            Math.min(blockEnd, targetMilestoneIndex))) {
+                        addBalanceChanges(balanceChanges, stateDiff);
+                    }
+                }
+                currentMilestoneIndex = blockEnd + 1;
+            }
+
+            MilestoneViewModel lastAppliedMilestone = null;
+            if (targetMilestoneIndex > snapshot.getIndex()) {
+                lastAppliedMilestone = MilestoneViewModel.get(tangle, targetMilestoneIndex);
+                if (lastAppliedMilestone == null) {
+                    throw new SnapshotException("milestone # " + targetMilestoneIndex + " is missing");
                 }
             }
 
@@ -134,6 +172,117 @@ public class SnapshotServiceImpl implements SnapshotService {
         }
     }
 
+    /**
+     * Adds the given balance changes to the accumulated ones.
+     *
+     * @param balanceChanges the accumulated balance changes
+     * @param stateDiff the balance changes to add
+     */
+    private static void addBalanceChanges(Map<Hash, Long> balanceChanges, Map<Hash, Long> stateDiff) {
+        stateDiff.forEach((address, change) -> balanceChanges.merge(address, change, Long::sum));
+    }
+
+    /**
+     * Returns the accumulated balance changes of the block of milestones starting with the given index.
+     *
+     * If the block was not replayed before, its {@link StateDiffCheckpoint} is created from the single
+     * {@link com.iota.iri.model.StateDiff}s of its milestones and stored for subsequent replays.
+     *
+     * @param blockStart index of the first milestone of the block
+     * @return the accumulated balance changes of the block
+     * @throws Exception if a milestone of the block is missing or the database can not be accessed
+     */
+    private Map<Hash, Long> loadStateDiffCheckpoint(int blockStart) throws Exception {
+        StateDiffCheckpointViewModel checkpoint = StateDiffCheckpointViewModel.load(tangle, blockStart);
+        if (!checkpoint.isEmpty()) {
+            return checkpoint.getDiff();
+        }
+
+        Map<Hash, Long> blockChanges = new HashMap<>();
+        for (Map<Hash, Long> stateDiff : loadStateDiffs(blockStart, blockStart + StateDiffCheckpoint.INTERVAL - 1)) {
+            addBalanceChanges(blockChanges, stateDiff);
+        }
+        blockChanges.values().removeIf(change -> change == 0);
+
+        if (!blockChanges.isEmpty()) {
+            new StateDiffCheckpointViewModel(blockChanges, blockStart).store(tangle);
+        }
+
+        return blockChanges;
+    }
+
+    /**
+     * Loads the {@link com.iota.iri.model.StateDiff}s of the given range of milestones.
+     *
+     * The milestones are looked up in order, while the {@link com.iota.iri.model.StateDiff}s are read and
+     * deserialized in parallel, if more than one of them is needed.
+     *
+     * @param fromIndex index of the first milestone (inclusive)
+     * @param toIndex index of the last milestone (inclusive)
+     * @return the balance changes of the milestones which changed any balances
+     * @throws Exception if a milestone is missing or the database can not be accessed
+     */
+    private List<Map<Hash, Long>> loadStateDiffs(int fromIndex, int toIndex) throws Exception {
+        List<Hash> milestoneHashes = new ArrayList<>(toIndex - fromIndex + 1);
+        for (int milestoneIndex = fromIndex; milestoneIndex <= toIndex; milestoneIndex++) {
+            MilestoneViewModel milestone = MilestoneViewModel.get(tangle, milestoneIndex);
+            if (milestone == null) {
+                throw new SnapshotException("milestone # " + milestoneIndex  + " is missing");
+            }
+            milestoneHashes.add(milestone.getHash());
+        }
+
+        List<Map<Hash, Long>> stateDiffs = new ArrayList<>(milestoneHashes.size());
+        if (milestoneHashes.size() == 1) {
+            StateDiffViewModel stateDiffViewModel = StateDiffViewModel.load(tangle, milestoneHashes.get(0));
+            if (!stateDiffViewModel.isEmpty()) {
+                stateDiffs.add(stateDiffViewModel.getDiff());
+            }
+            return stateDiffs;
+        }
+
+        List<Future<StateDiffViewModel>> pendingStateDiffs = new ArrayList<>(milestoneHashes.size());
+        for (Hash milestoneHash : milestoneHashes) {
+            pendingStateDiffs.add(getStateDiffLoader().submit(() -> StateDiffViewModel.load(tangle, milestoneHash)));
+        }
+        try {
+            for (Future<StateDiffViewModel> pendingStateDiff : pendingStateDiffs) {
+                StateDiffViewModel stateDiffViewModel = pendingStateDiff.get();
+                if (!stateDiffViewModel.isEmpty()) {
+                    stateDiffs.add(stateDiffViewModel.getDiff());
+                }
+            }
+        } finally {
+            pendingStateDiffs.forEach(pendingStateDiff -> pendingStateDiff.cancel(true));
+        }
+
+        return stateDiffs;
+    }
+
+    /**
+     * Returns the thread pool which reads the {@link com.iota.iri.model.StateDiff}s while replaying milestones.
+     *
+     * The pool is only created once a replay needs more than a single {@link com.iota.iri.model.StateDiff}, and its
+     * threads are daemons, so it doesn't need to be shut down.
+     *
+     * @return the thread pool for loading {@link com.iota.iri.model.StateDiff}s
+     */
+    private synchronized ExecutorService getStateDiffLoader() {
+        if (stateDiffLoader == null) {
+            stateDiffLoader = Executors.newFixedThreadPool(STATE_DIFF_LOADER_THREADS, new ThreadFactory() {
+                private final AtomicInteger threadCounter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "State Diff Loader " + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return stateDiffLoader;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -172,6 +321,14 @@ public class SnapshotServiceImpl implements SnapshotService {
     public Snapshot takeLocalSnapshot(MilestoneSolidifier milestoneSolidifier, TransactionPruner transactionPruner, int targetMilestoneIndex)
             throws SnapshotException {
 
+        // resume an interrupted snapshot instead of starting over with a slightly newer target
+        int checkpointIndex = SolidEntryPointsCheckpoint.readTargetIndex(getCheckpointPath());
+        if (checkpointIndex > snapshotProvider.getInitialSnapshot().getIndex()
+                && checkpointIndex <= targetMilestoneIndex) {
+            log.info("Resuming the local snapshot for milestone #{}", checkpointIndex);
+            targetMilestoneIndex = checkpointIndex;
+        }
+
         MilestoneViewModel targetMilestone = determineMilestoneForLocalSnapshot(tangle, snapshotProvider, targetMilestoneIndex);
         
         Snapshot newSnapshot = generateSnapshot(milestoneSolidifier, targetMilestone);
@@ -182,6 +339,7 @@ public class SnapshotServiceImpl implements SnapshotService {
         }
 
         persistLocalSnapshot(snapshotProvider, newSnapshot);
+        SolidEntryPointsCheckpoint.delete(getCheckpointPath());
         return newSnapshot;
     }
 
@@ -575,55 +733,148 @@ public class SnapshotServiceImpl implements SnapshotService {
     }
     
     /**
-     * Generates entrypoints based on target index down to the maximum depth of the node
-     * 
+     * <p>
+     * Generates entrypoints based on target index down to the maximum depth of the node.
+     * </p>
+     * <p>
+     * The milestones are analyzed in parallel, every task owning a single milestone and collecting its own solid entry
+     * points, which get merged once the task is done. The tasks share a cache of the snapshot indexes of the
+     * analyzed approvers. Every finished milestone is recorded in a {@link SolidEntryPointsCheckpoint}, which allows a
+     * restarted node to skip the milestones that were analyzed already for the same target.
+     * </p>
+     *
      * @param targetIndex The milestone index we target to generate entrypoints until.
      * @param progressLogger The logger we use to write progress of entrypoint generation
-     * @return a map of entrypoints or <code>null</code> when we were interrupted
+     * @return a map of entrypoints or <code>null</code> when a milestone is missing
      * @throws Exception When we fail to get entry points due to errors generally caused by db interaction
      */
     private Map<Hash, Integer> getSolidEntryPoints(int targetIndex, ProgressLogger progressLogger) throws Exception {
-        Map<Hash, Integer> solidEntryPoints = new HashMap<>();
-        solidEntryPoints.put(Hash.NULL_HASH, targetIndex);
         log.info("Generating entrypoints for {}", targetIndex);
         
         int sepDepth = getSepDepth();
         // Co back a but below the milestone. Limited to maxDepth or genisis
         int startIndex = Math.max(snapshotProvider.getInitialSnapshot().getIndex(), targetIndex - sepDepth
                 ) + 1; // cant start at last snapshot now can we, could be 0!
-        
-        progressLogger.start(startIndex);
-        
-        // Iterate from a reasonable old milestone to the target index to check for solid entry points
-        for (int milestoneIndex = startIndex; milestoneIndex <= targetIndex; milestoneIndex++) {
-            if (Thread.currentThread().isInterrupted()) {
-                throw new InterruptedException();
-            }
-            
-            MilestoneViewModel milestone = MilestoneViewModel.get(tangle, milestoneIndex);
-            if (milestone == null) {
-                log.warn("Failed to find milestone {} during entry point analyzation", milestoneIndex);
-                return null;
+
+        SolidEntryPointsCheckpoint checkpoint = new SolidEntryPointsCheckpoint(getCheckpointPath(), targetIndex,
+                startIndex);
+        checkpoint.load();
+
+        progressLogger.start(targetIndex - startIndex + 1);
+
+        int numberOfThreads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                targetIndex - startIndex + 1));
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads, new ThreadFactory() {
+            private final AtomicInteger threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Solid Entry Point Analyzer " + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
             }
-            
-            List<Hash> approvees = getMilestoneApprovees(milestoneIndex, milestone);
-            for (Hash approvee : approvees) {
-                if (Thread.currentThread().isInterrupted()) {
-                    throw new InterruptedException();
+        });
+        try {
+            CompletionService<Map<Hash, Integer>> completionService = new ExecutorCompletionService<>(
+                    executorService);
+            Map<Hash, Integer> snapshotIndexCache = createSnapshotIndexCache();
+
+            // Iterate from a reasonable old milestone to the target index to check for solid entry points
+            int submittedTasks = 0;
+            for (int milestoneIndex = startIndex; milestoneIndex <= targetIndex; milestoneIndex++) {
+                if (checkpoint.isProcessed(milestoneIndex)) {
+                    progressLogger.progress();
+                    continue;
                 }
-                
-                if (isSolidEntryPoint(approvee, targetIndex)) {
-                    // A solid entry point should only be a tail transaction, otherwise the whole bundle can't be reproduced with a snapshot file
-                    TransactionViewModel tvm = TransactionViewModel.fromHash(tangle, approvee);
-                    addTailsToSolidEntryPoints(milestoneIndex, solidEntryPoints, tvm);
+
+                final int index = milestoneIndex;
+                completionService.submit(() -> {
+                    Map<Hash, Integer> milestoneSolidEntryPoints = getSolidEntryPoints(index, targetIndex,
+                            snapshotIndexCache);
+                    if (milestoneSolidEntryPoints != null) {
+                        checkpoint.markProcessed(index, milestoneSolidEntryPoints);
+                    }
+                    return milestoneSolidEntryPoints;
+                });
+                submittedTasks++;
+            }
+
+            for (int i = 0; i < submittedTasks; i++) {
+                if (completionService.take().get() == null) {
+                    return null;
                 }
+                progressLogger.progress();
             }
-            progressLogger.progress();
+
+            Map<Hash, Integer> solidEntryPoints = checkpoint.getSolidEntryPoints();
+            solidEntryPoints.put(Hash.NULL_HASH, targetIndex);
+
+            return solidEntryPoints;
+        } finally {
+            executorService.shutdownNow();
+            checkpoint.close();
         }
-        
+    }
+
+    /**
+     * Creates the cache of the snapshot indexes that is shared by the solid entry point analyzers. The approvers of
+     * neighbouring milestones overlap, so the recently used entries are the ones worth keeping.
+     *
+     * @return a thread safe map which holds at most {@value #SNAPSHOT_INDEX_CACHE_SIZE} entries
+     */
+    private static Map<Hash, Integer> createSnapshotIndexCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<Hash, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Hash, Integer> eldest) {
+                return size() > SNAPSHOT_INDEX_CACHE_SIZE;
+            }
+        });
+    }
+
+    /**
+     * Analyzes the transactions confirmed by a single milestone and collects the ones which are solid entry points.
+     *
+     * @param milestoneIndex The index of the milestone to analyze
+     * @param targetIndex The milestone index we target to generate entrypoints until
+     * @param snapshotIndexCache cache of the snapshot indexes of already loaded transactions
+     * @return the entrypoints of the milestone or <code>null</code> if the milestone is missing
+     * @throws Exception When we fail to get entry points due to errors generally caused by db interaction
+     */
+    private Map<Hash, Integer> getSolidEntryPoints(int milestoneIndex, int targetIndex,
+            Map<Hash, Integer> snapshotIndexCache) throws Exception {
+
+        MilestoneViewModel milestone = MilestoneViewModel.get(tangle, milestoneIndex);
+        if (milestone == null) {
+            log.warn("Failed to find milestone {} during entry point analyzation", milestoneIndex);
+            return null;
+        }
+
+        Map<Hash, Integer> solidEntryPoints = new HashMap<>();
+        List<Hash> approvees = getMilestoneApprovees(milestoneIndex, milestone);
+        for (Hash approvee : approvees) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+
+            if (isSolidEntryPoint(approvee, targetIndex, snapshotIndexCache)) {
+                // A solid entry point should only be a tail transaction, otherwise the whole bundle can't be reproduced with a snapshot file
+                TransactionViewModel tvm = TransactionViewModel.fromHash(tangle, approvee);
+                addTailsToSolidEntryPoints(milestoneIndex, solidEntryPoints, tvm);
+            }
+        }
+
         return solidEntryPoints;
     }
 
+    /**
+     * The checkpoint of the solid entry point generation is kept next to the local snapshots database.
+     *
+     * @return location of the {@link SolidEntryPointsCheckpoint}
+     */
+    private Path getCheckpointPath() {
+        return Paths.get(config.getLocalSnapshotsDbPath() + ".sep-checkpoint");
+    }
+
     /**
      * Calculates minimum solid entrypoint depth based on network and maxDepth
      * 
@@ -639,18 +890,25 @@ public class SnapshotServiceImpl implements SnapshotService {
      * 
      * @param txHash The hash we check as an entrypoint
      * @param targetIndex
+     * @param snapshotIndexCache cache of the snapshot indexes of already loaded transactions
      * @return if the transaction is considered a solid entrypoint
      * @throws Exception on db error
      */
-    private boolean isSolidEntryPoint(Hash txHash, int targetIndex) throws Exception {
+    private boolean isSolidEntryPoint(Hash txHash, int targetIndex, Map<Hash, Integer> snapshotIndexCache)
+            throws Exception {
+
         ApproveeViewModel approvers = ApproveeViewModel.load(tangle, txHash);
         if (approvers.getHashes().isEmpty()) {
             return false;
         }
         
         for (Hash approver : approvers.getHashes()) {
-            TransactionViewModel tvm = TransactionViewModel.fromHash(tangle, approver);
-            if (tvm != null && tvm.snapshotIndex() > targetIndex) {
+            Integer snapshotIndex = snapshotIndexCache.get(approver);
+            if (snapshotIndex == null) {
+                snapshotIndex = TransactionViewModel.fromHash(tangle, approver).snapshotIndex();
+                snapshotIndexCache.put(approver, snapshotIndex);
+            }
+            if (snapshotIndex > targetIndex) {
                 // confirmed by a later milestone than targetIndex => solidEntryPoint
                 return true;
             }
@@ -0,0 +1,275 @@
+package com.iota.iri.service.snapshot.impl;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Keeps track of the milestones that were already analyzed while generating the solid entry points of a local
+ * snapshot, so that a restarted node can continue where it left off instead of starting all over again.
+ * </p>
+ * <p>
+ * The checkpoint is a text file which starts with the index of the snapshot target and the first analyzed milestone
+ * ({@code targetIndex;startIndex}). Every analyzed milestone appends the solid entry points it found (one
+ * {@code hash;milestoneIndex} line each), followed by a {@code #milestoneIndex} line which marks the milestone as
+ * done. Entries of a milestone without such a marker, as well as a last line that was cut off, were not fully
+ * written and get dropped when the checkpoint is read.
+ * </p>
+ */
+public class SolidEntryPointsCheckpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(SolidEntryPointsCheckpoint.class);
+
+    private static final String DONE_MARKER = "#";
+
+    private static final String SEPARATOR = ";";
+
+    private static final char LINE_BREAK = '\n';
+
+    private final Path path;
+
+    private final int targetIndex;
+
+    private final int startIndex;
+
+    private final Set<Integer> processedMilestones = new HashSet<>();
+
+    private final Map<Hash, Integer> solidEntryPoints = new HashMap<>();
+
+    private BufferedWriter writer;
+
+    /**
+     * Creates a checkpoint for the solid entry points of the snapshot with the given target index.
+     *
+     * Call {@link #load()} to pick up the progress of a previous run for the same target.
+     *
+     * @param path location of the checkpoint file
+     * @param targetIndex index of the milestone the snapshot is taken for
+     * @param startIndex index of the first milestone that is analyzed
+     */
+    public SolidEntryPointsCheckpoint(Path path, int targetIndex, int startIndex) {
+        this.path = path;
+        this.targetIndex = targetIndex;
+        this.startIndex = startIndex;
+    }
+
+    /**
+     * Reads the target index of the checkpoint at the given location.
+     *
+     * @param path location of the checkpoint file
+     * @return the target index of the checkpoint or {@code -1} if there is no readable checkpoint
+     */
+    public static int readTargetIndex(Path path) {
+        String header = readHeader(path);
+        try {
+            return header == null ? -1 : Integer.parseInt(header.split(SEPARATOR, 2)[0].trim());
+        } catch (NumberFormatException e) {
+            log.warn("could not read the solid entry points checkpoint {}", path, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Removes the checkpoint at the given location once the snapshot was persisted.
+     *
+     * @param path location of the checkpoint file
+     */
+    public static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("could not delete the solid entry points checkpoint {}", path, e);
+        }
+    }
+
+    /**
+     * Restores the analyzed milestones of a previous run and opens the checkpoint for writing.
+     *
+     * A checkpoint which belongs to a different target or analyzes a different range of milestones gets discarded.
+     *
+     * @throws IOException if the checkpoint can not be read or written
+     */
+    public void load() throws IOException {
+        if (header().equals(readHeader(path))) {
+            long validLength = restore();
+            // drop what was not fully written, so new entries don't get appended to a partly written milestone
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } else {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            writeLine(header());
+            writer.flush();
+        }
+    }
+
+    /**
+     * @return the index of the milestone the snapshot is taken for
+     */
+    public int getTargetIndex() {
+        return targetIndex;
+    }
+
+    /**
+     * @param milestoneIndex index of the milestone to check
+     * @return true if the milestone was analyzed already
+     */
+    public synchronized boolean isProcessed(int milestoneIndex) {
+        return processedMilestones.contains(milestoneIndex);
+    }
+
+    /**
+     * @return the solid entry points of all milestones that were analyzed already
+     */
+    public synchronized Map<Hash, Integer> getSolidEntryPoints() {
+        return new HashMap<>(solidEntryPoints);
+    }
+
+    /**
+     * Records the solid entry points found for a milestone and marks the milestone as done.
+     *
+     * @param milestoneIndex index of the analyzed milestone
+     * @param milestoneSolidEntryPoints the solid entry points found for the milestone
+     * @throws IOException if the checkpoint can not be written
+     */
+    public synchronized void markProcessed(int milestoneIndex, Map<Hash, Integer> milestoneSolidEntryPoints)
+            throws IOException {
+
+        for (Map.Entry<Hash, Integer> entry : milestoneSolidEntryPoints.entrySet()) {
+            writeLine(entry.getKey().toString() + SEPARATOR + entry.getValue());
+        }
+        writeLine(DONE_MARKER + milestoneIndex);
+        writer.flush();
+
+        processedMilestones.add(milestoneIndex);
+        milestoneSolidEntryPoints.forEach((hash, index) -> solidEntryPoints.merge(hash, index, Math::max));
+    }
+
+    /**
+     * Closes the checkpoint and keeps it on the disk, so a later run can continue from it.
+     */
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("could not close the solid entry points checkpoint {}", path, e);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Closes and removes the checkpoint once the snapshot was persisted.
+     */
+    public synchronized void delete() {
+        close();
+        delete(path);
+    }
+
+    private String header() {
+        return targetIndex + SEPARATOR + startIndex;
+    }
+
+    /**
+     * Reads the milestones that were completely written by a previous run.
+     *
+     * @return the length of the checkpoint up to the marker of the last completely written milestone
+     * @throws IOException if the checkpoint can not be read
+     */
+    private long restore() throws IOException {
+        Map<Hash, Integer> pendingSolidEntryPoints = new HashMap<>();
+        // the checkpoint only contains ASCII characters, so the characters read equal the bytes
+        long length = header().length() + 1;
+        long validLength = length;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            // skip the header
+            readLine(reader);
+
+            String line;
+            while ((line = readLine(reader)) != null) {
+                length += line.length() + 1;
+                if (line.startsWith(DONE_MARKER)) {
+                    processedMilestones.add(Integer.parseInt(line.substring(DONE_MARKER.length())));
+                    pendingSolidEntryPoints.forEach((hash, index) -> solidEntryPoints.merge(hash, index,
+                            Math::max));
+                    pendingSolidEntryPoints.clear();
+                    validLength = length;
+                } else {
+                    String[] parts = line.split(SEPARATOR, 2);
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("malformed entry " + line);
+                    }
+                    pendingSolidEntryPoints.put(HashFactory.TRANSACTION.create(parts[0]),
+                            Integer.parseInt(parts[1]));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("the solid entry points checkpoint {} is corrupted and only partly restored", path, e);
+        }
+        return validLength;
+    }
+
+    /**
+     * @param path location of the checkpoint file
+     * @return the first line of the checkpoint or {@code null} if there is no readable checkpoint
+     */
+    private static String readHeader(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return readLine(reader);
+        } catch (IOException e) {
+            log.warn("could not read the solid entry points checkpoint {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a line which was completely written, unlike {@link BufferedReader#readLine()} which also returns a last
+     * line that was cut off.
+     *
+     * @param reader the reader of the checkpoint
+     * @return the line without its line break or {@code null} if there is no complete line left
+     * @throws IOException if the checkpoint can not be read
+     */
+    private static String readLine(BufferedReader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == LINE_BREAK) {
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a line with a fixed line break, so the checkpoint is read the same way on all platforms.
+     */
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.write(LINE_BREAK);
+    }
+}
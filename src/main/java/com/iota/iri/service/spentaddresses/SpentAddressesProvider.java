@@ -52,4 +52,8 @@ public interface SpentAddressesProvider {
      */
     void init(boolean assertSpentAddressesExistence) throws SpentAddressesException;
 
+    /**
+     * Frees the resources of the provider and persists the data that should survive a restart.
+     */
+    void shutdown();
 }
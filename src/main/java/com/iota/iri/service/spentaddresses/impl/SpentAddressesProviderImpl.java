@@ -1,10 +1,13 @@
 package com.iota.iri.service.spentaddresses.impl;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -13,7 +16,9 @@ import com.iota.iri.conf.SnapshotConfig;
 import com.iota.iri.model.AddressHash;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
+import com.iota.iri.model.IntegerIndex;
 import com.iota.iri.model.persistables.SpentAddress;
+import com.iota.iri.model.persistables.SpentAddressesFilter;
 import com.iota.iri.service.spentaddresses.SpentAddressesException;
 import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
 import com.iota.iri.storage.Tangle;
@@ -21,6 +26,8 @@ import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.Persistable;
 import com.iota.iri.storage.LocalSnapshotsPersistenceProvider;
 import com.iota.iri.utils.Pair;
+import com.iota.iri.utils.datastructure.CuckooFilter;
+import com.iota.iri.utils.datastructure.impl.PackedCuckooFilterImpl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,14 +38,50 @@ import org.slf4j.LoggerFactory;
  * Addresses are saved/found on the {@link Tangle}.
  * The folder location is provided by {@link IotaConfig#getLocalSnapshotsDbPath()}
  *
+ * <p>
+ * If enabled, a {@link CuckooFilter} of all spent addresses is kept in front of the database. Addresses which are not
+ * in the filter were never spent from, so most lookups are answered without accessing the database. The filter is
+ * stored in the database on shutdown and rebuilt from the stored addresses if it is missing.
+ * </p>
  */
 public class SpentAddressesProviderImpl implements SpentAddressesProvider {
 
     private static final Logger log = LoggerFactory.getLogger(SpentAddressesProvider.class);
 
+    /**
+     * Key of the persisted {@link SpentAddressesFilter}.
+     */
+    private static final IntegerIndex FILTER_KEY = new IntegerIndex(1);
+
+    /**
+     * Minimum amount of addresses the filter is created for, so it does not have to grow right after the start.
+     */
+    private static final int MIN_FILTER_CAPACITY = 1 << 20;
+
     private final SnapshotConfig config;
     private LocalSnapshotsPersistenceProvider localSnapshotsPersistenceProvider;
 
+    /**
+     * Guards the modifications of the {@link #spentAddressesFilter} and the {@link #pendingFilterAddresses}. Lookups
+     * don't need it, since the filter itself is thread safe.
+     */
+    private final Object filterLock = new Object();
+
+    /**
+     * Filter of all spent addresses, {@code null} if the filter is disabled or currently rebuilt.
+     */
+    private volatile CuckooFilter spentAddressesFilter;
+
+    /**
+     * Addresses that were saved while the filter is rebuilt, {@code null} if no rebuild is running.
+     */
+    private List<Hash> pendingFilterAddresses;
+
+    /**
+     * Set once the filter was persisted, addresses saved afterwards invalidate the persisted filter.
+     */
+    private boolean filterPersisted = false;
+
     /**
      * Implements the spent addresses provider interface.
      * @param configuration The snapshot configuration used for file location
@@ -60,12 +103,170 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
                 //explicitly exiting rather than throwing an exception
                 System.exit(1);
             }
+            if (config.getSpentAddressesFilterEnabled()) {
+                spentAddressesFilter = loadFilter();
+            }
             readPreviousEpochsSpentAddresses();
+            if (config.getSpentAddressesFilterEnabled() && spentAddressesFilter == null) {
+                spentAddressesFilter = buildFilter(MIN_FILTER_CAPACITY);
+            }
         } catch (Exception e) {
             throw new SpentAddressesException("There is a problem with accessing stored spent addresses", e);
         }
     }
 
+    @Override
+    public void shutdown() {
+        synchronized (filterLock) {
+            if (spentAddressesFilter != null && !filterPersisted) {
+                try {
+                    ByteArrayOutputStream serializedFilter = new ByteArrayOutputStream();
+                    spentAddressesFilter.write(serializedFilter);
+
+                    SpentAddressesFilter filterModel = new SpentAddressesFilter();
+                    filterModel.filter = serializedFilter.toByteArray();
+                    localSnapshotsPersistenceProvider.save(filterModel, FILTER_KEY);
+                    filterPersisted = true;
+                } catch (Exception e) {
+                    log.warn("Failed to persist the spent addresses filter, it will be rebuilt on the next start", e);
+                }
+            }
+            spentAddressesFilter = null;
+        }
+    }
+
+    /**
+     * Restores the filter that was persisted on the last shutdown.
+     *
+     * The persisted filter is removed right away, so the filter gets rebuilt if the node is not shut down cleanly.
+     *
+     * @return the restored filter or {@code null} if there is none
+     * @throws Exception if the database can not be accessed
+     */
+    private CuckooFilter loadFilter() throws Exception {
+        SpentAddressesFilter filterModel = (SpentAddressesFilter) localSnapshotsPersistenceProvider.get(
+                SpentAddressesFilter.class, FILTER_KEY);
+        if (filterModel == null || !filterModel.exists()) {
+            return null;
+        }
+        localSnapshotsPersistenceProvider.delete(SpentAddressesFilter.class, FILTER_KEY);
+
+        try {
+            CuckooFilter filter = PackedCuckooFilterImpl.read(new ByteArrayInputStream(filterModel.filter));
+            log.info("Restored the spent addresses filter with {} entries", filter.size());
+            return filter;
+        } catch (Exception e) {
+            log.warn("The persisted spent addresses filter is corrupted and gets rebuilt", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates a filter containing all stored spent addresses.
+     *
+     * The stored addresses are streamed into the filter, which is sized from the estimated amount of stored addresses,
+     * so they never have to be held in memory at once.
+     *
+     * @param minCapacity the minimum amount of addresses the filter should be able to hold
+     * @return the filter or {@code null} if the stored addresses do not fit
+     */
+    private CuckooFilter buildFilter(int minCapacity) {
+        long capacity = Math.max(minCapacity, estimateStoredAddresses() * 2);
+        CuckooFilter filter = new PackedCuckooFilterImpl((int) Math.min(Integer.MAX_VALUE, capacity));
+        if (!localSnapshotsPersistenceProvider.forEachKey(SpentAddress.class,
+                address -> addToFilter(filter, address))) {
+            return null;
+        }
+        log.info("Built the spent addresses filter with {} entries", filter.size());
+        return filter;
+    }
+
+    /**
+     * @return the estimated amount of stored spent addresses, 0 if the database can not tell
+     */
+    private long estimateStoredAddresses() {
+        try {
+            return localSnapshotsPersistenceProvider.count(SpentAddress.class);
+        } catch (Exception e) {
+            log.warn("Failed to estimate the amount of spent addresses", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Adds the given addresses to the filter, before they get stored in the database.
+     *
+     * If the filter is full, it gets rebuilt with twice its capacity in the background. Until then, all lookups go to
+     * the database.
+     *
+     * @param addressHashes the addresses that are about to be stored
+     */
+    private void addToFilter(Collection<Hash> addressHashes) throws Exception {
+        synchronized (filterLock) {
+            if (filterPersisted) {
+                // the persisted filter does not contain these addresses anymore
+                localSnapshotsPersistenceProvider.delete(SpentAddressesFilter.class, FILTER_KEY);
+                filterPersisted = false;
+            }
+
+            if (pendingFilterAddresses != null) {
+                pendingFilterAddresses.addAll(addressHashes);
+                return;
+            }
+            if (spentAddressesFilter == null) {
+                return;
+            }
+
+            for (Hash addressHash : addressHashes) {
+                if (!addToFilter(spentAddressesFilter, addressHash.bytes())) {
+                    rebuildFilter(spentAddressesFilter.getCapacity() * 2);
+                    pendingFilterAddresses.addAll(addressHashes);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean addToFilter(CuckooFilter filter, byte[] address) {
+        try {
+            return filter.add(address);
+        } catch (IndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the full filter with a bigger one that is built in a background thread.
+     *
+     * @param capacity the capacity of the new filter
+     */
+    private void rebuildFilter(int capacity) {
+        log.info("The spent addresses filter is full, rebuilding it for {} entries", capacity);
+        spentAddressesFilter = null;
+        pendingFilterAddresses = new ArrayList<>();
+
+        Thread rebuilder = new Thread(() -> {
+            CuckooFilter filter = buildFilter(capacity);
+            synchronized (filterLock) {
+                List<Hash> pendingAddresses = pendingFilterAddresses;
+                pendingFilterAddresses = null;
+                if (filter == null) {
+                    log.warn("Failed to rebuild the spent addresses filter, all lookups go to the database");
+                    return;
+                }
+                for (Hash addressHash : pendingAddresses) {
+                    if (!addToFilter(filter, addressHash.bytes())) {
+                        log.warn("Failed to rebuild the spent addresses filter, all lookups go to the database");
+                        return;
+                    }
+                }
+                spentAddressesFilter = filter;
+            }
+        }, "Spent Addresses Filter Builder");
+        rebuilder.setDaemon(true);
+        rebuilder.start();
+    }
+
     private boolean doSpentAddressesExist(LocalSnapshotsPersistenceProvider provider) throws Exception {
         Pair<Indexable, Persistable> first = provider.first(SpentAddress.class, AddressHash.class);
         return first.hi != null && ((SpentAddress) first.hi).exists();
@@ -95,6 +296,11 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
 
     @Override
     public boolean containsAddress(Hash addressHash) throws SpentAddressesException {
+        CuckooFilter filter = spentAddressesFilter;
+        if (filter != null && !filter.contains(addressHash.bytes())) {
+            return false;
+        }
+
         try {
             return localSnapshotsPersistenceProvider.exists(SpentAddress.class, addressHash);
         } catch (Exception e) {
@@ -105,6 +311,7 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
     @Override
     public void saveAddress(Hash addressHash) throws SpentAddressesException {
         try {
+            addToFilter(Collections.singletonList(addressHash));
             localSnapshotsPersistenceProvider.save(new SpentAddress(), addressHash);
         } catch (Exception e) {
             throw new SpentAddressesException(e);
@@ -114,6 +321,8 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
     @Override
     public void saveAddressesBatch(Collection<Hash> addressHash) throws SpentAddressesException {
         try {
+            addToFilter(addressHash);
+
             // Its bytes are always new byte[0], therefore identical in storage
             SpentAddress spentAddressModel = new SpentAddress();
             localSnapshotsPersistenceProvider.saveBatch(addressHash
@@ -1,5 +1,6 @@
 package com.iota.iri.service.transactionpruning;
 
+import com.iota.iri.BundleValidator;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
@@ -92,6 +93,23 @@ public interface TransactionPrunerJob {
      */
     TipsViewModel getTipsViewModel();
 
+    /**
+     * Allows to set the {@link BundleValidator} whose cached validation results of pruned bundles need to be dropped.
+     *
+     * Like the {@link TipsViewModel}, it gets set automatically by the {@link TransactionPruner} upon addition of the
+     * job.
+     *
+     * @param bundleValidator validator caching the results of bundle validations
+     */
+    void setBundleValidator(BundleValidator bundleValidator);
+
+    /**
+     * This method returns the previously set {@link BundleValidator} instance.
+     *
+     * @return validator caching the results of bundle validations
+     */
+    BundleValidator getBundleValidator();
+
     /**
      * Allows to set the {@link Snapshot} that the node is using as a starting point for the state of the ledger.
      *
@@ -1,6 +1,7 @@
 package com.iota.iri.service.transactionpruning.async;
 
 import com.iota.iri.conf.SnapshotConfig;
+import com.iota.iri.BundleValidator;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.service.snapshot.SnapshotProvider;
 import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
@@ -79,6 +80,11 @@ public class AsyncTransactionPruner implements TransactionPruner {
      */
     private final TipsViewModel tipsViewModel;
 
+    /**
+     * Validator caching the results of bundle validations (required for dropping the results of pruned bundles).
+     */
+    private final BundleValidator bundleValidator;
+
     /**
      * Configuration with important snapshot related parameters.
      */
@@ -117,18 +123,21 @@ public class AsyncTransactionPruner implements TransactionPruner {
      * @param tangle Tangle object which acts as a database interface
      * @param snapshotProvider data provider for the snapshots that are relevant for the node
      * @param tipsViewModel manager for the tips (required for removing pruned transactions from this manager)
+     * @param bundleValidator validator caching bundle validations (required for dropping the pruned bundles)
      * @param config Configuration with important snapshot related configuration parameters
      */
     public AsyncTransactionPruner(Tangle tangle, SnapshotProvider snapshotProvider,
                                        SpentAddressesService spentAddressesService,
                                        SpentAddressesProvider spentAddressesProvider,
                                        TipsViewModel tipsViewModel,
+                                       BundleValidator bundleValidator,
                                        SnapshotConfig config) {
         this.tangle = tangle;
         this.snapshotProvider = snapshotProvider;
         this.spentAddressesService = spentAddressesService;
         this.spentAddressesProvider = spentAddressesProvider;
         this.tipsViewModel = tipsViewModel;
+        this.bundleValidator = bundleValidator;
         this.config = config;
     }
 
@@ -152,6 +161,7 @@ public class AsyncTransactionPruner implements TransactionPruner {
         job.setSpentAddressesProvider(spentAddressesProvider);
         job.setTangle(tangle);
         job.setTipsViewModel(tipsViewModel);
+        job.setBundleValidator(bundleValidator);
         job.setSnapshot(snapshotProvider.getInitialSnapshot());
 
         // this call is "unchecked" to a "raw" JobQueue and it is intended since the matching JobQueue is defined by the
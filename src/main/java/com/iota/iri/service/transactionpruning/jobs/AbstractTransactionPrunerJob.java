@@ -1,5 +1,6 @@
 package com.iota.iri.service.transactionpruning.jobs;
 
+import com.iota.iri.BundleValidator;
 import com.iota.iri.controllers.TipsViewModel;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
@@ -44,6 +45,11 @@ public abstract class AbstractTransactionPrunerJob implements TransactionPrunerJ
      */
     private TipsViewModel tipsViewModel;
 
+    /**
+     * Holds a reference to the validator whose cached results of pruned bundles need to be dropped.
+     */
+    private BundleValidator bundleValidator;
+
     /**
      * Holds a reference to the last local or global snapshot that acts as a starting point for the state of ledger.
      */
@@ -97,6 +103,16 @@ public abstract class AbstractTransactionPrunerJob implements TransactionPrunerJ
         return tipsViewModel;
     }
 
+    @Override
+    public void setBundleValidator(BundleValidator bundleValidator) {
+        this.bundleValidator = bundleValidator;
+    }
+
+    @Override
+    public BundleValidator getBundleValidator() {
+        return bundleValidator;
+    }
+
     @Override
     public void setSpentAddressesService(SpentAddressesService spentAddressesService) {
         this.spentAddressesService = spentAddressesService;
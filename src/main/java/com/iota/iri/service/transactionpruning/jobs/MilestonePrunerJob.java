@@ -1,9 +1,12 @@
 package com.iota.iri.service.transactionpruning.jobs;
 
 import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.StateDiffCheckpoint;
 import com.iota.iri.model.persistables.Milestone;
+import com.iota.iri.model.persistables.MilestoneBucket;
 import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.service.transactionpruning.TransactionPrunerJobStatus;
 import com.iota.iri.service.transactionpruning.TransactionPruningException;
@@ -156,6 +159,10 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
                         }
                     }
                 }
+
+                if (getStatus() == TransactionPrunerJobStatus.DONE) {
+                    cleanupMilestoneBuckets();
+                }
             } catch (TransactionPruningException e) {
                 setStatus(TransactionPrunerJobStatus.FAILED);
 
@@ -267,6 +274,7 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
             elementsToDelete.forEach(element -> {
                 if(Transaction.class.equals(element.hi)) {
                     getTipsViewModel().removeTipHash((Hash) element.low);
+                    getBundleValidator().invalidate((Hash) element.low);
 
                     if (!getSnapshot().hasSolidEntryPoint((Hash) element.low)) {
                         try {
@@ -290,7 +298,11 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
      * Collects all database items that belong to the current milestone and that shall be deleted.
      *
      * It does that by iterating through all the transactions that belong to the current milestone (that are directly or
-     * indirectly referenced by the chosen milestone) and collecting them in a List of items to delete.
+     * indirectly referenced by the chosen milestone) and collecting them in a List of items to delete. If the
+     * transactions were recorded in the {@link MilestoneBucket} of the milestone when they got confirmed, we read them
+     * from there instead of traversing the past cone of the milestone. A bucket that isn't marked as complete (because
+     * the milestone was confirmed before the buckets existed or its confirmation got interrupted) may miss some of the
+     * transactions, so we traverse the past cone in that case.
      *
      * @return list of elements that shall be deleted from the database
      * @throws TransactionPruningException if anything goes wrong while collecting the elements
@@ -306,18 +318,25 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
                 elementsToDelete.add(new Pair<>(milestoneViewModel.getHash(), Transaction.class));
                 elementsToDelete.add(new Pair<>(new IntegerIndex(milestoneViewModel.index()), Milestone.class));
 
-                DAGHelper.get(getTangle()).traverseApprovees(milestoneViewModel.getHash(),
-                        approvedTransaction -> approvedTransaction.snapshotIndex() >= milestoneViewModel.index(),
-                        approvedTransaction -> {
-                            if (approvedTransaction.value() < 0 &&
-                                    !spentAddressesProvider.containsAddress(approvedTransaction.getAddressHash())) {
-                                log.warn("Pruned spend transaction " + approvedTransaction.getHash() +
-                                                " did not have its spent address recorded. Persisting it now");
-                                spentAddressesService
-                                        .persistSpentAddresses(Collections.singletonList(approvedTransaction));
-                            }
-                                elementsToDelete.add(new Pair<>(approvedTransaction.getHash(), Transaction.class));
-                        });
+                MilestoneBucket milestoneBucket = (MilestoneBucket) getTangle().load(MilestoneBucket.class,
+                        new IntegerIndex(milestoneViewModel.index()));
+                if (milestoneBucket.isComplete()) {
+                    for (Hash hash : milestoneBucket.set) {
+                        if (hash.equals(MilestoneBucket.COMPLETE_MARKER)) {
+                            continue;
+                        }
+                        TransactionViewModel confirmedTransaction = TransactionViewModel.fromHash(getTangle(), hash);
+                        // the bucket may still list transactions whose milestone got reset in the meantime
+                        if (!hash.equals(milestoneViewModel.getHash())
+                                && confirmedTransaction.snapshotIndex() == milestoneViewModel.index()) {
+                            addTransactionToDelete(confirmedTransaction, elementsToDelete);
+                        }
+                    }
+                } else {
+                    DAGHelper.get(getTangle()).traverseApprovees(milestoneViewModel.getHash(),
+                            approvedTransaction -> approvedTransaction.snapshotIndex() >= milestoneViewModel.index(),
+                            approvedTransaction -> addTransactionToDelete(approvedTransaction, elementsToDelete));
+                }
             }
 
             return elementsToDelete;
@@ -325,4 +344,46 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
             throw new TransactionPruningException("failed to determine which elements to delete", e);
         }
     }
+
+    /**
+     * Adds the given transaction to the elements that shall be deleted.
+     *
+     * Before the transaction is deleted, we make sure that its address is recorded as spent if it is spending funds.
+     *
+     * @param transaction transaction that shall be deleted
+     * @param elementsToDelete list of elements that shall be deleted from the database [output parameter]
+     * @throws Exception if the spent address could not be persisted
+     */
+    private void addTransactionToDelete(TransactionViewModel transaction,
+            List<Pair<Indexable, ? extends Class<? extends Persistable>>> elementsToDelete) throws Exception {
+
+        if (transaction.value() < 0 && !spentAddressesProvider.containsAddress(transaction.getAddressHash())) {
+            log.warn("Pruned spend transaction " + transaction.getHash() +
+                    " did not have its spent address recorded. Persisting it now");
+            spentAddressesService.persistSpentAddresses(Collections.singletonList(transaction));
+        }
+        elementsToDelete.add(new Pair<>(transaction.getHash(), Transaction.class));
+    }
+
+    /**
+     * Removes the {@link MilestoneBucket}s of all milestones processed by this job, together with the
+     * {@link StateDiffCheckpoint}s of the blocks that were pruned completely.
+     *
+     * The buckets are ordered by milestone index, so the whole range is removed at once and the storage files that
+     * only contain pruned buckets can be released right away.
+     *
+     * @throws TransactionPruningException if the buckets could not be removed
+     */
+    private void cleanupMilestoneBuckets() throws TransactionPruningException {
+        try {
+            getTangle().deleteRange(MilestoneBucket.class, new IntegerIndex(getStartingIndex()),
+                    new IntegerIndex(getTargetIndex() + 1));
+            getTangle().deleteRange(StateDiffCheckpoint.class,
+                    new IntegerIndex(StateDiffCheckpoint.blockStart(getStartingIndex())),
+                    new IntegerIndex(StateDiffCheckpoint.blockStart(getTargetIndex() + 1)));
+        } catch (Exception e) {
+            throw new TransactionPruningException("failed to cleanup the milestone buckets #" + getStartingIndex()
+                    + " to #" + getTargetIndex(), e);
+        }
+    }
 }
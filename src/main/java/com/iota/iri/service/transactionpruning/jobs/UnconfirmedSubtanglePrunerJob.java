@@ -82,7 +82,10 @@ public class UnconfirmedSubtanglePrunerJob extends AbstractTransactionPrunerJob
                 getTangle().deleteBatch(elementsToDelete);
 
                 // clean runtime caches
-                elementsToDelete.forEach(element -> getTipsViewModel().removeTipHash((Hash) element.low));
+                elementsToDelete.forEach(element -> {
+                    getTipsViewModel().removeTipHash((Hash) element.low);
+                    getBundleValidator().invalidate((Hash) element.low);
+                });
 
                 setStatus(TransactionPrunerJobStatus.DONE);
             } catch (Exception e) {
@@ -312,7 +312,7 @@ public class TransactionSolidifierImpl implements TransactionSolidifier {
     @Override
     public void updateStatus(TransactionViewModel transactionViewModel) throws Exception {
         transactionRequester.clearTransactionRequest(transactionViewModel.getHash());
-        if(transactionViewModel.getApprovers(tangle).size() == 0) {
+        if(!transactionViewModel.hasApprovers(tangle)) {
             tipsViewModel.addTipHash(transactionViewModel.getHash());
         }
         tipsViewModel.removeTipHash(transactionViewModel.getTrunkTransactionHash());
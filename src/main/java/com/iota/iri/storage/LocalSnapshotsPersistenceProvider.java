@@ -2,9 +2,11 @@ package com.iota.iri.storage;
 
 import com.iota.iri.model.LocalSnapshot;
 import com.iota.iri.model.persistables.SpentAddress;
+import com.iota.iri.model.persistables.SpentAddressesFilter;
 import com.iota.iri.utils.Pair;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Abstraction for localsnapshots-db persistence provider.
@@ -16,6 +18,7 @@ public class LocalSnapshotsPersistenceProvider implements PersistenceProvider {
             new LinkedHashMap<String, Class<? extends Persistable>>() {{
                 put("spent-addresses", SpentAddress.class);
                 put("localsnapshots", LocalSnapshot.class);
+                put("spent-addresses-filter", SpentAddressesFilter.class);
             }};
 
     /**
@@ -123,6 +126,14 @@ public class LocalSnapshotsPersistenceProvider implements PersistenceProvider {
         return provider.get(model, index);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Persistable getMetadata(Class<?> model, Indexable index) throws Exception {
+        return provider.getMetadata(model, index);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -131,6 +142,14 @@ public class LocalSnapshotsPersistenceProvider implements PersistenceProvider {
         provider.deleteBatch(models);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteRange(Class<?> model, Indexable from, Indexable to) throws Exception {
+        provider.deleteRange(model, from, to);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -139,6 +158,14 @@ public class LocalSnapshotsPersistenceProvider implements PersistenceProvider {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean forEachKey(Class<? extends Persistable> model, Predicate<byte[]> action) {
+        return provider.forEachKey(model, action);
+    }
+
     @Override
     public long getPersistenceSize() {
         throw new UnsupportedOperationException(
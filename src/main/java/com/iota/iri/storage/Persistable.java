@@ -40,6 +40,26 @@ public interface Persistable extends Serializable {
      */
     void readMetadata(byte[] bytes);
 
+    /**
+     * Serializes the mutable state of the object that can be updated field by field. The result consists of
+     * fixed-width records, so a persistence provider can append the records of an update to the previously stored
+     * ones instead of rewriting the {@link #metadata()}.
+     *
+     * @param item the updated items separated by {@code |} or {@code null} for the complete state
+     * @return the serialized records or {@code null} if the items are not part of the mutable state
+     */
+    default byte[] state(String item) {
+        return null;
+    }
+
+    /**
+     * Applies the stored mutable state records on top of the fields read by {@link #readMetadata(byte[])}.
+     *
+     * @param bytes the records created by {@link #state(String)}, can be {@code null}
+     */
+    default void readState(byte[] bytes) {
+    }
+
     /**
      * Specifies whether two objects of the same type can be merged and their merged result used as a single object.
      * For storing in a persistence provider this means we can append items to an index and
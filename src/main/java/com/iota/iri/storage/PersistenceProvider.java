@@ -3,6 +3,7 @@ package com.iota.iri.storage;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import com.iota.iri.utils.Pair;
 
@@ -99,6 +100,16 @@ public interface PersistenceProvider {
      */
     Persistable get(Class<?> model, Indexable index) throws Exception;
 
+    /**
+     * Retrieves only the metadata of a {@code model} type indexed at with {@code index} key, without reading the
+     * stored value itself
+     * @param model the table/column family to look at
+     * @param index the key
+     * @return The stored metadata, or an empty model if there is no metadata
+     * @throws Exception if we encounter a problem with the DB
+     */
+    Persistable getMetadata(Class<?> model, Indexable index) throws Exception;
+
     /**
      * Checks with a degree of certainity whether we have a value indexed at a
      * given key. Unlike {@link #exists} it can return false positives, but it should be much more efficient
@@ -181,6 +192,18 @@ public interface PersistenceProvider {
      */
     void deleteBatch(Collection<Pair<Indexable, ? extends Class<? extends Persistable>>> models) throws Exception;
 
+    /**
+     * Deletes all objects of type {@code model} with keys between {@code from} (inclusive) and {@code to}
+     * (exclusive). Storage files which only hold keys of that range are released right away instead of waiting for
+     * a compaction.
+     *
+     * @param model the table/column family to delete from
+     * @param from the first key to delete
+     * @param to the key after the last key to delete
+     * @throws Exception if data could not be expunged from the db.
+     */
+    void deleteRange(Class<?> model, Indexable from, Indexable to) throws Exception;
+
     /**
      * Clear all the data (but not metadata) in a column family or a table
      * @param column the table/column family we clear
@@ -197,6 +220,15 @@ public interface PersistenceProvider {
 
     List<byte[]> loadAllKeysFromTable(Class<? extends Persistable> model);
 
+    /**
+     * Passes the keys of a table to the given action one after another, without loading all of them at once.
+     *
+     * @param model the table to read the keys of
+     * @param action called with every key, returning false stops the iteration
+     * @return true if all keys were passed to the action
+     */
+    boolean forEachKey(Class<? extends Persistable> model, Predicate<byte[]> action);
+
     /**
      * Calculates the estimated size of this persistence provider on disk
      * 
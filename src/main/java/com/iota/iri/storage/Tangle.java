@@ -2,10 +2,12 @@ package com.iota.iri.storage;
 
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.StateDiff;
+import com.iota.iri.model.StateDiffCheckpoint;
 import com.iota.iri.model.persistables.Address;
 import com.iota.iri.model.persistables.Approvee;
 import com.iota.iri.model.persistables.Bundle;
 import com.iota.iri.model.persistables.Milestone;
+import com.iota.iri.model.persistables.MilestoneBucket;
 import com.iota.iri.model.persistables.ObsoleteTag;
 import com.iota.iri.model.persistables.Tag;
 import com.iota.iri.model.persistables.Transaction;
@@ -36,6 +38,8 @@ public class Tangle {
                 put("bundle", Bundle.class);
                 put("obsoleteTag", ObsoleteTag.class);
                 put("tag", Tag.class);
+                put("milestoneBucket", MilestoneBucket.class);
+                put("stateDiffCheckpoint", StateDiffCheckpoint.class);
             }};
 
     public static final Map.Entry<String, Class<? extends Persistable>> METADATA_COLUMN_FAMILY =
@@ -79,6 +83,19 @@ public class Tangle {
         this.messageQueueProviders.clear();
     }
 
+    /**
+     * @see PersistenceProvider#getMetadata(Class, Indexable)
+     */
+    public Persistable loadMetadata(Class<?> model, Indexable index) throws Exception {
+        Persistable metadata = null;
+        for (PersistenceProvider provider : this.persistenceProviders) {
+            if (metadata == null) {
+                metadata = provider.getMetadata(model, index);
+            }
+        }
+        return metadata;
+    }
+
     /**
      * @see PersistenceProvider#get(Class, Indexable)
      */
@@ -155,6 +172,15 @@ public class Tangle {
         }
     }
 
+    /**
+     * @see PersistenceProvider#deleteRange(Class, Indexable, Indexable)
+     */
+    public void deleteRange(Class<?> model, Indexable from, Indexable to) throws Exception {
+        for(PersistenceProvider provider: persistenceProviders) {
+            provider.deleteRange(model, from, to);
+        }
+    }
+
     /**
      * @see PersistenceProvider#delete(Class, Indexable)
      */
@@ -198,6 +224,18 @@ public class Tangle {
         }
     }
 
+    /**
+     * Publishes an update of a transaction to all {@link com.iota.iri.zmq.MessageQueueProvider} without writing it to
+     * the {@link PersistenceProvider}, because the updated data was already persisted.
+     *
+     * @param model with transaction data
+     * @param index {@link Hash} identifier of the {@link Transaction} set
+     * @param item identifying the purpose of the update
+     */
+    public void publishTransaction(Persistable model, Indexable index, String item) {
+        updateMessageQueueProvider(model, index, item);
+    }
+
     private void updateMessageQueueProvider(Persistable model, Indexable index, String item) {
         for(MessageQueueProvider provider: this.messageQueueProviders) {
             provider.publishTransaction(model, index, item);
@@ -218,6 +256,21 @@ public class Tangle {
         }
     }
 
+    /**
+     * Checks if a client of any {@link com.iota.iri.zmq.MessageQueueProvider} subscribed to a topic.
+     *
+     * @param topic the topic of the message
+     * @return true if a client will receive messages of this topic
+     */
+    public boolean hasSubscriber(String topic) {
+        for(MessageQueueProvider provider: this.messageQueueProviders) {
+            if (provider.hasSubscriber(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * @see PersistenceProvider#keysWithMissingReferences(Class, Class)
      */
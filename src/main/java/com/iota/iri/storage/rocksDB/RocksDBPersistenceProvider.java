@@ -16,6 +16,7 @@ import java.io.InputStream;
 import java.nio.file.Paths;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -64,6 +66,12 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
 
     private static final Pair<Indexable, Persistable> PAIR_OF_NULLS = new Pair<>(null, null);
 
+    /**
+     * Appended to the name of the metadata column family to name the column family of the mutable state records
+     * ({@link Persistable#state(String)}).
+     */
+    public static final String STATE_COLUMN_FAMILY_SUFFIX = "-state";
+
     private final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
     private final SecureRandom seed = new SecureRandom();
 
@@ -77,6 +85,7 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
 
     private Map<Class<?>, ColumnFamilyHandle> classTreeMap;
     private Map<Class<?>, ColumnFamilyHandle> metadataReference = Collections.emptyMap();
+    private Map<Class<?>, ColumnFamilyHandle> stateReference = Collections.emptyMap();
 
     private RocksDB db;
     // DBOptions is only used in initDB(). However, it is closeable - so we keep a reference for shutdown.
@@ -156,6 +165,12 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         if (referenceHandle != null) {
             db.put(referenceHandle, index.bytes(), thing.metadata());
         }
+        byte[] state = thing.state(null);
+        ColumnFamilyHandle stateHandle = stateReference.get(thing.getClass());
+        if (stateHandle != null && state != null) {
+            // a put replaces the records that were merged so far
+            db.put(stateHandle, index.bytes(), state);
+        }
         return true;
     }
 
@@ -179,19 +194,45 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         ColumnFamilyHandle handle = classTreeMap.get(model);
         ColumnFamilyHandle otherHandle = classTreeMap.get(other);
 
-        try (RocksIterator iterator = db.newIterator(handle)) {
+        // both columns are sorted by their keys, so we can walk them side by side instead of looking up every key
+        try (RocksIterator iterator = db.newIterator(handle); RocksIterator otherIterator = db.newIterator(otherHandle)) {
             Set<Indexable> indexables = null;
 
+            otherIterator.seekToFirst();
             for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
-                if (db.get(otherHandle, iterator.key()) == null) {
+                byte[] key = iterator.key();
+                int comparison = -1;
+                while (otherIterator.isValid() && (comparison = compareKeys(otherIterator.key(), key)) < 0) {
+                    otherIterator.next();
+                }
+
+                if (!otherIterator.isValid() || comparison != 0) {
                     indexables = indexables == null ? new HashSet<>() : indexables;
-                    indexables.add(HashFactory.GENERIC.create(model, iterator.key()));
+                    indexables.add(HashFactory.GENERIC.create(model, key));
                 }
             }
             return indexables == null ? Collections.emptySet() : Collections.unmodifiableSet(indexables);
         }
     }
 
+    /**
+     * Compares two keys in the order of the default RocksDB comparator (lexicographic on unsigned bytes).
+     *
+     * @param key the first key
+     * @param otherKey the second key
+     * @return a negative number, zero or a positive number if the first key is smaller, equal or bigger
+     */
+    private static int compareKeys(byte[] key, byte[] otherKey) {
+        int length = Math.min(key.length, otherKey.length);
+        for (int i = 0; i < length; i++) {
+            int comparison = (key[i] & 0xFF) - (otherKey[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return key.length - otherKey.length;
+    }
+
     @Override
     public Persistable get(Class<?> model, Indexable index) throws Exception {
         Persistable object = (Persistable) model.newInstance();
@@ -201,6 +242,26 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         if (referenceHandle != null) {
             object.readMetadata(db.get(referenceHandle, index == null ? new byte[0] : index.bytes()));
         }
+        ColumnFamilyHandle stateHandle = stateReference.get(model);
+        if (stateHandle != null) {
+            object.readState(db.get(stateHandle, index == null ? new byte[0] : index.bytes()));
+        }
+        return object;
+    }
+
+    @Override
+    public Persistable getMetadata(Class<?> model, Indexable index) throws Exception {
+        Persistable object = (Persistable) model.newInstance();
+        byte[] key = index == null ? new byte[0] : index.bytes();
+
+        ColumnFamilyHandle referenceHandle = metadataReference.get(model);
+        if (referenceHandle != null) {
+            object.readMetadata(db.get(referenceHandle, key));
+        }
+        ColumnFamilyHandle stateHandle = stateReference.get(model);
+        if (stateHandle != null) {
+            object.readState(db.get(stateHandle, key));
+        }
         return object;
     }
 
@@ -286,6 +347,10 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         if (referenceHandle != null) {
             object.readMetadata(db.get(referenceHandle, iterator.key()));
         }
+        ColumnFamilyHandle stateHandle = stateReference.get(model);
+        if (stateHandle != null) {
+            object.readState(db.get(stateHandle, iterator.key()));
+        }
         return new Pair<>(indexable, object);
     }
 
@@ -344,6 +409,7 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
 
                 ColumnFamilyHandle handle = classTreeMap.get(value.getClass());
                 ColumnFamilyHandle referenceHandle = metadataReference.get(value.getClass());
+                ColumnFamilyHandle stateHandle = stateReference.get(value.getClass());
 
                 if (value.canMerge()) {
                     writeBatch.merge(handle, key.bytes(), value.bytes());
@@ -353,6 +419,10 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
                 if (referenceHandle != null) {
                     writeBatch.put(referenceHandle, key.bytes(), value.metadata());
                 }
+                byte[] state = value.state(null);
+                if (stateHandle != null && state != null) {
+                    writeBatch.put(stateHandle, key.bytes(), state);
+                }
             }
 
             db.write(writeOptions, writeBatch);
@@ -379,6 +449,10 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
                     if (metadataHandle != null) {
                         writeBatch.delete(metadataHandle, keyBytes);
                     }
+                    ColumnFamilyHandle stateHandle = stateReference.get(entry.hi);
+                    if (stateHandle != null) {
+                        writeBatch.delete(stateHandle, keyBytes);
+                    }
                 }
 
                 db.write(writeOptions, writeBatch);
@@ -386,6 +460,30 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         }
     }
 
+    @Override
+    public void deleteRange(Class<?> model, Indexable from, Indexable to) throws Exception {
+        deleteRange(classTreeMap.get(model), from.bytes(), to.bytes());
+
+        ColumnFamilyHandle metadataHandle = metadataReference.get(model);
+        if (metadataHandle != null) {
+            deleteRange(metadataHandle, from.bytes(), to.bytes());
+        }
+        ColumnFamilyHandle stateHandle = stateReference.get(model);
+        if (stateHandle != null) {
+            deleteRange(stateHandle, from.bytes(), to.bytes());
+        }
+    }
+
+    private void deleteRange(ColumnFamilyHandle handle, byte[] from, byte[] to) throws RocksDBException {
+        // drop the files that lie completely within the range, the remaining keys are covered by a range tombstone
+        db.deleteFilesInRanges(handle, Arrays.asList(from, to), false);
+        try (WriteOptions writeOptions = new WriteOptions()
+                //We want to make sure deleted data was indeed deleted
+                .setSync(true)) {
+            db.deleteRange(handle, writeOptions, from, to);
+        }
+    }
+
     @Override
     public void clear(Class<?> column) throws Exception {
         log.info("Deleting: {} entries", column.getSimpleName());
@@ -396,6 +494,10 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
     public void clearMetadata(Class<?> column) throws Exception {
         log.info("Deleting: {} metadata", column.getSimpleName());
         flushHandle(metadataReference.get(column));
+        ColumnFamilyHandle stateHandle = stateReference.get(column);
+        if (stateHandle != null) {
+            flushHandle(stateHandle);
+        }
     }
 
     @Override
@@ -411,6 +513,19 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         return keyBytes;
     }
 
+    @Override
+    public boolean forEachKey(Class<? extends Persistable> column, Predicate<byte[]> action) {
+        ColumnFamilyHandle columnFamilyHandle = classTreeMap.get(column);
+        try (RocksIterator iterator = db.newIterator(columnFamilyHandle)) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                if (!action.test(iterator.key())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void flushHandle(ColumnFamilyHandle handle) throws RocksDBException {
         List<byte[]> itemsToDelete = new ArrayList<>();
         try (RocksIterator iterator = db.newIterator(handle)) {
@@ -431,8 +546,23 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * If the updated items are part of the mutable state of the object ({@link Persistable#state(String)}), only
+     * their records are merged into the state column family. Otherwise the whole metadata is rewritten.
+     */
     @Override
     public boolean update(Persistable thing, Indexable index, String item) throws Exception {
+        ColumnFamilyHandle stateHandle = stateReference.get(thing.getClass());
+        if (stateHandle != null) {
+            byte[] state = thing.state(item);
+            if (state != null) {
+                db.merge(stateHandle, index.bytes(), state);
+                return false;
+            }
+        }
+
         ColumnFamilyHandle referenceHandle = metadataReference.get(thing.getClass());
         if (referenceHandle != null) {
             db.put(referenceHandle, index.bytes(), thing.metadata());
@@ -536,10 +666,12 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
             for (String name : columnFamilies.keySet()) {
                 columnFamilyDescriptors.add(new ColumnFamilyDescriptor(name.getBytes(), columnFamilyOptions));
             }
-            // metadata descriptor is always last
+            // metadata descriptors are always last
             if (metadataColumnFamily != null) {
                 columnFamilyDescriptors.add(
                         new ColumnFamilyDescriptor(metadataColumnFamily.getKey().getBytes(), columnFamilyOptions));
+                columnFamilyDescriptors.add(new ColumnFamilyDescriptor(
+                        (metadataColumnFamily.getKey() + STATE_COLUMN_FAMILY_SUFFIX).getBytes(), columnFamilyOptions));
                 metadataReference = new HashMap<>();
             }
         }
@@ -548,6 +680,7 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
     private void initClassTreeMap(List<ColumnFamilyDescriptor> columnFamilyDescriptors) throws Exception {
         Map<Class<?>, ColumnFamilyHandle> classMap = new LinkedHashMap<>();
         String mcfName = metadataColumnFamily == null ? "" : metadataColumnFamily.getKey();
+        String stateName = mcfName + STATE_COLUMN_FAMILY_SUFFIX;
         //skip default column
         int i = 1;
         for (; i < columnFamilyDescriptors.size(); i++) {
@@ -558,6 +691,11 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
                 metadataRef.put(metadataColumnFamily.getValue(), columnFamilyHandles.get(i));
                 metadataReference = MapUtils.unmodifiableMap(metadataRef);
             }
+            else if (metadataColumnFamily != null && name.equals(stateName)) {
+                Map<Class<?>, ColumnFamilyHandle> stateRef = new HashMap<>();
+                stateRef.put(metadataColumnFamily.getValue(), columnFamilyHandles.get(i));
+                stateReference = MapUtils.unmodifiableMap(stateRef);
+            }
             else {
                 classMap.put(columnFamilies.get(name), columnFamilyHandles.get(i));
             }
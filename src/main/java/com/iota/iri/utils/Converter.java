@@ -29,6 +29,12 @@ public class Converter {
     static final byte[][] BYTE_TO_TRITS_MAPPINGS = new byte[243][];
     static final byte[][] TRYTE_TO_TRITS_MAPPINGS = new byte[27][];
 
+    /**
+     * The trits of all byte values in a single array, {@link #NUMBER_OF_TRITS_IN_A_BYTE} entries per value, so a whole
+     * byte is converted with one lookup and without copying.
+     */
+    private static final byte[] BYTE_TO_TRITS_TABLE = new byte[243 * NUMBER_OF_TRITS_IN_A_BYTE];
+
     public static final int HIGH_INTEGER_BITS = 0xFFFFFFFF;
     public static final long HIGH_LONG_BITS = 0xFFFFFFFFFFFFFFFFL;
 
@@ -43,6 +49,7 @@ public class Converter {
 
         for (int i = 0; i < 243; i++) {
             BYTE_TO_TRITS_MAPPINGS[i] = Arrays.copyOf(trits, NUMBER_OF_TRITS_IN_A_BYTE);
+            System.arraycopy(trits, 0, BYTE_TO_TRITS_TABLE, i * NUMBER_OF_TRITS_IN_A_BYTE, NUMBER_OF_TRITS_IN_A_BYTE);
             increment(trits, NUMBER_OF_TRITS_IN_A_BYTE);
         }
 
@@ -93,12 +100,21 @@ public class Converter {
             throw new IllegalArgumentException("Input array not large enough.");
         }
 
-        for (int i = 0; i < expectedLength; i++) {
+        // whole bytes are encoded without a loop, only the last byte might consist of fewer trits
+        final int wholeBytes = tritsLength / NUMBER_OF_TRITS_IN_A_BYTE;
+        int tritIndex = srcPos;
+        for (int i = 0; i < wholeBytes; i++) {
+            dest[destPos + i] = (byte) (trits[tritIndex] + 3 * trits[tritIndex + 1] + 9 * trits[tritIndex + 2]
+                    + 27 * trits[tritIndex + 3] + 81 * trits[tritIndex + 4]);
+            tritIndex += NUMBER_OF_TRITS_IN_A_BYTE;
+        }
+
+        if (wholeBytes < expectedLength) {
             int value = 0;
-            for (int j = (tritsLength - i * NUMBER_OF_TRITS_IN_A_BYTE) < 5 ? (tritsLength - i * NUMBER_OF_TRITS_IN_A_BYTE) : NUMBER_OF_TRITS_IN_A_BYTE; j-- > 0; ) {
-                value = value * RADIX + trits[srcPos + i * NUMBER_OF_TRITS_IN_A_BYTE + j];
+            for (int j = tritsLength - wholeBytes * NUMBER_OF_TRITS_IN_A_BYTE; j-- > 0; ) {
+                value = value * RADIX + trits[tritIndex + j];
             }
-            dest[destPos + i] = (byte)value;
+            dest[destPos + wholeBytes] = (byte) value;
         }
     }
 
@@ -123,18 +139,54 @@ public class Converter {
      * @param trits destination trits array
      */
     public static void getTrits(final byte[] bytes, final byte[] trits) {
+        final int convertedTrits = Math.min(trits.length, bytes.length * NUMBER_OF_TRITS_IN_A_BYTE);
+        getTrits(bytes, 0, trits, 0, convertedTrits);
+        Arrays.fill(trits, convertedTrits, trits.length, (byte) 0);
+    }
 
-        int offset = 0;
-        for (int i = 0; i < bytes.length && offset < trits.length; i++) {
-            System.arraycopy(BYTE_TO_TRITS_MAPPINGS[bytes[i] < 0 ? (bytes[i] + BYTE_TO_TRITS_MAPPINGS.length) : bytes[i]], 0, trits, offset, trits.length - offset < NUMBER_OF_TRITS_IN_A_BYTE ? (trits.length - offset) : NUMBER_OF_TRITS_IN_A_BYTE);
-            offset += NUMBER_OF_TRITS_IN_A_BYTE;
+    /**
+     * Converts bytes array to trits array based on {@link #NUMBER_OF_TRITS_IN_A_BYTE}.<br>
+     *     the inverse of {@link #bytes(byte[], int, byte[], int, int)}, used to convert a whole transaction into a
+     *     reused buffer. <br>
+     *     this method will override the content of {@code trits}
+     *
+     * @param bytes source bytes array
+     * @param srcPos starting position for bytes
+     * @param trits destination trits array
+     * @param destPos starting position for destination trits array
+     * @param tritsLength amount of trits to convert
+     */
+    public static void getTrits(final byte[] bytes, final int srcPos, final byte[] trits, final int destPos,
+            final int tritsLength) {
+
+        final int expectedLength = (tritsLength + NUMBER_OF_TRITS_IN_A_BYTE - 1) / NUMBER_OF_TRITS_IN_A_BYTE;
+
+        if ((bytes.length - srcPos) < expectedLength || (trits.length - destPos) < tritsLength) {
+            throw new IllegalArgumentException("Input array not large enough.");
         }
-        while (offset < trits.length) {
-            trits[offset++] = 0;
+
+        // whole bytes are decoded with a single table lookup, only the last byte might be decoded partially
+        final int wholeBytes = tritsLength / NUMBER_OF_TRITS_IN_A_BYTE;
+        int tritIndex = destPos;
+        for (int i = 0; i < wholeBytes; i++) {
+            final int tableIndex = tableIndex(bytes[srcPos + i]);
+            trits[tritIndex] = BYTE_TO_TRITS_TABLE[tableIndex];
+            trits[tritIndex + 1] = BYTE_TO_TRITS_TABLE[tableIndex + 1];
+            trits[tritIndex + 2] = BYTE_TO_TRITS_TABLE[tableIndex + 2];
+            trits[tritIndex + 3] = BYTE_TO_TRITS_TABLE[tableIndex + 3];
+            trits[tritIndex + 4] = BYTE_TO_TRITS_TABLE[tableIndex + 4];
+            tritIndex += NUMBER_OF_TRITS_IN_A_BYTE;
         }
-    }
 
+        if (wholeBytes < expectedLength) {
+            System.arraycopy(BYTE_TO_TRITS_TABLE, tableIndex(bytes[srcPos + wholeBytes]), trits, tritIndex,
+                    tritsLength - wholeBytes * NUMBER_OF_TRITS_IN_A_BYTE);
+        }
+    }
 
+    private static int tableIndex(byte value) {
+        return (value < 0 ? value + BYTE_TO_TRITS_MAPPINGS.length : value) * NUMBER_OF_TRITS_IN_A_BYTE;
+    }
 
     // Trytes <-> Trits
 
@@ -1,5 +1,8 @@
 package com.iota.iri.utils.datastructure;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * The Cuckoo Filter is a probabilistic data structure that supports fast set membership testing.
  *
@@ -83,4 +86,13 @@ public interface CuckooFilter {
      * @return the amount of stored items
      */
     int size();
+
+    /**
+     * Writes the content of the filter to the given stream, so it can be restored later without having to add all of
+     * its elements again.
+     *
+     * @param outputStream the stream that the filter is written to
+     * @throws IOException if the stream can not be written
+     */
+    void write(OutputStream outputStream) throws IOException;
 }
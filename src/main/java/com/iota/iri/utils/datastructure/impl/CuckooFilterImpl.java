@@ -3,6 +3,11 @@ package com.iota.iri.utils.datastructure.impl;
 import com.iota.iri.utils.BitSetUtils;
 import com.iota.iri.utils.datastructure.CuckooFilter;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -17,6 +22,11 @@ public class CuckooFilterImpl implements CuckooFilter {
      */
     private static final int MAX_NUM_KICKS = 500;
 
+    /**
+     * Version of the format written by {@link #write(OutputStream)}.
+     */
+    private static final int SERIALIZATION_VERSION = 1;
+
     /**
      * A reference to the last element that didn't fit into the filter (used for "soft failure" on first attempt).
      */
@@ -244,7 +254,7 @@ public class CuckooFilterImpl implements CuckooFilter {
         int indexOfDestinationBucket = secureRandom.nextDouble() < 0.5 ? item.index : item.altIndex;
         for(int i = 0; i < MAX_NUM_KICKS; i++) {
             // select a random item to kick
-            int indexOfItemToKick = secureRandom.nextInt() * bucketSize;
+            int indexOfItemToKick = secureRandom.nextInt(bucketSize);
 
             // swap the items
             BitSet kickedFingerPrint = cuckooFilterTable.get(indexOfDestinationBucket, indexOfItemToKick);
@@ -437,6 +447,89 @@ public class CuckooFilterImpl implements CuckooFilter {
         return BitSetUtils.convertByteArrayToBitSet(hash, 4, fingerPrintSize);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The stream is not closed, so the caller can write further data after the filter.
+     */
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(SERIALIZATION_VERSION);
+        out.writeInt(tableSize);
+        out.writeInt(bucketSize);
+        out.writeInt(fingerPrintSize);
+        out.writeInt(storedItems);
+
+        out.writeBoolean(lastVictim != null);
+        if (lastVictim != null) {
+            out.writeInt(lastVictim.index);
+            writeLongs(out, lastVictim.fingerPrint.toLongArray());
+        }
+
+        writeLongs(out, cuckooFilterTable.data.toLongArray());
+        out.flush();
+    }
+
+    /**
+     * Restores a filter that was written with {@link #write(OutputStream)}.
+     *
+     * @param inputStream the stream that the filter is read from
+     * @return the restored filter
+     * @throws IOException if the stream can not be read or does not contain a filter
+     */
+    public static CuckooFilterImpl read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        int version = in.readInt();
+        if (version != SERIALIZATION_VERSION) {
+            throw new IOException("unsupported cuckoo filter format version " + version);
+        }
+
+        int tableSize = in.readInt();
+        int bucketSize = in.readInt();
+        int fingerPrintSize = in.readInt();
+        if (tableSize <= 0 || Integer.bitCount(tableSize) != 1 || bucketSize <= 0 || fingerPrintSize <= 0
+                || fingerPrintSize > 128) {
+            throw new IOException("invalid cuckoo filter dimensions");
+        }
+
+        // the largest item count that results in the same table size
+        int itemCount = (int) (tableSize * (long) bucketSize * 0.955);
+        CuckooFilterImpl filter = new CuckooFilterImpl(itemCount, bucketSize, fingerPrintSize);
+        if (filter.tableSize != tableSize) {
+            throw new IOException("invalid cuckoo filter dimensions");
+        }
+        filter.storedItems = in.readInt();
+
+        if (in.readBoolean()) {
+            int index = in.readInt();
+            filter.lastVictim = filter.new CuckooFilterItem(BitSet.valueOf(readLongs(in)), index);
+        }
+
+        filter.cuckooFilterTable.data = BitSet.valueOf(readLongs(in));
+
+        return filter;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("invalid cuckoo filter length " + length);
+        }
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
     /**
      * Internal helper class to represent items that are stored in the filter.
      *
@@ -0,0 +1,425 @@
+package com.iota.iri.utils.datastructure.impl;
+
+import com.iota.iri.utils.datastructure.CuckooFilter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.locks.StampedLock;
+
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * This class implements the contract of the {@link CuckooFilter} without allocating any objects per operation.
+ *
+ * Every item is hashed once with xxHash. The upper 32 bits of the hash select the bucket and the lower 16 bits form
+ * the fingerprint. A bucket holds 4 fingerprints, which are packed into a single long, so a lookup reads at most two
+ * longs and compares all fingerprints of a bucket at once.
+ *
+ * Lookups are lock-free as long as no element is added or deleted at the same time, while modifications are
+ * serialized. With 16 bit fingerprints the false positive rate is about 0.01%.
+ */
+public class PackedCuckooFilterImpl implements CuckooFilter {
+    /**
+     * The amount of times we try to kick elements when inserting before we consider the index to be too full.
+     */
+    private static final int MAX_NUM_KICKS = 500;
+
+    /**
+     * The amount of fingerprints that are stored in each bucket.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    /**
+     * The amount of bits per fingerprint.
+     */
+    private static final int FINGER_PRINT_SIZE = 16;
+
+    private static final long FINGER_PRINT_MASK = (1L << FINGER_PRINT_SIZE) - 1;
+
+    /**
+     * The lowest bit of every fingerprint in a bucket.
+     */
+    private static final long LOW_BITS = 0x0001000100010001L;
+
+    /**
+     * The highest bit of every fingerprint in a bucket.
+     */
+    private static final long HIGH_BITS = 0x8000800080008000L;
+
+    /**
+     * Version of the format written by {@link #write(OutputStream)}.
+     */
+    private static final int SERIALIZATION_VERSION = 2;
+
+    private static final LongHashFunction HASH_FUNCTION = LongHashFunction.xx();
+
+    /**
+     * The buckets of the filter, each holding {@link #BUCKET_SIZE} fingerprints (0 marks an empty slot).
+     */
+    private final long[] buckets;
+
+    private final int bucketMask;
+
+    /**
+     * Guards all modifications and allows optimistic reads.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Holds the amount if items that are stored in the filter.
+     */
+    private volatile int storedItems = 0;
+
+    /**
+     * The fingerprint of the last element that didn't fit into the filter (0 if there is none).
+     */
+    private int victimFingerPrint = 0;
+
+    /**
+     * The bucket index of the last element that didn't fit into the filter.
+     */
+    private int victimIndex = 0;
+
+    /**
+     * State of the random generator which selects the fingerprints to kick.
+     */
+    private long randomState = System.nanoTime() | 1;
+
+    /**
+     * Creates a filter that can store at least the given amount of items with a load factor of less than 0.955.
+     *
+     * NOTE: The actual size will be slightly bigger since the amount of buckets has to be a power of 2.
+     *
+     * @param itemCount the minimum amount of items that should fit into the filter
+     */
+    public PackedCuckooFilterImpl(int itemCount) {
+        this(new long[bucketCount(itemCount)]);
+    }
+
+    private PackedCuckooFilterImpl(long[] buckets) {
+        this.buckets = buckets;
+        this.bucketMask = buckets.length - 1;
+    }
+
+    private static int bucketCount(int itemCount) {
+        int bucketCount = 1;
+        while ((bucketCount * BUCKET_SIZE) < itemCount || itemCount * 1.0 / (bucketCount * BUCKET_SIZE) > 0.955) {
+            bucketCount <<= 1;
+        }
+        return bucketCount;
+    }
+
+    @Override
+    public boolean add(String item) throws IndexOutOfBoundsException {
+        return add(HASH_FUNCTION.hashChars(item));
+    }
+
+    @Override
+    public boolean add(byte[] item) throws IndexOutOfBoundsException {
+        return add(HASH_FUNCTION.hashBytes(item));
+    }
+
+    @Override
+    public boolean contains(String item) {
+        return contains(HASH_FUNCTION.hashChars(item));
+    }
+
+    @Override
+    public boolean contains(byte[] item) {
+        return contains(HASH_FUNCTION.hashBytes(item));
+    }
+
+    @Override
+    public boolean delete(String item) {
+        return delete(HASH_FUNCTION.hashChars(item));
+    }
+
+    @Override
+    public boolean delete(byte[] item) {
+        return delete(HASH_FUNCTION.hashBytes(item));
+    }
+
+    @Override
+    public int getCapacity() {
+        return buckets.length * BUCKET_SIZE + 1;
+    }
+
+    @Override
+    public int size() {
+        return storedItems;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The stream is not closed, so the caller can write further data after the filter.
+     */
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            DataOutputStream out = new DataOutputStream(outputStream);
+            out.writeInt(SERIALIZATION_VERSION);
+            out.writeInt(buckets.length);
+            out.writeInt(storedItems);
+            out.writeInt(victimFingerPrint);
+            out.writeInt(victimIndex);
+            for (long bucket : buckets) {
+                out.writeLong(bucket);
+            }
+            out.flush();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Restores a filter that was written with {@link #write(OutputStream)}.
+     *
+     * @param inputStream the stream that the filter is read from
+     * @return the restored filter
+     * @throws IOException if the stream can not be read or does not contain a filter
+     */
+    public static PackedCuckooFilterImpl read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        int version = in.readInt();
+        if (version != SERIALIZATION_VERSION) {
+            throw new IOException("unsupported cuckoo filter format version " + version);
+        }
+
+        int bucketCount = in.readInt();
+        if (bucketCount <= 0 || Integer.bitCount(bucketCount) != 1) {
+            throw new IOException("invalid cuckoo filter bucket count " + bucketCount);
+        }
+
+        PackedCuckooFilterImpl filter = new PackedCuckooFilterImpl(new long[bucketCount]);
+        filter.storedItems = in.readInt();
+        filter.victimFingerPrint = in.readInt();
+        filter.victimIndex = in.readInt() & filter.bucketMask;
+        for (int i = 0; i < bucketCount; i++) {
+            filter.buckets[i] = in.readLong();
+        }
+
+        return filter;
+    }
+
+    /**
+     * Adds the item with the given hash to the filter.
+     *
+     * If both buckets of the item are full, we kick random fingerprints to their alternate bucket until every
+     * fingerprint has a place or we reach {@link #MAX_NUM_KICKS}. In the latter case the homeless fingerprint is kept
+     * as the victim, so it still gets found, but no further items can be added.
+     *
+     * @param hash the hash of the item
+     * @return true if the insertion was successful or false if the filter is full now
+     * @throws IndexOutOfBoundsException if the filter was full already
+     */
+    private boolean add(long hash) throws IndexOutOfBoundsException {
+        int fingerPrint = fingerPrint(hash);
+        int index = index(hash);
+        int altIndex = altIndex(index, fingerPrint);
+
+        long stamp = lock.writeLock();
+        try {
+            if (contains(fingerPrint, index, altIndex)) {
+                return true;
+            }
+
+            if (victimFingerPrint != 0) {
+                throw new IndexOutOfBoundsException("the filter is too full");
+            }
+
+            if (insert(index, fingerPrint) || insert(altIndex, fingerPrint)) {
+                storedItems++;
+                return true;
+            }
+
+            int indexOfDestinationBucket = (nextRandom() & 1) == 0 ? index : altIndex;
+            for (int i = 0; i < MAX_NUM_KICKS; i++) {
+                int shift = (nextRandom() & (BUCKET_SIZE - 1)) * FINGER_PRINT_SIZE;
+                long bucket = buckets[indexOfDestinationBucket];
+                int kickedFingerPrint = (int) ((bucket >>> shift) & FINGER_PRINT_MASK);
+                buckets[indexOfDestinationBucket] = (bucket & ~(FINGER_PRINT_MASK << shift))
+                        | ((long) fingerPrint << shift);
+
+                fingerPrint = kickedFingerPrint;
+                indexOfDestinationBucket = altIndex(indexOfDestinationBucket, fingerPrint);
+                if (insert(indexOfDestinationBucket, fingerPrint)) {
+                    storedItems++;
+                    return true;
+                }
+            }
+
+            victimFingerPrint = fingerPrint;
+            victimIndex = indexOfDestinationBucket;
+            storedItems++;
+
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if the item with the given hash is in the filter.
+     *
+     * The buckets are read optimistically and only if an element was added or deleted in the meantime, we check
+     * again while holding the read lock.
+     *
+     * @param hash the hash of the item
+     * @return true if it is "probably" in the filter or false if it is "definitely" not in there
+     */
+    private boolean contains(long hash) {
+        int fingerPrint = fingerPrint(hash);
+        int index = index(hash);
+        int altIndex = altIndex(index, fingerPrint);
+
+        long stamp = lock.tryOptimisticRead();
+        boolean result = contains(fingerPrint, index, altIndex);
+        if (lock.validate(stamp)) {
+            return result;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return contains(fingerPrint, index, altIndex);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Deletes the item with the given hash from the filter.
+     *
+     * If a victim is waiting for a free slot, it gets inserted into the freed up space.
+     *
+     * @param hash the hash of the item
+     * @return true if something was deleted matching the element or false otherwise
+     */
+    private boolean delete(long hash) {
+        int fingerPrint = fingerPrint(hash);
+        int index = index(hash);
+        int altIndex = altIndex(index, fingerPrint);
+
+        long stamp = lock.writeLock();
+        try {
+            if (isVictim(fingerPrint, index, altIndex)) {
+                victimFingerPrint = 0;
+                storedItems--;
+                return true;
+            }
+
+            if (!remove(index, fingerPrint) && !remove(altIndex, fingerPrint)) {
+                return false;
+            }
+            storedItems--;
+
+            if (victimFingerPrint != 0 && (insert(victimIndex, victimFingerPrint)
+                    || insert(altIndex(victimIndex, victimFingerPrint), victimFingerPrint))) {
+                victimFingerPrint = 0;
+            }
+
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean contains(int fingerPrint, int index, int altIndex) {
+        return hasFingerPrint(buckets[index], fingerPrint) || hasFingerPrint(buckets[altIndex], fingerPrint)
+                || isVictim(fingerPrint, index, altIndex);
+    }
+
+    private boolean isVictim(int fingerPrint, int index, int altIndex) {
+        return victimFingerPrint == fingerPrint && (victimIndex == index || victimIndex == altIndex);
+    }
+
+    /**
+     * Stores the fingerprint in the first free slot of the given bucket.
+     *
+     * @param index index of the bucket
+     * @param fingerPrint the fingerprint to store
+     * @return true if there was a free slot or false otherwise
+     */
+    private boolean insert(int index, int fingerPrint) {
+        long bucket = buckets[index];
+        for (int shift = 0; shift < Long.SIZE; shift += FINGER_PRINT_SIZE) {
+            if (((bucket >>> shift) & FINGER_PRINT_MASK) == 0) {
+                buckets[index] = bucket | ((long) fingerPrint << shift);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes one occurrence of the fingerprint from the given bucket.
+     *
+     * @param index index of the bucket
+     * @param fingerPrint the fingerprint to remove
+     * @return true if the fingerprint was found or false otherwise
+     */
+    private boolean remove(int index, int fingerPrint) {
+        long bucket = buckets[index];
+        for (int shift = 0; shift < Long.SIZE; shift += FINGER_PRINT_SIZE) {
+            if (((bucket >>> shift) & FINGER_PRINT_MASK) == fingerPrint) {
+                buckets[index] = bucket & ~(FINGER_PRINT_MASK << shift);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the fingerprint with all fingerprints of a bucket at once.
+     *
+     * The xor zeroes the slots holding the fingerprint and the subtraction only sets the highest bit of a slot if it
+     * borrows from a zeroed one.
+     *
+     * @param bucket the packed fingerprints of a bucket
+     * @param fingerPrint the fingerprint to look for
+     * @return true if the bucket contains the fingerprint
+     */
+    private static boolean hasFingerPrint(long bucket, int fingerPrint) {
+        long difference = bucket ^ (fingerPrint * LOW_BITS);
+        return ((difference - LOW_BITS) & ~difference & HIGH_BITS) != 0;
+    }
+
+    private static int fingerPrint(long hash) {
+        int fingerPrint = (int) (hash & FINGER_PRINT_MASK);
+        // 0 marks empty slots
+        return fingerPrint == 0 ? 1 : fingerPrint;
+    }
+
+    private int index(long hash) {
+        return (int) (hash >>> 32) & bucketMask;
+    }
+
+    /**
+     * Calculates the alternate bucket of a fingerprint (partial-key cuckoo hashing). Applying it twice returns the
+     * original bucket.
+     *
+     * @param index the current bucket of the fingerprint
+     * @param fingerPrint the fingerprint
+     * @return the other bucket the fingerprint can be stored in
+     */
+    private int altIndex(int index, int fingerPrint) {
+        return (index ^ (fingerPrint * 0x5bd1e995)) & bucketMask;
+    }
+
+    /**
+     * Advances the xorshift generator that selects the fingerprints to kick (only called while holding the write
+     * lock).
+     *
+     * @return the next pseudo random number
+     */
+    private int nextRandom() {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return (int) randomState;
+    }
+}
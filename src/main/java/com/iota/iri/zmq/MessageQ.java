@@ -6,9 +6,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zeromq.ZMQ;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Allows publishing of IRI events to a ZeroMQ queue.
@@ -30,59 +36,258 @@ import java.util.concurrent.TimeUnit;
  *    To monitor for activity on a specific address, the topic is instead the {@code Address} to watch.
  *    For a complete list and detailed topic specification please refer to the README.md.
  * </p>
+ * <p>
+ *    The subscriptions of the clients are tracked, so events are only queued if somebody listens to their topic and
+ *    they are only formatted right before they are sent. A single publisher thread owns the socket and sends all
+ *    queued events at once whenever it wakes up. If the queue is full, new events are dropped and counted.
+ * </p>
  */
 class MessageQ {
     private final static Logger LOG = LoggerFactory.getLogger(MessageQ.class);
 
+    /**
+     * The maximum amount of events that are sent per wakeup of the publisher thread.
+     */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * The time the publisher thread waits for events before it checks for changed subscriptions.
+     */
+    private static final long POLL_INTERVAL_MILLISECONDS = 100;
+
+    /**
+     * The minimum time between two warnings about dropped events.
+     */
+    private static final long DROP_REPORT_INTERVAL_MILLISECONDS = 10_000;
+
     private final ZMQ.Context context;
     private final ZMQ.Socket publisher;
 
-    private final ExecutorService publisherService = Executors.newSingleThreadExecutor();
+    private final BlockingQueue<Event> events;
+
+    private final Thread publisherThread;
+
+    private volatile boolean running = true;
+
+    /**
+     * The topic prefixes the clients subscribed to, only modified by the publisher thread.
+     */
+    private final Set<String> subscribedPrefixes = new HashSet<>();
+
+    /**
+     * Snapshot of the {@link #subscribedPrefixes} that is read by the threads publishing events.
+     */
+    private volatile String[] subscriptions = new String[0];
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    /**
+     * An event that is waiting to be published.
+     */
+    interface Event {
+        /**
+         * Formats the event and sends it.
+         *
+         * @param socket the socket to send the event with
+         */
+        void send(ZMQ.Socket socket);
+    }
 
     public static MessageQ createWith(ZMQConfig config) {
-        return new MessageQ(config);
+        List<String> endpoints = new ArrayList<>();
+        if (config.isZmqEnableTcp()) {
+            endpoints.add(String.format("tcp://*:%d", config.getZmqPort()));
+        }
+        if (config.isZmqEnableIpc()) {
+            endpoints.add(config.getZmqIpc());
+        }
+        return new MessageQ(ZMQ.context(config.getZmqThreads()), config.getZmqQueueSize(), endpoints);
     }
 
     /**
      * Creates and starts a ZMQ publisher.
      *
-     * @param config {@link ZMQConfig} that should be used.
+     * @param context the context to create the socket with, which is closed on {@link #shutdown()}
+     * @param queueSize the maximum amount of events waiting to be sent
+     * @param endpoints the endpoints the publisher is bound to
      */
-    private MessageQ(ZMQConfig config) {
-        context = ZMQ.context(config.getZmqThreads());
-        publisher = context.socket(ZMQ.PUB);
-        if (config.isZmqEnableTcp()) {
-            publisher.bind(String.format("tcp://*:%d", config.getZmqPort()));
-        }
-        if (config.isZmqEnableIpc()) {
-            publisher.bind(config.getZmqIpc());
+    MessageQ(ZMQ.Context context, int queueSize, List<String> endpoints) {
+        this.context = context;
+        // an XPUB socket behaves like a PUB socket, but tells us about the subscriptions of the clients
+        publisher = context.socket(ZMQ.XPUB);
+        for (String endpoint : endpoints) {
+            publisher.bind(endpoint);
         }
+        events = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+
+        publisherThread = new Thread(this::publishEvents, "ZMQ Publisher");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
     }
 
     /**
      * Publishes an event to the queue
      *
+     * The message is only formatted if a client subscribed to its topic.
+     *
      * @param message message body, prepended by the topic string
      * @param objects arguments referenced by the message body, similar to a format string
      */
     public void publish(String message, Object... objects) {
-        String toSend = String.format(message, objects);
-        publisherService.submit(() -> publisher.send(toSend));
+        String[] prefixes = subscriptions;
+        if (prefixes.length == 0) {
+            return;
+        }
+
+        // the address topics are passed as the first argument
+        String literal = message.startsWith("%s") && objects.length > 0 ? String.valueOf(objects[0]) : message;
+        int literalLength = literal.indexOf('%');
+        if (matchesSubscription(prefixes, literal, literalLength < 0 ? literal.length() : literalLength)) {
+            publish(socket -> socket.send(String.format(message, objects)));
+        }
+    }
+
+    /**
+     * Queues an event which is formatted and sent by the publisher thread.
+     *
+     * The caller should check {@link #hasSubscriber(String)} first, so no events are created that nobody receives.
+     *
+     * @param event the event to publish
+     */
+    void publish(Event event) {
+        if (!events.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks if a client subscribed to a topic.
+     *
+     * @param topic the topic of the event
+     * @return true if a client will receive events of this topic
+     */
+    boolean hasSubscriber(String topic) {
+        String[] prefixes = subscriptions;
+        return prefixes.length != 0 && matchesSubscription(prefixes, topic, topic.length());
+    }
+
+    /**
+     * @return the amount of events that were dropped, because the queue was full
+     */
+    long getDroppedEvents() {
+        return droppedEvents.get();
     }
 
     /**
      * Gracefully shuts down the ZMQ publisher, forcing after 5 seconds.
      */
     public void shutdown() {
-        publisherService.shutdown();
+        running = false;
 
         try {
-            publisherService.awaitTermination(5, TimeUnit.SECONDS);
+            publisherThread.join(TimeUnit.SECONDS.toMillis(5));
         } catch (InterruptedException e) {
             LOG.error("Publisher service shutdown failed.", e);
+            Thread.currentThread().interrupt();
+        }
+        if (publisherThread.isAlive()) {
+            publisherThread.interrupt();
+            try {
+                publisherThread.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
 
         IotaIOUtils.closeQuietly(publisher);
         IotaIOUtils.closeQuietly(context);
     }
+
+    /**
+     * Checks if the beginning of a message matches any of the subscribed prefixes. Since only the fixed part of the
+     * message is known, it is enough that the prefix and the known part agree over their common length.
+     *
+     * @param prefixes the subscribed prefixes
+     * @param literal the text the message starts with
+     * @param literalLength the amount of characters of the literal that are known to be part of the message
+     * @return true if a client might receive the message
+     */
+    private static boolean matchesSubscription(String[] prefixes, String literal, int literalLength) {
+        for (String prefix : prefixes) {
+            if (prefix.regionMatches(0, literal, 0, Math.min(prefix.length(), literalLength))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends the queued events in batches and keeps track of the subscriptions until the publisher is shut down.
+     */
+    private void publishEvents() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        long lastDropReport = System.currentTimeMillis();
+        long reportedDrops = 0;
+
+        while (running || !events.isEmpty()) {
+            try {
+                Event event = events.poll(POLL_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    events.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    for (Event queuedEvent : batch) {
+                        send(queuedEvent);
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            updateSubscriptions();
+
+            long now = System.currentTimeMillis();
+            long drops = getDroppedEvents();
+            if (drops > reportedDrops && now - lastDropReport >= DROP_REPORT_INTERVAL_MILLISECONDS) {
+                LOG.warn("Dropped {} zmq events because the queue was full", drops - reportedDrops);
+                reportedDrops = drops;
+                lastDropReport = now;
+            }
+        }
+    }
+
+    private void send(Event event) {
+        try {
+            event.send(publisher);
+        } catch (Exception e) {
+            LOG.error("Error publishing event to zmq.", e);
+        }
+    }
+
+    /**
+     * Reads the (un)subscription messages of the XPUB socket. They consist of a flag (1 for subscribe, 0 for
+     * unsubscribe) followed by the topic prefix. The socket only passes on the first subscription and the last
+     * unsubscription of a prefix, so a set is enough to keep track of them.
+     */
+    private void updateSubscriptions() {
+        boolean changed = false;
+        byte[] message;
+        while ((message = publisher.recv(ZMQ.DONTWAIT)) != null) {
+            if (message.length == 0) {
+                continue;
+            }
+
+            String prefix = new String(message, 1, message.length - 1, StandardCharsets.ISO_8859_1);
+            if (message[0] == 1) {
+                changed |= subscribedPrefixes.add(prefix);
+            } else if (message[0] == 0) {
+                changed |= subscribedPrefixes.remove(prefix);
+            }
+        }
+
+        if (changed) {
+            subscriptions = subscribedPrefixes.toArray(new String[0]);
+        }
+    }
 }
@@ -28,6 +28,14 @@ public interface MessageQueueProvider {
      */
     boolean publishTransaction(Persistable model, Indexable index, String item);
 
+    /**
+     * Checks if a client subscribed to a topic, so expensive messages are only created if somebody receives them.
+     *
+     * @param topic the topic of the message
+     * @return true if a client will receive messages of this topic
+     */
+    boolean hasSubscriber(String topic);
+
     /**
      * Shutdown the MessageQueue.
      */
@@ -9,6 +9,9 @@ import com.iota.iri.storage.Persistable;
 import com.iota.iri.utils.Converter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+
+import java.nio.ByteBuffer;
 
 /**
  * Use <a href="http://zeromq.org/" target="_top">zeromq</a> to create a MessageQueue that publishes messages.
@@ -16,17 +19,52 @@ import org.slf4j.LoggerFactory;
 public class ZmqMessageQueueProvider implements MessageQueueProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ZmqMessageQueueProvider.class);
+
+    private static final String TX_TOPIC = "tx";
+
+    private static final String TRYTES_TOPIC = "trytes";
+
+    private static final String BINARY_TX_TOPIC = "btx";
+
+    /**
+     * Version of the header of binary events.
+     */
+    private static final byte BINARY_FORMAT_VERSION = 1;
+
+    /**
+     * Type of a binary event that contains a transaction.
+     */
+    private static final byte BINARY_TYPE_TRANSACTION = 1;
+
     private final MessageQ messageQ;
 
+    private final boolean binaryFrames;
+
     /**
      * Factory method to create a new ZmqMessageQueue with the given configuration.
      *
      * @param configuration with the zmq properties used to create MessageQueue
      */
     public ZmqMessageQueueProvider(ZMQConfig configuration) {
-        this.messageQ = MessageQ.createWith(configuration);
+        this(MessageQ.createWith(configuration), configuration.isZmqBinaryFrames());
+    }
+
+    /**
+     * Creates a new ZmqMessageQueue which publishes to the given queue.
+     *
+     * @param messageQ the queue to publish the events to
+     * @param binaryFrames true if transactions should also be published as binary frames
+     */
+    ZmqMessageQueueProvider(MessageQ messageQ, boolean binaryFrames) {
+        this.messageQ = messageQ;
+        this.binaryFrames = binaryFrames;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The events are only formatted if a client subscribed to them.
+     */
     @Override
     public boolean publishTransaction(Persistable model, Indexable index, String item) {
         if(!(model instanceof Transaction)) {
@@ -37,54 +75,86 @@ public class ZmqMessageQueueProvider implements MessageQueueProvider {
         }
 
         Transaction transaction = ((Transaction) model);
-        TransactionViewModel transactionViewModel = new TransactionViewModel(transaction, (Hash)index);
+        Hash hash = (Hash) index;
 
-        publishTx(transactionViewModel);
-        publishTrytes(transactionViewModel);
+        if (messageQ.hasSubscriber(TX_TOPIC)) {
+            messageQ.publish(socket -> publishTx(socket, new TransactionViewModel(transaction, hash)));
+        }
+        if (messageQ.hasSubscriber(TRYTES_TOPIC)) {
+            messageQ.publish(socket -> publishTrytes(socket, new TransactionViewModel(transaction, hash)));
+        }
+        if (binaryFrames && messageQ.hasSubscriber(BINARY_TX_TOPIC)) {
+            messageQ.publish(socket -> publishBinaryTx(socket, transaction, hash));
+        }
 
         return true;
     }
 
-    private void publishTx(TransactionViewModel transactionViewModel) {
+    private void publishTx(ZMQ.Socket socket, TransactionViewModel transactionViewModel) {
         StringBuilder txStringBuilder = new StringBuilder(600);
 
         try {
-            txStringBuilder.append("tx ");
+            txStringBuilder.append(TX_TOPIC).append(" ");
             txStringBuilder.append(transactionViewModel.getHash()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getAddressHash()); txStringBuilder.append(" ");
-            txStringBuilder.append(String.valueOf(transactionViewModel.value())); txStringBuilder.append(" ");
+            txStringBuilder.append(transactionViewModel.value()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getObsoleteTagValue().toString(), 0, 27); txStringBuilder.append(" ");
-            txStringBuilder.append(String.valueOf(transactionViewModel.getTimestamp())); txStringBuilder.append(" ");
-            txStringBuilder.append(String.valueOf(transactionViewModel.getCurrentIndex())); txStringBuilder.append(" ");
-            txStringBuilder.append(String.valueOf(transactionViewModel.lastIndex())); txStringBuilder.append(" ");
+            txStringBuilder.append(transactionViewModel.getTimestamp()); txStringBuilder.append(" ");
+            txStringBuilder.append(transactionViewModel.getCurrentIndex()); txStringBuilder.append(" ");
+            txStringBuilder.append(transactionViewModel.lastIndex()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getBundleHash()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getTrunkTransactionHash()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getBranchTransactionHash()); txStringBuilder.append(" ");
-            txStringBuilder.append(String.valueOf(transactionViewModel.getArrivalTime())); txStringBuilder.append(" ");
+            txStringBuilder.append(transactionViewModel.getArrivalTime()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getTagValue().toString(), 0, 27);
 
-            messageQ.publish(txStringBuilder.toString());
+            socket.send(txStringBuilder.toString());
         } catch (Exception e) {
             log.error(txStringBuilder.toString());
             log.error("Error publishing tx to zmq.", e);
         }
     }
 
-    private void publishTrytes(TransactionViewModel transactionViewModel) {
+    private void publishTrytes(ZMQ.Socket socket, TransactionViewModel transactionViewModel) {
         StringBuilder trytesStringBuilder = new StringBuilder(TransactionViewModel.TRINARY_SIZE/3);
 
         try {
-            trytesStringBuilder.append("trytes ");
+            trytesStringBuilder.append(TRYTES_TOPIC).append(" ");
             trytesStringBuilder.append(Converter.trytes(transactionViewModel.trits())); trytesStringBuilder.append(" ");
             trytesStringBuilder.append(transactionViewModel.getHash());
 
-            messageQ.publish(trytesStringBuilder.toString());
+            socket.send(trytesStringBuilder.toString());
         } catch (Exception e) {
             log.error(trytesStringBuilder.toString());
             log.error("Error publishing trytes to zmq.", e);
         }
     }
 
+    /**
+     * Publishes the raw bytes of a transaction as a multipart message consisting of the topic, a header (format
+     * version, event type and arrival time), the transaction hash and the transaction bytes.
+     *
+     * @param socket the socket to send the event with
+     * @param transaction the transaction to publish
+     * @param hash the hash of the transaction
+     */
+    private void publishBinaryTx(ZMQ.Socket socket, Transaction transaction, Hash hash) {
+        try {
+            byte[] header = ByteBuffer.allocate(2 + Long.BYTES)
+                    .put(BINARY_FORMAT_VERSION)
+                    .put(BINARY_TYPE_TRANSACTION)
+                    .putLong(transaction.arrivalTime)
+                    .array();
+
+            socket.sendMore(BINARY_TX_TOPIC);
+            socket.sendMore(header);
+            socket.sendMore(hash.bytes());
+            socket.send(transaction.bytes);
+        } catch (Exception e) {
+            log.error("Error publishing binary tx {} to zmq.", hash, e);
+        }
+    }
+
     /**
      * Publishes the message to the MessageQueue.
      *
@@ -97,6 +167,11 @@ public class ZmqMessageQueueProvider implements MessageQueueProvider {
         this.messageQ.publish(message, objects);
     }
 
+    @Override
+    public boolean hasSubscriber(String topic) {
+        return messageQ.hasSubscriber(topic);
+    }
+
     @Override
     public void shutdown() {
         this.messageQ.shutdown();
@@ -26,6 +26,26 @@ import static org.junit.Assert.*;
 
 public class BundleValidatorTest {
 
+    /**
+     * A bundle whose input signs with two fragments, which are enough to verify them in parallel.
+     */
+    private static final String[] BIGGER_VALID_BUNDLE_TRYTES = {
+            "BYTES9IO9MILESTONE9FOUR9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999MGLOFJZHGVVJIWO9QPFUCVOVGUSZCVBGAXPBGJBBAUOMEAZYANMULKVRJ9D9LTXMZNZUPKOFLBOWCTMWDREIVAMPJ9999999999999999999QH99999999999999999999999999DULM9D99999999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9FUVNZIPUCUFYQTSCOBXOCVX9LPGZZYNGEIAPZKNLRIYLGR9AYZUJZXQMEEYDLMDJTRYQBEXZBTAHZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999QH9999999999999999999999999YQWARLVNF999999999MMMMMMMMMNCSTBBIYBOFDUIJYHSGAQYKIKSJ",
+            "GREEN9IOTA9MILESTONE9ONE999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999IWDNLCKONBLEVIKAZNTWQJIKTVPTCJEPMTHJAFYSTGNTSRGWZRAVSFSSEMRJBLZXQQTHYDHTRGWHQAQXXFCRFSGVA99999999999999999999999999999999999999999999999DULM9D99A99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG99OVSHXGIGQILJBEXTGFPIHBFHZJBSHBQWDPTPLXXIERIOMKODEE9SLLPGPBCGRQFFPHGZU99DBTTA9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999YVNARLVNF999999999MMMMMMMMMQOUCQLOLWFNBCAKXUJKWCKPHUNC",
+            "CRYPTO9CORE9MILESTONE9FOUR9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999QNLVNDCDQJTXQIWLOWFOVRHFMAEX9XUS9PEQJTEONIVYCHXYU9ZPIPVZGBVARAPRNII9UIWKNNUCLH9JAHHCQLMPC99999999999999999999999999999999999999999999999DULM9D99B99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9MVXJKYCRJMGPVBAGVUMTNPAFNTWHKQCFDDKAHZBCWA9JIQOS9TYQCXFVVQDERHQ9TSVUCTWUYDWZ99999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999UYC9RLVNF999999999MMMMMMMMMZURSVUBYKASKBNRVXEXBIYIYKYV",
+            "UNIO9CYCLUX9MILESTONE9ONE99999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999XDGJPNYMWBG9OENADBPMTWLEHLAHMDSEABARKJDYGWAXQKFCLQRKBJJPKJNTBVK9TLGHF9NGWDDWDHCOZJIMAWDXF99999999999999999999999999999999999999999999999DULM9D99C99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9LCVWYIOLVPTCTY9MF9NE99ALRHGDBJNNUJPBHUNQYJUCQCCKXGQCKRFFXTOXXJZHOCXRPUTFCSQS99999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999IBR9RLVNF999999999MMMMMMMMMQGLJPBWI9MMLVX9BFDFZLXNZWNT",
+            "UNIO9MAXIMILIAN9MILESTONE9ONE9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999GNFKTFVHZIYKSIRCVHATQ9MCGTTMURKQCRIBUXGOC9GIA9IHJAXAGOCERUOEOADNQBEOIETPHOKEGNSABDIBQRKDD99999999999999999999999999999999999999999999999DULM9D99D99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9SGXBOFBKLNEGCOUQPJCDPOSYEXO9LHJVDVOOIUKAQIVBGLZQIFFBSZNRCBTFHHXAGESVLTITTXHQZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999TWJZRLVNF999999999MMMMMMMMMCNSKCRQQNFNIOUDOLKMOZAJJIV9",
+            "UNIO9LUNFARDO9MILESTONE9ONE999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999QUBTWTFCOKKCFJPQWTAZKZU9ABNIJLHTLJOHWQVGQHBQPCZXMPRRXZHFUOPOQCIKDGEDKOTCUVOHAFZKZRUUEHNXC99999999999999999999999999999999999999999999999DULM9D99E99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9OMOBATWEWNMOJEBNTBXCLBOCFZXPM9TYGXEXYSR9MWRULXGNYBVFSBQGMAKBJDZNAXUOZKWDNBGYZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999NJAZRLVNF999999999MMMMMMMMMFYGYRTZXPAEEADAPXNRFOIAGWKI",
+            "MMVKAE9FJGAGLHZNOPZMQ9AKUUFDPXPRURVTYDNE9WYBCJVBQUVWRFKWJXCNQTHHUYUTCXYMIKAVMPNTDCPPJESPVHSKBKIKT99YACLJXVBJOTKUDGJXSOYPNHNUOJSDPDALPCCJFSUGPKJD9SNNAMYZVJGCPBVQ9XKUZWGCPTFIGBTDBFCLGDJCJLB9ZHGFPQWRRPSFEOMTEPGGKXKDXDLMKXBERPDDLXKWLS9RBXMO9OZRNAACVOMQEMIUWOZBVZMTFYSSAOL9PAEHVYWXUBMCGQQZSONIQDVZMQWRKDDQO9H9VHCRVIMFYLKKCLYXDIYASCNVVHPZBXFTQZKIMQDUMTHTDWBOPNANCEKZ9UYIFFJXVCXSMJRCLEHVHKLWTGYQFV9MKUKZHUUGSI9ECIWZG9RVYXATOOLHBJEIELLBPGQTAWHVIFGOMCRMKZRAJL9OGPQVDUQZREFNKM9BVTKNWXGSWSMIXMIBJZFKLFJQXNDQK9WQS9BGXCZFMZRXEBRQPXDCOOCESUOZHIZGFOKJNNDJPSNVII9FPDJGJXXTPDVK9RBJKXBDWHPRURQHIYKTOOWJLURKDJEXJGEJCONMXKQTNDFH99IAHTHFREYACWLEBHIBRYOFUWCBNRSAEBKHSDK9PXIKQMIKGUYVTWETELKQOHLWTERSOXUHERPP9QPHWOKTQOIOOVQLEPCEXDDJJEOMBKYYGWSTXULOROJUWRV9IFSWXMWXJJNIPXPHT9HLCRFHQONWCXHRPTXZSJGKKOJUVEQGLUNL9IZMOOSVHDBFOVGXIRPQUVR9VBOSRJITRGOFGNXROUTCUSJVLIFWE9TWQISIIKWIFU9BTCIRPLOAVGRKDNKWTTOOWYWJSHIXQKHZHDHUYTZ9JYPEZKJJQNYE9MDRTDQWDOJAJIRETMQQBKQKZJHL9JHAMNSOHNLUNVCXYPWEXMMHYNDILYJPBVXLCH9WPCZEGGNNWFDJQIXWBKJMVVVEXZ9QYZECA9OJMJSCDBAZUCNSVZAQ9QAZPEKBSOPMBTZUQOFVVTDRHRQLWXAFYHUPNNEMAWBPTWAZRODRWMXNNSWJVFAOFKRYZWPZBIOLKCDQVCPOSXHJV9CFH99DMJEWSQZQCGDJSXJZCTRMGKSAUERLABMSYKYQCQMFUOGRFNMQYTB9MWFHCIREOOCEUYWFKULDLQUWWOK9KICTJTNRMRAZ9VBYFYUTNAJVHDJRTVUHTGAAOA9IMKMFGGQTPFPDTBJEMOLJFKBKXNTQYJRBZOTU9VYHWQBOMBFUNZQXSSLBHRQCTHDPPOUVXVRCEMUVHGSNILKCGGVPJEVBERMENLHDIMBVQJESVEUIMZUMWBQTSODWHGOTBXOAMFWG9EATCXFUFTMDYDSMSTGMYSNAKXSAKXS9ATMRXOQMCXKPYU9KAIWJHLUWRWPZGXODZUWUIVGOMPCYYEDQOXPQTFNOYHDYTB9EADTPVMLCZKNGIWGNETKZYWOPRPQ9VPWB9F9RHNIAKGMBUWEVVGZRPCAFLGSERIPZSIDLLHWMZNJPTLIII9RPZ9NWAYLZDOKIKGVGEY9QGZMQTNJWPQ9JHMYHZOJVDARAUSIJITOGEVYADWDUSQWXYDWNZXDQZIMBLQWYDTFTIKEZPBDL9FDYGZFQZBWPGTYQSX9FQQDWNUCPKBGDDEN9ZPPMTZBSVG9JTLOECBONJUGTXSWKKERCQFQLTQOWGXFRAMHZIVEQDPTVXXSPABYGPHQAMWAUEDVQEUOYINFUTYYCCMHUUWIWTWRKBEJSJXZQQJTZHFMHZHYQLX9YPSZHPZ99VZAAZY9BBVZSUKHDSSSPYGKNPVGUHWL9YIRLCVRUTIWODDDISRQMAHC9TUMRNAPZOUFEKRNUKZAMFMFEEMDFGAEDBUXQFGZSJ9IFWZJAWKJVMHRMFIEZI9ROANK9PSQXXGR9SYDFQ9IUJIBZSCXHTAEVXMRSVJJYWSG9YJWFCDTVWNONBDQPQRAGIGTIYOKXIXAOOFHNRUUMAOAFDU9WUHXOTVPRPVPUS9HJMPVWOIRMGOMINADOMABMAQ9LI9QKOJCHDURDPIPTOHRAPKDGCBZELDFFRUWIDCHWLUMHMCQXNNATKFNMTWXDJFVPUBQ9YUHPQDZJNRARG9KLWNIB9GXSOVLNTASCXODMESDOCVACOHGNEQXFXBTWBFGHTQJAWDORTBCJYE9G9LSFELUIILEESSERWLUAXNBLRGTXHZFHMMEGASWCECCODFBNNJC9WKG9BPKVABN9KX99999999999999999999999999999999999999999999ZEULM9D99F99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9HPFGHSHBORRAORIIKVPLFHWHXYMZZPLYWFOSSDRDTOZGDUBDBMXTTAQAJ9BZRPURJUORJKDDUWOEZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999QRAZRLVNF999999999MMMMMMMMMPRAQU9KOBJERWZHEWOFXMFORMRX",
+            "QLLGAJRIPGQLYBXNEGCUCMXLKGIMSXETYTUSLIS9XYTWXCLKJMYFTHRXTUCZUSS9UNOJRVESVRNRTYUPZRQCLNLNTUHWYLRTCE9LMSWOERWCCWJMOQFJBDADQFZYOWGDDUINUVSOG9XFAHFWGRWMMFVKRIGPHKPZNCILRKLIDRQBZSXTLBXNBISEAZ9JB9UCARIYBPMYWZGGNDTWHQJUXXTBDBKVNYEVUNMOAEEOCWODCXDHVUXHNIYYAFOYVFOKGXLWNMXENKPOBYHRNOYMMBMYOOUYGNQAGXXCZPYYEYKE9RJTZCYKOSDJINCGVCVBTIUWLERVECPKGZGTEALJIQCIMOMGFTBAFRHNBHNATRIZJNCRMONNWGIK9QYTLFQOVCEDTNWPLIYPTEUQGACPXVYOWKEYANSAQOZOJS9NB9BPFJJ9HQJWWQISNDGXYDWOX9EXOOXTPEOET9FWBU9STXQWONCMDKJZSQY99XBAHOWXIBNAAGWGGXGX9OUJHIKZLDJNBVWUNIHSGQE9IDMZVHDRYKUWXRWNFKJLYMOPUIXAPYXDQBMVYDWGXDGLYANSQFEAKDCB9QWMPRC9URCIOJPYUBZFGTBJKUBLDF9TGEPQCPMU9U9MTKREH9INRLDAIDJYWTODIYHRYCXWNHKVOPTRSTVYQTSIECHXMRBXEKBTM9IHHTPOITDKZJKLBVMIKQENRYAKWYTJLDEGDTRNXUWPXZIFXWBFZ9KRDNQEXNWONISTBHUVLCFMYZVOSSXQPLLXOMIQDAB9BGNHICBNIJ9GMPVTGT9CMNQKUHLUVWRDQUUJSZKPT9HIITMUTWMIXGDPTUXSATCQMQCRFXLGMSIWRHGGHOERFHBGNZDJQBDHANEILGVCHWBQHOYBXPSSZ9GUTHELXUBBHWC9JPFWJQZJJXLQFIUMLKKPLFTJEPHCYGOECQDYVYKRHLQAEKIHCZTDQIIBLZ99MNDSXLKXMTLSMOGD9SKKYSDFTDMPTHIAKHTBJXQJJPFDABGBMD9JTXDNBQYPTDOE9RZ9WLD9WDDNWMYDZYWAQAM9PYXSQGCPKCIWLSGKISHGJ9TPAXJVOPFVLPVEQ9YYHLWWQXQUOHOFLXQNMJWWVAPFR9FIZEHTOBPZPSKYOWSREPH9CXLEEVFCPGMDYYOEJUFADPMCQGQNDSEBONQRQYXZKDYIXCXBUUYAHLYKANCARTUVSLWSGJBPROCAFBBZWHRIBVVNQMUCONOPPEVXNENSCWOYYXJYWWIDBLHDIBQSGH9XUFBKHZEOXYEAMKPWNRZ9ZASASRQQEEEUGVZBNJVEJLQJEDUMDYYPNNILLVJBYIHWKVJUOQVCBINPUMTOPONBXZGBSOTAK9GVATSSAQPZJFBNOYHWFVXCHEFHPIVQPWEWSIBYWBFNNDWTFKWJS9S9NXBA9IVYRWGGGCK9VRZLLXYSZTQKZMENOACLIUWFZDOHRMKWHS9WFMLMFCGJGZVXWEFZWSYKEYCNBCU9QTMTJOEJXTFDFSFOMKCFNPVSWHVGIPJVQPWAPHXVELPRJMOTVRJOPUNAPWBGIQEOWPXXOLJNBYICVVNMDFZAAXDUOOYJDNVJJMAKCGSYKJQB9SMUIOBXGMFTZTHAPISGEKRKROEENVROTJMTWVCWWNSV9B9WLCQASMSKCOMMXPBTFV9ZNSFIZUDVYHU9PKOJEBOSABQATXBYNJFLBDDKOSRYOEDMYROSAEVJJTZFPLI9LIBGTJQYXOMRVOXX99QQREYTN9LGTYI9GDI9DQRTCC9THBMJSJSPBGFYKNZBUGI99MEZLNVJRJRIHLDBMWQYFTXKDTETRPVQVHZUTYNQCLIJVWCGSK9VSMWPTIWUCACBZGHQLAXRQGMKAWDQATGHYDVHRWEGECJCBUZYTX9FV9SXVM9BEGUGNHTPCQUIRQYKMKDSNVEGJ9CDDDEYSJJSKBTMWYVUTMBWPGORZSQNHNYVHBGHQWDAXVILELXIFQWCDVAKUEQSPLCZFPUDBUCTTYXAHOMFWCZCEKTDDKTIDUUZSEDJKDVZRHGLLZCTLRFEE9TPSFPELRCSGAHIW9MTLLYJGDJSZHVWFAEETQHPEORKSXZVYPXZRAKLXFSOLSQMTVECTLVGE9MYWFSSUBPVJJBBEKACVPJNGUVQFT9PZSXBPBNPR9NAQUKWKPIFSPYFXBTWBFGHTQJAWDORTBCJYE9G9LSFELUIILEESSERWLUAXNBLRGTXHZFHMMEGASWCECCODFBNNJC9WKG9999999999999999999999999999999999999999999999999999999ZEULM9D99G99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9ICQWKRZNLRACDFVCFHJPHRQ99XCSLOB9QSOPYRDZNKYZBXPQCNRDPYPMZWZLSJZPJWZFQABXS9YVZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999RBQZRLVNF999999999MMMMMMMMMPVOGGTPWW9AQFIDNYXKYZRNPOUD",
+            "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999G9EQ9IARCEMSKSMKYWKHUCGSXMGCT9LAAIHBWIWNIYWFTSGJRHSLXGXQNXKHJOXNMWQHPYMKOKSRL9TDDOJCQ9QNBOC999999999999999999999999999999999999999999999EULM9D99H99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999RNEQYL9XYIWHGTEQHZAPXZPWRRXOGXPJXHCV9OSTYLL9AVTMEXKG9HPIPKITPXQGEWIJIXVIEUNS99999999999999999999999999999999GBMYRLVNF999999999MMMMMMMMMAYSMPUWFG9OTFD9YMETBNVGMLRA",
+    };
+
+    /**
+     * The index of the transaction holding the last signature fragment of {@link #BIGGER_VALID_BUNDLE_TRYTES}.
+     */
+    private static final int LAST_SIGNATURE_FRAGMENT_INDEX = 7;
+
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
@@ -67,6 +87,13 @@ public class BundleValidatorTest {
                 }).collect(Collectors.toList());
     }
 
+    /**
+     * Replaces the first tryte of the signature message fragment of the given transaction.
+     */
+    private static String corruptSignature(String trytes) {
+        return (trytes.charAt(0) == 'A' ? "B" : "A") + trytes.substring(1);
+    }
+
     @Test
     public void checkInconsistencyOfInconsistentBundle() {
         // input transaction value changed to 123
@@ -180,19 +207,55 @@ public class BundleValidatorTest {
     }
 
     @Test
-    public void validateBiggerValidBundle() throws Exception {
+    public void validateValidBundleFromCache() throws Exception {
+        String[] trytes = {
+                "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999GNXKWQPHMFCEZZCKUCCD9PROQVPCTBVVAPHCLVOPYYQLQRMPGTQXBVZLKGGT9NXHUAASFIAVEOZTBSM9DA99999999999999999999999999RENGLE9BEAT9999999999999999FDKW9AD99999999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9DKZYSMJAQRLXZHCNPTJPJLOONNDZHGNTBIINGYKZQAAWF9LWQTHUQSAXMLQN9DKCQWHIJXNGLGQVA9999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999TANGLE9BEAT9999999999999999SVIDBWNOF999999999K99999999POWSRVIO9VMIJ99UGNETMNPNNNE",
+                "YU9WINMHSBIJ9HRBKDEHZYOCDGOZ9HZSSVXAYYOD9AMAFBCROMLSFDFIAQKEXAVFDLJYVABRSONSTTXLCQJTSDRFDEXZIORLRSQDZQODNCHAAFUPGBCEVYNRSJQGUZRAQIIEZPFQGWPQIBMDVNZGQAKCU9VLHGYSNDPHCMOCTRYQOYHFPRQSGHSDEF9MSHGXYGUTHSBSF9SOSJQFOZXMQGCUXAYWLBJHXOHTOM9ITZPISEXLAYAZBHTZDDCOIHKDBL9AAXZEDFHDYCPXLDGR9JTVXDXBC9DRDVREEEVGVPWVEZHJBYQYTGDEWQHVEDTAVLWW9WBXOIGDGUAAAVKFMPVKSYBVOIWPYGCMACEAAHGUIQVFLFMSCPKTYQWJDGMDNLMDIUUYI9SZOFQPLKKACESSWIXPFYZWDHETYUGEVASPHBGQPJPWVESSUUEVUYDYNQUQURSMCEPKIHYXNFHZSHIIDTMEZQ9IPSHTBDK9UHRSIIEJRILBCMVUMGAGBMHKEMUUKQDCYAVIAN9MBWJCAUSSJRSAUEUBGEFFCFSOBVGLXBAIDOH9NXWQUSIFUINEVZUWELLVIOSSQRVHMTDBCATBWFSDJJDLURAUKEQEIRICSCXAOJNPWHQKYVTRLCRKHLFHHHPYSMUEAPMQPMPS9CHCIYXEYRNIOOGRWKVHUGIWJZIGPWGZGBGYTVC9UVEJ9JBIYMDHYXLWIDXHZVFCCPLYXDPQPJGMKNZMMONGNXSNNPCGEGRJTMCPTJONGPAEDMSHMGAPGBDWVCSCTJAECSHTEGBMVCDZMQYZ9IHERWGCKAIMFOJRAEDRDSWJASV9XYS9CTOEETPQHRKJZ9FPWTVCGLEJQJXVVDTYZ9DNSHQAINKROQQIPTFGTABEELYPBQHGNNB9NCL9BVTG9MH99BPIRNNGC9MQQRH9YUDYSUJIDSZKCIGEKFSJ9PXUYKVPUZYFIREUAMUZE9EIMJK9YGAZXZBPRXIRDCEVDHWOCFIJTVRCRZRRJGFLILKVNMJAX9MUMTXCWTUTP9NXBZUMAYYY9DNVZTCROBCMMHVKSQRXMGROCMMCDENWQWBV9LEIJONWTQXOUQZOTGEJHJELYZOPICLDWPHVCMBFSYHPIJYZQDEGYITVPYNQMXPRTPKADLUKW9AEMSMGIWCUMOQMUDN9HZGYKTNVVNLOQAFVETEDJMJVKYCE9RE9AJP9RMYFKGDEC9GIGAFXEXIYXPFBOMRPULVJMYTQEPDMMIABDHJGRNNCKADZAUFV9WCWFYFHXLCED9E9SKKYHVKDTGNCHEKFJL9YJHTSRUVKEPHPCQSFNBXKOJNGBSEOZLVVGNUQTRACVGEKDSORUHVSDSQNUZASWXRADGAUDYDPODDEDNDDT9OAEARSBLPVSYAOEYYZJIZIZDENQOKMXATCTD9NEFVQWNCET9N9IXWCCWHYUBDTDJUZFXWMATRYSGJUQAFKAPIQIIXVFFEFNLGDPAIGKONUWLUTQTKZJYDEGPASTOMM9QTGOMYHFUKMNEVWPCMTLPDSOEEWDBRHZPZJIFMBUTY9QPRLPSVURIRMCWLH9YIZBOTJQMMF9ZP9VCCEGWVKSSQNANP9ZXVCAFGAVBXDJHUMKTKUBZRNKUGJTVUPDZMUK9KZI9EKY9DQDUNA9ZVPCROKYYPISSTDOJZJXMXZWSGZBEPKAUYPBPUTDVQKUYXWYTZXLYTCLLKLJUUJGFFCMZFKDTJET9KEDRMWZSAEFCSXLMRHRLG9EKLRZJ9NZQEONGFQSKSQMWRZXWVEGHCF9ZKGQITDLGFTZLCQMXVGVYIPKSUPPAOIKVWARJHAEJUZOOJFCFJTGQZWROSCEQSITQWZTQDFKECATBWSIRDFVWH9TXXUVEBRRKOTFSGBMGCMZDK9BJRVEUYOVNSLZNNSTWOB9CFNDJHJENDWSTIMMSWD9HSA9LDGTJDJFRGQCWOHYJNMFFLLDMVQEMCMNVQWMOGCEZUTK9MPULTDMKTIVFNVWXDNTRHNREHEDWIZCCRFVM9TXCTLBLYEKTRVVWHKZDOSYOBNLEKPNXMDZGLSVBBNBJIBZYBXZCENKVIXMNGUJUYFGFYFBKELSBZROQWKMESZTWDEEUCSXOWFSNJUGGJANMJFCBJV9GMDDJCAJHWKYQFJLFWZESTSIRBZQWYHGQDFUUWF9F9HXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMDZ99999999999999999999999999999999999999999999999999999FDKW9AD99A99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH99XJLIVAZYJGPKEHANESX9DORLEIOIFL9WVQBBNUDRZDGJMVSRTSFKOJPIMEXPBCPGKUUEKRGAXOB99999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999999999999999999999999999999RSIDBWNOF999999999K99999999POWSRVIO9VMIJ99FKKNKGPNNNNP",
+                "COSNPEACSPESTKTUS9CSMOCWVUBLERQJQGLLA9AYRRXMOVOBULQZZZJPLNELEX9EVZDAFOHBB9FBAYOTDB9YGJAVTDWNPJVVGEPFJ9QBYLXAYZEETY9GMYQRIRAIPWMJUFMFRSQRCEIOWISMBJKGCIGIIYNMXAYLXZIBNKANT9DSQXPBUPWGUJTOMD9JKSNFZJJFBZYBWRWQIZFOZXQWNJTRZTUPHVEGTAOLMBEPXOB9TCEBNIWXQUHNQJZHAOWGVOOOTSCTEUEMXJUODZP9CDLCMEXAW9YJGVNREENETEYXOAKZVRJVUSCRUSRCNZUGUOLCNHQITWYPJVJGPVULASTONDZRDVCNGJSN9DMMUORCOIBTITSPBXSAVTOHSAXHMGH99APRTQIVCEI9NWYKDOZCCWBNZGGCUCISSMGJHJ9OVSFBZVFMBODKRKSLIDESGFDQITCYFARWYTLFKSPLNVQ9LTYFODCHBAJKCWVZNBLOJH9ABFGDFOXHDNHZILINMYMVZYWTFJJOLADPTZRPJEMGPFQNYTFDGOKMDTDSKPTHIDWLMRSSACZMTHUCWVZHCYSPJRATABZ9JHWEBGTTQORGFOYDWUIYFYGOGGTYGYYI9RPKPMCTYNYKHHNWQKJTDQDHTRUYQPMCDDLVUUHUBPWGPMNQYPKHDHGIUSXJGNUXIYGZRGVYPTTV9KXJDLGVVXRIWIGKZJVCQ9DUWAYNDRKYCGKZDEOKZQCXELSQXLGLAPBDIWRTKGSIRNAZ9XFEGMWOWLPUA9TSGYRDOU9GKY9JJDKCJKKGJCRARGSNECJ9SEVAGPPJMBTMGNWSLNSFBOEYMIQBKOVSCTDIWCOQTHBVTZOFNNIYKKJLAROKIRFFPCLSOWO9BVNNJSXEYLJASPUEFKCEI9SGWADNGS9MZAKFTCAYNRVKGDIGYDTPGJXWFAEFGG9BX9XCNBZGQULH9IPPIQ9VFVAXGELUMCTE9TOFOGCTFYBYEBFOKKAESIIHEWLYLQKWDHPYNELJKMZHDSDSK9ZWFP99FQFLUXGTSVDMGHIFZFUCYTYPVEFEDM9TOHCQVIBXARYWZEKTWEOVSBYZTJZRUFZJCLRBTOWPTKY99CYQTGPMAKFYALIWPEQLUB9RGANTKDDMSDSJOTNPFZCXKJUGTJWWPK9FAJGPJOEBRHL9ZU9XRBDJBVMFIZIZFGKETH9RJUSDIOWDZIXFOJLT9DSIAWSCEYBNOGOAZQPZKVZTBXGACCBVQGFNGXNQFTVPUGUOHNBKTUERLSTDXGRKZSATIRHDBSXARYATBHOLUHCQGPRMQGSJUAXUCWKDXAUGORHFVVVDZQEYYGSV9IUM9VTMHJCIKBQD9TQLLYTZHAKDHPFGYMRGJOEDJKQTBBNFCKDEPYTPWUJEOPRJWHAILMVW9AXS9HAT9GCGRXZEHWNDOVGKGPWFXFC9IKLVZJCTGZUJFRHGL9FZWZYP9TPOWGOUTQ9INYBVTD9N9OV9AM9GYRJ99MRWRWLOAKJXMDTFNS9NZQAYGVZRJ9WVSIDRRQLGKH9VPUVKFWZMSRVVLKXUGJAZESC9LEYDNNDWS9WTWNFPCR9YKPOMIJAVHCRCJVBDFWSTDN9BPJRDMGZFXWTY9GUX9WEPJQMXSECFPREXAJ9DU9OLMNQFTF99QYZOGDUTMBHMNMCNUQTU9FTNEUNBT9NQO9YADGY9C9LQR9DYVJZE9GMMYAOUSWUIVJ9EAR9EEFCO9SZTQ9JQHPIJGXIOQZHOSUSVMHBOLTYSEONVLRISNAN9KJHHFFISTYIHYVAMXLPNALDELETXVSWGUWOIVKNAKZKNNRVNJKE9WMNQBXFGXSYZQQSIODAKINA9CPBOGAYKJ9V9GS9HERXSVYPEILYXC9GURBREBCXRZJVXHUOPGYFLPIFBCOTMHFTAAUQUZVEKOWYFFGSCXDFDBTSGZRMPQR9EYSZYGQETCWFDRXVOXXCUBOQTBQGVLAONSTSLURFYSDPAVNCXNWVPQOUORMVSLYISQUQKXFYYMJSGHQP9VAAZABEAGJMCPIEBZQSYCPS9CNKFBDRDTDA9C9MVKGUISRX9ODVUJNPDWMZ9ESYXJ99ETDGSTJZMZYJEGRUWTORMCLNHLDQ9YIJWPMDYGGJQHMFPJ9VKINJUESTCBJQXFTCJFNUXPZONVKXJRAYGKIWHXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMD999999999999999999999999999999999999999999999999999999FDKW9AD99B99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999FTXZAEQIKGFJABOGCCQGOMKNASGWCQWMNIMRDTHKPJMTKDGMEQNZOAYARIYEWFZYJALRKFODOITTZ9999999999999999999999999999999LLHDBWNOF999999999K99999999POWSRVIO9VMIJ99UMGMTTTPNNNV",
+        };
+        List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
+        Hash tailHash = transactions.get(0).getHash();
+        List<TransactionViewModel> bundleTxs = bundleValidator.validate(tangle, true, snapshot, tailHash);
+        List<TransactionViewModel> cachedBundleTxs = bundleValidator.validate(tangle, false, snapshot, tailHash);
+        assertEquals("the cached bundle should be returned", bundleTxs, cachedBundleTxs);
+        assertNotNull("the bundle should be cached", bundleValidator.getValidatedBundle(tailHash));
+        Mockito.verify(bundleValidator, Mockito.times(1))
+                .validate(Mockito.eq(tangle), Mockito.eq(tailHash), Mockito.anyInt(), Mockito.anyList());
+
+        bundleValidator.invalidate(tailHash);
+        assertNull("the bundle should not be cached anymore", bundleValidator.getValidatedBundle(tailHash));
+        bundleValidator.validate(tangle, true, snapshot, tailHash);
+        Mockito.verify(bundleValidator, Mockito.times(2))
+                .validate(Mockito.eq(tangle), Mockito.eq(tailHash), Mockito.anyInt(), Mockito.anyList());
+    }
+
+    @Test
+    public void cachedBundleReflectsUpdatedMetadata() throws Exception {
         String[] trytes = {
-                "BYTES9IO9MILESTONE9FOUR9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999MGLOFJZHGVVJIWO9QPFUCVOVGUSZCVBGAXPBGJBBAUOMEAZYANMULKVRJ9D9LTXMZNZUPKOFLBOWCTMWDREIVAMPJ9999999999999999999QH99999999999999999999999999DULM9D99999999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9FUVNZIPUCUFYQTSCOBXOCVX9LPGZZYNGEIAPZKNLRIYLGR9AYZUJZXQMEEYDLMDJTRYQBEXZBTAHZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999QH9999999999999999999999999YQWARLVNF999999999MMMMMMMMMNCSTBBIYBOFDUIJYHSGAQYKIKSJ",
-                "GREEN9IOTA9MILESTONE9ONE999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999IWDNLCKONBLEVIKAZNTWQJIKTVPTCJEPMTHJAFYSTGNTSRGWZRAVSFSSEMRJBLZXQQTHYDHTRGWHQAQXXFCRFSGVA99999999999999999999999999999999999999999999999DULM9D99A99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG99OVSHXGIGQILJBEXTGFPIHBFHZJBSHBQWDPTPLXXIERIOMKODEE9SLLPGPBCGRQFFPHGZU99DBTTA9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999YVNARLVNF999999999MMMMMMMMMQOUCQLOLWFNBCAKXUJKWCKPHUNC",
-                "CRYPTO9CORE9MILESTONE9FOUR9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999QNLVNDCDQJTXQIWLOWFOVRHFMAEX9XUS9PEQJTEONIVYCHXYU9ZPIPVZGBVARAPRNII9UIWKNNUCLH9JAHHCQLMPC99999999999999999999999999999999999999999999999DULM9D99B99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9MVXJKYCRJMGPVBAGVUMTNPAFNTWHKQCFDDKAHZBCWA9JIQOS9TYQCXFVVQDERHQ9TSVUCTWUYDWZ99999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999UYC9RLVNF999999999MMMMMMMMMZURSVUBYKASKBNRVXEXBIYIYKYV",
-                "UNIO9CYCLUX9MILESTONE9ONE99999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999XDGJPNYMWBG9OENADBPMTWLEHLAHMDSEABARKJDYGWAXQKFCLQRKBJJPKJNTBVK9TLGHF9NGWDDWDHCOZJIMAWDXF99999999999999999999999999999999999999999999999DULM9D99C99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9LCVWYIOLVPTCTY9MF9NE99ALRHGDBJNNUJPBHUNQYJUCQCCKXGQCKRFFXTOXXJZHOCXRPUTFCSQS99999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999IBR9RLVNF999999999MMMMMMMMMQGLJPBWI9MMLVX9BFDFZLXNZWNT",
-                "UNIO9MAXIMILIAN9MILESTONE9ONE9999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999GNFKTFVHZIYKSIRCVHATQ9MCGTTMURKQCRIBUXGOC9GIA9IHJAXAGOCERUOEOADNQBEOIETPHOKEGNSABDIBQRKDD99999999999999999999999999999999999999999999999DULM9D99D99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9SGXBOFBKLNEGCOUQPJCDPOSYEXO9LHJVDVOOIUKAQIVBGLZQIFFBSZNRCBTFHHXAGESVLTITTXHQZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999TWJZRLVNF999999999MMMMMMMMMCNSKCRQQNFNIOUDOLKMOZAJJIV9",
-                "UNIO9LUNFARDO9MILESTONE9ONE999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999QUBTWTFCOKKCFJPQWTAZKZU9ABNIJLHTLJOHWQVGQHBQPCZXMPRRXZHFUOPOQCIKDGEDKOTCUVOHAFZKZRUUEHNXC99999999999999999999999999999999999999999999999DULM9D99E99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9OMOBATWEWNMOJEBNTBXCLBOCFZXPM9TYGXEXYSR9MWRULXGNYBVFSBQGMAKBJDZNAXUOZKWDNBGYZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999NJAZRLVNF999999999MMMMMMMMMFYGYRTZXPAEEADAPXNRFOIAGWKI",
-                "MMVKAE9FJGAGLHZNOPZMQ9AKUUFDPXPRURVTYDNE9WYBCJVBQUVWRFKWJXCNQTHHUYUTCXYMIKAVMPNTDCPPJESPVHSKBKIKT99YACLJXVBJOTKUDGJXSOYPNHNUOJSDPDALPCCJFSUGPKJD9SNNAMYZVJGCPBVQ9XKUZWGCPTFIGBTDBFCLGDJCJLB9ZHGFPQWRRPSFEOMTEPGGKXKDXDLMKXBERPDDLXKWLS9RBXMO9OZRNAACVOMQEMIUWOZBVZMTFYSSAOL9PAEHVYWXUBMCGQQZSONIQDVZMQWRKDDQO9H9VHCRVIMFYLKKCLYXDIYASCNVVHPZBXFTQZKIMQDUMTHTDWBOPNANCEKZ9UYIFFJXVCXSMJRCLEHVHKLWTGYQFV9MKUKZHUUGSI9ECIWZG9RVYXATOOLHBJEIELLBPGQTAWHVIFGOMCRMKZRAJL9OGPQVDUQZREFNKM9BVTKNWXGSWSMIXMIBJZFKLFJQXNDQK9WQS9BGXCZFMZRXEBRQPXDCOOCESUOZHIZGFOKJNNDJPSNVII9FPDJGJXXTPDVK9RBJKXBDWHPRURQHIYKTOOWJLURKDJEXJGEJCONMXKQTNDFH99IAHTHFREYACWLEBHIBRYOFUWCBNRSAEBKHSDK9PXIKQMIKGUYVTWETELKQOHLWTERSOXUHERPP9QPHWOKTQOIOOVQLEPCEXDDJJEOMBKYYGWSTXULOROJUWRV9IFSWXMWXJJNIPXPHT9HLCRFHQONWCXHRPTXZSJGKKOJUVEQGLUNL9IZMOOSVHDBFOVGXIRPQUVR9VBOSRJITRGOFGNXROUTCUSJVLIFWE9TWQISIIKWIFU9BTCIRPLOAVGRKDNKWTTOOWYWJSHIXQKHZHDHUYTZ9JYPEZKJJQNYE9MDRTDQWDOJAJIRETMQQBKQKZJHL9JHAMNSOHNLUNVCXYPWEXMMHYNDILYJPBVXLCH9WPCZEGGNNWFDJQIXWBKJMVVVEXZ9QYZECA9OJMJSCDBAZUCNSVZAQ9QAZPEKBSOPMBTZUQOFVVTDRHRQLWXAFYHUPNNEMAWBPTWAZRODRWMXNNSWJVFAOFKRYZWPZBIOLKCDQVCPOSXHJV9CFH99DMJEWSQZQCGDJSXJZCTRMGKSAUERLABMSYKYQCQMFUOGRFNMQYTB9MWFHCIREOOCEUYWFKULDLQUWWOK9KICTJTNRMRAZ9VBYFYUTNAJVHDJRTVUHTGAAOA9IMKMFGGQTPFPDTBJEMOLJFKBKXNTQYJRBZOTU9VYHWQBOMBFUNZQXSSLBHRQCTHDPPOUVXVRCEMUVHGSNILKCGGVPJEVBERMENLHDIMBVQJESVEUIMZUMWBQTSODWHGOTBXOAMFWG9EATCXFUFTMDYDSMSTGMYSNAKXSAKXS9ATMRXOQMCXKPYU9KAIWJHLUWRWPZGXODZUWUIVGOMPCYYEDQOXPQTFNOYHDYTB9EADTPVMLCZKNGIWGNETKZYWOPRPQ9VPWB9F9RHNIAKGMBUWEVVGZRPCAFLGSERIPZSIDLLHWMZNJPTLIII9RPZ9NWAYLZDOKIKGVGEY9QGZMQTNJWPQ9JHMYHZOJVDARAUSIJITOGEVYADWDUSQWXYDWNZXDQZIMBLQWYDTFTIKEZPBDL9FDYGZFQZBWPGTYQSX9FQQDWNUCPKBGDDEN9ZPPMTZBSVG9JTLOECBONJUGTXSWKKERCQFQLTQOWGXFRAMHZIVEQDPTVXXSPABYGPHQAMWAUEDVQEUOYINFUTYYCCMHUUWIWTWRKBEJSJXZQQJTZHFMHZHYQLX9YPSZHPZ99VZAAZY9BBVZSUKHDSSSPYGKNPVGUHWL9YIRLCVRUTIWODDDISRQMAHC9TUMRNAPZOUFEKRNUKZAMFMFEEMDFGAEDBUXQFGZSJ9IFWZJAWKJVMHRMFIEZI9ROANK9PSQXXGR9SYDFQ9IUJIBZSCXHTAEVXMRSVJJYWSG9YJWFCDTVWNONBDQPQRAGIGTIYOKXIXAOOFHNRUUMAOAFDU9WUHXOTVPRPVPUS9HJMPVWOIRMGOMINADOMABMAQ9LI9QKOJCHDURDPIPTOHRAPKDGCBZELDFFRUWIDCHWLUMHMCQXNNATKFNMTWXDJFVPUBQ9YUHPQDZJNRARG9KLWNIB9GXSOVLNTASCXODMESDOCVACOHGNEQXFXBTWBFGHTQJAWDORTBCJYE9G9LSFELUIILEESSERWLUAXNBLRGTXHZFHMMEGASWCECCODFBNNJC9WKG9BPKVABN9KX99999999999999999999999999999999999999999999ZEULM9D99F99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9HPFGHSHBORRAORIIKVPLFHWHXYMZZPLYWFOSSDRDTOZGDUBDBMXTTAQAJ9BZRPURJUORJKDDUWOEZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999QRAZRLVNF999999999MMMMMMMMMPRAQU9KOBJERWZHEWOFXMFORMRX",
-                "QLLGAJRIPGQLYBXNEGCUCMXLKGIMSXETYTUSLIS9XYTWXCLKJMYFTHRXTUCZUSS9UNOJRVESVRNRTYUPZRQCLNLNTUHWYLRTCE9LMSWOERWCCWJMOQFJBDADQFZYOWGDDUINUVSOG9XFAHFWGRWMMFVKRIGPHKPZNCILRKLIDRQBZSXTLBXNBISEAZ9JB9UCARIYBPMYWZGGNDTWHQJUXXTBDBKVNYEVUNMOAEEOCWODCXDHVUXHNIYYAFOYVFOKGXLWNMXENKPOBYHRNOYMMBMYOOUYGNQAGXXCZPYYEYKE9RJTZCYKOSDJINCGVCVBTIUWLERVECPKGZGTEALJIQCIMOMGFTBAFRHNBHNATRIZJNCRMONNWGIK9QYTLFQOVCEDTNWPLIYPTEUQGACPXVYOWKEYANSAQOZOJS9NB9BPFJJ9HQJWWQISNDGXYDWOX9EXOOXTPEOET9FWBU9STXQWONCMDKJZSQY99XBAHOWXIBNAAGWGGXGX9OUJHIKZLDJNBVWUNIHSGQE9IDMZVHDRYKUWXRWNFKJLYMOPUIXAPYXDQBMVYDWGXDGLYANSQFEAKDCB9QWMPRC9URCIOJPYUBZFGTBJKUBLDF9TGEPQCPMU9U9MTKREH9INRLDAIDJYWTODIYHRYCXWNHKVOPTRSTVYQTSIECHXMRBXEKBTM9IHHTPOITDKZJKLBVMIKQENRYAKWYTJLDEGDTRNXUWPXZIFXWBFZ9KRDNQEXNWONISTBHUVLCFMYZVOSSXQPLLXOMIQDAB9BGNHICBNIJ9GMPVTGT9CMNQKUHLUVWRDQUUJSZKPT9HIITMUTWMIXGDPTUXSATCQMQCRFXLGMSIWRHGGHOERFHBGNZDJQBDHANEILGVCHWBQHOYBXPSSZ9GUTHELXUBBHWC9JPFWJQZJJXLQFIUMLKKPLFTJEPHCYGOECQDYVYKRHLQAEKIHCZTDQIIBLZ99MNDSXLKXMTLSMOGD9SKKYSDFTDMPTHIAKHTBJXQJJPFDABGBMD9JTXDNBQYPTDOE9RZ9WLD9WDDNWMYDZYWAQAM9PYXSQGCPKCIWLSGKISHGJ9TPAXJVOPFVLPVEQ9YYHLWWQXQUOHOFLXQNMJWWVAPFR9FIZEHTOBPZPSKYOWSREPH9CXLEEVFCPGMDYYOEJUFADPMCQGQNDSEBONQRQYXZKDYIXCXBUUYAHLYKANCARTUVSLWSGJBPROCAFBBZWHRIBVVNQMUCONOPPEVXNENSCWOYYXJYWWIDBLHDIBQSGH9XUFBKHZEOXYEAMKPWNRZ9ZASASRQQEEEUGVZBNJVEJLQJEDUMDYYPNNILLVJBYIHWKVJUOQVCBINPUMTOPONBXZGBSOTAK9GVATSSAQPZJFBNOYHWFVXCHEFHPIVQPWEWSIBYWBFNNDWTFKWJS9S9NXBA9IVYRWGGGCK9VRZLLXYSZTQKZMENOACLIUWFZDOHRMKWHS9WFMLMFCGJGZVXWEFZWSYKEYCNBCU9QTMTJOEJXTFDFSFOMKCFNPVSWHVGIPJVQPWAPHXVELPRJMOTVRJOPUNAPWBGIQEOWPXXOLJNBYICVVNMDFZAAXDUOOYJDNVJJMAKCGSYKJQB9SMUIOBXGMFTZTHAPISGEKRKROEENVROTJMTWVCWWNSV9B9WLCQASMSKCOMMXPBTFV9ZNSFIZUDVYHU9PKOJEBOSABQATXBYNJFLBDDKOSRYOEDMYROSAEVJJTZFPLI9LIBGTJQYXOMRVOXX99QQREYTN9LGTYI9GDI9DQRTCC9THBMJSJSPBGFYKNZBUGI99MEZLNVJRJRIHLDBMWQYFTXKDTETRPVQVHZUTYNQCLIJVWCGSK9VSMWPTIWUCACBZGHQLAXRQGMKAWDQATGHYDVHRWEGECJCBUZYTX9FV9SXVM9BEGUGNHTPCQUIRQYKMKDSNVEGJ9CDDDEYSJJSKBTMWYVUTMBWPGORZSQNHNYVHBGHQWDAXVILELXIFQWCDVAKUEQSPLCZFPUDBUCTTYXAHOMFWCZCEKTDDKTIDUUZSEDJKDVZRHGLLZCTLRFEE9TPSFPELRCSGAHIW9MTLLYJGDJSZHVWFAEETQHPEORKSXZVYPXZRAKLXFSOLSQMTVECTLVGE9MYWFSSUBPVJJBBEKACVPJNGUVQFT9PZSXBPBNPR9NAQUKWKPIFSPYFXBTWBFGHTQJAWDORTBCJYE9G9LSFELUIILEESSERWLUAXNBLRGTXHZFHMMEGASWCECCODFBNNJC9WKG9999999999999999999999999999999999999999999999999999999ZEULM9D99G99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9ICQWKRZNLRACDFVCFHJPHRQ99XCSLOB9QSOPYRDZNKYZBXPQCNRDPYPMZWZLSJZPJWZFQABXS9YVZ9999ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999999999999999999999999999999RBQZRLVNF999999999MMMMMMMMMPVOGGTPWW9AQFIDNYXKYZRNPOUD",
-                "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999G9EQ9IARCEMSKSMKYWKHUCGSXMGCT9LAAIHBWIWNIYWFTSGJRHSLXGXQNXKHJOXNMWQHPYMKOKSRL9TDDOJCQ9QNBOC999999999999999999999999999999999999999999999EULM9D99H99999999H99999999BJVQHAHPDFGNEELCFLIEXWWKZXLPUZQMDXFGKKOGPDEGJDALESJZFVKIIRJSGKXDNWJOQBRIUEBTGACG9ABQONKFWTKFCSKMUPVGPRNYIZTWETHIUNG9MFYKXLZRJHDUVIDBAL9QVDU9B9DHTYPMMDBCEFTLRA9999RNEQYL9XYIWHGTEQHZAPXZPWRRXOGXPJXHCV9OSTYLL9AVTMEXKG9HPIPKITPXQGEWIJIXVIEUNS99999999999999999999999999999999GBMYRLVNF999999999MMMMMMMMMAYSMPUWFG9OTFD9YMETBNVGMLRA",
+                "999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999GNXKWQPHMFCEZZCKUCCD9PROQVPCTBVVAPHCLVOPYYQLQRMPGTQXBVZLKGGT9NXHUAASFIAVEOZTBSM9DA99999999999999999999999999RENGLE9BEAT9999999999999999FDKW9AD99999999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9DKZYSMJAQRLXZHCNPTJPJLOONNDZHGNTBIINGYKZQAAWF9LWQTHUQSAXMLQN9DKCQWHIJXNGLGQVA9999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999TANGLE9BEAT9999999999999999SVIDBWNOF999999999K99999999POWSRVIO9VMIJ99UGNETMNPNNNE",
+                "YU9WINMHSBIJ9HRBKDEHZYOCDGOZ9HZSSVXAYYOD9AMAFBCROMLSFDFIAQKEXAVFDLJYVABRSONSTTXLCQJTSDRFDEXZIORLRSQDZQODNCHAAFUPGBCEVYNRSJQGUZRAQIIEZPFQGWPQIBMDVNZGQAKCU9VLHGYSNDPHCMOCTRYQOYHFPRQSGHSDEF9MSHGXYGUTHSBSF9SOSJQFOZXMQGCUXAYWLBJHXOHTOM9ITZPISEXLAYAZBHTZDDCOIHKDBL9AAXZEDFHDYCPXLDGR9JTVXDXBC9DRDVREEEVGVPWVEZHJBYQYTGDEWQHVEDTAVLWW9WBXOIGDGUAAAVKFMPVKSYBVOIWPYGCMACEAAHGUIQVFLFMSCPKTYQWJDGMDNLMDIUUYI9SZOFQPLKKACESSWIXPFYZWDHETYUGEVASPHBGQPJPWVESSUUEVUYDYNQUQURSMCEPKIHYXNFHZSHIIDTMEZQ9IPSHTBDK9UHRSIIEJRILBCMVUMGAGBMHKEMUUKQDCYAVIAN9MBWJCAUSSJRSAUEUBGEFFCFSOBVGLXBAIDOH9NXWQUSIFUINEVZUWELLVIOSSQRVHMTDBCATBWFSDJJDLURAUKEQEIRICSCXAOJNPWHQKYVTRLCRKHLFHHHPYSMUEAPMQPMPS9CHCIYXEYRNIOOGRWKVHUGIWJZIGPWGZGBGYTVC9UVEJ9JBIYMDHYXLWIDXHZVFCCPLYXDPQPJGMKNZMMONGNXSNNPCGEGRJTMCPTJONGPAEDMSHMGAPGBDWVCSCTJAECSHTEGBMVCDZMQYZ9IHERWGCKAIMFOJRAEDRDSWJASV9XYS9CTOEETPQHRKJZ9FPWTVCGLEJQJXVVDTYZ9DNSHQAINKROQQIPTFGTABEELYPBQHGNNB9NCL9BVTG9MH99BPIRNNGC9MQQRH9YUDYSUJIDSZKCIGEKFSJ9PXUYKVPUZYFIREUAMUZE9EIMJK9YGAZXZBPRXIRDCEVDHWOCFIJTVRCRZRRJGFLILKVNMJAX9MUMTXCWTUTP9NXBZUMAYYY9DNVZTCROBCMMHVKSQRXMGROCMMCDENWQWBV9LEIJONWTQXOUQZOTGEJHJELYZOPICLDWPHVCMBFSYHPIJYZQDEGYITVPYNQMXPRTPKADLUKW9AEMSMGIWCUMOQMUDN9HZGYKTNVVNLOQAFVETEDJMJVKYCE9RE9AJP9RMYFKGDEC9GIGAFXEXIYXPFBOMRPULVJMYTQEPDMMIABDHJGRNNCKADZAUFV9WCWFYFHXLCED9E9SKKYHVKDTGNCHEKFJL9YJHTSRUVKEPHPCQSFNBXKOJNGBSEOZLVVGNUQTRACVGEKDSORUHVSDSQNUZASWXRADGAUDYDPODDEDNDDT9OAEARSBLPVSYAOEYYZJIZIZDENQOKMXATCTD9NEFVQWNCET9N9IXWCCWHYUBDTDJUZFXWMATRYSGJUQAFKAPIQIIXVFFEFNLGDPAIGKONUWLUTQTKZJYDEGPASTOMM9QTGOMYHFUKMNEVWPCMTLPDSOEEWDBRHZPZJIFMBUTY9QPRLPSVURIRMCWLH9YIZBOTJQMMF9ZP9VCCEGWVKSSQNANP9ZXVCAFGAVBXDJHUMKTKUBZRNKUGJTVUPDZMUK9KZI9EKY9DQDUNA9ZVPCROKYYPISSTDOJZJXMXZWSGZBEPKAUYPBPUTDVQKUYXWYTZXLYTCLLKLJUUJGFFCMZFKDTJET9KEDRMWZSAEFCSXLMRHRLG9EKLRZJ9NZQEONGFQSKSQMWRZXWVEGHCF9ZKGQITDLGFTZLCQMXVGVYIPKSUPPAOIKVWARJHAEJUZOOJFCFJTGQZWROSCEQSITQWZTQDFKECATBWSIRDFVWH9TXXUVEBRRKOTFSGBMGCMZDK9BJRVEUYOVNSLZNNSTWOB9CFNDJHJENDWSTIMMSWD9HSA9LDGTJDJFRGQCWOHYJNMFFLLDMVQEMCMNVQWMOGCEZUTK9MPULTDMKTIVFNVWXDNTRHNREHEDWIZCCRFVM9TXCTLBLYEKTRVVWHKZDOSYOBNLEKPNXMDZGLSVBBNBJIBZYBXZCENKVIXMNGUJUYFGFYFBKELSBZROQWKMESZTWDEEUCSXOWFSNJUGGJANMJFCBJV9GMDDJCAJHWKYQFJLFWZESTSIRBZQWYHGQDFUUWF9F9HXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMDZ99999999999999999999999999999999999999999999999999999FDKW9AD99A99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH99XJLIVAZYJGPKEHANESX9DORLEIOIFL9WVQBBNUDRZDGJMVSRTSFKOJPIMEXPBCPGKUUEKRGAXOB99999XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999999999999999999999999999999RSIDBWNOF999999999K99999999POWSRVIO9VMIJ99FKKNKGPNNNNP",
+                "COSNPEACSPESTKTUS9CSMOCWVUBLERQJQGLLA9AYRRXMOVOBULQZZZJPLNELEX9EVZDAFOHBB9FBAYOTDB9YGJAVTDWNPJVVGEPFJ9QBYLXAYZEETY9GMYQRIRAIPWMJUFMFRSQRCEIOWISMBJKGCIGIIYNMXAYLXZIBNKANT9DSQXPBUPWGUJTOMD9JKSNFZJJFBZYBWRWQIZFOZXQWNJTRZTUPHVEGTAOLMBEPXOB9TCEBNIWXQUHNQJZHAOWGVOOOTSCTEUEMXJUODZP9CDLCMEXAW9YJGVNREENETEYXOAKZVRJVUSCRUSRCNZUGUOLCNHQITWYPJVJGPVULASTONDZRDVCNGJSN9DMMUORCOIBTITSPBXSAVTOHSAXHMGH99APRTQIVCEI9NWYKDOZCCWBNZGGCUCISSMGJHJ9OVSFBZVFMBODKRKSLIDESGFDQITCYFARWYTLFKSPLNVQ9LTYFODCHBAJKCWVZNBLOJH9ABFGDFOXHDNHZILINMYMVZYWTFJJOLADPTZRPJEMGPFQNYTFDGOKMDTDSKPTHIDWLMRSSACZMTHUCWVZHCYSPJRATABZ9JHWEBGTTQORGFOYDWUIYFYGOGGTYGYYI9RPKPMCTYNYKHHNWQKJTDQDHTRUYQPMCDDLVUUHUBPWGPMNQYPKHDHGIUSXJGNUXIYGZRGVYPTTV9KXJDLGVVXRIWIGKZJVCQ9DUWAYNDRKYCGKZDEOKZQCXELSQXLGLAPBDIWRTKGSIRNAZ9XFEGMWOWLPUA9TSGYRDOU9GKY9JJDKCJKKGJCRARGSNECJ9SEVAGPPJMBTMGNWSLNSFBOEYMIQBKOVSCTDIWCOQTHBVTZOFNNIYKKJLAROKIRFFPCLSOWO9BVNNJSXEYLJASPUEFKCEI9SGWADNGS9MZAKFTCAYNRVKGDIGYDTPGJXWFAEFGG9BX9XCNBZGQULH9IPPIQ9VFVAXGELUMCTE9TOFOGCTFYBYEBFOKKAESIIHEWLYLQKWDHPYNELJKMZHDSDSK9ZWFP99FQFLUXGTSVDMGHIFZFUCYTYPVEFEDM9TOHCQVIBXARYWZEKTWEOVSBYZTJZRUFZJCLRBTOWPTKY99CYQTGPMAKFYALIWPEQLUB9RGANTKDDMSDSJOTNPFZCXKJUGTJWWPK9FAJGPJOEBRHL9ZU9XRBDJBVMFIZIZFGKETH9RJUSDIOWDZIXFOJLT9DSIAWSCEYBNOGOAZQPZKVZTBXGACCBVQGFNGXNQFTVPUGUOHNBKTUERLSTDXGRKZSATIRHDBSXARYATBHOLUHCQGPRMQGSJUAXUCWKDXAUGORHFVVVDZQEYYGSV9IUM9VTMHJCIKBQD9TQLLYTZHAKDHPFGYMRGJOEDJKQTBBNFCKDEPYTPWUJEOPRJWHAILMVW9AXS9HAT9GCGRXZEHWNDOVGKGPWFXFC9IKLVZJCTGZUJFRHGL9FZWZYP9TPOWGOUTQ9INYBVTD9N9OV9AM9GYRJ99MRWRWLOAKJXMDTFNS9NZQAYGVZRJ9WVSIDRRQLGKH9VPUVKFWZMSRVVLKXUGJAZESC9LEYDNNDWS9WTWNFPCR9YKPOMIJAVHCRCJVBDFWSTDN9BPJRDMGZFXWTY9GUX9WEPJQMXSECFPREXAJ9DU9OLMNQFTF99QYZOGDUTMBHMNMCNUQTU9FTNEUNBT9NQO9YADGY9C9LQR9DYVJZE9GMMYAOUSWUIVJ9EAR9EEFCO9SZTQ9JQHPIJGXIOQZHOSUSVMHBOLTYSEONVLRISNAN9KJHHFFISTYIHYVAMXLPNALDELETXVSWGUWOIVKNAKZKNNRVNJKE9WMNQBXFGXSYZQQSIODAKINA9CPBOGAYKJ9V9GS9HERXSVYPEILYXC9GURBREBCXRZJVXHUOPGYFLPIFBCOTMHFTAAUQUZVEKOWYFFGSCXDFDBTSGZRMPQR9EYSZYGQETCWFDRXVOXXCUBOQTBQGVLAONSTSLURFYSDPAVNCXNWVPQOUORMVSLYISQUQKXFYYMJSGHQP9VAAZABEAGJMCPIEBZQSYCPS9CNKFBDRDTDA9C9MVKGUISRX9ODVUJNPDWMZ9ESYXJ99ETDGSTJZMZYJEGRUWTORMCLNHLDQ9YIJWPMDYGGJQHMFPJ9VKINJUESTCBJQXFTCJFNUXPZONVKXJRAYGKIWHXSBZRKBDLRWXSMKW99KPWJOQYPMHB9KWALSVLFNANYSMNWSJLUOCBKAWAJHNWMLPLXHVEPTKBPWLWHMD999999999999999999999999999999999999999999999999999999FDKW9AD99B99999999B99999999RJPQGE9AXNBBLPQ9IFJXFJTXJAIGDDXAWXGAVU9PJQNYFADJDIDBTJKSAEBBX9NWJGZVAVXYWXPCEFFH9XIFVJWCABR9XQKOWCXJAZDZWMWWBVHROBOPISAWDIJTSFPVAUZNJUMNUCOFIBIAAVIOWDTCNIPRVA9999FTXZAEQIKGFJABOGCCQGOMKNASGWCQWMNIMRDTHKPJMTKDGMEQNZOAYARIYEWFZYJALRKFODOITTZ9999999999999999999999999999999LLHDBWNOF999999999K99999999POWSRVIO9VMIJ99UMGMTTTPNNNV",
         };
         List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
+        Hash tailHash = transactions.get(0).getHash();
+        bundleValidator.validate(tangle, true, snapshot, tailHash);
+
+        // the metadata keeps changing after the bundle was validated
+        TransactionViewModel.fromHash(tangle, tailHash).setSnapshot(tangle, snapshot, 42);
+
+        List<TransactionViewModel> cachedBundleTxs = bundleValidator.validate(tangle, true, snapshot, tailHash);
+        Mockito.verify(bundleValidator, Mockito.times(1))
+                .validate(Mockito.eq(tangle), Mockito.eq(tailHash), Mockito.anyInt(), Mockito.anyList());
+        assertEquals("the cached bundle should contain all transactions", transactions.size(),
+                cachedBundleTxs.size());
+        assertEquals("the cached bundle should see the updated snapshot index", 42,
+                cachedBundleTxs.get(0).snapshotIndex());
+    }
+
+    @Test
+    public void validateBiggerValidBundle() throws Exception {
+        String[] trytes = BIGGER_VALID_BUNDLE_TRYTES;
+        List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
         List<TransactionViewModel> bundleTxs = bundleValidator.validate(tangle, true, snapshot,
                 transactions.get(0).getHash());
         assertFalse("all txs from the valid bundle should be returned", bundleTxs.isEmpty());
@@ -217,6 +280,24 @@ public class BundleValidatorTest {
                 TransactionViewModel.fromHash(tangle, transactions.get(0).getHash()).getValidity());
     }
 
+    @Test
+    public void validateBiggerBundleWithInvalidLastSignatureFragment() throws Exception {
+        String[] trytes = BIGGER_VALID_BUNDLE_TRYTES.clone();
+        Hash lastFragmentHash = TransactionHash.calculate(SpongeFactory.Mode.CURLP81,
+                Converter.allocatingTritsFromTrytes(trytes[LAST_SIGNATURE_FRAGMENT_INDEX]));
+        trytes[LAST_SIGNATURE_FRAGMENT_INDEX] = corruptSignature(trytes[LAST_SIGNATURE_FRAGMENT_INDEX]);
+        List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
+        // keep the original hash, so the bundle is still complete and only the signature is wrong
+        new TransactionViewModel(Converter.allocatingTritsFromTrytes(trytes[LAST_SIGNATURE_FRAGMENT_INDEX]),
+                lastFragmentHash).store(tangle, snapshot);
+
+        List<TransactionViewModel> bundleTxs = bundleValidator.validate(tangle, true, snapshot,
+                transactions.get(0).getHash());
+        assertTrue("no transactions should be returned", bundleTxs.isEmpty());
+        assertEquals("should have changed the validity of the tail tx to invalid", -1,
+                TransactionViewModel.fromHash(tangle, transactions.get(0).getHash()).getValidity());
+    }
+
     @Test
     public void validateBundleWithMissingNonTailTransaction() throws Exception {
         String[] trytes = {
@@ -440,6 +521,27 @@ public class BundleValidatorTest {
         assertEquals("the signatures should be invalid", BundleValidator.Validity.INVALID, validity);
     }
 
+    @Test
+    public void validateSignaturesOfBiggerValidBundle() {
+        List<TransactionViewModel> transactions = persistAndMapTxs(BIGGER_VALID_BUNDLE_TRYTES);
+        final byte[] normalizedBundle = new byte[Curl.HASH_LENGTH / ISS.TRYTE_WIDTH];
+        BundleValidator.validateBundleHash(transactions, normalizedBundle);
+        BundleValidator.Validity validity = BundleValidator.validateSignatures(transactions, normalizedBundle);
+        assertEquals("the signatures should be valid", BundleValidator.Validity.VALID, validity);
+    }
+
+    @Test
+    public void validateSignaturesOfBiggerBundleWithInvalidLastSignatureFragment() {
+        String[] trytes = BIGGER_VALID_BUNDLE_TRYTES.clone();
+        trytes[LAST_SIGNATURE_FRAGMENT_INDEX] = corruptSignature(trytes[LAST_SIGNATURE_FRAGMENT_INDEX]);
+        List<TransactionViewModel> transactions = persistAndMapTxs(trytes);
+        final byte[] normalizedBundle = new byte[Curl.HASH_LENGTH / ISS.TRYTE_WIDTH];
+        assertEquals("the bundle hash doesn't cover the signature", BundleValidator.Validity.VALID,
+                BundleValidator.validateBundleHash(transactions, normalizedBundle));
+        BundleValidator.Validity validity = BundleValidator.validateSignatures(transactions, normalizedBundle);
+        assertEquals("the signatures should be invalid", BundleValidator.Validity.INVALID, validity);
+    }
+
     @Test
     public void validationModeAll() {
         String[] trytes = {
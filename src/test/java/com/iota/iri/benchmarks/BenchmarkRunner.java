@@ -1,8 +1,12 @@
 package com.iota.iri.benchmarks;
 
 import com.iota.iri.benchmarks.dbbenchmark.RocksDbBenchmark;
+import com.iota.iri.benchmarks.model.HashBenchmark;
+import com.iota.iri.benchmarks.model.HashFootprintBenchmark;
+import com.iota.iri.benchmarks.model.TransactionMetadataBenchmark;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -48,6 +52,73 @@ public class BenchmarkRunner {
         new Runner(opts).run();
     }
 
+    @Test
+    public void launchDataStructureBenchmark() throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(this.getClass().getPackage().getName() + ".datastructure")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(getWarmUpIterations(5))
+                .forks(getForks(1))
+                .threads(getThreads())
+                .measurementIterations(getMeasurementIterations(10))
+                .shouldFailOnError(true)
+                .shouldDoGC(false)
+                .build();
+        new Runner(opts).run();
+    }
+
+    @Test
+    public void launchModelBenchmark() throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(HashBenchmark.class.getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(getWarmUpIterations(5))
+                .forks(getForks(1))
+                .threads(getThreads())
+                .measurementIterations(getMeasurementIterations(10))
+                .shouldFailOnError(true)
+                .shouldDoGC(false)
+                .build();
+        new Runner(opts).run();
+    }
+
+    @Test
+    public void launchHashFootprintBenchmark() throws RunnerException {
+        // a single thread and one invocation per iteration, so the heap usage can be attributed to it
+        Options opts = new OptionsBuilder()
+                .include(HashFootprintBenchmark.class.getName() + ".*")
+                .mode(Mode.SingleShotTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(getWarmUpIterations(1))
+                .forks(getForks(1))
+                .threads(1)
+                .measurementIterations(getMeasurementIterations(5))
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+        new Runner(opts).run();
+    }
+
+    @Test
+    public void launchTransactionMetadataBenchmark() throws RunnerException {
+        // the gc profiler reports the bytes allocated per operation next to the throughput
+        Options opts = new OptionsBuilder()
+                .include(TransactionMetadataBenchmark.class.getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(getWarmUpIterations(5))
+                .forks(getForks(1))
+                .threads(1)
+                .measurementIterations(getMeasurementIterations(10))
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .shouldDoGC(false)
+                .build();
+        new Runner(opts).run();
+    }
+
     private int getThreads() {
         return getProperty("threads", Integer.toString(Runtime.getRuntime().availableProcessors()));
     }
@@ -0,0 +1,90 @@
+package com.iota.iri.benchmarks.crypto;
+
+import com.iota.iri.BundleValidator;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.crypto.Curl;
+import com.iota.iri.crypto.ISS;
+import com.iota.iri.crypto.SpongeFactory;
+import com.iota.iri.model.Hash;
+import com.iota.iri.utils.Converter;
+import org.junit.Assert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BundleValidatorBenchmark {
+  private static final int SECURITY_LEVEL = 2;
+
+  @State(Scope.Benchmark)
+  public static class SignedBundleState {
+
+    @Param({"1", "5", "20"})
+    private int numberOfInputs;
+
+    private List<TransactionViewModel> bundleTxs;
+    private byte[] normalizedBundle;
+
+    /**
+     * Signs a random bundle hash with {@link #numberOfInputs} addresses of a random seed.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      Random random = new Random(42);
+      byte[] seed = randomTrits(random, Curl.HASH_LENGTH);
+      byte[] bundleHash = randomTrits(random, Curl.HASH_LENGTH);
+      normalizedBundle = ISS.normalizedBundle(bundleHash);
+
+      bundleTxs = new ArrayList<>(numberOfInputs * SECURITY_LEVEL);
+      for (int input = 0; input < numberOfInputs; input++) {
+        byte[] subseed = ISS.subseed(SpongeFactory.Mode.KERL, seed, input);
+        byte[] key = ISS.key(SpongeFactory.Mode.KERL, subseed, SECURITY_LEVEL);
+        byte[] address = ISS.address(SpongeFactory.Mode.KERL, ISS.digests(SpongeFactory.Mode.KERL, key));
+
+        for (int fragment = 0; fragment < SECURITY_LEVEL; fragment++) {
+          byte[] normalizedFragment = Arrays.copyOfRange(normalizedBundle,
+              fragment * ISS.NORMALIZED_FRAGMENT_LENGTH, (fragment + 1) * ISS.NORMALIZED_FRAGMENT_LENGTH);
+          byte[] keyFragment = Arrays.copyOfRange(key, fragment * ISS.FRAGMENT_LENGTH,
+              (fragment + 1) * ISS.FRAGMENT_LENGTH);
+          byte[] signature = ISS.signatureFragment(SpongeFactory.Mode.KERL, normalizedFragment, keyFragment);
+
+          byte[] trits = new byte[TransactionViewModel.TRINARY_SIZE];
+          System.arraycopy(signature, 0, trits, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_OFFSET,
+              signature.length);
+          System.arraycopy(address, 0, trits, TransactionViewModel.ADDRESS_TRINARY_OFFSET, address.length);
+          Converter.copyTrits(fragment == 0 ? -1 : 0, trits, TransactionViewModel.VALUE_TRINARY_OFFSET,
+              TransactionViewModel.VALUE_TRINARY_SIZE);
+
+          TransactionViewModel tvm = new TransactionViewModel(trits, Hash.NULL_HASH);
+          tvm.setMetadata();
+          bundleTxs.add(tvm);
+        }
+      }
+    }
+
+    private static byte[] randomTrits(Random random, int length) {
+      byte[] trits = new byte[length];
+      for (int i = 0; i < length; i++) {
+        trits[i] = (byte) (random.nextInt(3) - 1);
+      }
+      return trits;
+    }
+  }
+
+  /**
+   * Benchmark the signature verification of bundles with 1, 5 and 20 inputs.
+   */
+  @Benchmark
+  public void validateSignatures(SignedBundleState state) {
+    BundleValidator.Validity validity = BundleValidator.validateSignatures(state.bundleTxs, state.normalizedBundle);
+    Assert.assertEquals(BundleValidator.Validity.VALID, validity);
+  }
+
+}
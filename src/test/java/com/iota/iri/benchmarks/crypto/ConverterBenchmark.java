@@ -0,0 +1,57 @@
+package com.iota.iri.benchmarks.crypto;
+
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.utils.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Benchmarks the conversion of a whole transaction between its byte and its trit encoding, like it is done for every
+ * received and every stored transaction. The buffers are reused, so only the conversion itself is measured.
+ */
+@State(Scope.Thread)
+public class ConverterBenchmark {
+  private byte[] transactionTrits;
+
+  private byte[] transactionBytes;
+
+  private byte[] tritsBuffer;
+
+  private byte[] bytesBuffer;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    transactionTrits = new byte[TransactionViewModel.TRINARY_SIZE];
+    for (int i = 0; i < transactionTrits.length; i++) {
+      transactionTrits[i] = (byte) (random.nextInt(3) - 1);
+    }
+    transactionBytes = new byte[TransactionViewModel.SIZE];
+    Converter.bytes(transactionTrits, transactionBytes);
+
+    tritsBuffer = new byte[TransactionViewModel.TRINARY_SIZE];
+    bytesBuffer = new byte[TransactionViewModel.SIZE];
+  }
+
+  /**
+   * Benchmark decoding the bytes of a received transaction.
+   */
+  @Benchmark
+  public byte[] bytesToTrits() {
+    Converter.getTrits(transactionBytes, 0, tritsBuffer, 0, TransactionViewModel.TRINARY_SIZE);
+    return tritsBuffer;
+  }
+
+  /**
+   * Benchmark encoding the trits of a transaction.
+   */
+  @Benchmark
+  public byte[] tritsToBytes() {
+    Converter.bytes(transactionTrits, 0, bytesBuffer, 0, TransactionViewModel.TRINARY_SIZE);
+    return bytesBuffer;
+  }
+}
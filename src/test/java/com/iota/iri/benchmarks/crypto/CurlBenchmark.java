@@ -2,14 +2,25 @@ package com.iota.iri.benchmarks.crypto;
 
 import com.iota.iri.crypto.Curl;
 import com.iota.iri.crypto.SpongeFactory;
+import com.iota.iri.crypto.batched.BCTCurl;
+import com.iota.iri.crypto.batched.BCTernaryDemultiplexer;
+import com.iota.iri.crypto.batched.BCTernaryMultiplexer;
+import com.iota.iri.crypto.batched.BCTrinary;
 import com.iota.iri.utils.Converter;
 import com.iota.iri.utils.Pair;
 import org.junit.Assert;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CurlBenchmark {
   private final static String TRYTES = "RSWWSFXPQJUBJROQBRQZWZXZJWMUBVIVMHPPTYSNW9YQIQQF9RCSJJCVZG9ZWITXNCSBBDHEEKDRBHVTWCZ9SZOOZHVBPCQNPKTWFNZAWGCZ9QDIMKRVINMIRZBPKRKQAIPGOHBTHTGYXTBJLSURDSPEOJ9UKJECUKCCPVIQQHDUYKVKISCEIEGVOQWRBAYXWGSJUTEVG9RPQLPTKYCRAJ9YNCUMDVDYDQCKRJOAPXCSUDAJGETALJINHEVNAARIPONBWXUOQUFGNOCUSSLYWKOZMZUKLNITZIFXFWQAYVJCVMDTRSHORGNSTKX9Z9DLWNHZSMNOYTU9AUCGYBVIITEPEKIXBCOFCMQPBGXYJKSHPXNUKFTXIJVYRFILAVXEWTUICZCYYPCEHNTK9SLGVL9RLAMYTAEPONCBHDXSEQZOXO9XCFUCPPMKEBR9IEJGQOPPILHFXHMIULJYXZJASQEGCQDVYFOM9ETXAGVMSCHHQLFPATWOSMZIDL9AHMSDCE9UENACG9OVFAEIPPQYBCLXDMXXA9UBJFQQBCYKETPNKHNOUKCSSYLWZDLKUARXNVKKKHNRBVSTVKQCZL9RY9BDTDTPUTFUBGRMSTOTXLWUHDMSGYRDSZLIPGQXIDMNCNBOAOI9WFUCXSRLJFIVTIPIAZUK9EDUJJ9B9YCJEZQQELLHVCWDNRH9FUXDGZRGOVXGOKORTCQQA9JXNROLETYCNLRMBGXBL9DQKMOAZCBJGWLNJLGRSTYBKLGFVRUF9QOPZVQFGMDJA9TBVGFJDBAHEVOLW9GNU9NICLCQJBOAJBAHHBZJGOFUCQMBGYQLCWNKSZPPBQMSJTJLM9GXOZHTNDLGIRCSIJAZTENQVQDHFSOQM9WVNWQQJNOPZMEISSCLOADMRNWALBBSLSWNCTOSNHNLWZBVCFIOGFPCPRKQSRGKFXGTWUSCPZSKQNLQJGKDLOXSBJMEHQPDZGSENUKWAHRNONDTBLHNAKGLOMCFYRCGMDOVANPFHMQRFCZIQHCGVORJJNYMTORDKPJPLA9LWAKAWXLIFEVLKHRKCDG9QPQCPGVKIVBENQJTJGZKFTNZHIMQISVBNLHAYSSVJKTIELGTETKPVRQXNAPWOBGQGFRMMK9UQDWJHSQMYQQTCBMVQKUVGJEAGTEQDN9TCRRAZHDPSPIYVNKPGJSJZASZQBM9WXEDWGAOQPPZFLAMZLEZGXPYSOJRWL9ZH9NOJTUKXNTCRRDO9GKULXBAVDRIZBOKJYVJUSHIX9F9O9ACYCAHUKBIEPVZWVJAJGSDQNZNWLIWVSKFJUMOYDMVUFLUXT9CEQEVRFBJVPCTJQCORM9JHLYFSMUVMFDXZFNCUFZZIKREIUIHUSHRPPOUKGFKWX9COXBAZMQBBFRFIBGEAVKBWKNTBMLPHLOUYOXPIQIZQWGOVUWQABTJT9ZZPNBABQFYRCQLXDHDEX9PULVTCQLWPTJLRSVZQEEYVBVY9KCNEZXQLEGADSTJBYOXEVGVTUFKNCNWMEDKDUMTKCMRPGKDCCBDHDVVSMPOPUBZOMZTXJSQNVVGXNPPBVSBL9WWXWQNMHRMQFEQYKWNCSW9URI9FYPT9UZMAFMMGUKFYTWPCQKVJ9DIHRJFMXRZUGI9TMTFUQHGXNBITDSORZORQIAMKY9VRYKLEHNRNFSEFBHF9KXIQAEZEJNQOENJVMWLMHI9GNZPXYUIFAJIVCLAGKUZIKTJKGNQVTXJORWIQDHUPBBPPYOUPFAABBVMMYATXERQHPECDVYGWDGXFJKOMOBXKRZD9MCQ9LGDGGGMYGUAFGMQTUHZOAPLKPNPCIKUNEMQIZOCM9COAOMZSJ9GVWZBZYXMCNALENZ9PRYMHENPWGKX9ULUIGJUJRKFJPBTTHCRZQKEAHT9DC9GSWQEGDTZFHACZMLFYDVOWZADBNMEM9XXEOMHCNJMDSUAJRQTBUWKJF9RZHK9ACGUNI9URFIHLXBXCEODONPXBSCWP9WNAEYNALKQHGULUQGAFL9LB9NBLLCACLQFGQMXRHGBTMI9YKAJKVELRWWKJAPKMSYMJTDYMZ9PJEEYIRXRMMFLRSFSHIXUL9NEJABLRUGHJFL9RASMSKOI9VCFRZ9GWTMODUUESIJBHWWHZYCLDENBFSJQPIOYC9MBGOOXSWEMLVU9L9WJXKZKVDBDMFSVHHISSSNILUMWULMVMESQUIHDGBDXROXGH9MTNFSLWJZRAPOKKRGXAAQBFPYPAAXLSTMNSNDTTJQSDQORNJS9BBGQ9KQJZYPAQ9JYQZJ9B9KQDAXUACZWRUNGMBOQLQZUHFNCKVQGORRZGAHES9PWJUKZWUJSBMNZFILBNBQQKLXITCTQDDBV9UDAOQOUPWMXTXWFWVMCXIXLRMRWMAYYQJPCEAAOFEOGZQMEDAGYGCTKUJBS9AGEXJAFHWWDZRYEN9DN9HVCMLFURISLYSWKXHJKXMHUWZXUQARMYPGKRKQMHVR9JEYXJRPNZINYNCGZHHUNHBAIJHLYZIZGGIDFWVNXZQADLEDJFTIUTQWCQSX9QNGUZXGXJYUUTFSZPQKXBA9DFRQRLTLUJENKESDGTZRGRSLTNYTITXRXRGVLWBTEWPJXZYLGHLQBAVYVOSABIVTQYQM9FIQKCBRRUEMVVTMERLWOK";
@@ -59,4 +70,77 @@ public class CurlBenchmark {
     Assert.assertEquals(HASH, outTrytes);
   }
 
+  /**
+   * Benchmark 64 Curl 81 hashes computed at once by a single lane binary-encoded-ternary Curl.
+   */
+  @Benchmark
+  @OperationsPerInvocation(64)
+  public BCTrinary bctCurl(BatchedInput input) {
+    return hash(input.curl, input.multiplexed);
+  }
+
+  /**
+   * Benchmark 256 Curl 81 hashes computed at once by a four lane binary-encoded-ternary Curl.
+   */
+  @Benchmark
+  @OperationsPerInvocation(256)
+  public BCTrinary wideBctCurl(WideBatchedInput input) {
+    return hash(input.curl, input.multiplexed);
+  }
+
+  /**
+   * The multiplexed input of a single lane batch, built once so only the hashing is measured.
+   */
+  @State(Scope.Thread)
+  public static class BatchedInput {
+    BCTCurl curl;
+    BCTrinary multiplexed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      curl = new BCTCurl(Curl.HASH_LENGTH, 81, 1);
+      multiplexed = multiplex(1);
+      verify(curl, multiplexed);
+    }
+  }
+
+  /**
+   * The multiplexed input of a four lane batch, built once so only the hashing is measured.
+   */
+  @State(Scope.Thread)
+  public static class WideBatchedInput {
+    BCTCurl curl;
+    BCTrinary multiplexed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      curl = new BCTCurl(Curl.HASH_LENGTH, 81, BCTCurl.UNROLLED_LANES);
+      multiplexed = multiplex(BCTCurl.UNROLLED_LANES);
+      verify(curl, multiplexed);
+    }
+  }
+
+  private static BCTrinary hash(BCTCurl curl, BCTrinary multiplexed) {
+    curl.reset();
+    curl.absorb(multiplexed);
+    return curl.squeeze(Curl.HASH_LENGTH);
+  }
+
+  private static BCTrinary multiplex(int lanes) {
+    int size = 8019;
+    byte[] inTrits = new byte[size];
+    Converter.trits(TRYTES, inTrits, 0);
+    List<byte[]> inputs = new ArrayList<>(64 * lanes);
+    for (int i = 0; i < 64 * lanes; i++) {
+      inputs.add(inTrits);
+    }
+    return new BCTernaryMultiplexer(inputs, lanes).extract();
+  }
+
+  private static void verify(BCTCurl curl, BCTrinary multiplexed) {
+    int lanes = curl.getLanes();
+    BCTernaryDemultiplexer demultiplexer = new BCTernaryDemultiplexer(hash(curl, multiplexed), lanes);
+    Assert.assertEquals(HASH, Converter.trytes(demultiplexer.get(64 * lanes - 1)));
+  }
+
 }
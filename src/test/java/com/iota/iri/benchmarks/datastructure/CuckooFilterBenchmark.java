@@ -0,0 +1,94 @@
+package com.iota.iri.benchmarks.datastructure;
+
+import com.iota.iri.utils.datastructure.CuckooFilter;
+import com.iota.iri.utils.datastructure.impl.CuckooFilterImpl;
+import com.iota.iri.utils.datastructure.impl.PackedCuckooFilterImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Compares the lookup and insert throughput of the {@link CuckooFilterImpl} and the {@link PackedCuckooFilterImpl}
+ * with 49 byte items (the size of an address hash).
+ */
+@State(Scope.Benchmark)
+public class CuckooFilterBenchmark {
+  private static final int ITEM_COUNT = 1 << 16;
+
+  private static final int ITEM_SIZE = 49;
+
+  @Param({"bitSet", "packed"})
+  public String implementation;
+
+  private byte[][] storedItems;
+
+  private byte[][] missingItems;
+
+  private CuckooFilter filter;
+
+  private int position;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    Random random = new Random(42);
+    storedItems = randomItems(random);
+    missingItems = randomItems(random);
+
+    filter = createFilter();
+    for (byte[] item : storedItems) {
+      filter.add(item);
+    }
+  }
+
+  /**
+   * Benchmark lookups of items that are stored in the filter.
+   */
+  @Benchmark
+  public boolean containsStored() {
+    return filter.contains(storedItems[nextPosition()]);
+  }
+
+  /**
+   * Benchmark lookups of items that are not stored in the filter (the common case for spent addresses).
+   */
+  @Benchmark
+  public boolean containsMissing() {
+    return filter.contains(missingItems[nextPosition()]);
+  }
+
+  /**
+   * Benchmark filling an empty filter to its intended size.
+   */
+  @Benchmark
+  public CuckooFilter fill() {
+    CuckooFilter emptyFilter = createFilter();
+    for (byte[] item : storedItems) {
+      emptyFilter.add(item);
+    }
+    return emptyFilter;
+  }
+
+  private CuckooFilter createFilter() {
+    // stay below the maximum load factor, so the inserts don't run into a full filter
+    int capacity = ITEM_COUNT * 2;
+    return "packed".equals(implementation) ? new PackedCuckooFilterImpl(capacity) : new CuckooFilterImpl(capacity);
+  }
+
+  private int nextPosition() {
+    position = (position + 1) & (ITEM_COUNT - 1);
+    return position;
+  }
+
+  private static byte[][] randomItems(Random random) {
+    byte[][] items = new byte[ITEM_COUNT][ITEM_SIZE];
+    for (byte[] item : items) {
+      random.nextBytes(item);
+    }
+    return items;
+  }
+}
@@ -0,0 +1,100 @@
+package com.iota.iri.benchmarks.model;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures the operations that dominate the use of {@link Hash} objects as keys of hash based collections.
+ */
+@State(Scope.Benchmark)
+public class HashBenchmark {
+  private static final int HASH_COUNT = 1 << 14;
+
+  private byte[][] hashBytes;
+
+  private byte[][] hashTrits;
+
+  private Hash[] storedHashes;
+
+  private Hash[] equalHashes;
+
+  private Set<Hash> hashSet;
+
+  private int position;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    hashBytes = new byte[HASH_COUNT][];
+    hashTrits = new byte[HASH_COUNT][];
+    storedHashes = new Hash[HASH_COUNT];
+    equalHashes = new Hash[HASH_COUNT];
+    hashSet = new HashSet<>();
+    for (int i = 0; i < HASH_COUNT; i++) {
+      byte[] trits = new byte[Hash.SIZE_IN_TRITS];
+      for (int j = 0; j < trits.length; j++) {
+        trits[j] = (byte) (random.nextInt(3) - 1);
+      }
+      hashTrits[i] = trits;
+      storedHashes[i] = HashFactory.TRANSACTION.create(trits);
+      hashBytes[i] = storedHashes[i].bytes();
+      equalHashes[i] = HashFactory.TRANSACTION.create(hashBytes[i]);
+      hashSet.add(storedHashes[i]);
+    }
+  }
+
+  /**
+   * Benchmark creating a hash from the bytes stored in the database.
+   */
+  @Benchmark
+  public Hash createFromBytes() {
+    return HashFactory.TRANSACTION.create(hashBytes[nextPosition()]);
+  }
+
+  /**
+   * Benchmark creating a hash from the trits of a transaction.
+   */
+  @Benchmark
+  public Hash createFromTrits() {
+    return HashFactory.TRANSACTION.create(hashTrits[nextPosition()]);
+  }
+
+  /**
+   * Benchmark comparing two distinct but equal instances.
+   */
+  @Benchmark
+  public boolean equalsEqualInstance() {
+    int index = nextPosition();
+    return storedHashes[index].equals(equalHashes[index]);
+  }
+
+  /**
+   * Benchmark looking up a hash in a set that contains it, using a different instance.
+   */
+  @Benchmark
+  public boolean hashSetContains() {
+    return hashSet.contains(equalHashes[nextPosition()]);
+  }
+
+  /**
+   * Benchmark reading the trailing zeros (the weight magnitude of a transaction hash).
+   */
+  @Benchmark
+  public int trailingZeros() {
+    return storedHashes[nextPosition()].trailingZeros();
+  }
+
+  private int nextPosition() {
+    position = (position + 1) & (HASH_COUNT - 1);
+    return position;
+  }
+}
@@ -0,0 +1,79 @@
+package com.iota.iri.benchmarks.model;
+
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Estimates the heap that is retained per entry of a {@code HashSet<Hash>}, including the overhead of the set
+ * itself. The result is reported as the {@code bytesPerHash} counter.
+ */
+@State(Scope.Benchmark)
+public class HashFootprintBenchmark {
+  private static final int HASH_COUNT = 200_000;
+
+  /**
+   * Hashes created from trits used to keep their trits next to the bytes.
+   */
+  @Param({"bytes", "trits"})
+  public String source;
+
+  private byte[][] sources;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long bytesPerHash;
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    sources = new byte[HASH_COUNT][];
+    for (int i = 0; i < HASH_COUNT; i++) {
+      byte[] trits = new byte[Hash.SIZE_IN_TRITS];
+      for (int j = 0; j < trits.length; j++) {
+        trits[j] = (byte) (random.nextInt(3) - 1);
+      }
+      sources[i] = "trits".equals(source) ? trits : HashFactory.TRANSACTION.create(trits).bytes();
+    }
+  }
+
+  /**
+   * Fills a set with hashes that are used the way the node uses them (hash code computed, trits accessed once) and
+   * measures the heap it retains.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public Set<Hash> retainedHashSet(Footprint footprint) {
+    long before = usedHeap();
+    Set<Hash> hashes = new HashSet<>(HASH_COUNT * 2);
+    for (byte[] hashSource : sources) {
+      Hash hash = HashFactory.TRANSACTION.create(hashSource);
+      hash.trits();
+      hashes.add(hash);
+    }
+    footprint.bytesPerHash = (usedHeap() - before) / HASH_COUNT;
+    return hashes;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,73 @@
+package com.iota.iri.benchmarks.model;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.persistables.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures loading a {@link Transaction} from its stored metadata. Run with the gc profiler to compare the allocation
+ * rate of reading only the numbers and flags with reading the hashes a traversal needs and reading all of them, which
+ * is the work every load did before the hashes were created on access.
+ */
+@State(Scope.Benchmark)
+public class TransactionMetadataBenchmark {
+  private static final int TRANSACTION_COUNT = 1 << 10;
+
+  private byte[][] metadata;
+
+  private int position;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    metadata = new byte[TRANSACTION_COUNT][];
+    for (int i = 0; i < TRANSACTION_COUNT; i++) {
+      metadata[i] = TransactionTestUtils.getTransaction().metadata();
+    }
+  }
+
+  /**
+   * Benchmark reading the fields that are checked while walking the tangle, like the indexes and the solid flag.
+   */
+  @Benchmark
+  public long readNumbers() {
+    Transaction transaction = load();
+    return transaction.currentIndex + transaction.lastIndex + transaction.height.get()
+        + (transaction.solid.get() ? 1 : 0);
+  }
+
+  /**
+   * Benchmark reading the trunk and branch to find the next transactions of a traversal.
+   */
+  @Benchmark
+  public void readApprovees(Blackhole blackhole) {
+    Transaction transaction = load();
+    blackhole.consume(transaction.trunk());
+    blackhole.consume(transaction.branch());
+  }
+
+  /**
+   * Benchmark reading all hashes of the transaction.
+   */
+  @Benchmark
+  public void readAllHashes(Blackhole blackhole) {
+    Transaction transaction = load();
+    blackhole.consume(transaction.address());
+    blackhole.consume(transaction.bundle());
+    blackhole.consume(transaction.trunk());
+    blackhole.consume(transaction.branch());
+    blackhole.consume(transaction.obsoleteTag());
+    blackhole.consume(transaction.tag());
+  }
+
+  private Transaction load() {
+    position = (position + 1) & (TRANSACTION_COUNT - 1);
+    Transaction transaction = new Transaction();
+    transaction.readMetadata(metadata[position]);
+    return transaction;
+  }
+}
@@ -69,6 +69,7 @@ public class ConfigTest {
                 "--remote-auth", "2.2.2.2",
                 "--p-remove-request", "0.23",
                 "--send-limit", "1000",
+                "--receive-limit", "200",
                 "--max-neighbors", "10",
                 "--dns-refresher", "false",
                 "--dns-resolution", "false",
@@ -107,6 +108,7 @@ public class ConfigTest {
         Assert.assertEquals("max body length", 220, iotaConfig.getMaxBodyLength());
         Assert.assertEquals("remote-auth", "2.2.2.2", iotaConfig.getRemoteAuth());
         Assert.assertEquals("send limit", 1000, iotaConfig.getSendLimit());
+        Assert.assertEquals("receive limit", 200, iotaConfig.getReceiveLimit());
         Assert.assertEquals("max neighbors", 10, iotaConfig.getMaxNeighbors());
         Assert.assertEquals("dns refresher", false, iotaConfig.isDnsRefresherEnabled());
         Assert.assertEquals("dns resolution", false, iotaConfig.isDnsResolutionEnabled());
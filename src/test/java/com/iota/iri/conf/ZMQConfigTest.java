@@ -3,6 +3,7 @@ package com.iota.iri.conf;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class ZMQConfigTest {
@@ -85,4 +86,25 @@ public class ZMQConfigTest {
         assertTrue("ZMQ IPC must be enabled", config.isZmqEnableIpc());
         assertEquals("ZMQ ipc must be overridden", "ipc://test", config.getZmqIpc());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isZmqBinaryFrames() {
+        String[] args = {
+                "--zmq-binary-frames", "true"
+        };
+        IotaConfig config = ConfigFactory.createIotaConfig(false);
+        assertFalse("ZMQ binary frames must be disabled by default", config.isZmqBinaryFrames());
+        config.parseConfigFromArgs(args);
+        assertTrue("ZMQ binary frames must be enabled", config.isZmqBinaryFrames());
+    }
+
+    @Test
+    public void getZmqQueueSize() {
+        String[] args = {
+                "--zmq-queue-size", "500"
+        };
+        IotaConfig config = ConfigFactory.createIotaConfig(false);
+        config.parseConfigFromArgs(args);
+        assertEquals("ZMQ queue size must be overridden", 500, config.getZmqQueueSize());
+    }
+}
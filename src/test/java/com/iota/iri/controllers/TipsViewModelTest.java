@@ -2,17 +2,42 @@ package com.iota.iri.controllers;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.iota.iri.model.Hash;
-
+import com.iota.iri.service.snapshot.Snapshot;
+import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.storage.Tangle;
+import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
 
 import static org.junit.Assert.*;
 
 public class TipsViewModelTest {
+
+    @Rule
+    public TemporaryFolder dbFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder logFolder = new TemporaryFolder();
+
+    private Tangle tangle;
+
     @Before
     public void setUp() throws Exception {
 
@@ -20,7 +45,9 @@ public class TipsViewModelTest {
 
     @After
     public void tearDown() throws Exception {
-
+        if (tangle != null) {
+            tangle.shutdown();
+        }
     }
 
     @Test
@@ -30,27 +57,82 @@ public class TipsViewModelTest {
 
     @Test
     public void removeTipHash() throws Exception {
-
+        TipsViewModel tipsVM = new TipsViewModel();
+        Hash tip = getTransactionHash();
+        Hash solidTip = getTransactionHash();
+        tipsVM.addTipHash(tip);
+        tipsVM.addTipHash(solidTip);
+        tipsVM.setSolid(solidTip);
+
+        tipsVM.removeTipHash(tip);
+        tipsVM.removeTipHash(solidTip);
+        assertEquals("all tips should be removed", 0, tipsVM.size());
+        assertNull("there should be no tip left", tipsVM.getRandomSolidTipHash());
     }
 
     @Test
     public void setSolid() throws Exception {
-
+        TipsViewModel tipsVM = new TipsViewModel();
+        Hash tip = getTransactionHash();
+        tipsVM.addTipHash(tip);
+        tipsVM.setSolid(tip);
+        assertEquals("the tip should be solid", 1, tipsVM.solidSize());
+        assertEquals("the tip should not be non-solid anymore", 0, tipsVM.nonSolidSize());
+
+        tipsVM.setSolid(getTransactionHash());
+        assertEquals("unknown tips should not become solid", 1, tipsVM.size());
     }
 
     @Test
     public void getTips() throws Exception {
-
+        TipsViewModel tipsVM = new TipsViewModel();
+        Set<Hash> tips = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Hash tip = getTransactionHash();
+            tips.add(tip);
+            tipsVM.addTipHash(tip);
+            if (i % 2 == 0) {
+                tipsVM.setSolid(tip);
+            }
+        }
+        assertEquals("solid and non-solid tips should be returned", tips, tipsVM.getTips());
     }
 
     @Test
     public void getRandomSolidTipHash() throws Exception {
+        TipsViewModel tipsVM = new TipsViewModel();
+        Hash tip = getTransactionHash();
+        Hash solidTip = getTransactionHash();
+        tipsVM.addTipHash(tip);
+        tipsVM.addTipHash(solidTip);
+        tipsVM.setSolid(solidTip);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("only the solid tip should be returned", solidTip, tipsVM.getRandomSolidTipHash());
+        }
 
+        tipsVM.removeTipHash(solidTip);
+        assertEquals("the non-solid tip should be returned if there is no solid one", tip,
+                tipsVM.getRandomSolidTipHash());
     }
 
     @Test
     public void getRandomNonSolidTipHash() throws Exception {
+        TipsViewModel tipsVM = new TipsViewModel();
+        assertNull("there should be no tip in an empty cache", tipsVM.getRandomNonSolidTipHash());
+
+        Set<Hash> tips = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            Hash tip = getTransactionHash();
+            tips.add(tip);
+            tipsVM.addTipHash(tip);
+        }
 
+        Set<Hash> sampledTips = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            sampledTips.add(tipsVM.getRandomNonSolidTipHash());
+        }
+        assertEquals("every tip should be sampled", tips, sampledTips);
     }
 
     @Test
@@ -70,7 +152,77 @@ public class TipsViewModelTest {
 
     @Test
     public void loadTipHashes() throws Exception {
+        Tangle tangle = createTangle();
+        Snapshot snapshot = SnapshotMockUtils.createSnapshot();
+        long now = System.currentTimeMillis();
+        Hash parent = storeTransaction(tangle, snapshot, Hash.NULL_HASH, now, false);
+        Hash solidTip = storeTransaction(tangle, snapshot, parent, now + 1, true);
+        Hash tip = storeTransaction(tangle, snapshot, Hash.NULL_HASH, now + 2, false);
+        // arrived before the milestone of the initial snapshot
+        storeTransaction(tangle, snapshot, Hash.NULL_HASH, 1_000L, false);
+
+        TipsViewModel tipsVM = new TipsViewModel();
+        assertEquals("only the recent unapproved transactions should be loaded", 2,
+                tipsVM.loadTips(tangle, snapshot));
+        assertEquals(new HashSet<>(Arrays.asList(solidTip, tip)), tipsVM.getTips());
+        assertEquals("the solid tip should be in the solid cache", 1, tipsVM.solidSize());
+        assertEquals("the solid tip should be picked", solidTip, tipsVM.getRandomSolidTipHash());
+    }
+
+    @Test
+    public void loadTipsKeepsTheNewestTips() throws Exception {
+        Tangle tangle = createTangle();
+        Snapshot snapshot = SnapshotMockUtils.createSnapshot();
+        long now = System.currentTimeMillis();
+        Hash oldestTip = storeTransaction(tangle, snapshot, Hash.NULL_HASH, now, false);
+        for (int i = 1; i <= TipsViewModel.MAX_TIPS; i++) {
+            storeTransaction(tangle, snapshot, Hash.NULL_HASH, now + i, false);
+        }
 
+        TipsViewModel tipsVM = new TipsViewModel();
+        assertEquals("no more than the maximum amount of tips should be loaded", TipsViewModel.MAX_TIPS,
+                tipsVM.loadTips(tangle, snapshot));
+        assertEquals(TipsViewModel.MAX_TIPS, tipsVM.size());
+        assertFalse("the oldest tip should not be loaded", tipsVM.getTips().contains(oldestTip));
+    }
+
+    @Test
+    public void concurrentModificationsKeepTipsConsistent() throws Exception {
+        TipsViewModel tipsVM = new TipsViewModel();
+        int threads = 4;
+        int tipsPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Future<?> sampler = executor.submit(() -> {
+                while (running.get()) {
+                    tipsVM.getRandomSolidTipHash();
+                    tipsVM.getTips();
+                }
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < tipsPerThread; i++) {
+                        Hash tip = getTransactionHash();
+                        tipsVM.addTipHash(tip);
+                        tipsVM.setSolid(tip);
+                        tipsVM.removeTipHash(tip);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            running.set(false);
+            sampler.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("all tips should be removed", 0, tipsVM.size());
+        assertTrue("no tips should be left", tipsVM.getTips().isEmpty());
     }
 
     @Test
@@ -116,4 +268,21 @@ public class TipsViewModelTest {
         assertEquals(capacity * 2, tipsVM.size());
     }
 
-}
\ No newline at end of file
+    private Tangle createTangle() throws Exception {
+        tangle = new Tangle();
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(dbFolder.getRoot().getAbsolutePath(),
+                logFolder.getRoot().getAbsolutePath(), 1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+        return tangle;
+    }
+
+    private static Hash storeTransaction(Tangle tangle, Snapshot snapshot, Hash trunk, long arrivalTime, boolean solid)
+            throws Exception {
+        TransactionViewModel transaction = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(trunk,
+                trunk), getTransactionHash());
+        transaction.setArrivalTime(arrivalTime);
+        transaction.updateSolid(solid);
+        transaction.store(tangle, snapshot);
+        return transaction.getHash();
+    }
+}
@@ -4,6 +4,7 @@ import com.iota.iri.conf.MainnetConfig;
 import com.iota.iri.crypto.SpongeFactory;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.TransactionHash;
+import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
 import com.iota.iri.storage.Tangle;
@@ -14,6 +15,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -308,6 +310,75 @@ public class TransactionViewModelTest {
         }
     }
 
+    @Test
+    public void storeShouldDeriveHeightFromTrunk() throws Exception {
+        Hash parentHash = getTransactionHash();
+        TransactionViewModel parent = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH,
+                Hash.NULL_HASH), parentHash);
+        parent.store(tangle, snapshot);
+        Hash childHash = getTransactionHash();
+        TransactionViewModel child = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(parentHash,
+                parentHash), childHash);
+        child.store(tangle, snapshot);
+
+        assertEquals("the trunk of the parent is a solid entry point", 1,
+                TransactionViewModel.fromHash(tangle, parentHash).getHeight());
+        assertEquals("the height of the child should follow its trunk", 2,
+                TransactionViewModel.fromHash(tangle, childHash).getHeight());
+    }
+
+    @Test
+    public void storeShouldNotLoadTrunkOfDuplicates() throws Exception {
+        Hash parentHash = getTransactionHash();
+        new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH, Hash.NULL_HASH), parentHash)
+                .store(tangle, snapshot);
+        Hash childHash = getTransactionHash();
+        byte[] childTrits = getTransactionTritsWithTrunkAndBranch(parentHash, parentHash);
+        new TransactionViewModel(childTrits, childHash).store(tangle, snapshot);
+
+        Tangle spiedTangle = Mockito.spy(tangle);
+        assertFalse("a duplicate should not be stored",
+                new TransactionViewModel(childTrits, childHash).store(spiedTangle, snapshot));
+        Mockito.verify(spiedTangle, Mockito.never()).load(Transaction.class, parentHash);
+    }
+
+    @Test
+    public void updatesOfSingleFieldsShouldBeMerged() throws Exception {
+        Hash hash = getTransactionHash();
+        TransactionViewModel transaction = new TransactionViewModel(getTransactionTrits(), hash);
+        transaction.store(tangle, snapshot);
+
+        transaction.updateSolid(true);
+        transaction.update(tangle, snapshot, "solid");
+        transaction.setSnapshot(tangle, snapshot, 5);
+        transaction.setArrivalTime(1234);
+        transaction.update(tangle, snapshot, "arrivalTime");
+
+        TransactionViewModel loaded = TransactionViewModel.fromHash(tangle, hash);
+        assertTrue("the solid update should be persisted", loaded.isSolid());
+        assertEquals("the snapshot update should be persisted", 5, loaded.snapshotIndex());
+        assertEquals("the arrival time update should be persisted", 1234, loaded.getArrivalTime());
+    }
+
+    @Test
+    public void getTipTransactionsShouldReturnUnapprovedTransactions() throws Exception {
+        Hash parentHash = getTransactionHash();
+        new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(Hash.NULL_HASH, Hash.NULL_HASH), parentHash)
+                .store(tangle, snapshot);
+        Hash childHash = getTransactionHash();
+        new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(parentHash, parentHash), childHash)
+                .store(tangle, snapshot);
+
+        Set<Hash> tips = new HashSet<>();
+        TransactionViewModel.getTipTransactions(tangle).forEach(tip -> tips.add((Hash) tip));
+        assertEquals("only the child should be a tip", Collections.singleton(childHash), tips);
+
+        assertTrue("the parent should have an approver",
+                TransactionViewModel.fromHash(tangle, parentHash).hasApprovers(tangle));
+        assertFalse("the child should not have an approver",
+                TransactionViewModel.fromHash(tangle, childHash).hasApprovers(tangle));
+    }
+
     @Test
     public void updateHeightPrefilledSlotShouldFail() throws Exception {
         int count = 4;
@@ -41,6 +41,43 @@ public class PearlDiverTest {
         pearlDiver.cancel();
     }
 
+    @Test
+    public void testConcurrentSearches() {
+        PearlDiver engine = new PearlDiver(2);
+        byte[] firstTrits = Converter.allocatingTritsFromTrytes(getRandomTrytes());
+        byte[] secondTrits = Converter.allocatingTritsFromTrytes(getRandomTrytes());
+
+        PearlDiver.Search first = engine.submit(firstTrits, MIN_WEIGHT_MAGNITUDE, 2);
+        PearlDiver.Search second = engine.submit(secondTrits, MIN_WEIGHT_MAGNITUDE, 2);
+
+        assertTrue("the first search should find a nonce", first.await());
+        assertTrue("the second search should find a nonce", second.await());
+        assertEquals("both searches should have completed", 2, engine.getCompletedSearches());
+        assertEquals("no search should be active anymore", 0, engine.getActiveSearches());
+        assertTrue("the tested nonces should be counted", engine.getHashCount() >= first.getHashCount());
+        for (byte[] trits : new byte[][]{firstTrits, secondTrits}) {
+            Hash hash = TransactionHash.calculate(SpongeFactory.Mode.CURLP81, trits);
+            for (int j = Hash.SIZE_IN_TRITS - 1; j >= Hash.SIZE_IN_TRITS - MIN_WEIGHT_MAGNITUDE; j--) {
+                assertEquals("the hash should have n trailing zeros", 0, hash.trits()[j]);
+            }
+        }
+        engine.shutdown();
+    }
+
+    @Test
+    public void testCancelSingleSearch() {
+        PearlDiver engine = new PearlDiver(1);
+        byte[] trits = Converter.allocatingTritsFromTrytes(getRandomTrytes());
+
+        PearlDiver.Search search = engine.submit(trits, Curl.HASH_LENGTH, 1);
+        search.cancel();
+
+        assertFalse("a cancelled search should not find a nonce", search.await());
+        assertTrue("the search should be done", search.isDone());
+        assertEquals("the search should be counted as cancelled", 1, engine.getCancelledSearches());
+        engine.shutdown();
+    }
+
     @Test(expected = RuntimeException.class)
     public void testInvalidMagnitude() {
         pearlDiver.search(new byte[8019], -1, NUM_CORES);
@@ -1,10 +1,18 @@
 package com.iota.iri.crypto.batched;
 
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.crypto.Curl;
 import com.iota.iri.utils.Converter;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class BatchedHasherTest {
@@ -35,6 +43,85 @@ public class BatchedHasherTest {
         Assert.assertArrayEquals(hashes, results);
     }
 
+    @Test
+    public void wideBatchedBCTCurlWorks() throws InterruptedException {
+        BatchedHasher batchedHasher = BatchedHasherFactory.create(BatchedHasherFactory.Type.BCTCURL81_X4);
+        Thread hasherThread = new Thread(batchedHasher);
+        hasherThread.start();
+        // submit every transaction multiple times to spread the requests over all lanes
+        int repetitions = BCTCurl.UNROLLED_LANES * 2;
+        AtomicInteger done = new AtomicInteger();
+        String[] results = new String[txs.length * repetitions];
+        String[] expected = new String[txs.length * repetitions];
+        for (int i = 0; i < results.length; i++) {
+            final int id = i;
+            expected[i] = hashes[i % txs.length];
+            byte[] txTrits = new byte[TransactionViewModel.TRINARY_SIZE];
+            Converter.trits(txs[i % txs.length], txTrits, 0);
+            batchedHasher.submitHashingRequest(new HashRequest(txTrits, trits -> {
+                results[id] = Converter.trytes(trits);
+                done.incrementAndGet();
+            }));
+        }
+
+        do {
+            Thread.sleep(50);
+        } while (done.get() != results.length);
+
+        hasherThread.interrupt();
+
+        Assert.assertArrayEquals(expected, results);
+    }
+
+    @Test
+    public void concurrentRequestsAreSpreadOverWorkers() throws Exception {
+        BatchedHasher batchedHasher = new BatchedBCTCurl(Curl.HASH_LENGTH, 81, 20, 1, 3);
+        int submitters = 4;
+        int requestsPerSubmitter = 40;
+        AtomicInteger done = new AtomicInteger();
+        String[] results = new String[submitters * requestsPerSubmitter];
+        String[] expected = new String[results.length];
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+
+        // fill the queues before the workers start, so more than a single batch is waiting
+        ExecutorService executor = Executors.newFixedThreadPool(submitters);
+        List<Future<?>> submissions = new ArrayList<>();
+        for (int s = 0; s < submitters; s++) {
+            final int first = s * requestsPerSubmitter;
+            submissions.add(executor.submit(() -> {
+                for (int i = first; i < first + requestsPerSubmitter; i++) {
+                    final int id = i;
+                    expected[i] = hashes[i % txs.length];
+                    byte[] txTrits = new byte[TransactionViewModel.TRINARY_SIZE];
+                    Converter.trits(txs[i % txs.length], txTrits, 0);
+                    batchedHasher.submitHashingRequest(new HashRequest(txTrits, trits -> {
+                        results[id] = Converter.trytes(trits);
+                        hashingThreads.add(Thread.currentThread().getName());
+                        done.incrementAndGet();
+                    }));
+                }
+            }));
+        }
+        for (Future<?> submission : submissions) {
+            submission.get();
+        }
+        executor.shutdown();
+
+        Thread hasherThread = new Thread(batchedHasher);
+        hasherThread.start();
+        do {
+            Thread.sleep(50);
+        } while (done.get() != results.length);
+
+        hasherThread.interrupt();
+
+        Assert.assertArrayEquals(expected, results);
+        Assert.assertTrue("requests exceeding a batch should be hashed by another worker",
+                hashingThreads.size() > 1);
+        double fillRatio = batchedHasher.getBatchFillRatio();
+        Assert.assertTrue("batch fill ratio out of bounds: " + fillRatio, fillRatio > 0 && fillRatio <= 1);
+    }
+
     @Test
     public void fakeBatchedCurlWorks() {
         BatchedHasher batchedHasher = BatchedHasherFactory.create(BatchedHasherFactory.Type.FakeBatchedCURL81);
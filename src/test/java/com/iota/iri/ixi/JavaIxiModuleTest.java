@@ -0,0 +1,129 @@
+package com.iota.iri.ixi;
+
+import com.iota.iri.Iota;
+import com.iota.iri.service.CallableRequest;
+import com.iota.iri.service.dto.AbstractResponse;
+import com.iota.iri.service.dto.ErrorResponse;
+import com.iota.iri.service.dto.IXIResponse;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JavaIxiModuleTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        TestModule.running = false;
+    }
+
+    @Test
+    public void moduleIsStartedAndStopped() throws IOException {
+        JavaIxiModule module = JavaIxiModule.load("test", createJar(TestModule.class.getName()), null, 2);
+        assertTrue("module should be started", TestModule.running);
+
+        module.shutdown();
+        assertFalse("module should be stopped", TestModule.running);
+    }
+
+    @Test
+    public void callsAreExecutedAndMeasured() throws IOException {
+        JavaIxiModule module = JavaIxiModule.load("test", createJar(TestModule.class.getName()), null, 2);
+        try {
+            assertTrue("module should offer the echo call", module.hasCall("echo"));
+            assertFalse("module should not offer unknown calls", module.hasCall("unknown"));
+
+            AbstractResponse response = module.call("echo", Collections.singletonMap("value", "hello"));
+            assertEquals("the response of the module should be returned", "hello",
+                    ((IXIResponse) response).getResponse());
+
+            response = module.call("fail", Collections.emptyMap());
+            assertTrue("a failing call should return an error", response instanceof ErrorResponse);
+
+            assertEquals("echo should be called once", 1, module.getMetrics().get("echo").getCalls());
+            assertEquals("echo should not fail", 0, module.getMetrics().get("echo").getFailures());
+            assertEquals("fail should be called once", 1, module.getMetrics().get("fail").getCalls());
+            assertEquals("fail should fail", 1, module.getMetrics().get("fail").getFailures());
+        } finally {
+            module.shutdown();
+        }
+    }
+
+    @Test
+    public void callsAreRejectedAfterShutdown() throws IOException {
+        JavaIxiModule module = JavaIxiModule.load("test", createJar(TestModule.class.getName()), null, 1);
+        module.shutdown();
+
+        AbstractResponse response = module.call("echo", Collections.singletonMap("value", "hello"));
+        assertTrue("calls of an unloaded module should return an error", response instanceof ErrorResponse);
+    }
+
+    @Test(expected = IOException.class)
+    public void jarWithoutModuleIsRejected() throws IOException {
+        JavaIxiModule.load("test", createJar(null), null, 1);
+    }
+
+    /**
+     * Creates a JAR that only contains the service registration, the module class itself is found by the parent
+     * class loader.
+     *
+     * @param moduleClass the name of the registered module or {@code null} to register none
+     * @return the created JAR
+     * @throws IOException if the JAR can not be written
+     */
+    private Path createJar(String moduleClass) throws IOException {
+        File jar = folder.newFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            if (moduleClass != null) {
+                out.putNextEntry(new ZipEntry("META-INF/services/" + IxiModule.class.getName()));
+                out.write(moduleClass.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            } else {
+                out.putNextEntry(new ZipEntry("README"));
+                out.closeEntry();
+            }
+        }
+        return jar.toPath();
+    }
+
+    public static class TestModule implements IxiModule {
+
+        static volatile boolean running;
+
+        @Override
+        public Map<String, CallableRequest<AbstractResponse>> start(Iota iota) {
+            running = true;
+
+            Map<String, CallableRequest<AbstractResponse>> calls = new HashMap<>();
+            calls.put("echo", request -> IXIResponse.create(request.get("value")));
+            calls.put("fail", request -> {
+                throw new IllegalStateException("failed on purpose");
+            });
+            return calls;
+        }
+
+        @Override
+        public void shutdown() {
+            running = false;
+        }
+    }
+}
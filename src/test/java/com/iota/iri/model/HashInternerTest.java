@@ -0,0 +1,42 @@
+package com.iota.iri.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+public class HashInternerTest {
+
+    @Test
+    public void equalHashesShareOneInstance() {
+        HashInterner interner = new HashInterner(10);
+        Hash hash = getTransactionHash();
+        Hash copy = HashFactory.TRANSACTION.create(hash.bytes());
+
+        Assert.assertSame(hash, interner.intern(hash));
+        Assert.assertSame("the first interned instance should be returned", hash, interner.intern(copy));
+        Assert.assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void fullPoolReturnsHashesAsTheyAre() {
+        HashInterner interner = new HashInterner(1);
+        Hash pooled = getTransactionHash();
+        interner.intern(pooled);
+
+        Hash hash = getTransactionHash();
+        Hash copy = HashFactory.TRANSACTION.create(hash.bytes());
+        Assert.assertSame(hash, interner.intern(hash));
+        Assert.assertSame("hashes should not be pooled once the pool is full", copy, interner.intern(copy));
+        Assert.assertSame(pooled, interner.intern(HashFactory.TRANSACTION.create(pooled.bytes())));
+        Assert.assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void clearEmptiesThePool() {
+        HashInterner interner = new HashInterner(10);
+        interner.intern(getTransactionHash());
+        interner.clear();
+        Assert.assertEquals(0, interner.size());
+    }
+}
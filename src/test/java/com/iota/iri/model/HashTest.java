@@ -45,6 +45,52 @@ public class HashTest {
         Assert.assertEquals(Hash.SIZE_IN_TRITS, hash.trailingZeros());
     }
 
+    @Test
+    public void trailingZerosOfPartialHash() throws Exception {
+        for (int zeros = 0; zeros <= Hash.SIZE_IN_TRITS; zeros++) {
+            byte[] trits = new byte[Hash.SIZE_IN_TRITS];
+            if (zeros < Hash.SIZE_IN_TRITS) {
+                trits[Hash.SIZE_IN_TRITS - zeros - 1] = (byte) (zeros % 2 == 0 ? 1 : -1);
+            }
+            Assert.assertEquals(zeros, HashFactory.TRANSACTION.create(trits).trailingZeros());
+        }
+    }
+
+    @Test
+    public void bytesAndTritsRoundTrip() throws Exception {
+        byte[] trits = TransactionHash.calculate(SpongeFactory.Mode.CURLP81, getTransactionTrits()).trits();
+        Hash fromTrits = HashFactory.TRANSACTION.create(trits);
+        Hash fromBytes = HashFactory.TRANSACTION.create(fromTrits.bytes());
+        Assert.assertArrayEquals(trits, fromBytes.trits());
+        Assert.assertEquals(fromTrits, fromBytes);
+        Assert.assertEquals(fromTrits.hashCode(), fromBytes.hashCode());
+        Assert.assertEquals(Arrays.hashCode(fromTrits.bytes()), fromTrits.hashCode());
+    }
+
+    @Test
+    public void returnedArraysAreCopies() throws Exception {
+        Hash hash = TransactionHash.calculate(SpongeFactory.Mode.CURLP81, getTransactionTrits());
+        byte[] bytes = hash.bytes();
+        Arrays.fill(bytes, (byte) 0);
+        byte[] trits = hash.trits();
+        Arrays.fill(trits, (byte) 0);
+        Assert.assertFalse(Arrays.equals(new byte[Hash.SIZE_IN_BYTES], hash.bytes()));
+        Assert.assertFalse(Arrays.equals(new byte[Hash.SIZE_IN_TRITS], hash.trits()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readTwice() throws Exception {
+        Hash hash = new TransactionHash();
+        hash.read(new byte[Hash.SIZE_IN_BYTES]);
+        hash.read(new byte[Hash.SIZE_IN_BYTES]);
+    }
+
+    @Test
+    public void equalsDifferentType() throws Exception {
+        byte[] bytes = TransactionHash.calculate(SpongeFactory.Mode.CURLP81, getTransactionTrits()).bytes();
+        Assert.assertNotEquals(HashFactory.TRANSACTION.create(bytes), HashFactory.ADDRESS.create(bytes));
+    }
+
     @Test
     public void trits() throws Exception {
         Hash hash = TransactionHash.calculate(SpongeFactory.Mode.CURLP81, getTransactionTrits());
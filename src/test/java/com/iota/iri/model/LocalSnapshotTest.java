@@ -0,0 +1,136 @@
+package com.iota.iri.model;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LocalSnapshotTest {
+
+    private LocalSnapshot localSnapshot;
+
+    @Before
+    public void setUp() {
+        localSnapshot = new LocalSnapshot();
+        localSnapshot.milestoneHash = getTransactionHash();
+        localSnapshot.milestoneIndex = 1337;
+        localSnapshot.milestoneTimestamp = 1_574_000_000L;
+        localSnapshot.solidEntryPoints = new HashMap<>();
+        localSnapshot.solidEntryPoints.put(getTransactionHash(), 1330);
+        localSnapshot.solidEntryPoints.put(getTransactionHash(), 1335);
+        localSnapshot.seenMilestones = new HashMap<>();
+        localSnapshot.seenMilestones.put(getTransactionHash(), 1338);
+        localSnapshot.seenMilestones.put(getTransactionHash(), 1339);
+        localSnapshot.ledgerState = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            localSnapshot.ledgerState.put(HashFactory.ADDRESS.create(getTransactionHash().bytes()), 100L * i);
+        }
+        localSnapshot.numSolidEntryPoints = localSnapshot.solidEntryPoints.size();
+        localSnapshot.numSeenMilestones = localSnapshot.seenMilestones.size();
+    }
+
+    @Test
+    public void readsWrittenSnapshot() {
+        LocalSnapshot read = new LocalSnapshot();
+        read.read(localSnapshot.bytes());
+
+        assertSnapshotEquals(localSnapshot, read);
+    }
+
+    @Test
+    public void serializesEqualStatesToTheSameBytes() {
+        LocalSnapshot copy = new LocalSnapshot();
+        copy.read(localSnapshot.bytes());
+        copy.ledgerState = new HashMap<>(copy.ledgerState);
+
+        Assert.assertArrayEquals("the ledger state should be written in a stable order", localSnapshot.bytes(),
+                copy.bytes());
+    }
+
+    @Test
+    public void serializesStatesBuiltInDifferentOrderToTheSameBytes() {
+        LocalSnapshot reversed = new LocalSnapshot();
+        reversed.milestoneHash = localSnapshot.milestoneHash;
+        reversed.milestoneIndex = localSnapshot.milestoneIndex;
+        reversed.milestoneTimestamp = localSnapshot.milestoneTimestamp;
+        reversed.solidEntryPoints = reversedCopy(localSnapshot.solidEntryPoints);
+        reversed.seenMilestones = reversedCopy(localSnapshot.seenMilestones);
+        reversed.ledgerState = reversedCopy(localSnapshot.ledgerState);
+        reversed.numSolidEntryPoints = reversed.solidEntryPoints.size();
+        reversed.numSeenMilestones = reversed.seenMilestones.size();
+
+        Assert.assertArrayEquals("the order in which the state was built should not matter", localSnapshot.bytes(),
+                reversed.bytes());
+    }
+
+    @Test
+    public void readsUnversionedSnapshot() {
+        LocalSnapshot read = new LocalSnapshot();
+        read.read(unversionedBytes(localSnapshot));
+
+        assertSnapshotEquals(localSnapshot, read);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCorruptedSnapshot() {
+        byte[] bytes = localSnapshot.bytes();
+        bytes[bytes.length / 2] ^= 1;
+
+        new LocalSnapshot().read(bytes);
+    }
+
+    /**
+     * Copies the given map into a map which iterates over its entries in the opposite order.
+     */
+    private static <V> Map<Hash, V> reversedCopy(Map<Hash, V> map) {
+        List<Map.Entry<Hash, V>> entries = new ArrayList<>(map.entrySet());
+        Collections.reverse(entries);
+        Map<Hash, V> copy = new LinkedHashMap<>();
+        for (Map.Entry<Hash, V> entry : entries) {
+            copy.put(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    private static void assertSnapshotEquals(LocalSnapshot expected, LocalSnapshot actual) {
+        Assert.assertEquals(expected.milestoneHash, actual.milestoneHash);
+        Assert.assertEquals(expected.milestoneIndex, actual.milestoneIndex);
+        Assert.assertEquals(expected.milestoneTimestamp, actual.milestoneTimestamp);
+        Assert.assertEquals(expected.solidEntryPoints, actual.solidEntryPoints);
+        Assert.assertEquals(expected.seenMilestones, actual.seenMilestones);
+        Assert.assertEquals(expected.ledgerState, actual.ledgerState);
+    }
+
+    private static byte[] unversionedBytes(LocalSnapshot snapshot) {
+        ByteBuffer buf = ByteBuffer.allocate(Hash.SIZE_IN_BYTES + 20
+                + (snapshot.solidEntryPoints.size() + snapshot.seenMilestones.size()) * (Hash.SIZE_IN_BYTES + 4)
+                + snapshot.ledgerState.size() * (Hash.SIZE_IN_BYTES + 8));
+        buf.put(snapshot.milestoneHash.bytes());
+        buf.putInt(snapshot.milestoneIndex);
+        buf.putLong(snapshot.milestoneTimestamp);
+        buf.putInt(snapshot.numSolidEntryPoints);
+        buf.putInt(snapshot.numSeenMilestones);
+        for (Map.Entry<Hash, Integer> entry : snapshot.solidEntryPoints.entrySet()) {
+            buf.put(entry.getKey().bytes());
+            buf.putInt(entry.getValue());
+        }
+        for (Map.Entry<Hash, Integer> entry : snapshot.seenMilestones.entrySet()) {
+            buf.put(entry.getKey().bytes());
+            buf.putInt(entry.getValue());
+        }
+        for (Map.Entry<Hash, Long> entry : snapshot.ledgerState.entrySet()) {
+            buf.put(entry.getKey().bytes());
+            buf.putLong(entry.getValue());
+        }
+        return buf.array();
+    }
+}
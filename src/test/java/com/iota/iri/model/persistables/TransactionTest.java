@@ -2,6 +2,9 @@ package com.iota.iri.model.persistables;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -44,6 +47,92 @@ public class TransactionTest {
         
         Transaction tvmTransaction = tvm.getTransaction();
         
-        assertEquals("branch in transaction should be the same as in the tvm", tvmTransaction.branch, tvm.getTransaction().branch);
+        assertEquals("branch in transaction should be the same as in the tvm", tvmTransaction.branch(), tvm.getTransaction().branch());
+    }
+
+    @Test
+    public void hashesAreCreatedOnAccess() {
+        Transaction t = TransactionTestUtils.getTransaction();
+
+        Transaction newtx = new Transaction();
+        newtx.read(t.bytes());
+        newtx.readMetadata(t.metadata());
+
+        assertNull("trunk should not be created by reading the metadata", newtx.trunk);
+        assertEquals("timestamp should be read right away", t.timestamp, newtx.timestamp);
+        assertEquals("current index should be read right away", t.currentIndex, newtx.currentIndex);
+        assertEquals("address should be created from the metadata", t.address(), newtx.address());
+        assertEquals("bundle should be created from the metadata", t.bundle(), newtx.bundle());
+        assertEquals("trunk should be created from the metadata", t.trunk(), newtx.trunk());
+        assertEquals("branch should be created from the metadata", t.branch(), newtx.branch());
+        assertEquals("obsolete tag should be created from the metadata", t.obsoleteTag(), newtx.obsoleteTag());
+        assertEquals("tag should be created from the metadata", t.tag(), newtx.tag());
+        assertSame("created hashes should be kept", newtx.trunk(), newtx.trunk());
+    }
+
+    @Test
+    public void metadataIsWrittenWithoutCreatingHashes() {
+        Transaction t = TransactionTestUtils.getTransaction();
+
+        Transaction newtx = new Transaction();
+        newtx.readMetadata(t.metadata());
+        newtx.solid.set(true);
+        t.solid.set(true);
+
+        assertArrayEquals("metadata should be written from the read bytes", t.metadata(), newtx.metadata());
+        assertNull("address should not be created by writing the metadata", newtx.address);
+    }
+
+    @Test
+    public void stateRecordsOverrideMetadata() {
+        Transaction t = TransactionTestUtils.getTransaction();
+        byte[] metadata = t.metadata();
+
+        t.solid.set(true);
+        byte[] solidUpdate = t.state("solid");
+        t.height.set(42);
+        t.snapshot.set(7);
+        byte[] heightAndSnapshotUpdate = t.state("height|snapshot");
+
+        Transaction newtx = new Transaction();
+        newtx.read(t.bytes());
+        newtx.readMetadata(metadata);
+        newtx.readState(appendRecords(solidUpdate, heightAndSnapshotUpdate));
+
+        assertTrue("solid flag should be applied", newtx.solid.get());
+        assertEquals("height should be applied", 42, newtx.height.get());
+        assertEquals("snapshot should be applied", 7, newtx.snapshot.get());
+        assertArrayEquals("state should be the same in the copy", t.state(null), newtx.state(null));
+    }
+
+    @Test
+    public void laterStateRecordsWin() {
+        Transaction t = new Transaction();
+        t.height.set(1);
+        byte[] first = t.state("height");
+        t.height.set(2);
+        byte[] second = t.state("height");
+
+        Transaction newtx = new Transaction();
+        newtx.readState(appendRecords(first, second));
+        assertEquals("the last update should win", 2, newtx.height.get());
+    }
+
+    @Test
+    public void itemsOutsideOfTheStateRequireMetadata() {
+        Transaction t = TransactionTestUtils.getTransaction();
+        assertNull("the sender is not part of the state", t.state("arrivalTime|sender"));
+        assertEquals("records should have a fixed size", Transaction.STATE_RECORD_SIZE, t.state("validity").length);
+    }
+
+    /**
+     * Concatenates records the way the merge operator of the database does.
+     */
+    private static byte[] appendRecords(byte[] records, byte[] otherRecords) {
+        byte[] result = new byte[records.length + 1 + otherRecords.length];
+        System.arraycopy(records, 0, result, 0, records.length);
+        result[records.length] = Transaction.STATE_RECORD_DELIMITER;
+        System.arraycopy(otherRecords, 0, result, records.length + 1, otherRecords.length);
+        return result;
     }
 }
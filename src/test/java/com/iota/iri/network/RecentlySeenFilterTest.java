@@ -0,0 +1,59 @@
+package com.iota.iri.network;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RecentlySeenFilterTest {
+
+    @Test
+    public void addedHashesAreContained() {
+        RecentlySeenFilter filter = new RecentlySeenFilter(1024);
+        Hash hash = TransactionTestUtils.getTransactionHash();
+
+        assertFalse("hash should not be contained before it is added", filter.contains(hash));
+        filter.add(hash);
+        assertTrue("hash should be contained after it is added", filter.contains(hash));
+        assertFalse("null should never be contained", filter.contains(null));
+    }
+
+    @Test
+    public void capacityIsRoundedToPowerOfTwo() {
+        assertEquals(1024, new RecentlySeenFilter(1000).getCapacity());
+        assertEquals(1024, new RecentlySeenFilter(1024).getCapacity());
+    }
+
+    @Test
+    public void recentHashesAreRemembered() {
+        RecentlySeenFilter filter = new RecentlySeenFilter(4096);
+        List<Hash> hashes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Hash hash = TransactionTestUtils.getTransactionHash();
+            hashes.add(hash);
+            filter.add(hash);
+        }
+
+        // older hashes get overwritten, but most of the latest ones should still be known
+        int remembered = 0;
+        for (Hash hash : hashes.subList(hashes.size() - 500, hashes.size())) {
+            if (filter.contains(hash)) {
+                remembered++;
+            }
+        }
+        assertTrue("most recent hashes should be remembered, only " + remembered + " were", remembered > 400);
+
+        // hashes which were never added must not be reported
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse("unknown hash should not be contained",
+                    filter.contains(TransactionTestUtils.getTransactionHash()));
+        }
+    }
+}
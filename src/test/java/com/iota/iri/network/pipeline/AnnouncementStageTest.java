@@ -0,0 +1,92 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.network.TransactionPacketCache;
+import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.storage.Tangle;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnnouncementStageTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Tangle tangle;
+
+    @Mock
+    private Neighbor neighbor;
+
+    private static final long TIMEOUT = 1000;
+
+    @Mock
+    private Neighbor otherNeighbor;
+
+    private final Hash storedHash = TransactionTestUtils.getTransactionHash();
+
+    private final Hash unknownHash = TransactionTestUtils.getTransactionHash();
+
+    @Test
+    public void onlyUnknownTransactionsAreRequested() throws Exception {
+        Mockito.when(tangle.exists(Transaction.class, storedHash)).thenReturn(true);
+
+        AnnouncementStage stage = new AnnouncementStage(tangle, new TransactionPacketCache(10), new RequestedAnnouncements(10, TIMEOUT));
+        ProcessingContext ctx = new ProcessingContext(
+                new AnnouncementPayload(neighbor, Arrays.asList(storedHash, unknownHash)));
+        stage.process(ctx);
+
+        Mockito.verify(neighbor, Mockito.never()).request(storedHash);
+        Mockito.verify(neighbor).request(unknownHash);
+        Mockito.verify(neighbor).flushBatches();
+        assertEquals("should finish after the announcement", TransactionProcessingPipeline.Stage.FINISH,
+                ctx.getNextStage());
+    }
+
+    @Test
+    public void transactionsAreOnlyRequestedOnce() {
+        AnnouncementStage stage = new AnnouncementStage(tangle, new TransactionPacketCache(10), new RequestedAnnouncements(10, TIMEOUT));
+        stage.process(new ProcessingContext(new AnnouncementPayload(neighbor, Arrays.asList(unknownHash))));
+        stage.process(new ProcessingContext(new AnnouncementPayload(neighbor, Arrays.asList(unknownHash))));
+
+        Mockito.verify(neighbor, Mockito.times(1)).request(unknownHash);
+        Mockito.verify(neighbor, Mockito.times(1)).flushBatches();
+    }
+
+    @Test
+    public void unansweredRequestIsSentToAnotherAnnouncer() {
+        // the requests time out right away
+        AnnouncementStage stage = new AnnouncementStage(tangle, new TransactionPacketCache(10),
+                new RequestedAnnouncements(10, 0));
+        stage.process(new ProcessingContext(new AnnouncementPayload(neighbor, Arrays.asList(unknownHash))));
+        stage.process(new ProcessingContext(new AnnouncementPayload(otherNeighbor, Arrays.asList(unknownHash))));
+
+        Mockito.verify(neighbor).request(unknownHash);
+        Mockito.verify(otherNeighbor).request(unknownHash);
+        Mockito.verify(otherNeighbor).flushBatches();
+    }
+
+    @Test
+    public void arrivedTransactionIsNotRequestedAgain() {
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(10, 0);
+        AnnouncementStage stage = new AnnouncementStage(tangle, new TransactionPacketCache(10),
+                requestedAnnouncements);
+        stage.process(new ProcessingContext(new AnnouncementPayload(neighbor, Arrays.asList(unknownHash))));
+        requestedAnnouncements.received(unknownHash);
+
+        assertEquals("the arrived transaction should not be pending anymore", 0, requestedAnnouncements.size());
+        stage.process(new ProcessingContext(new AnnouncementPayload(otherNeighbor, Arrays.asList(storedHash))));
+        Mockito.verify(otherNeighbor, Mockito.never()).request(unknownHash);
+    }
+}
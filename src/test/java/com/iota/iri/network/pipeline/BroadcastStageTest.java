@@ -1,10 +1,15 @@
 package com.iota.iri.network.pipeline;
 
+import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
 import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.network.EncodedTransaction;
 import com.iota.iri.network.NeighborRouter;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.impl.NeighborImpl;
+import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
 import com.iota.iri.service.milestone.InSyncService;
 import com.iota.iri.service.validation.TransactionSolidifier;
 
@@ -15,9 +20,12 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+
 public class BroadcastStageTest {
 
     @Rule
@@ -28,6 +36,9 @@ public class BroadcastStageTest {
 
     @Mock
     private NeighborRouter neighborRouter;
+
+    @Mock
+    private MilestonePacketFilter milestonePacketFilter;
     
     private InSyncService inSyncService = new InSyncService() {
         
@@ -51,17 +62,20 @@ public class BroadcastStageTest {
     public void doesntGossipToOriginNeighbor() {
         Mockito.when(neighborRouter.getConnectedNeighbors()).thenReturn(neighbors);
 
-        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService);
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService,
+                packetCache, milestonePacketFilter);
         TransactionViewModel tvm = new TransactionViewModel(new Transaction(), null);
         BroadcastPayload broadcastPayload = new BroadcastPayload(neighborA, tvm);
         ProcessingContext ctx = new ProcessingContext(null, broadcastPayload);
         broadcastStage.process(ctx);
 
+        EncodedTransaction encodedTransaction = packetCache.add(tvm);
         try {
             // should not have send the tvm to the origin neighbor
-            Mockito.verify(neighborRouter, Mockito.never()).gossipTransactionTo(neighborA, tvm);
+            Mockito.verify(neighborRouter, Mockito.never()).announceTransactionTo(neighborA, encodedTransaction);
             // should send it to the other neighbors
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborB, tvm);
+            Mockito.verify(neighborRouter).announceTransactionTo(neighborB, encodedTransaction);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -71,18 +85,96 @@ public class BroadcastStageTest {
     public void gossipsToAllIfNoOriginNeighbor() {
         Mockito.when(neighborRouter.getConnectedNeighbors()).thenReturn(neighbors);
 
-        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService);
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService,
+                packetCache, milestonePacketFilter);
         TransactionViewModel tvm = new TransactionViewModel(new Transaction(), null);
         BroadcastPayload broadcastPayload = new BroadcastPayload(null, tvm);
         ProcessingContext ctx = new ProcessingContext(null, broadcastPayload);
         broadcastStage.process(ctx);
 
+        EncodedTransaction encodedTransaction = packetCache.add(tvm);
         try {
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborA, tvm);
-            Mockito.verify(neighborRouter).gossipTransactionTo(neighborB, tvm);
+            // the transaction is only encoded once for all neighbors
+            Mockito.verify(neighborRouter).announceTransactionTo(neighborA, encodedTransaction);
+            Mockito.verify(neighborRouter).announceTransactionTo(neighborB, encodedTransaction);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void doesntGossipTransactionsTheNeighborAlreadyHas() throws Exception {
+        Neighbor seenNeighbor = new NeighborImpl<>(null, null, "C", 0, null);
+        Neighbor otherNeighbor = new NeighborImpl<>(null, null, "D", 0, null);
+        Map<String, Neighbor> connectedNeighbors = new HashMap<>();
+        connectedNeighbors.put(seenNeighbor.getHostAddress(), seenNeighbor);
+        connectedNeighbors.put(otherNeighbor.getHostAddress(), otherNeighbor);
+        Mockito.when(neighborRouter.getConnectedNeighbors()).thenReturn(connectedNeighbors);
+
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        seenNeighbor.markSeen(hash);
+
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService,
+                packetCache, milestonePacketFilter);
+        TransactionViewModel tvm = new TransactionViewModel(new Transaction(), hash);
+        broadcastStage.process(new ProcessingContext(null, new BroadcastPayload(null, tvm)));
+
+        EncodedTransaction encodedTransaction = packetCache.add(tvm);
+        Mockito.verify(neighborRouter, Mockito.never()).announceTransactionTo(seenNeighbor, encodedTransaction);
+        Mockito.verify(neighborRouter).announceTransactionTo(otherNeighbor, encodedTransaction);
+        assertEquals("the skipped transaction should be counted", 1,
+                seenNeighbor.getMetrics().getSuppressedTransactionsCount());
+
+        // the transaction is not broadcast again to the neighbor we already sent it to
+        broadcastStage.process(new ProcessingContext(null, new BroadcastPayload(null, tvm)));
+        Mockito.verify(neighborRouter).announceTransactionTo(otherNeighbor, encodedTransaction);
+        assertEquals("the skipped transaction should be counted", 1,
+                otherNeighbor.getMetrics().getSuppressedTransactionsCount());
+    }
+
+    @Test
+    public void doesntGossipToCongestedNeighbors() throws Exception {
+        Neighbor congestedNeighbor = Mockito.mock(Neighbor.class);
+        Mockito.when(congestedNeighbor.getSendQueueFillLevel()).thenReturn(0.9);
+        Mockito.when(congestedNeighbor.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        Mockito.when(neighborRouter.getConnectedNeighbors())
+                .thenReturn(Collections.singletonMap("congested", congestedNeighbor));
+
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService,
+                packetCache, milestonePacketFilter);
+        TransactionViewModel tvm = new TransactionViewModel(new Transaction(),
+                TransactionTestUtils.getTransactionHash());
+        broadcastStage.process(new ProcessingContext(null, new BroadcastPayload(null, tvm)));
+
+        Mockito.verify(neighborRouter, Mockito.never()).announceTransactionTo(Mockito.eq(congestedNeighbor),
+                Mockito.any());
+        assertEquals("the skipped transaction should be counted as congestion skip", 1,
+                congestedNeighbor.getMetrics().getCongestionSkippedTransactionsCount());
+        assertEquals("the skipped transaction should not be counted as suppressed", 0,
+                congestedNeighbor.getMetrics().getSuppressedTransactionsCount());
+    }
+
+    @Test
+    public void gossipsLikelyMilestonesToCongestedNeighbors() throws Exception {
+        Neighbor congestedNeighbor = Mockito.mock(Neighbor.class);
+        Mockito.when(congestedNeighbor.getSendQueueFillLevel()).thenReturn(0.9);
+        Mockito.when(congestedNeighbor.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        Mockito.when(neighborRouter.getConnectedNeighbors())
+                .thenReturn(Collections.singletonMap("congested", congestedNeighbor));
+        Mockito.when(milestonePacketFilter.isLikelyMilestone(Mockito.any(byte[].class))).thenReturn(true);
+
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        BroadcastStage broadcastStage = new BroadcastStage(neighborRouter, transactionSolidifier, inSyncService,
+                packetCache, milestonePacketFilter);
+        TransactionViewModel tvm = new TransactionViewModel(new Transaction(),
+                TransactionTestUtils.getTransactionHash());
+        broadcastStage.process(new ProcessingContext(null, new BroadcastPayload(null, tvm)));
+
+        Mockito.verify(neighborRouter).announceTransactionTo(congestedNeighbor, packetCache.add(tvm));
+        assertEquals("the milestone should not be counted as congestion skip", 0,
+                congestedNeighbor.getMetrics().getCongestionSkippedTransactionsCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.network.neighbor.NeighborMetrics;
+import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FairReceiveQueueTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Neighbor neighborA;
+
+    @Mock
+    private Neighbor neighborB;
+
+    @Test
+    public void transactionsAboveTheRateLimitAreDropped() throws InterruptedException {
+        Mockito.when(neighborA.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        Mockito.when(neighborB.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        FairReceiveQueue queue = new FairReceiveQueue(10, 100);
+
+        // the bucket holds one second worth of transactions
+        int accepted = 0;
+        for (int i = 0; i < 15; i++) {
+            if (queue.offer(neighborA, context(neighborA))) {
+                accepted++;
+            }
+        }
+        assertEquals("only the transactions within the limit should be accepted", 10, accepted);
+        assertTrue("other neighbors should have their own limit", queue.offer(neighborB, context(neighborB)));
+        assertEquals(11, queue.size());
+    }
+
+    @Test
+    public void transactionsAboveTheCapacityAreDropped() {
+        Mockito.when(neighborA.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        FairReceiveQueue queue = new FairReceiveQueue(0, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue("transaction within the capacity should be accepted", queue.offer(neighborA, context(neighborA)));
+        }
+        assertFalse("transaction above the capacity should be dropped", queue.offer(neighborA, context(neighborA)));
+    }
+
+    @Test
+    public void acquiredTransactionsShareTheRateLimit() {
+        Mockito.when(neighborA.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        FairReceiveQueue queue = new FairReceiveQueue(10, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue("transaction within the limit should be acquired", queue.tryAcquire(neighborA));
+        }
+        assertFalse("transaction above the limit should not be acquired", queue.tryAcquire(neighborA));
+        assertFalse("the limit should also apply to offered transactions", queue.offer(neighborA, context(neighborA)));
+        assertTrue("an acquired transaction should not be charged again",
+                queue.offerAcquired(neighborA, context(neighborA)));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void neighborsAreServedInTurns() throws InterruptedException {
+        Mockito.when(neighborA.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        Mockito.when(neighborB.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        FairReceiveQueue queue = new FairReceiveQueue(0, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            queue.offer(neighborA, context(neighborA));
+        }
+        for (int i = 0; i < 5; i++) {
+            queue.offer(neighborB, context(neighborB));
+        }
+
+        // neighbor B doesn't have to wait for all transactions of neighbor A
+        int fromB = 0;
+        for (int i = 0; i < 10; i++) {
+            if (originOf(queue.take()) == neighborB) {
+                fromB++;
+            }
+        }
+        assertEquals("neighbors should take turns", 5, fromB);
+        assertEquals(95, queue.size());
+    }
+
+    @Test
+    public void neighborsWithALowPriorityGetASmallerShare() throws InterruptedException {
+        NeighborMetrics lowPriority = Mockito.mock(NeighborMetrics.class);
+        Mockito.when(lowPriority.getReceivePriority()).thenReturn(0.25);
+        Mockito.when(neighborA.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        Mockito.when(neighborB.getMetrics()).thenReturn(lowPriority);
+        FairReceiveQueue queue = new FairReceiveQueue(0, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            queue.offer(neighborA, context(neighborA));
+            queue.offer(neighborB, context(neighborB));
+        }
+
+        int fromB = 0;
+        for (int i = 0; i < 50; i++) {
+            if (originOf(queue.take()) == neighborB) {
+                fromB++;
+            }
+        }
+        assertEquals("low priority neighbor should get a quarter of the turns of the other", 10, fromB);
+
+        // once neighbor A is idle, neighbor B gets all the turns
+        while (queue.size() > 0) {
+            queue.take();
+        }
+        queue.offer(neighborB, context(neighborB));
+        assertSame(neighborB, originOf(queue.take()));
+    }
+
+    private static ProcessingContext context(Neighbor neighbor) {
+        return new ProcessingContext(new PreProcessPayload(neighbor, null));
+    }
+
+    private static Neighbor originOf(ProcessingContext ctx) {
+        return ((PreProcessPayload) ctx.getPayload()).getOriginNeighbor();
+    }
+}
@@ -0,0 +1,91 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.HashFactory;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.network.protocol.Protocol;
+import com.iota.iri.utils.Converter;
+import com.iota.iri.utils.TransactionTruncator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MilestonePacketFilterTest {
+
+    @Test
+    public void packetFromTheCoordinatorAddressIsLikelyAMilestone() {
+        byte[] txTrits = TransactionTestUtils.getTransactionTrits();
+        MilestonePacketFilter filter = new MilestonePacketFilter(addressOf(txTrits));
+
+        assertTrue("a transaction from the coordinator address should be spotted",
+                filter.isLikelyMilestone(createPacket(txTrits)));
+    }
+
+    @Test
+    public void packetWithoutSignatureFromTheCoordinatorAddressIsLikelyAMilestone() {
+        byte[] txTrits = TransactionTestUtils.getTransactionTrits();
+        Arrays.fill(txTrits, 0, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_TRINARY_SIZE, (byte) 0);
+        MilestonePacketFilter filter = new MilestonePacketFilter(addressOf(txTrits));
+
+        assertTrue("the address should be found in a fully truncated transaction",
+                filter.isLikelyMilestone(createPacket(txTrits)));
+    }
+
+    @Test
+    public void truncatedTransactionFromTheCoordinatorAddressIsLikelyAMilestone() {
+        byte[] txTrits = TransactionTestUtils.getTransactionTrits();
+        byte[] txBytes = new byte[Transaction.SIZE];
+        Converter.bytes(txTrits, 0, txBytes, 0, txTrits.length);
+
+        assertTrue("a truncated transaction from the coordinator address should be spotted",
+                new MilestonePacketFilter(addressOf(txTrits))
+                        .isLikelyMilestone(TransactionTruncator.truncateTransaction(txBytes)));
+        assertFalse("a truncated transaction from another address should not be spotted",
+                new MilestonePacketFilter(Hash.NULL_HASH)
+                        .isLikelyMilestone(TransactionTruncator.truncateTransaction(txBytes)));
+    }
+
+    @Test
+    public void packetFromAnotherAddressIsNotLikelyAMilestone() {
+        byte[] txTrits = TransactionTestUtils.getTransactionTrits();
+        Hash coordinator = addressOf(txTrits);
+        // change a trit in the middle of the address
+        int trit = TransactionViewModel.ADDRESS_TRINARY_OFFSET + 100;
+        txTrits[trit] = (byte) (txTrits[trit] == 1 ? 0 : 1);
+        MilestonePacketFilter filter = new MilestonePacketFilter(coordinator);
+
+        assertFalse("a transaction from another address should not be spotted",
+                filter.isLikelyMilestone(createPacket(txTrits)));
+    }
+
+    @Test
+    public void tooShortPacketIsNotLikelyAMilestone() {
+        MilestonePacketFilter filter = new MilestonePacketFilter(Hash.NULL_HASH);
+
+        assertFalse("a packet without a complete transaction should not be spotted",
+                filter.isLikelyMilestone(ByteBuffer.allocate(Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH)));
+    }
+
+    private static Hash addressOf(byte[] txTrits) {
+        return HashFactory.ADDRESS.create(txTrits, TransactionViewModel.ADDRESS_TRINARY_OFFSET);
+    }
+
+    private static ByteBuffer createPacket(byte[] txTrits) {
+        byte[] txBytes = new byte[Transaction.SIZE];
+        Converter.bytes(txTrits, 0, txBytes, 0, txTrits.length);
+        byte[] truncatedTx = TransactionTruncator.truncateTransaction(txBytes);
+
+        ByteBuffer packet = ByteBuffer.allocate(truncatedTx.length + Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH);
+        packet.put(truncatedTx);
+        packet.put(new byte[Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH]);
+        packet.flip();
+        return packet;
+    }
+}
@@ -0,0 +1,62 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.neighbor.Neighbor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MilestonePacketQueueTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Neighbor neighborA;
+
+    @Mock
+    private Neighbor neighborB;
+
+    @Test
+    public void floodingNeighborOnlyGetsItsSlots() {
+        MilestonePacketQueue queue = new MilestonePacketQueue(100, 10);
+
+        int accepted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (queue.offer(neighborA, context(neighborA))) {
+                accepted++;
+            }
+        }
+        assertEquals("the flooding neighbor should only get its slots", 10, accepted);
+        assertTrue("other neighbors should still get a slot", queue.offer(neighborB, context(neighborB)));
+        assertEquals(11, queue.size());
+    }
+
+    @Test
+    public void takenTransactionsFreeTheirSlot() throws InterruptedException {
+        MilestonePacketQueue queue = new MilestonePacketQueue(100, 1);
+
+        assertTrue(queue.offer(neighborA, context(neighborA)));
+        assertFalse("the neighbor should not get a second slot", queue.offer(neighborA, context(neighborA)));
+        queue.take();
+        assertTrue("the slot should be free again", queue.offer(neighborA, context(neighborA)));
+    }
+
+    @Test
+    public void transactionsAboveTheCapacityAreRejected() {
+        MilestonePacketQueue queue = new MilestonePacketQueue(1, 10);
+
+        assertTrue(queue.offer(neighborA, context(neighborA)));
+        assertFalse("a full queue should reject transactions", queue.offer(neighborB, context(neighborB)));
+    }
+
+    private static ProcessingContext context(Neighbor neighbor) {
+        return new ProcessingContext(new PreProcessPayload(neighbor, null));
+    }
+}
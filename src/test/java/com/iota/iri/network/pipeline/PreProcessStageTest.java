@@ -72,6 +72,9 @@ public class PreProcessStageTest {
         ReplyPayload replyPayload = (ReplyPayload) ctx.getPayload();
         assertEquals("neighor should still be the same", neighbor, replyPayload.getOriginNeighbor());
         assertEquals("requested tx hash should still be the same", Hash.NULL_HASH, replyPayload.getHashOfRequestedTx());
+
+        // the neighbor has the transaction, so it doesn't need to be broadcast to it
+        Mockito.verify(neighbor).markSeen(Hash.NULL_HASH);
     }
 
     @Test
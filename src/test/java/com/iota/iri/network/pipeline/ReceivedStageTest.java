@@ -3,6 +3,7 @@ package com.iota.iri.network.pipeline;
 import com.iota.iri.model.Hash;
 import com.iota.iri.service.milestone.MilestoneService;
 import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.Neighbor;
 import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
@@ -12,6 +13,7 @@ import com.iota.iri.storage.Tangle;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
@@ -51,6 +53,12 @@ public class ReceivedStageTest {
     @Mock
     private Hash cooAddress;
 
+    @Mock
+    private TransactionPacketCache packetCache;
+
+    @Mock
+    private RequestedAnnouncements requestedAnnouncements;
+
     @Test
     public void newlyStoredTransactionUpdatesAlsoArrivalTimeAndSender() throws Exception {
         Mockito.when(tvm.store(tangle, snapshotProvider.getInitialSnapshot())).thenReturn(true);
@@ -58,13 +66,18 @@ public class ReceivedStageTest {
         Mockito.when(transactionRequester.removeRecentlyRequestedTransaction(Mockito.any())).thenReturn(true);
 
         ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
-                milestoneService, cooAddress);
+                milestoneService, cooAddress, packetCache, requestedAnnouncements);
         ReceivedPayload receivedPayload = new ReceivedPayload(neighbor, tvm);
         ProcessingContext ctx = new ProcessingContext(null, receivedPayload);
         stage.process(ctx);
 
-        Mockito.verify(tvm).setArrivalTime(Mockito.anyLong());
-        Mockito.verify(tvm).update(Mockito.any(), Mockito.any(), Mockito.any());
+        InOrder inOrder = Mockito.inOrder(tvm);
+        inOrder.verify(tvm).setArrivalTime(Mockito.anyLong());
+        inOrder.verify(tvm).store(tangle, snapshotProvider.getInitialSnapshot());
+        inOrder.verify(tvm).publishStored(tangle);
+        Mockito.verify(packetCache).add(tvm);
+        Mockito.verify(requestedAnnouncements).received(tvm.getHash());
+        Mockito.verify(tvm, Mockito.never()).update(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.verify(transactionRequester).removeRecentlyRequestedTransaction(Mockito.any());
         Mockito.verify(transactionRequester).requestTrunkAndBranch(Mockito.any());
         assertEquals("should submit to broadcast stage next", TransactionProcessingPipeline.Stage.SOLIDIFY,
@@ -80,13 +93,14 @@ public class ReceivedStageTest {
         Mockito.when(neighbor.getMetrics()).thenReturn(neighborMetrics);
 
         ReceivedStage stage = new ReceivedStage(tangle, txSolidifier, snapshotProvider, transactionRequester,
-                milestoneService, cooAddress);
+                milestoneService, cooAddress, packetCache, requestedAnnouncements);
         ReceivedPayload receivedPayload = new ReceivedPayload(neighbor, tvm);
         ProcessingContext ctx = new ProcessingContext(null, receivedPayload);
         stage.process(ctx);
 
-        Mockito.verify(tvm, Mockito.never()).setArrivalTime(Mockito.anyLong());
         Mockito.verify(tvm, Mockito.never()).update(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(tvm, Mockito.never()).publishStored(Mockito.any());
+        Mockito.verify(packetCache, Mockito.never()).add(Mockito.any());
         Mockito.verify(transactionRequester).removeRecentlyRequestedTransaction(Mockito.any());
         Mockito.verify(transactionRequester, Mockito.never()).requestTrunkAndBranch(Mockito.any());
         assertEquals("should submit to broadcast stage next", TransactionProcessingPipeline.Stage.SOLIDIFY,
@@ -3,10 +3,12 @@ package com.iota.iri.network.pipeline;
 import com.iota.iri.TangleMockUtils;
 import com.iota.iri.conf.NodeConfig;
 import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.network.FIFOCache;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.SampleTransaction;
+import com.iota.iri.network.TransactionPacketCache;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.impl.NeighborImpl;
 import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
@@ -81,13 +83,13 @@ public class ReplyStageTest {
                 SampleTransaction.SAMPLE_TRANSACTION);
 
         ReplyStage stage = new ReplyStage(neighborRouter, nodeConfig, tangle, tipsViewModel, milestoneSolidifier,
-                snapshotProvider, recentlySeenBytesCache, random);
+                snapshotProvider, recentlySeenBytesCache, new TransactionPacketCache(10), random);
         ReplyPayload replyPayload = new ReplyPayload(neighbor, Hash.NULL_HASH);
         ProcessingContext ctx = new ProcessingContext(replyPayload);
         stage.process(ctx);
 
         try {
-            Mockito.verify(neighborRouter).gossipTransactionTo(Mockito.any(), Mockito.any());
+            Mockito.verify(neighborRouter).gossipEncodedTransactionTo(Mockito.any(), Mockito.any());
             Mockito.verify(recentlySeenBytesCache).put(SampleTransaction.BYTES_DIGEST_OF_SAMPLE_TX,
                     SampleTransaction.CURL_HASH_OF_SAMPLE_TX);
         } catch (Exception e) {
@@ -101,18 +103,41 @@ public class ReplyStageTest {
                 SampleTransaction.SAMPLE_TRANSACTION);
 
         ReplyStage stage = new ReplyStage(neighborRouter, nodeConfig, tangle, tipsViewModel, milestoneSolidifier,
-                snapshotProvider, recentlySeenBytesCache, random);
+                snapshotProvider, recentlySeenBytesCache, new TransactionPacketCache(10), random);
         ReplyPayload replyPayload = new ReplyPayload(neighbor, SampleTransaction.CURL_HASH_OF_SAMPLE_TX);
         ProcessingContext ctx = new ProcessingContext(replyPayload);
         stage.process(ctx);
 
         try {
             Mockito.verify(random, Mockito.never()).nextDouble();
-            Mockito.verify(neighborRouter).gossipTransactionTo(Mockito.any(), Mockito.any());
+            Mockito.verify(neighborRouter).gossipEncodedTransactionTo(Mockito.any(), Mockito.any());
             Mockito.verify(recentlySeenBytesCache).put(SampleTransaction.BYTES_DIGEST_OF_SAMPLE_TX,
                     SampleTransaction.CURL_HASH_OF_SAMPLE_TX);
         } catch (Exception e) {
             fail(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cachedTransactionsAreRepliedWithoutLoadingThem() {
+        TransactionPacketCache packetCache = new TransactionPacketCache(10);
+        packetCache.add(new TransactionViewModel(SampleTransaction.SAMPLE_TRANSACTION,
+                SampleTransaction.CURL_HASH_OF_SAMPLE_TX));
+
+        ReplyStage stage = new ReplyStage(neighborRouter, nodeConfig, tangle, tipsViewModel, milestoneSolidifier,
+                snapshotProvider, recentlySeenBytesCache, packetCache, random);
+        ReplyPayload replyPayload = new ReplyPayload(neighbor, SampleTransaction.CURL_HASH_OF_SAMPLE_TX);
+        ProcessingContext ctx = new ProcessingContext(replyPayload);
+        stage.process(ctx);
+
+        try {
+            Mockito.verifyZeroInteractions(tangle);
+            Mockito.verify(neighborRouter).gossipEncodedTransactionTo(neighbor,
+                    packetCache.get(SampleTransaction.CURL_HASH_OF_SAMPLE_TX));
+            Mockito.verify(recentlySeenBytesCache).put(SampleTransaction.BYTES_DIGEST_OF_SAMPLE_TX,
+                    SampleTransaction.CURL_HASH_OF_SAMPLE_TX);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+import com.iota.iri.network.neighbor.Neighbor;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestedAnnouncementsTest {
+
+    private static final long TIMEOUT = 1000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Neighbor neighborA;
+
+    @Mock
+    private Neighbor neighborB;
+
+    @Mock
+    private Neighbor neighborC;
+
+    private final Hash hash = TransactionTestUtils.getTransactionHash();
+
+    @Test
+    public void onlyTheFirstAnnouncementIsRequested() {
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(10, TIMEOUT);
+
+        assertTrue("the first announcement should be requested", requestedAnnouncements.announced(hash, neighborA, 0));
+        assertFalse("a pending request should not be sent again",
+                requestedAnnouncements.announced(hash, neighborB, 10));
+        assertTrue("nothing should be retried before the timeout", requestedAnnouncements.retryTimedOut(10).isEmpty());
+    }
+
+    @Test
+    public void timedOutRequestsGoToTheOtherAnnouncersInTurn() {
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(10, TIMEOUT);
+        requestedAnnouncements.announced(hash, neighborA, 0);
+        requestedAnnouncements.announced(hash, neighborB, 10);
+        requestedAnnouncements.announced(hash, neighborC, 20);
+
+        List<Map.Entry<Hash, Neighbor>> retries = requestedAnnouncements.retryTimedOut(TIMEOUT);
+        assertEquals("the request should be retried once", 1, retries.size());
+        assertEquals("the second announcer should be asked", neighborB, retries.get(0).getValue());
+
+        assertTrue("the retried request should get a new timeout",
+                requestedAnnouncements.retryTimedOut(TIMEOUT + 10).isEmpty());
+        retries = requestedAnnouncements.retryTimedOut(2 * TIMEOUT);
+        assertEquals("the third announcer should be asked", neighborC, retries.get(0).getValue());
+
+        assertTrue("without further announcers nothing is retried",
+                requestedAnnouncements.retryTimedOut(3 * TIMEOUT).isEmpty());
+        assertEquals("the request should be forgotten", 0, requestedAnnouncements.size());
+        assertTrue("the next announcement should be requested again",
+                requestedAnnouncements.announced(hash, neighborA, 3 * TIMEOUT));
+    }
+
+    @Test
+    public void receivedTransactionsAreNotRetried() {
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(10, TIMEOUT);
+        requestedAnnouncements.announced(hash, neighborA, 0);
+        requestedAnnouncements.announced(hash, neighborB, 10);
+        requestedAnnouncements.received(hash);
+
+        assertTrue("a received transaction should not be retried",
+                requestedAnnouncements.retryTimedOut(TIMEOUT).isEmpty());
+    }
+
+    @Test
+    public void oldestRequestIsForgottenAtCapacity() {
+        RequestedAnnouncements requestedAnnouncements = new RequestedAnnouncements(1, TIMEOUT);
+        requestedAnnouncements.announced(hash, neighborA, 0);
+        requestedAnnouncements.announced(TransactionTestUtils.getTransactionHash(), neighborA, 0);
+
+        assertEquals("only one request should be kept", 1, requestedAnnouncements.size());
+        assertTrue("the forgotten request should be sent again",
+                requestedAnnouncements.announced(hash, neighborB, 0));
+    }
+}
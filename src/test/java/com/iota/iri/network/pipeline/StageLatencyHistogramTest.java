@@ -0,0 +1,57 @@
+package com.iota.iri.network.pipeline;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StageLatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        StageLatencyHistogram histogram = new StageLatencyHistogram();
+
+        assertEquals("nothing should be counted", 0, histogram.getCount());
+        assertEquals("the mean should be 0", 0, histogram.getMean(), 0);
+        assertEquals("the percentile should be 0", 0, histogram.getValueAtPercentile(99));
+        assertEquals("the max should be 0", 0, histogram.getMax());
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        StageLatencyHistogram histogram = new StageLatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals("all values should be counted", 10, histogram.getCount());
+        assertEquals("the mean should be exact", 5.5, histogram.getMean(), 0);
+        assertEquals("the median should be exact", 5, histogram.getValueAtPercentile(50));
+        assertEquals("the 90th percentile should be exact", 9, histogram.getValueAtPercentile(90));
+        assertEquals("the max should be exact", 10, histogram.getMax());
+    }
+
+    @Test
+    public void largeValuesAreReportedWithinTheBucketPrecision() {
+        StageLatencyHistogram histogram = new StageLatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue("the median should not be below the actual value", median >= 500_000);
+        assertTrue("the median should be at most 1/16th above the actual value", median <= 500_000 + 500_000 / 16);
+        assertEquals("the 100th percentile should be the max", 1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void outOfRangeValuesAreClamped() {
+        StageLatencyHistogram histogram = new StageLatencyHistogram();
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE / 2);
+
+        assertEquals("a negative value should be counted as 0", 0, histogram.getValueAtPercentile(50));
+        assertEquals("a huge value should be counted in the last bucket", StageLatencyHistogram.MAX_VALUE,
+                histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,57 @@
+package com.iota.iri.network.pipeline;
+
+import com.iota.iri.network.pipeline.TransactionProcessingPipeline.Stage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StageLatencyTrackerTest {
+
+    @Test
+    public void onlyStagesWhichProcessContextsAreTracked() {
+        StageLatencyTracker tracker = new StageLatencyTracker();
+
+        assertTrue("the validation stage should be tracked", tracker.getTrackedStages().contains(Stage.VALIDATION));
+        assertFalse("aborting should not be tracked", tracker.getTrackedStages().contains(Stage.ABORT));
+        assertNull("there should be no histogram for finishing", tracker.getQueueWait(Stage.FINISH));
+    }
+
+    @Test
+    public void queueWaitProcessingTimeAndAgeAreTracked() {
+        StageLatencyTracker tracker = new StageLatencyTracker();
+        ProcessingContext ctx = new ProcessingContext(null);
+        long now = System.nanoTime();
+        ctx.setCreatedAt(now - TimeUnit.SECONDS.toNanos(3));
+        ctx.setEnqueuedAt(now - TimeUnit.SECONDS.toNanos(2));
+
+        long startedAt = tracker.startProcessing(Stage.RECEIVED, ctx);
+        tracker.finishProcessing(Stage.RECEIVED, ctx, startedAt - TimeUnit.SECONDS.toNanos(1));
+
+        assertAtLeastSeconds("queue wait", 2, tracker.getQueueWait(Stage.RECEIVED));
+        assertAtLeastSeconds("processing time", 1, tracker.getProcessingTime(Stage.RECEIVED));
+        assertAtLeastSeconds("age", 3, tracker.getAge(Stage.RECEIVED));
+        assertEquals("other stages should not be affected", 0, tracker.getAge(Stage.BROADCAST).getCount());
+    }
+
+    @Test
+    public void splitContextsKeepTheAgeOfTheOriginalContext() {
+        StageLatencyTracker tracker = new StageLatencyTracker();
+        ProcessingContext parent = new ProcessingContext(null);
+        parent.setCreatedAt(42);
+        ProcessingContext child = new ProcessingContext(null);
+
+        tracker.split(parent, child);
+        assertEquals("the child should be as old as its parent", 42, child.getCreatedAt());
+    }
+
+    private static void assertAtLeastSeconds(String name, long seconds, StageLatencyHistogram histogram) {
+        assertEquals(name + " should be counted once", 1, histogram.getCount());
+        assertTrue(name + " should be measured", histogram.getMax() >= TimeUnit.SECONDS.toMicros(seconds));
+    }
+}
@@ -1,11 +1,14 @@
 package com.iota.iri.network.pipeline;
 
+import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.conf.NodeConfig;
 import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.model.Hash;
 import com.iota.iri.network.NeighborRouter;
 import com.iota.iri.network.SampleTransaction;
 import com.iota.iri.network.TransactionRequester;
 import com.iota.iri.network.neighbor.Neighbor;
+import com.iota.iri.network.neighbor.impl.NeighborMetricsImpl;
 import com.iota.iri.service.milestone.InSyncService;
 import com.iota.iri.service.milestone.MilestoneService;
 import com.iota.iri.service.milestone.MilestoneSolidifier;
@@ -14,6 +17,7 @@ import com.iota.iri.service.validation.TransactionSolidifier;
 import com.iota.iri.service.validation.TransactionValidator;
 import com.iota.iri.storage.Tangle;
 
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -21,6 +25,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import static org.junit.Assert.assertTrue;
+
 
 public class TransactionProcessingPipelineTest {
 
@@ -131,6 +137,14 @@ public class TransactionProcessingPipelineTest {
         }
     };
 
+    @Before
+    public void setUp() {
+        // the metrics decide how received transactions are scheduled
+        Mockito.when(neighbor.getMetrics()).thenReturn(new NeighborMetricsImpl());
+        // the sample transaction is not sent from this address
+        Mockito.when(nodeConfig.getCoordinator()).thenReturn(TransactionTestUtils.getTransactionHash());
+    }
+
     private void mockHashingStage(TransactionProcessingPipeline pipeline) {
         Mockito.when(hashingPayload.getTxTrits()).thenReturn(null);
         Mockito.doAnswer(invocation -> {
@@ -260,6 +274,73 @@ public class TransactionProcessingPipelineTest {
         Mockito.verify(milestoneStage).process(Mockito.any());
     }
 
+    @Test
+    public void aLikelyMilestoneSkipsTheHashingStage() throws InterruptedException {
+        // the address of the sample transaction consists of 9s only
+        Mockito.when(nodeConfig.getCoordinator()).thenReturn(Hash.NULL_HASH);
+        TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
+                transactionValidator, tangle, snapshotProvider, tipsViewModel, milestoneSolidifier,
+                transactionRequester, transactionSolidifier, milestoneService, inSyncService);
+
+        injectMockedStagesIntoPipeline(pipeline);
+
+        // mock after pre process context/stage
+        Mockito.when(preProcessStage.process(Mockito.any())).thenReturn(hashingCtx);
+        Mockito.when(hashingCtx.getNextStage()).thenReturn(TransactionProcessingPipeline.Stage.HASHING);
+        Mockito.when(hashingCtx.getPayload()).thenReturn(hashingPayload);
+        Mockito.when(hashingPayload.getTxTrits()).thenReturn(SampleTransaction.TRITS_OF_SAMPLE_TX);
+
+        // the transaction is hashed directly, so the hashing context goes to the validation stage
+        Mockito.when(validationStage.process(hashingCtx)).thenReturn(receivedCtx);
+        Mockito.when(receivedCtx.getNextStage()).thenReturn(TransactionProcessingPipeline.Stage.RECEIVED);
+
+        // mock received
+        Mockito.when(receivedStage.process(receivedCtx)).thenReturn(milestoneCtx);
+
+        // mock milestone
+        Mockito.when(milestoneCtx.getNextStage()).thenReturn(TransactionProcessingPipeline.Stage.MILESTONE);
+        Mockito.when(milestoneCtx.getPayload()).thenReturn(milestonePayload);
+        Mockito.when(milestoneStage.process(milestoneCtx)).thenReturn(abortCtx);
+        Mockito.when(abortCtx.getNextStage()).thenReturn(TransactionProcessingPipeline.Stage.ABORT);
+
+        pipeline.start();
+
+        // send in actual payload to kick off the 'processing'
+        pipeline.process(neighbor, SampleTransaction.createSampleTxBuffer());
+
+        // give it some time to 'process'
+        Thread.sleep(100);
+
+        // should not have called
+        Mockito.verify(hashingStage, Mockito.never()).process(Mockito.any());
+
+        // should have called
+        Mockito.verify(hashingPayload).setHashTrits(Mockito.any());
+        Mockito.verify(preProcessStage).process(Mockito.any());
+        Mockito.verify(validationStage).process(hashingCtx);
+        Mockito.verify(receivedStage).process(receivedCtx);
+        Mockito.verify(milestoneStage).process(milestoneCtx);
+    }
+
+    @Test
+    public void floodingLikelyMilestonesIsRateLimited() {
+        // the address of the sample transaction consists of 9s only
+        Mockito.when(nodeConfig.getCoordinator()).thenReturn(Hash.NULL_HASH);
+        Mockito.when(nodeConfig.getReceiveLimit()).thenReturn(20);
+        TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
+                transactionValidator, tangle, snapshotProvider, tipsViewModel, milestoneSolidifier,
+                transactionRequester, transactionSolidifier, milestoneService, inSyncService);
+
+        // the pipeline isn't started, so nothing is taken from the queues
+        for (int i = 0; i < 100; i++) {
+            pipeline.process(neighbor, SampleTransaction.createSampleTxBuffer());
+        }
+
+        // 10 fill the neighbor's milestone slots, 10 more fall back to its receive queue, the bucket may refill a bit
+        long dropped = neighbor.getMetrics().getDroppedReceivedTransactionsCount();
+        assertTrue("transactions above the rate limit should be dropped", dropped >= 78 && dropped <= 80);
+    }
+
     @Test
     public void processingAKnownTransactionOnlyFlowsToTheReplyStage() throws InterruptedException {
         TransactionProcessingPipeline pipeline = new TransactionProcessingPipelineImpl(neighborRouter, nodeConfig,
@@ -6,6 +6,8 @@ import com.iota.iri.model.Hash;
 import com.iota.iri.model.persistables.Transaction;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.Test;
@@ -99,6 +101,47 @@ public class ProtocolTest {
         assertEquals("should have correct message length", expectedMessageSize, buf.getShort());
     }
 
+    @Test
+    public void createAndParseHashBatchPacket() throws Exception {
+        List<Hash> hashes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hashes.add(TransactionTestUtils.getTransactionHash());
+        }
+        ByteBuffer buf = Protocol.createHashBatchPacket(ProtocolMessage.TRANSACTION_ANNOUNCEMENT, hashes);
+        ProtocolHeader header = Protocol.parseHeader(buf);
+        assertEquals("should be of type announcement message", ProtocolMessage.TRANSACTION_ANNOUNCEMENT,
+                header.getMessageType());
+        assertEquals("should have correct message length", 3 * Protocol.GOSSIP_REQUESTED_TX_HASH_BYTES_LENGTH,
+                header.getMessageLength());
+        assertEquals("should contain the same hashes", hashes, Protocol.parseHashBatch(buf));
+    }
+
+    @Test
+    public void hashBatchIsSentWhenFull() {
+        HashBatch batch = new HashBatch(ProtocolMessage.TRANSACTION_REQUEST);
+        assertNull("an empty batch should not be sent", batch.flush());
+        for (int i = 1; i < Protocol.MAX_HASHES_PER_BATCH; i++) {
+            assertNull("batch should wait until it is full", batch.add(TransactionTestUtils.getTransactionHash()));
+        }
+        ByteBuffer buf = batch.add(TransactionTestUtils.getTransactionHash());
+        assertEquals("full batch should be sent", ProtocolMessage.TRANSACTION_REQUEST.getMaxLength()
+                + Protocol.PROTOCOL_HEADER_BYTES_LENGTH, buf.remaining());
+        assertNull("batch should be empty after it was sent", batch.flush());
+    }
+
+    @Test
+    public void hashBatchesAreOnlyUsedWithNeighborsSupportingThem() {
+        Handshake oldNeighbor = new Handshake();
+        oldNeighbor.setSupportedVersions(new byte[]{0b00000001});
+        assertEquals("should fall back to version 1", 1,
+                oldNeighbor.getNeighborSupportedVersion(Protocol.SUPPORTED_PROTOCOL_VERSIONS));
+
+        Handshake newNeighbor = new Handshake();
+        newNeighbor.setSupportedVersions(new byte[]{0b00000011});
+        assertEquals("should use hash batches", Protocol.HASH_BATCHES_PROTOCOL_VERSION,
+                newNeighbor.getNeighborSupportedVersion(Protocol.SUPPORTED_PROTOCOL_VERSIONS));
+    }
+
     @Test
     public void createHeartbeatPacket(){
         Heartbeat heartbeat = new Heartbeat();
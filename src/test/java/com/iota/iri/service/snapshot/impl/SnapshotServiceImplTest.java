@@ -1,10 +1,14 @@
 package com.iota.iri.service.snapshot.impl;
 
 import com.iota.iri.TangleMockUtils;
+import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.controllers.MilestoneViewModel;
 import com.iota.iri.controllers.TransactionViewModel;
 import com.iota.iri.model.Hash;
 import com.iota.iri.model.HashFactory;
+import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.StateDiff;
+import com.iota.iri.model.StateDiffCheckpoint;
 import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.service.snapshot.Snapshot;
 import com.iota.iri.service.snapshot.SnapshotException;
@@ -15,6 +19,7 @@ import org.junit.*;
 import org.junit.runners.MethodSorters;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
@@ -183,6 +188,46 @@ public class SnapshotServiceImplTest {
         }
     }
 
+    @Test
+    public void replayMilestonesWithStateDiffCheckpoint() throws Exception {
+        Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot();
+        int blockStart = StateDiffCheckpoint.blockStart(latestSnapshot.getIndex()) + StateDiffCheckpoint.INTERVAL;
+        int targetIndex = blockStart + StateDiffCheckpoint.INTERVAL - 1;
+
+        Map<Integer, Hash> milestoneHashes = new HashMap<>();
+        for (int milestoneIndex = latestSnapshot.getIndex() + 1; milestoneIndex <= targetIndex; milestoneIndex++) {
+            Hash milestoneHash = TransactionTestUtils.getTransactionHash();
+            TangleMockUtils.mockMilestone(tangle, milestoneHash, milestoneIndex);
+            milestoneHashes.put(milestoneIndex, milestoneHash);
+        }
+        TangleMockUtils.mockTransaction(tangle, milestoneHashes.get(targetIndex));
+
+        TangleMockUtils.mockStateDiff(tangle, milestoneHashes.get(latestSnapshot.getIndex() + 1), createBalanceMap(
+                Hash.NULL_HASH, -2337L,
+                ADDRESS_1,       1337L,
+                ADDRESS_2,       1000L
+        ));
+        StateDiffCheckpoint checkpoint = new StateDiffCheckpoint();
+        checkpoint.state = createBalanceMap(
+                Hash.NULL_HASH, -234L,
+                ADDRESS_3,       234L
+        );
+        Mockito.when(tangle.load(StateDiffCheckpoint.class, new IntegerIndex(blockStart))).thenReturn(checkpoint);
+
+        snapshotService.replayMilestones(latestSnapshot, targetIndex);
+
+        Assert.assertEquals("the snapshot should have the milestone index of the last applied milestone",
+                targetIndex, latestSnapshot.getIndex());
+
+        Assert.assertEquals("the balance of the addresses should reflect the accumulated changes of the milestones",
+                TransactionViewModel.SUPPLY - 1337L - 1000L - 234L, (long) latestSnapshot.getBalance(Hash.NULL_HASH));
+
+        Assert.assertEquals("the balance of the addresses should reflect the accumulated changes of the milestones",
+                234L, (long) latestSnapshot.getBalance(ADDRESS_3));
+
+        Mockito.verify(tangle, Mockito.never()).load(StateDiff.class, milestoneHashes.get(blockStart));
+    }
+
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     //region [TEST: rollbackMilestones] ////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,130 @@
+package com.iota.iri.service.snapshot.impl;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SolidEntryPointsCheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void restoresProcessedMilestonesOfSameTarget() throws Exception {
+        Path path = new File(folder.getRoot(), "checkpoint").toPath();
+        Hash first = TransactionTestUtils.getTransactionHash();
+        Hash second = TransactionTestUtils.getTransactionHash();
+
+        SolidEntryPointsCheckpoint checkpoint = new SolidEntryPointsCheckpoint(path, 100, 50);
+        checkpoint.load();
+        checkpoint.markProcessed(90, Collections.singletonMap(first, 90));
+        checkpoint.markProcessed(91, Collections.singletonMap(second, 91));
+        checkpoint.close();
+
+        // simulate a crash while the entries of the next milestone were written
+        Files.write(path, (TransactionTestUtils.getTransactionHash() + ";92\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Assert.assertEquals(100, SolidEntryPointsCheckpoint.readTargetIndex(path));
+
+        SolidEntryPointsCheckpoint restored = new SolidEntryPointsCheckpoint(path, 100, 50);
+        restored.load();
+        Map<Hash, Integer> expected = new HashMap<>();
+        expected.put(first, 90);
+        expected.put(second, 91);
+        Assert.assertEquals(expected, restored.getSolidEntryPoints());
+        Assert.assertTrue(restored.isProcessed(90));
+        Assert.assertTrue(restored.isProcessed(91));
+        Assert.assertFalse("unfinished milestone must not be restored", restored.isProcessed(92));
+
+        restored.delete();
+        Assert.assertFalse(Files.exists(path));
+        Assert.assertEquals(-1, SolidEntryPointsCheckpoint.readTargetIndex(path));
+    }
+
+    @Test
+    public void discardsCheckpointOfOtherTarget() throws Exception {
+        Path path = new File(folder.getRoot(), "checkpoint").toPath();
+
+        SolidEntryPointsCheckpoint checkpoint = new SolidEntryPointsCheckpoint(path, 100, 50);
+        checkpoint.load();
+        checkpoint.markProcessed(90, Collections.singletonMap(TransactionTestUtils.getTransactionHash(), 90));
+        checkpoint.close();
+
+        SolidEntryPointsCheckpoint other = new SolidEntryPointsCheckpoint(path, 120, 50);
+        other.load();
+        other.close();
+
+        Assert.assertFalse(other.isProcessed(90));
+        Assert.assertTrue(other.getSolidEntryPoints().isEmpty());
+        Assert.assertEquals(120, SolidEntryPointsCheckpoint.readTargetIndex(path));
+    }
+
+    @Test
+    public void discardsCheckpointOfOtherRange() throws Exception {
+        Path path = new File(folder.getRoot(), "checkpoint").toPath();
+
+        SolidEntryPointsCheckpoint checkpoint = new SolidEntryPointsCheckpoint(path, 100, 50);
+        checkpoint.load();
+        checkpoint.markProcessed(60, Collections.singletonMap(TransactionTestUtils.getTransactionHash(), 60));
+        checkpoint.close();
+
+        SolidEntryPointsCheckpoint other = new SolidEntryPointsCheckpoint(path, 100, 70);
+        other.load();
+        other.close();
+
+        Assert.assertFalse("a milestone outside of the new range must not be restored", other.isProcessed(60));
+        Assert.assertTrue(other.getSolidEntryPoints().isEmpty());
+        Assert.assertEquals(100, SolidEntryPointsCheckpoint.readTargetIndex(path));
+    }
+
+    @Test
+    public void dropsLineThatWasCutOff() throws Exception {
+        Path path = new File(folder.getRoot(), "checkpoint").toPath();
+        Hash first = TransactionTestUtils.getTransactionHash();
+        Hash second = TransactionTestUtils.getTransactionHash();
+
+        SolidEntryPointsCheckpoint checkpoint = new SolidEntryPointsCheckpoint(path, 100, 50);
+        checkpoint.load();
+        checkpoint.markProcessed(90, Collections.singletonMap(first, 90));
+        checkpoint.close();
+
+        // simulate a crash while the marker of milestone 92 was written, "#9" would mark milestone 9 as done
+        Files.write(path, (TransactionTestUtils.getTransactionHash() + ";92\n#9").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        SolidEntryPointsCheckpoint restored = new SolidEntryPointsCheckpoint(path, 100, 50);
+        restored.load();
+        Assert.assertFalse("a cut off marker must not be restored", restored.isProcessed(9));
+        Assert.assertFalse("an unfinished milestone must not be restored", restored.isProcessed(92));
+
+        // the milestone is analyzed again and appended to the restored part
+        restored.markProcessed(92, Collections.singletonMap(second, 92));
+        restored.close();
+
+        SolidEntryPointsCheckpoint reloaded = new SolidEntryPointsCheckpoint(path, 100, 50);
+        reloaded.load();
+        reloaded.close();
+
+        Map<Hash, Integer> expected = new HashMap<>();
+        expected.put(first, 90);
+        expected.put(second, 92);
+        Assert.assertEquals(expected, reloaded.getSolidEntryPoints());
+        Assert.assertTrue(reloaded.isProcessed(90));
+        Assert.assertTrue(reloaded.isProcessed(92));
+        Assert.assertFalse(reloaded.isProcessed(9));
+    }
+}
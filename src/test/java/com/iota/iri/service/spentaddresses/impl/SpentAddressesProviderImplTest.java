@@ -4,15 +4,22 @@ import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.conf.SnapshotConfig;
 import com.iota.iri.model.AddressHash;
 import com.iota.iri.model.Hash;
+import com.iota.iri.model.IntegerIndex;
 import com.iota.iri.model.persistables.SpentAddress;
+import com.iota.iri.model.persistables.SpentAddressesFilter;
 import com.iota.iri.service.spentaddresses.SpentAddressesException;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.LocalSnapshotsPersistenceProvider;
 import com.iota.iri.storage.Persistable;
 import com.iota.iri.utils.Pair;
+import com.iota.iri.utils.datastructure.CuckooFilter;
+import com.iota.iri.utils.datastructure.impl.PackedCuckooFilterImpl;
 
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.junit.After;
 import org.junit.Before;
@@ -20,6 +27,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.ExpectedSystemExit;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -27,9 +35,11 @@ import org.mockito.exceptions.base.MockitoAssertionError;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,6 +67,7 @@ public class SpentAddressesProviderImplTest {
     public void setUp() throws Exception {
         when(config.isTestnet()).thenReturn(true);
         localSnapshotsPersistenceProvider.init();
+        storeAddresses();
 
         provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
         provider.init(false);
@@ -114,6 +125,92 @@ public class SpentAddressesProviderImplTest {
         }
     }
 
+    @Test
+    public void testFilterSkipsLookupOfUnspentAddress() throws Exception {
+        when(config.getSpentAddressesFilterEnabled()).thenReturn(true);
+        storeAddresses(A);
+        when(localSnapshotsPersistenceProvider.exists(SpentAddress.class, A)).thenReturn(true);
+        provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
+        provider.init(false);
+
+        assertTrue("Provider should have A as spent", provider.containsAddress(A));
+        assertFalse("Provider should not have B as spent", provider.containsAddress(B));
+        verify(localSnapshotsPersistenceProvider, never()).exists(SpentAddress.class, B);
+    }
+
+    @Test
+    public void testFilterContainsSavedAddress() throws Exception {
+        when(config.getSpentAddressesFilterEnabled()).thenReturn(true);
+        provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
+        provider.init(false);
+
+        provider.saveAddressesBatch(Collections.singletonList(B));
+        when(localSnapshotsPersistenceProvider.exists(SpentAddress.class, B)).thenReturn(true);
+
+        assertTrue("Provider should have B as spent", provider.containsAddress(B));
+    }
+
+    @Test
+    public void testFilterIsPersistedOnShutdown() throws Exception {
+        when(config.getSpentAddressesFilterEnabled()).thenReturn(true);
+        provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
+        provider.init(false);
+        provider.saveAddress(A);
+
+        provider.shutdown();
+
+        ArgumentCaptor<SpentAddressesFilter> persistedFilter = ArgumentCaptor.forClass(SpentAddressesFilter.class);
+        verify(localSnapshotsPersistenceProvider).save(persistedFilter.capture(), any(IntegerIndex.class));
+
+        when(localSnapshotsPersistenceProvider.get(Mockito.eq(SpentAddressesFilter.class), any(IntegerIndex.class)))
+                .thenReturn(persistedFilter.getValue());
+        when(localSnapshotsPersistenceProvider.exists(SpentAddress.class, A)).thenReturn(true);
+        provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
+        provider.init(false);
+
+        assertTrue("Restored filter should have A as spent", provider.containsAddress(A));
+        verify(localSnapshotsPersistenceProvider).delete(Mockito.eq(SpentAddressesFilter.class),
+                any(IntegerIndex.class));
+        // only the first provider had to build its filter from the stored addresses
+        verify(localSnapshotsPersistenceProvider, times(1)).forEachKey(Mockito.eq(SpentAddress.class), any());
+    }
+
+    @Test
+    public void testFilterIsSizedFromTheEstimatedAmountOfAddresses() throws Exception {
+        when(config.getSpentAddressesFilterEnabled()).thenReturn(true);
+        storeAddresses(A, B);
+        when(localSnapshotsPersistenceProvider.count(SpentAddress.class)).thenReturn(1_000_000L);
+        provider = new SpentAddressesProviderImpl(config, localSnapshotsPersistenceProvider);
+        provider.init(false);
+        provider.shutdown();
+
+        ArgumentCaptor<SpentAddressesFilter> persistedFilter = ArgumentCaptor.forClass(SpentAddressesFilter.class);
+        verify(localSnapshotsPersistenceProvider).save(persistedFilter.capture(), any(IntegerIndex.class));
+        CuckooFilter filter = PackedCuckooFilterImpl.read(new ByteArrayInputStream(persistedFilter.getValue().filter));
+
+        assertTrue("the filter should have room for twice the estimated addresses",
+                filter.getCapacity() >= 2_000_000);
+        assertEquals("the filter should contain the stored addresses", 2, filter.size());
+        assertTrue("Filter should have A as spent", filter.contains(A.bytes()));
+        assertTrue("Filter should have B as spent", filter.contains(B.bytes()));
+    }
+
+    /**
+     * Lets the mocked database stream the given addresses as the stored spent addresses.
+     */
+    private void storeAddresses(Hash... addresses) {
+        when(localSnapshotsPersistenceProvider.forEachKey(Mockito.eq(SpentAddress.class), any()))
+                .thenAnswer(invocation -> {
+                    Predicate<byte[]> action = invocation.getArgument(1);
+                    for (Hash address : addresses) {
+                        if (!action.test(address.bytes())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+    }
+
     //The ExpectedSystemExit rule works by issuing a SecurityException.
     //Since we don't have a specific Exception for db errors yet we catch a general exception in the
     //SpentAddressProvider and rethrow it as SpentAddressesException. So unfortunately for the test it also
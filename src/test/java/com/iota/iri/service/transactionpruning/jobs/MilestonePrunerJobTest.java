@@ -0,0 +1,138 @@
+package com.iota.iri.service.transactionpruning.jobs;
+
+import com.iota.iri.BundleValidator;
+import com.iota.iri.controllers.MilestoneViewModel;
+import com.iota.iri.controllers.TipsViewModel;
+import com.iota.iri.controllers.TransactionViewModel;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.TransactionHash;
+import com.iota.iri.model.persistables.Milestone;
+import com.iota.iri.model.persistables.MilestoneBucket;
+import com.iota.iri.model.persistables.Transaction;
+import com.iota.iri.service.snapshot.Snapshot;
+import com.iota.iri.service.snapshot.impl.SnapshotMockUtils;
+import com.iota.iri.service.spentaddresses.SpentAddressesProvider;
+import com.iota.iri.service.spentaddresses.SpentAddressesService;
+import com.iota.iri.service.transactionpruning.TransactionPrunerJobStatus;
+import com.iota.iri.service.transactionpruning.TransactionPruner;
+import com.iota.iri.storage.Tangle;
+import com.iota.iri.storage.rocksDB.RocksDBPersistenceProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static com.iota.iri.TransactionTestUtils.getTransactionHash;
+import static com.iota.iri.TransactionTestUtils.getTransactionTritsWithTrunkAndBranch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MilestonePrunerJobTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public TemporaryFolder dbFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder logFolder = new TemporaryFolder();
+
+    @Mock
+    private TransactionPruner transactionPruner;
+
+    @Mock
+    private BundleValidator bundleValidator;
+
+    @Mock
+    private SpentAddressesService spentAddressesService;
+
+    @Mock
+    private SpentAddressesProvider spentAddressesProvider;
+
+    private Tangle tangle;
+    private Snapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        tangle = new Tangle();
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(dbFolder.getRoot().getAbsolutePath(),
+                logFolder.getRoot().getAbsolutePath(), 1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+        snapshot = SnapshotMockUtils.createSnapshot();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tangle.shutdown();
+        MilestoneViewModel.clear();
+    }
+
+    @Test
+    public void prunesMilestonesWithAndWithoutCompleteBucket() throws Exception {
+        // milestone #1 confirmed its approvee before the buckets existed, so its bucket only lists the milestone
+        TransactionViewModel approvee1 = storeTransaction(Hash.NULL_HASH, Hash.NULL_HASH);
+        TransactionViewModel milestone1 = storeTransaction(approvee1.getHash(), approvee1.getHash());
+        approvee1.setSnapshot(tangle, snapshot, 1);
+        tangle.delete(MilestoneBucket.class, new IntegerIndex(1));
+        milestone1.setSnapshot(tangle, snapshot, 1);
+        new MilestoneViewModel(1, milestone1.getHash()).store(tangle);
+
+        // milestone #2 recorded all of its transactions in its bucket
+        TransactionViewModel approvee2 = storeTransaction(milestone1.getHash(), approvee1.getHash());
+        TransactionViewModel otherApprovee2 = storeTransaction(approvee2.getHash(), milestone1.getHash());
+        TransactionViewModel milestone2 = storeTransaction(otherApprovee2.getHash(), approvee2.getHash());
+        approvee2.setSnapshot(tangle, snapshot, 2);
+        otherApprovee2.setSnapshot(tangle, snapshot, 2);
+        milestone2.setSnapshot(tangle, snapshot, 2);
+        MilestoneViewModel.markBucketComplete(tangle, 2);
+        new MilestoneViewModel(2, milestone2.getHash()).store(tangle);
+
+        assertFalse("the bucket of milestone #1 should miss its approvee", loadBucket(1).isComplete());
+        assertTrue("the bucket of milestone #2 should list all of its transactions", loadBucket(2).isComplete());
+
+        MilestonePrunerJob job = createJob(1, 2);
+        job.process();
+
+        assertEquals("the job should be done", TransactionPrunerJobStatus.DONE, job.getStatus());
+        for (TransactionViewModel transaction : new TransactionViewModel[]{approvee1, milestone1, approvee2,
+                otherApprovee2, milestone2}) {
+            assertEquals(transaction.getHash() + " should be pruned", TransactionViewModel.PREFILLED_SLOT,
+                    TransactionViewModel.fromHash(tangle, transaction.getHash()).getType());
+        }
+        assertNull("no transaction should be left", tangle.getFirst(Transaction.class, TransactionHash.class).low);
+        assertNull("no milestone should be left", tangle.getFirst(Milestone.class, IntegerIndex.class).low);
+        assertNull("no bucket should be left", tangle.getFirst(MilestoneBucket.class, IntegerIndex.class).low);
+    }
+
+    private TransactionViewModel storeTransaction(Hash trunk, Hash branch) throws Exception {
+        TransactionViewModel transaction = new TransactionViewModel(getTransactionTritsWithTrunkAndBranch(trunk,
+                branch), getTransactionHash());
+        transaction.store(tangle, snapshot);
+        return transaction;
+    }
+
+    private MilestoneBucket loadBucket(int index) throws Exception {
+        return (MilestoneBucket) tangle.load(MilestoneBucket.class, new IntegerIndex(index));
+    }
+
+    private MilestonePrunerJob createJob(int startingIndex, int targetIndex) {
+        MilestonePrunerJob job = new MilestonePrunerJob(startingIndex, targetIndex);
+        job.setTransactionPruner(transactionPruner);
+        job.setTangle(tangle);
+        job.setTipsViewModel(new TipsViewModel());
+        job.setBundleValidator(bundleValidator);
+        job.setSpentAddressesService(spentAddressesService);
+        job.setSpentAddressesProvider(spentAddressesProvider);
+        job.setSnapshot(snapshot);
+        return job;
+    }
+}
@@ -1,6 +1,8 @@
 package com.iota.iri.storage.rocksDB;
 
+import com.iota.iri.TransactionTestUtils;
 import com.iota.iri.model.IntegerIndex;
+import com.iota.iri.model.persistables.MilestoneBucket;
 import com.iota.iri.model.persistables.Transaction;
 import com.iota.iri.storage.Indexable;
 import com.iota.iri.storage.Persistable;
@@ -76,4 +78,27 @@ public class RocksDBPersistenceProviderTest {
                     rocksDBPersistenceProvider.get(Transaction.class, index).bytes());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeleteRange() throws Exception {
+        List<Pair<Indexable, Persistable>> models = IntStream.range(1, 1000)
+                .mapToObj(i -> new Pair<>((Indexable) new IntegerIndex(i),
+                        (Persistable) new MilestoneBucket(TransactionTestUtils.getTransactionHash())))
+                .collect(Collectors.toList());
+
+        rocksDBPersistenceProvider.saveBatch(models);
+        rocksDBPersistenceProvider.deleteRange(MilestoneBucket.class, new IntegerIndex(100), new IntegerIndex(900));
+
+        for (Pair<Indexable, Persistable> model : models) {
+            int index = ((IntegerIndex) model.low).getValue();
+            MilestoneBucket bucket = (MilestoneBucket) rocksDBPersistenceProvider.get(MilestoneBucket.class,
+                    model.low);
+            if (index >= 100 && index < 900) {
+                Assert.assertFalse("bucket at index " + index + " should be deleted", bucket.exists());
+            } else {
+                Assert.assertEquals("bucket at index " + index + " should be kept",
+                        ((MilestoneBucket) model.hi).set, bucket.set);
+            }
+        }
+    }
+}
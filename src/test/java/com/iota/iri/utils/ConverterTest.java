@@ -3,6 +3,9 @@ package com.iota.iri.utils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 public class ConverterTest {
     @Test
     public void testTrytesToAscii() {
@@ -13,4 +16,58 @@ public class ConverterTest {
         Assert.assertEquals(Converter.trytesToAscii(trytes), "HELLO\0\0\0\0\0");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testBytesAndTritsRoundTrip() {
+        // 8019 trits (a whole transaction) do not fill the last byte
+        byte[] trits = randomTrits(new Random(42), 8019);
+        byte[] bytes = Converter.allocateBytesForTrits(trits.length);
+        Converter.bytes(trits, bytes);
+
+        byte[] decoded = new byte[trits.length];
+        Converter.getTrits(bytes, decoded);
+        Assert.assertArrayEquals(trits, decoded);
+
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] byteTrits = Arrays.copyOfRange(trits, i * 5, Math.min(trits.length, i * 5 + 5));
+            Assert.assertEquals("byte " + i + " should hold the value of its trits",
+                    Converter.longValue(byteTrits, 0, byteTrits.length), bytes[i]);
+        }
+    }
+
+    @Test
+    public void testBytesAndTritsWithOffsets() {
+        byte[] trits = randomTrits(new Random(7), 243);
+        byte[] bytes = new byte[60];
+        Converter.bytes(trits, 10, bytes, 3, 223);
+
+        byte[] decoded = new byte[230];
+        Arrays.fill(decoded, (byte) 2);
+        Converter.getTrits(bytes, 3, decoded, 5, 223);
+
+        Assert.assertArrayEquals(Arrays.copyOfRange(trits, 10, 233), Arrays.copyOfRange(decoded, 5, 228));
+        Assert.assertEquals("trits before the destination should be untouched", 2, decoded[4]);
+        Assert.assertEquals("trits after the destination should be untouched", 2, decoded[228]);
+    }
+
+    @Test
+    public void testGetTritsPadsWithZeros() {
+        byte[] trits = new byte[12];
+        Arrays.fill(trits, (byte) 1);
+        Converter.getTrits(new byte[]{-121}, trits);
+
+        Assert.assertArrayEquals(new byte[]{-1, -1, -1, -1, -1, 0, 0, 0, 0, 0, 0, 0}, trits);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTritsRejectsSmallBuffer() {
+        Converter.getTrits(new byte[2], 0, new byte[10], 1, 10);
+    }
+
+    private static byte[] randomTrits(Random random, int length) {
+        byte[] trits = new byte[length];
+        for (int i = 0; i < length; i++) {
+            trits[i] = (byte) (random.nextInt(3) - 1);
+        }
+        return trits;
+    }
+}
@@ -77,7 +77,7 @@ public class DAGHelperTest {
         
         TransactionViewModel tx = processed.get(1);
         assertEquals("Last transaction hash should have been C", tx.getHash(), C);
-        assertEquals("Last transaction should have TX3 its address", tx.getAddressHash(), TX3.address);
+        assertEquals("Last transaction should have TX3 its address", tx.getAddressHash(), TX3.address());
         assertEquals("Last transaction should have TX3 its timestamp", tx.getAttachmentTimestamp(), TX3.attachmentTimestamp);
         assertArrayEquals("Last transaction should have TX3 its bytes", tx.getTransaction().bytes(), TX3.bytes());
     }
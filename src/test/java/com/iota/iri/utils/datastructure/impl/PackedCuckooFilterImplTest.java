@@ -0,0 +1,160 @@
+package com.iota.iri.utils.datastructure.impl;
+
+import com.iota.iri.utils.datastructure.CuckooFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the Unit Test for the {@link PackedCuckooFilterImpl}, that tests the individual methods, the serialization
+ * and the false positive rate of the filter.
+ */
+public class PackedCuckooFilterImplTest {
+    /**
+     * Holds the amount of elements we want to store in the filter.
+     *
+     * Note: 1900 items result in a ~0.93 load factor at an effective capacity of 2048, which stays clear of the
+     *       ~0.955 at which inserts start to fail
+     */
+    private static final int ELEMENTS_TO_STORE = 1900;
+
+    @Test
+    public void addedElementsAreFoundAndDeletedAgainString() {
+        CuckooFilter filter = new PackedCuckooFilterImpl(ELEMENTS_TO_STORE);
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            Assert.assertTrue("the filter should not run full", filter.add("INSERTED_ITEM" + i));
+        }
+
+        int sizeDiff = ELEMENTS_TO_STORE - filter.size();
+        Assert.assertTrue("the filter should have less elements than we added (due to collisions)", sizeDiff >= 0);
+        Assert.assertTrue("the difference in size should be less than 1%", sizeDiff <= ELEMENTS_TO_STORE * 0.01d);
+
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            Assert.assertTrue("the filter should contain all previously added elements",
+                    filter.contains("INSERTED_ITEM" + i));
+        }
+
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            filter.delete("INSERTED_ITEM" + i);
+        }
+        Assert.assertEquals("the filter should be empty", 0, filter.size());
+    }
+
+    @Test
+    public void addedElementsAreFoundAndDeletedAgainByteArray() {
+        CuckooFilter filter = new PackedCuckooFilterImpl(ELEMENTS_TO_STORE);
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            Assert.assertTrue("the filter should not run full", filter.add(("INSERTED_ITEM" + i).getBytes()));
+        }
+
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            Assert.assertTrue("the filter should contain all previously added elements",
+                    filter.contains(("INSERTED_ITEM" + i).getBytes()));
+        }
+
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            filter.delete(("INSERTED_ITEM" + i).getBytes());
+        }
+        Assert.assertEquals("the filter should be empty", 0, filter.size());
+    }
+
+    @Test
+    public void falsePositiveRateIsLow() {
+        CuckooFilter filter = new PackedCuckooFilterImpl(ELEMENTS_TO_STORE);
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            filter.add(("INSERTED_ITEM" + i).getBytes());
+        }
+
+        // a big enough sample size to get a reasonable result
+        int elementsToQuery = 100000;
+
+        int falsePositives = 0;
+        for (int i = 0; i < elementsToQuery; i++) {
+            if (filter.contains(("QUERIED_ITEMS" + i).getBytes())) {
+                falsePositives++;
+            }
+        }
+
+        double falsePositiveRate = (double) falsePositives / (double) elementsToQuery;
+        Assert.assertTrue("expecting the false positive rate to be lower than 0.1%", falsePositiveRate < 0.001d);
+    }
+
+    @Test
+    public void fullFilterKeepsAllElements() {
+        CuckooFilter filter = new PackedCuckooFilterImpl(ELEMENTS_TO_STORE);
+        int insertedItems = 0;
+        while (filter.add("INSERTED_ITEM" + insertedItems)) {
+            insertedItems++;
+        }
+        insertedItems++;
+
+        Assert.assertTrue("the filter should be filled close to its capacity",
+                insertedItems > filter.getCapacity() * 0.9d);
+        for (int i = 0; i < insertedItems; i++) {
+            Assert.assertTrue("the filter should contain all previously added elements",
+                    filter.contains("INSERTED_ITEM" + i));
+        }
+
+        try {
+            // items whose fingerprint happens to be present already are accepted without being stored
+            for (int i = 0; i < 10; i++) {
+                filter.add("ONE_TOO_MANY" + i);
+            }
+            Assert.fail("adding to a full filter should fail");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void writtenFilterCanBeRead() throws IOException {
+        PackedCuckooFilterImpl filter = new PackedCuckooFilterImpl(ELEMENTS_TO_STORE);
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            filter.add("INSERTED_ITEM" + i);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        filter.write(outputStream);
+        PackedCuckooFilterImpl restoredFilter = PackedCuckooFilterImpl.read(
+                new ByteArrayInputStream(outputStream.toByteArray()));
+
+        Assert.assertEquals("the size should be restored", filter.size(), restoredFilter.size());
+        Assert.assertEquals("the capacity should be restored", filter.getCapacity(), restoredFilter.getCapacity());
+        for (int i = 0; i < ELEMENTS_TO_STORE; i++) {
+            Assert.assertTrue("the restored filter should contain all previously added elements",
+                    restoredFilter.contains("INSERTED_ITEM" + i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void filterOfOtherFormatIsRejected() throws IOException {
+        CuckooFilterImpl filter = new CuckooFilterImpl(ELEMENTS_TO_STORE);
+        filter.add("INSERTED_ITEM");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        filter.write(outputStream);
+        PackedCuckooFilterImpl.read(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    /**
+     * Since the capacity has to be a power of two and tries to achieve a load factor of 0.955, the capacity will at
+     * max be 2.1 times the intended size.
+     */
+    @Test
+    public void capacityFitsIntendedSize() {
+        int[] filterSizes = {10, 500, 25_000, 125_000, 10_000_000};
+
+        for (int filterSize : filterSizes) {
+            CuckooFilter emptyCuckooFilter = new PackedCuckooFilterImpl(filterSize);
+
+            Assert.assertTrue("the capacity should be bigger than the intended filter size",
+                    emptyCuckooFilter.getCapacity() > filterSize);
+            Assert.assertTrue("the capacity should be smaller than 2.094 times the filter size",
+                    emptyCuckooFilter.getCapacity() < filterSize * 2.094d);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.iota.iri.zmq;
+
+import com.iota.iri.TransactionTestUtils;
+import com.iota.iri.model.Hash;
+import com.iota.iri.model.persistables.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.zeromq.ZMQ;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MessageQTest {
+
+    private static final String ENDPOINT = "inproc://message-q-test";
+
+    private static final int TIMEOUT_MILLISECONDS = 5_000;
+
+    private ZMQ.Context context;
+    private MessageQ messageQ;
+    private ZMQ.Socket subscriber;
+
+    @After
+    public void tearDown() {
+        // the context can only be closed after all of its sockets are closed
+        if (subscriber != null) {
+            subscriber.close();
+        }
+        if (messageQ != null) {
+            messageQ.shutdown();
+        }
+    }
+
+    @Test
+    public void nothingIsFormattedWithoutSubscriber() throws InterruptedException {
+        start(10);
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new CountingArgument(formatted);
+
+        messageQ.publish("lmi %s", argument);
+        assertFalse("nobody subscribed yet", messageQ.hasSubscriber("lmi"));
+
+        subscribe("tx");
+        messageQ.publish("lmi %s", argument);
+        messageQ.publish("%s %s", "ADDRESS", argument);
+
+        assertEquals("events nobody subscribed to should not be formatted", 0, formatted.get());
+    }
+
+    @Test
+    public void onlySubscribedPrefixesArePublished() throws InterruptedException {
+        start(10);
+        AtomicInteger formatted = new AtomicInteger();
+        subscribe("lm");
+
+        assertTrue("lmi starts with the subscribed prefix", messageQ.hasSubscriber("lmi"));
+        assertFalse("sn doesn't start with the subscribed prefix", messageQ.hasSubscriber("sn"));
+
+        messageQ.publish("lmi %d %d", 1, 2);
+        messageQ.publish("sn %s", new CountingArgument(formatted));
+        messageQ.publish("%s %s", "ADDRESS", new CountingArgument(formatted));
+        messageQ.publish("lmhs %s", "HASH");
+
+        assertEquals("lmi 1 2", subscriber.recvStr());
+        assertEquals("lmhs HASH", subscriber.recvStr());
+        assertEquals("events of other topics should not be formatted", 0, formatted.get());
+    }
+
+    @Test
+    public void eventsAreDroppedWhenTheQueueIsFull() throws InterruptedException {
+        start(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // keep the publisher thread busy, so the following events stay in the queue
+        messageQ.publish(socket -> {
+            sending.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue("the publisher thread should take the first event",
+                sending.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+
+        messageQ.publish(socket -> { });
+        assertEquals("the queue has room for one event", 0, messageQ.getDroppedEvents());
+        messageQ.publish(socket -> { });
+        messageQ.publish(socket -> { });
+        assertEquals("events exceeding the queue size should be dropped", 2, messageQ.getDroppedEvents());
+
+        release.countDown();
+    }
+
+    @Test
+    public void binaryTransactionIsPublishedAsFrames() throws InterruptedException {
+        start(10);
+        ZmqMessageQueueProvider provider = new ZmqMessageQueueProvider(messageQ, true);
+        subscribe("btx");
+
+        Transaction transaction = TransactionTestUtils.getTransaction();
+        transaction.arrivalTime = 1_234_567_890_123L;
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        assertTrue("the transaction should be published",
+                provider.publishTransaction(transaction, hash, "sender"));
+
+        assertEquals("btx", subscriber.recvStr());
+        assertTrue("the header should follow the topic", subscriber.hasReceiveMore());
+
+        ByteBuffer header = ByteBuffer.wrap(subscriber.recv());
+        assertEquals("the header consists of version, type and arrival time", 2 + Long.BYTES, header.remaining());
+        assertEquals("format version", 1, header.get());
+        assertEquals("event type", 1, header.get());
+        assertEquals("arrival time", transaction.arrivalTime, header.getLong());
+
+        assertTrue("the hash should follow the header", subscriber.hasReceiveMore());
+        assertArrayEquals(hash.bytes(), subscriber.recv());
+        assertTrue("the transaction should follow the hash", subscriber.hasReceiveMore());
+        assertArrayEquals(transaction.bytes, subscriber.recv());
+        assertFalse("the transaction should be the last frame", subscriber.hasReceiveMore());
+    }
+
+    private void start(int queueSize) {
+        context = ZMQ.context(1);
+        messageQ = new MessageQ(context, queueSize, Collections.singletonList(ENDPOINT));
+    }
+
+    /**
+     * Subscribes to the topic and waits until the publisher thread noticed the subscription.
+     */
+    private void subscribe(String topic) throws InterruptedException {
+        subscriber = context.socket(ZMQ.SUB);
+        subscriber.setReceiveTimeOut(TIMEOUT_MILLISECONDS);
+        subscriber.connect(ENDPOINT);
+        subscriber.subscribe(topic.getBytes(StandardCharsets.US_ASCII));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLISECONDS;
+        while (!messageQ.hasSubscriber(topic)) {
+            assertTrue("the subscription should be noticed", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An argument which counts how often it is formatted.
+     */
+    private static class CountingArgument {
+
+        private final AtomicInteger formatted;
+
+        private CountingArgument(AtomicInteger formatted) {
+            this.formatted = formatted;
+        }
+
+        @Override
+        public String toString() {
+            formatted.incrementAndGet();
+            return "ARGUMENT";
+        }
+    }
+}